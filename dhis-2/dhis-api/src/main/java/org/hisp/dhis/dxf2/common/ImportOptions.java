@@ -98,6 +98,13 @@ public class ImportOptions implements JobParameters {
   @JsonProperty(namespace = DxfNamespaces.DXF_2_0)
   private boolean skipExistingCheck;
 
+  /**
+   * If true, data values are imported in chunks using set-based statements instead of a lookup
+   * and write per data value.
+   */
+  @JsonProperty(namespace = DxfNamespaces.DXF_2_0)
+  private boolean bulkImport;
+
   @JsonProperty(namespace = DxfNamespaces.DXF_2_0)
   private boolean sharing;
 
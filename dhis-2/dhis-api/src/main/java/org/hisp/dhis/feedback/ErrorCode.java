@@ -446,6 +446,7 @@ public enum ErrorCode {
       "Query failed because a referenced table does not exist. Please ensure analytics job was run"),
   E7145("Query failed because of a syntax error"),
   E7146("A {0} date was not specified in periods, dimensions, filters"),
+  E7147("Grid has `{0}` rows, more than the spreadsheet format allows: `{1}`, use CSV instead"),
 
   /* Analytics outliers */
 
@@ -558,6 +559,7 @@ public enum ErrorCode {
   E7643("Period: `{0}` is not open for this data set at this time: `{1}`"),
   E7644("Period: `{0}` does not conform to the open periods of associated data sets"),
   E7645("No data value for file resource exist for the given combination for data element: `{0}`"),
+  E7646("Data value for data element: `{0}` period: `{1}` org unit: `{2}` was saved concurrently"),
 
   /* Data store query validation */
   E7650("Not a valid path: `{0}`"),
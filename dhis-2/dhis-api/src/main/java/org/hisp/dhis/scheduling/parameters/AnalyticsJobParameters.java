@@ -48,6 +48,8 @@ import org.hisp.dhis.scheduling.JobParameters;
 public class AnalyticsJobParameters implements JobParameters {
   @JsonProperty private Integer lastYears;
 
+  @JsonProperty private boolean changedPartitionsOnly = false;
+
   @JsonProperty private Set<AnalyticsTableType> skipTableTypes = new HashSet<>();
 
   @JsonProperty
@@ -38,6 +38,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import org.hisp.dhis.common.DxfNamespaces;
 import org.hisp.dhis.common.EmbeddedObject;
 import org.hisp.dhis.common.IdentifiableObject;
@@ -71,6 +72,9 @@ public class Property implements Ordered, Klass {
   /** Direct link to setter for this property. */
   private Method setterMethod;
 
+  /** Accessor generated for {@link #getterMethod} on first use, see {@link #getValue(Object)}. */
+  private Function<Object, Object> getter;
+
   /**
    * Name for this property, if this class is a collection, it is the name of the items -inside- the
    * collection and not the collection wrapper itself.
@@ -289,6 +293,27 @@ public class Property implements Ordered, Klass {
 
   public void setGetterMethod(Method getterMethod) {
     this.getterMethod = getterMethod;
+    this.getter = null;
+  }
+
+  /**
+   * Reads the value of this property from the given object. Unlike invoking the {@link
+   * #getGetterMethod()} reflectively this uses an accessor generated once per property.
+   *
+   * @param target the object to read the value from
+   * @return the value, or null if target is null or the property has no public getter
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getValue(Object target) {
+    if (target == null || getterMethod == null) {
+      return null;
+    }
+    Function<Object, Object> accessor = getter;
+    if (accessor == null) {
+      accessor = PropertyGetters.of(getterMethod);
+      getter = accessor;
+    }
+    return (T) accessor.apply(target);
   }
 
   public Method getSetterMethod() {
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the accessor functions used by {@link Property#getValue(Object)}.
+ *
+ * <p>Public getters are turned into a {@link Function} using {@link LambdaMetafactory} so reading a
+ * value is a plain (inlinable) method call instead of a {@link Method#invoke(Object, Object...)}.
+ * Getters that cannot be linked that way, for example because the declaring class is not public or
+ * not visible from this class loader, fall back to reflection with the same semantics as {@code
+ * ReflectionUtils.invokeMethod}.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PropertyGetters {
+
+  private static final MethodType FUNCTION_TYPE = MethodType.methodType(Function.class);
+
+  private static final MethodType APPLY_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  static Function<Object, Object> of(Method getter) {
+    int modifiers = getter.getModifiers();
+    if (Modifier.isProtected(modifiers) || Modifier.isPrivate(modifiers)) {
+      return target -> null;
+    }
+    if (getter.getParameterCount() > 0
+        || getter.getReturnType() == void.class
+        || Modifier.isStatic(modifiers)
+        || !Modifier.isPublic(getter.getDeclaringClass().getModifiers())
+        || !isVisible(getter.getDeclaringClass())) {
+      return reflective(getter);
+    }
+    try {
+      return generated(getter);
+    } catch (Throwable ex) {
+      log.debug("Falling back to reflection for getter " + getter + ": " + ex.getMessage());
+      return reflective(getter);
+    }
+  }
+
+  /**
+   * The generated class is defined next to this class, so it can only link against types that are
+   * visible from its class loader.
+   */
+  private static boolean isVisible(Class<?> type) {
+    try {
+      return Class.forName(type.getName(), false, PropertyGetters.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError ex) {
+      return false;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> generated(Method getter) throws Throwable {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.unreflect(getter);
+    return (Function<Object, Object>)
+        LambdaMetafactory.metafactory(
+                lookup, "apply", FUNCTION_TYPE, APPLY_TYPE, handle, handle.type().wrap())
+            .getTarget()
+            .invoke();
+  }
+
+  private static Function<Object, Object> reflective(Method getter) {
+    return target -> {
+      try {
+        return getter.invoke(target);
+      } catch (InvocationTargetException | IllegalAccessException ex) {
+        throw new RuntimeException(ex);
+      }
+    };
+  }
+}
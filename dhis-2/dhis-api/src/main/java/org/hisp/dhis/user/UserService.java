@@ -437,6 +437,15 @@ public interface UserService {
    */
   int disableUsersInactiveSince(Date inactiveSince);
 
+  /**
+   * Records a successful login of the user with the given username by setting {@link
+   * User#getLastLogin()} to now. Only the last login is written, {@link User#getLastUpdated()} is
+   * not changed, so logins do not count as changes of the user as metadata.
+   *
+   * @param username the username of the user.
+   */
+  void updateLastLogin(String username);
+
   /**
    * Selects all not disabled users where the {@link User#getLastLogin()} is within the given
    * time-frame and which have an email address.
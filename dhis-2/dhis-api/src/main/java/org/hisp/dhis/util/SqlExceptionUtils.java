@@ -57,4 +57,19 @@ public class SqlExceptionUtils {
 
     return false;
   }
+
+  /**
+   * Utility method to detect if the {@link SQLException} refers to a query which was canceled by
+   * the database, either because of a statement timeout or an explicit cancel request.
+   *
+   * @param ex a {@link SQLException} to analyze
+   * @return true if the error is a query canceled error, false otherwise
+   */
+  public static boolean queryCanceled(SQLException ex) {
+    if (ex != null) {
+      return Optional.of(ex).map(SQLException::getSQLState).filter("57014"::equals).isPresent();
+    }
+
+    return false;
+  }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.hisp.dhis.common.BaseIdentifiableObject;
+import org.hisp.dhis.dataelement.DataElement;
+import org.junit.jupiter.api.Test;
+
+class PropertyTest {
+
+  @Test
+  void testGetValue() throws NoSuchMethodException {
+    DataElement dataElement = new DataElement("DataElementA");
+    dataElement.setZeroIsSignificant(true);
+
+    Property name = getterProperty(DataElement.class, "getName");
+    Property zeroIsSignificant = getterProperty(DataElement.class, "isZeroIsSignificant");
+    Property groups = getterProperty(DataElement.class, "getGroups");
+
+    assertEquals("DataElementA", name.getValue(dataElement));
+    assertEquals(true, zeroIsSignificant.getValue(dataElement));
+    assertSame(dataElement.getGroups(), groups.getValue(dataElement));
+  }
+
+  @Test
+  void testGetValue_NullTargetOrGetter() throws NoSuchMethodException {
+    assertNull(getterProperty(DataElement.class, "getName").getValue(null));
+    assertNull(new Property(DataElement.class).getValue(new DataElement("DataElementA")));
+  }
+
+  @Test
+  void testGetValue_NonPublicGetter() throws NoSuchMethodException {
+    Property property =
+        new Property(Hidden.class, Hidden.class.getDeclaredMethod("getSecret"), null);
+
+    assertNull(property.getValue(new Hidden()));
+  }
+
+  @Test
+  void testGetValue_NonPublicClass() throws NoSuchMethodException {
+    assertEquals("open", getterProperty(Hidden.class, "getOpen").getValue(new Hidden()));
+  }
+
+  @Test
+  void testGetValue_GetterThrows() throws NoSuchMethodException {
+    Property property = getterProperty(Hidden.class, "getBroken");
+
+    assertThrows(RuntimeException.class, () -> property.getValue(new Hidden()));
+  }
+
+  @Test
+  void testSetGetterMethod_ReplacesAccessor() throws NoSuchMethodException {
+    DataElement dataElement = new DataElement("DataElementA");
+    dataElement.setCode("DataElementCodeA");
+    Property property = getterProperty(DataElement.class, "getName");
+    assertEquals("DataElementA", property.getValue(dataElement));
+
+    property.setGetterMethod(BaseIdentifiableObject.class.getMethod("getCode"));
+
+    assertEquals("DataElementCodeA", property.getValue(dataElement));
+  }
+
+  @Test
+  void testGetValue_Collection() throws NoSuchMethodException {
+    Set<?> groups = getterProperty(DataElement.class, "getGroups").getValue(new DataElement());
+
+    assertTrue(groups.isEmpty());
+  }
+
+  private static Property getterProperty(Class<?> klass, String getter)
+      throws NoSuchMethodException {
+    return new Property(klass, klass.getMethod(getter), null);
+  }
+
+  static class Hidden {
+    public String getOpen() {
+      return "open";
+    }
+
+    public String getBroken() {
+      throw new IllegalStateException("broken");
+    }
+
+    private String getSecret() {
+      return "secret";
+    }
+  }
+}
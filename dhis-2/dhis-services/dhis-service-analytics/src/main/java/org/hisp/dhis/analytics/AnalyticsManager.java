@@ -42,8 +42,9 @@ public interface AnalyticsManager {
   /**
    * Retrieves aggregated data values for the given query. The data is returned as a mapping where
    * the key is concatenated from the dimension options for all dimensions separated by "-", and the
-   * value is the data value. This method is invoked asynchronously. The value class can be Double
-   * or String.
+   * value is the data value. This method is invoked on the threads of the {@link
+   * org.hisp.dhis.analytics.common.AnalyticsQueryScheduler}. The value class can be Double or
+   * String.
    *
    * @param params the {@link DataQueryParams} to retrieve aggregated data for.
    * @param tableType the {@link AnalyticsTableType}.
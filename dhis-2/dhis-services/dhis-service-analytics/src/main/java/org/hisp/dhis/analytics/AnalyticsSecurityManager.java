@@ -94,7 +94,7 @@ public interface AnalyticsSecurityManager {
   DataQueryParams withDataApprovalConstraints(DataQueryParams params);
 
   /**
-   * Returns a query with two constraints applied:
+   * Returns a query with user constraints applied:
    *
    * <p>Organisation unit constraints will be added as filters to this query based on the "data
    * view" organisation units associated with the current user. If organisation units are already
@@ -106,6 +106,9 @@ public interface AnalyticsSecurityManager {
    * current user does not have accessible items in any dimension constraint, an
    * IllegalQueryException is thrown.
    *
+   * <p>The statement timeout configured for the query endpoint and the user roles of the current
+   * user will be set on the query.
+   *
    * @param params the data query parameters.
    * @return a data query parameters.
    * @throws IllegalQueryException if user has dimension constraints specified but no access to any
@@ -114,7 +117,7 @@ public interface AnalyticsSecurityManager {
   DataQueryParams withUserConstraints(DataQueryParams params);
 
   /**
-   * Returns a query with two constraints applied:
+   * Returns a query with user constraints applied:
    *
    * <p>Organisation unit constraints will be added as filters to this query based on the "data
    * view" organisation units associated with the current user. If organisation units are already
@@ -126,6 +129,9 @@ public interface AnalyticsSecurityManager {
    * current user does not have accessible items in any dimension constraint, an
    * IllegalQueryException is thrown.
    *
+   * <p>The statement timeout configured for the query endpoint and the user roles of the current
+   * user will be set on the query.
+   *
    * @param params the event query parameters.
    * @return an event query parameters.
    * @throws IllegalQueryException if user has dimension constraints specified but no access to any
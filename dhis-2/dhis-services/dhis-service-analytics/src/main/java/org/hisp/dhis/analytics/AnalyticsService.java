@@ -127,6 +127,15 @@ public interface AnalyticsService {
    */
   Grid getRawDataValues(DataQueryParams params);
 
+  /**
+   * Adds the headers and raw data values for the given query to the given grid, as the data is
+   * read from the database. Metadata is not added to the grid.
+   *
+   * @param params the data query parameters.
+   * @param grid the grid to add data to, typically a grid which writes rows as they are added.
+   */
+  void streamRawDataValues(DataQueryParams params, Grid grid);
+
   /**
    * Generates a data value set for the given query. The query must contain a data, period and
    * organisation unit dimension.
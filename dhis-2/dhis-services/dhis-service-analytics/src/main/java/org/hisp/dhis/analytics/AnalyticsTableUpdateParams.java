@@ -57,6 +57,12 @@ public class AnalyticsTableUpdateParams {
    */
   private Integer lastYears;
 
+  /**
+   * Indicates whether to update only table partitions for which source data changed since the last
+   * successful analytics table update.
+   */
+  private boolean changedPartitionsOnly;
+
   /** Indicates whether to skip update of resource tables. */
   private boolean skipResourceTables;
 
@@ -108,7 +114,26 @@ public class AnalyticsTableUpdateParams {
    * are to be updated and not all partitions including the main analytics tables.
    */
   public boolean isPartialUpdate() {
-    return lastYears != null || isLatestUpdate();
+    return lastYears != null || isLatestUpdate() || isChangedPartitionsUpdate();
+  }
+
+  /**
+   * Indicates whether this is an update of only the table partitions for which source data changed
+   * since the last successful analytics table update. Requires a previous successful update, and is
+   * not combined with an update of last years.
+   */
+  public boolean isChangedPartitionsUpdate() {
+    return changedPartitionsOnly && lastSuccessfulUpdate != null && lastYears == null;
+  }
+
+  /**
+   * Indicates whether this update covers all source data of all table types, i.e. if it is a full
+   * update or an update of changed partitions, and no table types or programs are skipped. Only a
+   * complete update may advance the time of the last successful analytics table update, as later
+   * updates of changed partitions look for source data changed since that time.
+   */
+  public boolean isCompleteUpdate() {
+    return lastYears == null && skipTableTypes.isEmpty() && skipPrograms.isEmpty();
   }
 
   /** Indicates whether this is an update of the "latest" partition. */
@@ -124,6 +149,7 @@ public class AnalyticsTableUpdateParams {
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add("last years", lastYears)
+        .add("changed partitions only", changedPartitionsOnly)
         .add("skip resource tables", skipResourceTables)
         .add("skip table types", skipTableTypes)
         .add("skip programs", skipPrograms)
@@ -164,6 +190,7 @@ public class AnalyticsTableUpdateParams {
     AnalyticsTableUpdateParams params = new AnalyticsTableUpdateParams();
 
     params.lastYears = this.lastYears;
+    params.changedPartitionsOnly = this.changedPartitionsOnly;
     params.skipResourceTables = this.skipResourceTables;
     params.skipOutliers = this.skipOutliers;
     params.skipTableTypes = new HashSet<>(this.skipTableTypes);
@@ -205,6 +232,11 @@ public class AnalyticsTableUpdateParams {
       return this;
     }
 
+    public Builder withChangedPartitionsOnly(boolean changedPartitionsOnly) {
+      this.params.changedPartitionsOnly = changedPartitionsOnly;
+      return this;
+    }
+
     public Builder withSkipResourceTables(boolean skipResourceTables) {
       this.params.skipResourceTables = skipResourceTables;
       return this;
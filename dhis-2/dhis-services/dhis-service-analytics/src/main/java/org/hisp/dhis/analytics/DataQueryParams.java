@@ -443,6 +443,9 @@ public class DataQueryParams {
 
   protected transient String serverBaseUrl;
 
+  /** Statement timeout in seconds for the analytics queries, 0 indicates no timeout. */
+  protected transient int queryTimeout;
+
   protected String explainOrderId;
 
   /** Indicates whether incoming request is not json content type and is for download */
@@ -546,6 +549,7 @@ public class DataQueryParams {
     params.userOrgUnitType = this.userOrgUnitType;
     params.explainOrderId = this.explainOrderId;
     params.serverBaseUrl = this.serverBaseUrl;
+    params.queryTimeout = this.queryTimeout;
     params.download = this.download;
     params.userOrganisationUnitsCriteria = this.userOrganisationUnitsCriteria;
 
@@ -2094,6 +2098,15 @@ public class DataQueryParams {
     return currentUser;
   }
 
+  public int getQueryTimeout() {
+    return queryTimeout;
+  }
+
+  /** Indicates whether a statement timeout applies to the analytics queries. */
+  public boolean hasQueryTimeout() {
+    return queryTimeout > 0;
+  }
+
   public Partitions getPartitions() {
     return partitions;
   }
@@ -2946,6 +2959,12 @@ public class DataQueryParams {
       return this;
     }
 
+    @Override
+    public Builder withQueryTimeout(int queryTimeout) {
+      this.params.queryTimeout = queryTimeout;
+      return this;
+    }
+
     public Builder withPartitions(Partitions partitions) {
       this.params.partitions = partitions;
       return this;
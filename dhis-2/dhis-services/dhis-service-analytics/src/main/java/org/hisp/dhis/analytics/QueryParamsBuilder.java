@@ -40,4 +40,6 @@ public interface QueryParamsBuilder {
   QueryParamsBuilder removeDimensionOrFilter(String dimension);
 
   QueryParamsBuilder addFilter(DimensionalObject filter);
+
+  QueryParamsBuilder withQueryTimeout(int queryTimeout);
 }
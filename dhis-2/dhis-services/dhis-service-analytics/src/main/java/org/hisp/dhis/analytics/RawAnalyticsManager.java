@@ -43,4 +43,13 @@ public interface RawAnalyticsManager {
    * @return a grid with data.
    */
   Grid getRawDataValues(DataQueryParams params, Grid grid);
+
+  /**
+   * Adds raw analytics data to the given grid based on the given query, as the data is read from
+   * the database, without holding the full result in memory.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param grid the grid.
+   */
+  void streamRawDataValues(DataQueryParams params, Grid grid);
 }
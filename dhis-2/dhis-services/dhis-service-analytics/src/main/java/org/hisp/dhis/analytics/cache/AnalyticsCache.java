@@ -29,8 +29,19 @@ package org.hisp.dhis.analytics.cache;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.SerializationUtils;
 import org.hisp.dhis.analytics.DataQueryParams;
@@ -42,13 +53,21 @@ import org.springframework.stereotype.Component;
 /**
  * This is a wrapper class responsible for keeping and isolating all cache definitions related to
  * the analytics.
+ *
+ * <p>Grids are stored as immutable, deflate-compressed serialized bytes. A cache hit therefore
+ * costs a single deserialization, and the cached state can never be modified by consumers of the
+ * returned Grid. Concurrent misses on the same key are coalesced, so that only one caller computes
+ * the Grid while the others wait for its result.
  */
 @Slf4j
 @Component
 public class AnalyticsCache {
   private final AnalyticsCacheSettings analyticsCacheSettings;
 
-  private Cache<Grid> queryCache;
+  private Cache<byte[]> queryCache;
+
+  /** Computations currently in flight, keyed on {@link DataQueryParams#getKey()}. */
+  private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
 
   /**
    * Default constructor. Note that a default expiration time is set, as as the TTL will always be
@@ -64,7 +83,7 @@ public class AnalyticsCache {
   }
 
   public Optional<Grid> get(String key) {
-    return getGridClone(queryCache.get(key));
+    return queryCache.get(key).map(AnalyticsCache::deserialize);
   }
 
   /**
@@ -72,7 +91,10 @@ public class AnalyticsCache {
    * If the Grid is not found in the cache, the Grid will be fetched by the function provided. In
    * this case, the fetched Grid will be cached, so the next consumers can hit the cache only.
    *
-   * <p>f The TTL of the cached object will be set accordingly to the cache settings available at
+   * <p>If another caller is already fetching the Grid for the same key, this method waits for that
+   * computation to complete instead of running the function again.
+   *
+   * <p>The TTL of the cached object will be set accordingly to the cache settings available at
    * {@link org.hisp.dhis.analytics.cache.AnalyticsCacheSettings}.
    *
    * @param params the current DataQueryParams.
@@ -80,16 +102,46 @@ public class AnalyticsCache {
    * @return the cached or fetched Grid.
    */
   public Grid getOrFetch(DataQueryParams params, Function<DataQueryParams, Grid> function) {
-    Optional<Grid> cachedGrid = get(params.getKey());
+    String key = params.getKey();
+
+    Optional<Grid> cachedGrid = get(key);
 
     if (cachedGrid.isPresent()) {
-      return getGridClone(cachedGrid.get());
-    } else {
+      return cachedGrid.get();
+    }
+
+    CompletableFuture<byte[]> future = new CompletableFuture<>();
+    CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, future);
+
+    if (existing != null) {
+      log.debug("Waiting for in-flight analytics query with key: '{}'", key);
+
+      return deserialize(join(existing));
+    }
+
+    try {
+      // A computation for the same key may have completed after the
+      // cache lookup above and before this computation was registered
+      Optional<byte[]> cachedBytes = queryCache.get(key);
+
+      if (cachedBytes.isPresent()) {
+        future.complete(cachedBytes.get());
+
+        return deserialize(cachedBytes.get());
+      }
+
       Grid grid = function.apply(params);
+      byte[] bytes = serialize(grid);
 
-      put(params, grid);
+      put(params, bytes);
+      future.complete(bytes);
 
-      return getGridClone(grid);
+      return grid;
+    } catch (RuntimeException | Error ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, future);
     }
   }
 
@@ -103,16 +155,7 @@ public class AnalyticsCache {
    * @param grid the associated Grid.
    */
   public void put(DataQueryParams params, Grid grid) {
-    if (analyticsCacheSettings.isProgressiveCachingEnabled()) {
-      // Uses the progressive TTL
-      put(
-          params.getKey(),
-          grid,
-          analyticsCacheSettings.progressiveExpirationTimeOrDefault(params.getLatestEndDate()));
-    } else {
-      // Respects the fixed (predefined) caching TTL
-      put(params.getKey(), grid, analyticsCacheSettings.fixedExpirationTimeOrDefault());
-    }
+    put(params, serialize(grid));
   }
 
   /**
@@ -124,7 +167,7 @@ public class AnalyticsCache {
    * @param ttlInSeconds the time to live (expiration time) in seconds.
    */
   public void put(String key, Grid grid, long ttlInSeconds) {
-    queryCache.put(key, getGridClone(grid), ttlInSeconds);
+    queryCache.put(key, serialize(grid), ttlInSeconds);
   }
 
   /** Clears the current cache by removing all existing entries. */
@@ -138,15 +181,56 @@ public class AnalyticsCache {
     return analyticsCacheSettings.isCachingEnabled();
   }
 
-  private Grid getGridClone(Grid grid) {
-    if (grid != null) {
-      return SerializationUtils.clone(grid);
+  private void put(DataQueryParams params, byte[] bytes) {
+    if (analyticsCacheSettings.isProgressiveCachingEnabled()) {
+      // Uses the progressive TTL
+      queryCache.put(
+          params.getKey(),
+          bytes,
+          analyticsCacheSettings.progressiveExpirationTimeOrDefault(params.getLatestEndDate()));
+    } else {
+      // Respects the fixed (predefined) caching TTL
+      queryCache.put(params.getKey(), bytes, analyticsCacheSettings.fixedExpirationTimeOrDefault());
+    }
+  }
+
+  /**
+   * Waits for the given in-flight computation, rethrowing the original exception if the
+   * computation failed.
+   */
+  private static byte[] join(CompletableFuture<byte[]> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      if (ex.getCause() instanceof Error cause) {
+        throw cause;
+      }
+
+      throw ex;
+    }
+  }
+
+  private static byte[] serialize(Grid grid) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    try (DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater)) {
+      SerializationUtils.serialize(grid, stream);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } finally {
+      deflater.end();
     }
 
-    return null;
+    return out.toByteArray();
   }
 
-  private Optional<Grid> getGridClone(Optional<Grid> grid) {
-    return grid.map(SerializationUtils::clone);
+  private static Grid deserialize(byte[] bytes) {
+    return SerializationUtils.deserialize(
+        new InflaterInputStream(new ByteArrayInputStream(bytes)));
   }
 }
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.hisp.dhis.util.SqlExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
+import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component responsible for running analytics queries with a statement timeout, for cancelling
+ * running analytics queries on the database, and for keeping track of analytics queries which were
+ * cancelled or timed out.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalyticsQueryGuard {
+  public static final String ENDPOINT_AGGREGATE = "aggregate";
+
+  public static final String ENDPOINT_EVENT = "event";
+
+  public static final String ENDPOINT_RAW = "raw";
+
+  /** Number of rows to fetch from the database at a time when streaming query results. */
+  public static final int STREAM_FETCH_SIZE = 1000;
+
+  private static final String METRIC_CANCELLED = "analytics.queries.cancelled";
+
+  private static final String METRIC_TIMED_OUT = "analytics.queries.timed_out";
+
+  private static final String TAG_ENDPOINT = "endpoint";
+
+  private final MeterRegistry meterRegistry;
+
+  /** The {@link RunningQueries} the queries of the current thread belong to, if any. */
+  private final ThreadLocal<RunningQueries> currentQueries = new ThreadLocal<>();
+
+  /**
+   * Returns a new, empty group of running queries, used to cancel the queries of a request on the
+   * database.
+   *
+   * @return a {@link RunningQueries}.
+   */
+  public RunningQueries newRunningQueries() {
+    return new RunningQueries();
+  }
+
+  /**
+   * Returns a task which runs the given task and registers the statements of the queries it runs
+   * with the given {@link RunningQueries}, so that {@link RunningQueries#cancel()} cancels them on
+   * the database.
+   *
+   * @param queries the {@link RunningQueries}.
+   * @param task the task which runs analytics queries.
+   * @return a {@link Callable}.
+   */
+  public <T> Callable<T> runningIn(RunningQueries queries, Callable<T> task) {
+    return () -> {
+      currentQueries.set(queries);
+
+      try {
+        return task.call();
+      } finally {
+        currentQueries.remove();
+      }
+    };
+  }
+
+  /**
+   * Runs the given SQL query and returns the result as a {@link SqlRowSet}. If the given timeout is
+   * positive, the statement is cancelled by the database when it exceeds the timeout.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL query.
+   * @param timeout the statement timeout in seconds, 0 indicates no timeout.
+   * @param endpoint the endpoint which issued the query, used as metric tag.
+   * @return a {@link SqlRowSet}.
+   */
+  public SqlRowSet queryForRowSet(
+      JdbcTemplate jdbcTemplate, String sql, int timeout, String endpoint) {
+    return withTimeoutHandling(
+        () ->
+            useStatementCreator(timeout)
+                ? jdbcTemplate.query(
+                    getStatementCreator(sql, timeout), new SqlRowSetResultSetExtractor())
+                : jdbcTemplate.queryForRowSet(sql),
+        timeout,
+        endpoint);
+  }
+
+  /**
+   * Runs the given SQL query which is expected to return a single value. If the given timeout is
+   * positive, the statement is cancelled by the database when it exceeds the timeout.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL query.
+   * @param type the type of the value.
+   * @param timeout the statement timeout in seconds, 0 indicates no timeout.
+   * @param endpoint the endpoint which issued the query, used as metric tag.
+   * @return the value, or null if the query returned no rows.
+   */
+  public <T> T queryForObject(
+      JdbcTemplate jdbcTemplate, String sql, Class<T> type, int timeout, String endpoint) {
+    return withTimeoutHandling(
+        () ->
+            useStatementCreator(timeout)
+                ? DataAccessUtils.nullableSingleResult(
+                    jdbcTemplate.query(
+                        getStatementCreator(sql, timeout), new SingleColumnRowMapper<>(type)))
+                : jdbcTemplate.queryForObject(sql, type),
+        timeout,
+        endpoint);
+  }
+
+  /**
+   * Runs the given SQL query and passes the result to the given handler as a {@link SqlRowSet}
+   * which reads rows from the database as it is iterated, rather than holding all rows in memory.
+   * Rows are fetched in batches of {@link #STREAM_FETCH_SIZE}. If the given timeout is positive,
+   * the statement is cancelled by the database when it exceeds the timeout.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL query.
+   * @param timeout the statement timeout in seconds, 0 indicates no timeout.
+   * @param endpoint the endpoint which issued the query, used as metric tag.
+   * @param rowSetHandler the handler of the {@link SqlRowSet}, valid only within the handler.
+   */
+  public void streamRowSet(
+      JdbcTemplate jdbcTemplate,
+      String sql,
+      int timeout,
+      String endpoint,
+      Consumer<SqlRowSet> rowSetHandler) {
+    withTimeoutHandling(
+        () ->
+            jdbcTemplate.execute(
+                (ConnectionCallback<Void>)
+                    con -> {
+                      streamRowSet(con, sql, timeout, rowSetHandler);
+                      return null;
+                    }),
+        timeout,
+        endpoint);
+  }
+
+  /**
+   * Records the given number of analytics queries as cancelled.
+   *
+   * @param endpoint the endpoint which issued the queries, used as metric tag.
+   * @param count the number of cancelled queries.
+   */
+  public void cancelled(String endpoint, int count) {
+    if (count > 0) {
+      log.info("Cancelled {} outstanding analytics queries", count);
+      counter(METRIC_CANCELLED, endpoint).increment(count);
+    }
+  }
+
+  /**
+   * Indicates whether the given exception was caused by the database cancelling the query.
+   *
+   * @param ex the {@link Throwable}.
+   * @return true if the query was cancelled by the database.
+   */
+  private boolean isQueryCanceled(Throwable ex) {
+    return ExceptionUtils.getThrowableList(ex).stream()
+        .filter(SQLException.class::isInstance)
+        .map(SQLException.class::cast)
+        .anyMatch(SqlExceptionUtils::queryCanceled);
+  }
+
+  /**
+   * Runs the given query and records the query as timed out if it was cancelled by the database.
+   */
+  private <T> T withTimeoutHandling(Supplier<T> query, int timeout, String endpoint) {
+    RunningQueries queries = currentQueries.get();
+
+    try {
+      return query.get();
+    } catch (DataAccessException ex) {
+      if (isQueryCanceled(ex) && (queries == null || !queries.cancelled)) {
+        log.warn("Analytics query exceeded statement timeout of {} seconds", timeout);
+        counter(METRIC_TIMED_OUT, endpoint).increment();
+      }
+
+      throw ex;
+    } finally {
+      if (queries != null) {
+        queries.finished();
+      }
+    }
+  }
+
+  /**
+   * Indicates whether the statement must be created by the guard, i.e. if a timeout applies or if
+   * the statement must be registered with the {@link RunningQueries} of the current thread.
+   */
+  private boolean useStatementCreator(int timeout) {
+    return timeout > 0 || currentQueries.get() != null;
+  }
+
+  /** Registers the given statement with the {@link RunningQueries} of the current thread. */
+  private void started(Statement statement) throws SQLException {
+    RunningQueries queries = currentQueries.get();
+
+    if (queries != null) {
+      queries.started(statement);
+    }
+  }
+
+  /**
+   * Runs the given SQL query on the given connection with a forward-only cursor. Auto-commit is
+   * disabled for the duration of the query, as PostgreSQL only honours the fetch size within a
+   * transaction.
+   */
+  private void streamRowSet(
+      Connection con, String sql, int timeout, Consumer<SqlRowSet> rowSetHandler)
+      throws SQLException {
+    boolean autoCommit = con.getAutoCommit();
+
+    if (autoCommit) {
+      con.setAutoCommit(false);
+    }
+
+    try (PreparedStatement statement =
+        con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+      statement.setFetchSize(STREAM_FETCH_SIZE);
+
+      if (timeout > 0) {
+        statement.setQueryTimeout(timeout);
+      }
+
+      started(statement);
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        rowSetHandler.accept(new ResultSetWrappingSqlRowSet(resultSet));
+      }
+    } finally {
+      if (autoCommit) {
+        con.setAutoCommit(true);
+      }
+    }
+  }
+
+  private PreparedStatementCreator getStatementCreator(String sql, int timeout) {
+    return con -> {
+      PreparedStatement statement = con.prepareStatement(sql);
+
+      if (timeout > 0) {
+        statement.setQueryTimeout(timeout);
+      }
+
+      started(statement);
+      return statement;
+    };
+  }
+
+  private Counter counter(String name, String endpoint) {
+    return Counter.builder(name).tag(TAG_ENDPOINT, endpoint).register(meterRegistry);
+  }
+
+  /**
+   * Statements of the running analytics queries of a single request. Each thread runs one query at
+   * a time, so statements are registered per thread and removed when the query finished.
+   */
+  public static final class RunningQueries {
+    private final Map<Thread, Statement> statements = new ConcurrentHashMap<>();
+
+    private volatile boolean cancelled;
+
+    private RunningQueries() {}
+
+    /**
+     * Cancels the running queries on the database with {@link Statement#cancel()}. Queries which
+     * start after this call are cancelled as they start.
+     *
+     * @return the number of cancelled statements.
+     */
+    public int cancel() {
+      cancelled = true;
+
+      int count = 0;
+
+      for (Statement statement : statements.values()) {
+        if (cancel(statement)) {
+          count++;
+        }
+      }
+
+      return count;
+    }
+
+    private void started(Statement statement) throws SQLException {
+      statements.put(Thread.currentThread(), statement);
+
+      if (cancelled) {
+        finished();
+        statement.close();
+        throw new SQLException("Analytics query was cancelled");
+      }
+    }
+
+    private void finished() {
+      statements.remove(Thread.currentThread());
+    }
+
+    private static boolean cancel(Statement statement) {
+      try {
+        statement.cancel();
+        return true;
+      } catch (SQLException ex) {
+        log.debug("Failed to cancel analytics query: {}", ex.getMessage());
+        return false;
+      }
+    }
+  }
+}
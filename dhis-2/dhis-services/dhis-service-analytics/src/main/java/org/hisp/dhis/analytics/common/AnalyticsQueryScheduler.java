@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.common;
+
+import static org.hisp.dhis.commons.util.SystemUtils.getCpuCores;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_MAX_PER_REQUEST;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_MAX_PER_USER;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_THREADS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler for aggregate analytics sub-queries. Sub-queries are executed by a dedicated, bounded
+ * pool of threads. The number of concurrently running sub-queries is capped per request and per
+ * user, and queued sub-queries are started in round-robin order across users, so that a request
+ * with many sub-queries cannot hold up the requests of other users.
+ *
+ * <p>The number of queued and running sub-queries and the time sub-queries wait before being
+ * started are exposed as metrics.
+ */
+@Slf4j
+@Component
+public class AnalyticsQueryScheduler {
+  private static final String METRIC_QUEUED = "analytics.queries.queued";
+
+  private static final String METRIC_RUNNING = "analytics.queries.running";
+
+  private static final String METRIC_WAIT = "analytics.queries.wait";
+
+  private final int maxThreads;
+
+  private final int maxPerRequest;
+
+  private final int maxPerUser;
+
+  private final ExecutorService executor;
+
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final AtomicInteger running = new AtomicInteger();
+
+  private final Timer waitTimer;
+
+  /** Queued sub-queries per user, in the order in which users are served. */
+  private final Map<String, Deque<ScheduledQuery<?>>> userQueues = new LinkedHashMap<>();
+
+  /** Number of running sub-queries per user. */
+  private final Map<String, Integer> userRunning = new HashMap<>();
+
+  public AnalyticsQueryScheduler(DhisConfigurationProvider config, MeterRegistry meterRegistry) {
+    int threads = NumberUtils.toInt(config.getProperty(ANALYTICS_QUERY_THREADS), 0);
+
+    this.maxThreads = threads > 0 ? threads : getCpuCores() * 2;
+    this.maxPerRequest = getLimit(config, ANALYTICS_QUERY_MAX_PER_REQUEST);
+    this.maxPerUser = getLimit(config, ANALYTICS_QUERY_MAX_PER_USER);
+    this.executor =
+        Executors.newFixedThreadPool(
+            maxThreads,
+            new ThreadFactoryBuilder().setNameFormat("analytics-query-%d").setDaemon(true).build());
+    this.waitTimer = Timer.builder(METRIC_WAIT).register(meterRegistry);
+
+    meterRegistry.gauge(METRIC_QUEUED, queued);
+    meterRegistry.gauge(METRIC_RUNNING, running);
+
+    log.info(
+        "Analytics query scheduler threads: {}, max per request: {}, max per user: {}",
+        maxThreads,
+        maxPerRequest,
+        maxPerUser);
+  }
+
+  /**
+   * Returns a new batch of sub-queries for a single request.
+   *
+   * @param username the username of the user who issued the request, may be null.
+   * @return a {@link Batch}.
+   */
+  public Batch newBatch(String username) {
+    return new Batch(Objects.toString(username, ""));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Batch of sub-queries which belong to a single request. */
+  public final class Batch {
+    private final String username;
+
+    /** Number of running sub-queries of this batch, guarded by the scheduler. */
+    private int running;
+
+    private Batch(String username) {
+      this.username = username;
+    }
+
+    /**
+     * Submits the given sub-query for execution. The sub-query is started when the limits of the
+     * scheduler allow.
+     *
+     * @param query the sub-query.
+     * @return a {@link Future} representing the result of the sub-query.
+     */
+    public <T> Future<T> submit(Callable<T> query) {
+      FutureTask<T> task = new FutureTask<>(query);
+
+      enqueue(new ScheduledQuery<>(this, task, System.nanoTime()));
+
+      return task;
+    }
+  }
+
+  /** Sub-query waiting to be executed. */
+  private record ScheduledQuery<T>(Batch batch, FutureTask<T> task, long queuedAt) {}
+
+  private synchronized void enqueue(ScheduledQuery<?> query) {
+    userQueues.computeIfAbsent(query.batch().username, key -> new ArrayDeque<>()).add(query);
+    queued.incrementAndGet();
+
+    dispatch();
+  }
+
+  /** Starts queued sub-queries as long as the limits allow. */
+  private synchronized void dispatch() {
+    while (running.get() < maxThreads) {
+      ScheduledQuery<?> query = pollNext();
+
+      if (query == null) {
+        return;
+      }
+
+      start(query);
+    }
+  }
+
+  /**
+   * Removes and returns the next sub-query which can be started, or null if none. Users are served
+   * in round-robin order, and a user who gets a sub-query started is moved to the end of the
+   * order. Sub-queries which were cancelled while queued are discarded.
+   */
+  private ScheduledQuery<?> pollNext() {
+    Iterator<Map.Entry<String, Deque<ScheduledQuery<?>>>> users =
+        userQueues.entrySet().iterator();
+
+    while (users.hasNext()) {
+      Map.Entry<String, Deque<ScheduledQuery<?>>> user = users.next();
+      Deque<ScheduledQuery<?>> queries = user.getValue();
+
+      if (userRunning.getOrDefault(user.getKey(), 0) < maxPerUser) {
+        Iterator<ScheduledQuery<?>> it = queries.iterator();
+
+        while (it.hasNext()) {
+          ScheduledQuery<?> query = it.next();
+
+          if (query.task().isDone()) {
+            it.remove();
+            queued.decrementAndGet();
+          } else if (query.batch().running < maxPerRequest) {
+            it.remove();
+            users.remove();
+
+            if (!queries.isEmpty()) {
+              userQueues.put(user.getKey(), queries);
+            }
+
+            return query;
+          }
+        }
+      }
+
+      if (queries.isEmpty()) {
+        users.remove();
+      }
+    }
+
+    return null;
+  }
+
+  private void start(ScheduledQuery<?> query) {
+    queued.decrementAndGet();
+    running.incrementAndGet();
+    userRunning.merge(query.batch().username, 1, Integer::sum);
+    query.batch().running++;
+
+    waitTimer.record(System.nanoTime() - query.queuedAt(), TimeUnit.NANOSECONDS);
+
+    executor.execute(
+        () -> {
+          try {
+            query.task().run();
+          } finally {
+            finished(query);
+          }
+        });
+  }
+
+  private synchronized void finished(ScheduledQuery<?> query) {
+    running.decrementAndGet();
+    userRunning.computeIfPresent(
+        query.batch().username, (key, count) -> count > 1 ? count - 1 : null);
+    query.batch().running--;
+
+    dispatch();
+  }
+
+  private static int getLimit(DhisConfigurationProvider config, ConfigurationKey key) {
+    int limit = NumberUtils.toInt(config.getProperty(key), 0);
+
+    return limit > 0 ? limit : Integer.MAX_VALUE;
+  }
+}
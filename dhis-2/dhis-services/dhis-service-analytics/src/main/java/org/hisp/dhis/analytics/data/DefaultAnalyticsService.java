@@ -53,7 +53,7 @@ import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
-import org.hisp.dhis.system.grid.ListGrid;
+import org.hisp.dhis.system.grid.ColumnarGrid;
 import org.hisp.dhis.visualization.Visualization;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -122,6 +122,16 @@ public class DefaultAnalyticsService implements AnalyticsService {
     return dataAggregator.getRawDataGrid(params);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public void streamRawDataValues(DataQueryParams params, Grid grid) {
+    params = checkSecurityConstraints(params);
+
+    queryValidator.validate(params);
+
+    dataAggregator.streamRawDataGrid(params, grid);
+  }
+
   @Override
   @Transactional(readOnly = true)
   public DataValueSet getAggregatedDataValueSet(DataQueryParams params) {
@@ -256,7 +266,7 @@ public class DefaultAnalyticsService implements AnalyticsService {
     Map<String, Object> valueMap = AnalyticsUtils.getAggregatedDataValueMapping(grid);
 
     return visualization.getGrid(
-        new ListGrid(grid.getMetaData(), grid.getInternalMetaData()),
+        new ColumnarGrid(grid.getMetaData(), grid.getInternalMetaData()),
         valueMap,
         params.getDisplayProperty(),
         false);
@@ -32,13 +32,16 @@ import static org.hisp.dhis.analytics.util.AnalyticsUtils.throwIllegalQueryEx;
 import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObject.ORGUNIT_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObject.PERIOD_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObject.VALUE_COLUMN_NAME;
 import static org.hisp.dhis.util.DateUtils.getEarliest;
 import static org.hisp.dhis.util.DateUtils.getLatest;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -51,11 +54,14 @@ import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollupTable;
 import org.hisp.dhis.analytics.table.model.Partitions;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.analytics.util.PeriodOffsetUtils;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DataDimensionItemType;
+import org.hisp.dhis.common.DimensionItemType;
 import org.hisp.dhis.common.DimensionType;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObject;
@@ -80,6 +86,8 @@ import org.springframework.stereotype.Component;
 public class DefaultQueryPlanner implements QueryPlanner {
   private final PartitionManager partitionManager;
 
+  private final AnalyticsTableSettings analyticsTableSettings;
+
   // -------------------------------------------------------------------------
   // QueryPlanner implementation
   // -------------------------------------------------------------------------
@@ -117,6 +125,12 @@ public class DefaultQueryPlanner implements QueryPlanner {
       currentQueries.forEach(query -> queries.addAll(grouper.apply(query)));
     }
 
+    // Route queries which can be answered exactly by a rollup table
+
+    if (AnalyticsTableType.DATA_VALUE == plannerParams.getTableType()) {
+      queries.replaceAll(this::withRollupTable);
+    }
+
     // Split queries until the optimal number is reached
 
     DataQueryGroups queryGroups = DataQueryGroups.newBuilder().withQueries(queries).build();
@@ -692,6 +706,86 @@ public class DefaultQueryPlanner implements QueryPlanner {
     return queries;
   }
 
+  // -------------------------------------------------------------------------
+  // Supportive rollup methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Returns a query which reads from the smallest existing rollup table able to answer the given
+   * query exactly, or the given query if no such rollup table exists. Queries routed to a rollup
+   * table skip partitioning, as rollup tables are not partitioned.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a {@link DataQueryParams}.
+   */
+  private DataQueryParams withRollupTable(DataQueryParams params) {
+    if (!isRollupEligible(params)) {
+      return params;
+    }
+
+    List<AnalyticsRollupTable> rollupTables = analyticsTableSettings.getRollupTables();
+
+    if (rollupTables.isEmpty()) {
+      return params;
+    }
+
+    Set<String> existingTables =
+        partitionManager.getAnalyticsPartitions(AnalyticsTableType.DATA_VALUE);
+
+    List<String> dimensionNames =
+        params.getDimensionsAndFilters().stream().map(DimensionalObject::getDimensionName).toList();
+
+    return rollupTables.stream()
+        .filter(table -> existingTables.contains(table.getMainName()))
+        .filter(table -> dimensionNames.stream().allMatch(table::hasDimensionColumn))
+        .min(
+            Comparator.comparingInt(AnalyticsRollupTable::getOrgUnitLevel)
+                .thenComparing(
+                    table -> table.getPeriodType().getFrequencyOrder(), Comparator.reverseOrder()))
+        .map(
+            table -> {
+              log.debug("Routing query to rollup table: '{}'", table.getMainName());
+
+              return DataQueryParams.newBuilder(params)
+                  .withTableName(table.getMainName())
+                  .withSkipPartitioning(true)
+                  .build();
+            })
+        .orElse(params);
+  }
+
+  /**
+   * Indicates whether the given query can be answered by a rollup table, provided that a rollup
+   * table contains all dimensions of the query. This is the case for sum aggregation of numeric
+   * data elements without any restrictions which rely on columns of the analytics table which are
+   * not present in rollup tables.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return true if the query can be answered by a rollup table.
+   */
+  private boolean isRollupEligible(DataQueryParams params) {
+    return params.isAggregation()
+        && !params.isDisaggregation()
+        && params.isAggregationType(AggregationType.SUM)
+        && params.getAggregationType().isPeriodAggregationType(AggregationType.SUM)
+        && params.isDataType(DataType.NUMERIC)
+        && VALUE_COLUMN_NAME.equals(params.getValueColumn())
+        && !params.isDataApproval()
+        && !params.isRestrictByOrgUnitOpeningClosedDate()
+        && !params.isRestrictByCategoryOptionStartEndDate()
+        && !params.hasStartDate()
+        && !params.hasEndDate()
+        && !params.isTimely()
+        && !params.hasMeasureCriteria()
+        && !params.hasPreAggregateMeasureCriteria()
+        && !params.getAllDataDimensionItems().isEmpty()
+        && params.getAllDataDimensionItems().stream()
+            .allMatch(
+                item ->
+                    DimensionItemType.DATA_ELEMENT == item.getDimensionItemType()
+                        && item.getQueryMods() == null);
+  }
+
   // -------------------------------------------------------------------------
   // Supportive methods
   // -------------------------------------------------------------------------
@@ -72,6 +72,7 @@ import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.MeasureFilter;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.analytics.table.model.Partitions;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
@@ -94,7 +95,6 @@ import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
@@ -157,12 +157,13 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
   private final SqlBuilder sqlBuilder;
 
+  private final AnalyticsQueryGuard queryGuard;
+
   // -------------------------------------------------------------------------
   // AnalyticsManager implementation
   // -------------------------------------------------------------------------
 
   @Override
-  @Async
   public Future<Map<String, Object>> getAggregatedDataValues(
       DataQueryParams params, AnalyticsTableType tableType, int maxLimit) {
     assertQuery(params);
@@ -939,7 +940,9 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
     log.debug("Analytics query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    SqlRowSet rowSet =
+        queryGuard.queryForRowSet(
+            jdbcTemplate, sql, params.getQueryTimeout(), AnalyticsQueryGuard.ENDPOINT_AGGREGATE);
 
     int counter = 0;
 
@@ -43,6 +43,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.RawAnalyticsManager;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
@@ -77,6 +78,8 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
   @Qualifier("analyticsReadOnlyJdbcTemplate")
   private final JdbcTemplate jdbcTemplate;
 
+  private final AnalyticsQueryGuard queryGuard;
+
   // -------------------------------------------------------------------------
   // RawAnalyticsManager implementation
   // -------------------------------------------------------------------------
@@ -85,6 +88,48 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
   public Grid getRawDataValues(DataQueryParams params, Grid grid) {
     Assert.isTrue(params.hasStartEndDate(), "Start and end dates must be specified");
 
+    List<DimensionalObject> dimensions = getDimensions(params);
+
+    String sql = getSelectStatement(params, dimensions);
+
+    log.debug("Analytics raw data query SQL: '{}'", sql);
+
+    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+
+    addRows(grid, rowSet, dimensions);
+
+    return grid;
+  }
+
+  @Override
+  public void streamRawDataValues(DataQueryParams params, Grid grid) {
+    Assert.isTrue(params.hasStartEndDate(), "Start and end dates must be specified");
+
+    List<DimensionalObject> dimensions = getDimensions(params);
+
+    String sql = getSelectStatement(params, dimensions);
+
+    log.debug("Analytics raw data streaming query SQL: '{}'", sql);
+
+    queryGuard.streamRowSet(
+        jdbcTemplate,
+        sql,
+        params.getQueryTimeout(),
+        AnalyticsQueryGuard.ENDPOINT_RAW,
+        rowSet -> addRows(grid, rowSet, dimensions));
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Returns the dimensions to retrieve for the given query.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a list of {@link DimensionalObject}.
+   */
+  private List<DimensionalObject> getDimensions(DataQueryParams params) {
     List<DimensionalObject> dimensions = new ArrayList<>();
     dimensions.addAll(params.getDimensions());
     dimensions.addAll(params.getOrgUnitLevelsAsDimensions());
@@ -101,12 +146,17 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
               PERIOD_END_DATE_ID, DimensionType.STATIC, PERIOD_END_DATE_NAME, List.of()));
     }
 
-    String sql = getSelectStatement(params, dimensions);
-
-    log.debug("Analytics raw data query SQL: '{}'", sql);
-
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    return dimensions;
+  }
 
+  /**
+   * Adds the rows of the given row set to the given grid.
+   *
+   * @param grid the {@link Grid}.
+   * @param rowSet the {@link SqlRowSet}.
+   * @param dimensions the list of dimensions.
+   */
+  private void addRows(Grid grid, SqlRowSet rowSet, List<DimensionalObject> dimensions) {
     while (rowSet.next()) {
       grid.addRow();
 
@@ -116,14 +166,8 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
 
       grid.addValue(rowSet.getDouble("value"));
     }
-
-    return grid;
   }
 
-  // -------------------------------------------------------------------------
-  // Supportive methods
-  // -------------------------------------------------------------------------
-
   /**
    * Returns a SQL select statement.
    *
@@ -40,6 +40,7 @@ import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.system.grid.ColumnarGrid;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.springframework.stereotype.Component;
 
@@ -69,7 +70,7 @@ public class DataAggregator {
     // Headers
     // ---------------------------------------------------------------------
 
-    Grid grid = new ListGrid();
+    Grid grid = new ColumnarGrid();
 
     headerHandler.addHeaders(params, grid);
 
@@ -134,6 +135,29 @@ public class DataAggregator {
     return grid;
   }
 
+  /**
+   * Adds headers and raw data to the given grid, as the data is read from the database. Metadata is
+   * not added. If the query specifies a custom identifier scheme, which requires post-processing of
+   * the data, the full grid is retrieved before the rows are added to the given grid.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param grid the grid.
+   */
+  public void streamRawDataGrid(DataQueryParams params, Grid grid) {
+    if (params.hasCustomIdSchemeSet()) {
+      Grid result = getRawDataGrid(params);
+      result.getHeaders().forEach(grid::addHeader);
+      grid.addRows(result);
+      return;
+    }
+
+    params = dataHandler.prepareForRawDataQuery(params);
+
+    headerHandler.addHeaders(params, grid);
+
+    dataHandler.streamRawData(params, grid);
+  }
+
   /**
    * Performs pre-handling of the given query and returns the immutable, handled query. If the query
    * has a single indicator as item for the data filter, the filter is set as a dimension and
@@ -129,6 +129,8 @@ import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
+import org.hisp.dhis.analytics.common.AnalyticsQueryScheduler;
 import org.hisp.dhis.analytics.event.EventAnalyticsService;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.resolver.ExpressionResolver;
@@ -155,6 +157,7 @@ import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.setting.SystemSettingManager;
+import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.util.Timer;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -191,6 +194,10 @@ public class DataHandler {
 
   private final ExecutionPlanStore executionPlanStore;
 
+  private final AnalyticsQueryGuard queryGuard;
+
+  private final AnalyticsQueryScheduler queryScheduler;
+
   /**
    * Adds performance metrics.
    *
@@ -553,6 +560,26 @@ public class DataHandler {
     }
   }
 
+  /**
+   * Adds raw data to the grid for the given data query parameters, as the data is read from the
+   * database.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param grid the grid.
+   */
+  @Transactional(readOnly = true)
+  public void streamRawData(DataQueryParams params, Grid grid) {
+    if (!params.isSkipData()) {
+      QueryPlannerParams plannerParams =
+          QueryPlannerParams.newBuilder().withTableType(DATA_VALUE).build();
+
+      params = queryPlanner.withTableNameAndPartitions(params, plannerParams);
+
+      final DataQueryParams immutableParams = DataQueryParams.newBuilder(params).build();
+      withExceptionHandling(() -> rawAnalyticsManager.streamRawDataValues(immutableParams, grid));
+    }
+  }
+
   /**
    * Prepares the given data query parameters.
    *
@@ -1255,7 +1282,9 @@ public class DataHandler {
   }
 
   /**
-   * Executes the given list of queries in parallel.
+   * Executes the given list of queries in parallel through the {@link AnalyticsQueryScheduler}, as
+   * one batch for the current user. If any of the queries fails or the current thread is
+   * interrupted, the outstanding queries are cancelled.
    *
    * @param tableType the {@link AnalyticsTableType}.
    * @param maxLimit the max limit of records to retrieve.
@@ -1269,8 +1298,17 @@ public class DataHandler {
       List<DataQueryParams> queries) {
     List<Future<Map<String, Object>>> futures = new ArrayList<>();
 
+    AnalyticsQueryScheduler.Batch batch =
+        queryScheduler.newBatch(CurrentUserUtil.getCurrentUsername());
+    AnalyticsQueryGuard.RunningQueries runningQueries = queryGuard.newRunningQueries();
+
     for (DataQueryParams query : queries) {
-      futures.add(analyticsManager.getAggregatedDataValues(query, tableType, maxLimit));
+      futures.add(
+          batch.submit(
+              queryGuard.runningIn(
+                  runningQueries,
+                  () ->
+                      analyticsManager.getAggregatedDataValues(query, tableType, maxLimit).get())));
     }
 
     for (Future<Map<String, Object>> future : futures) {
@@ -1281,6 +1319,12 @@ public class DataHandler {
           map.putAll(taskValues);
         }
       } catch (Exception ex) {
+        cancelOutstandingQueries(futures, runningQueries);
+
+        if (ex instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        }
+
         log.error(getStackTrace(ex));
         log.error(getStackTrace(ex.getCause()));
 
@@ -1294,6 +1338,30 @@ public class DataHandler {
     }
   }
 
+  /**
+   * Cancels the given queries which are not yet completed. Queries which have not yet started will
+   * not be executed, and the statements of running queries are cancelled on the database, as
+   * interrupting the thread does not stop a statement blocked on the database.
+   *
+   * @param futures the list of {@link Future} of the queries.
+   * @param runningQueries the {@link AnalyticsQueryGuard.RunningQueries} of the queries.
+   */
+  private void cancelOutstandingQueries(
+      List<Future<Map<String, Object>>> futures,
+      AnalyticsQueryGuard.RunningQueries runningQueries) {
+    int cancelled = 0;
+
+    for (Future<Map<String, Object>> future : futures) {
+      if (!future.isDone() && future.cancel(true)) {
+        cancelled++;
+      }
+    }
+
+    runningQueries.cancel();
+
+    queryGuard.cancelled(AnalyticsQueryGuard.ENDPOINT_AGGREGATE, cancelled);
+  }
+
   /**
    * Gets the number of available cores. Uses explicit number from system setting if available.
    * Detects number of cores from current server runtime if not.
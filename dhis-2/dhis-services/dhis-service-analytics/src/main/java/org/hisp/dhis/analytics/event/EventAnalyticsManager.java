@@ -38,6 +38,16 @@ public interface EventAnalyticsManager {
 
   Grid getEvents(EventQueryParams params, Grid grid, int maxLimit);
 
+  /**
+   * Adds events to the given grid as they are read from the database, without holding the full
+   * result in memory. Intended for grids which write rows to an output as they are added.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @param maxLimit the max number of records to retrieve.
+   */
+  void streamEvents(EventQueryParams params, Grid grid, int maxLimit);
+
   Grid getEventClusters(EventQueryParams params, Grid grid, int maxLimit);
 
   long getEventCount(EventQueryParams params);
@@ -81,6 +81,17 @@ public interface EventAnalyticsService {
    */
   Grid getEvents(EventQueryParams params);
 
+  /**
+   * Adds the headers and events matching the given query to the given grid, as the events are read
+   * from the database. Metadata is not added. Queries which require post-processing of the events,
+   * such as identifier schemes or header selection, are processed in full before the events are
+   * added to the grid.
+   *
+   * @param params the event query parameters.
+   * @param grid the grid to add events to, typically a grid which writes rows as they are added.
+   */
+  void streamEvents(EventQueryParams params, Grid grid);
+
   /**
    * Returns a list of event clusters matching the given query.
    *
@@ -305,6 +305,7 @@ public class EventQueryParams extends DataQueryParams {
     params.rowContext = this.rowContext;
     params.multipleQueries = this.multipleQueries;
     params.userOrganisationUnitsCriteria = this.userOrganisationUnitsCriteria;
+    params.queryTimeout = this.queryTimeout;
     return params;
   }
 
@@ -1351,6 +1352,12 @@ public class EventQueryParams extends DataQueryParams {
       return this;
     }
 
+    @Override
+    public Builder withQueryTimeout(int queryTimeout) {
+      this.params.queryTimeout = queryTimeout;
+      return this;
+    }
+
     public Builder withRowContext(boolean rowContext) {
       this.params.rowContext = rowContext;
       return this;
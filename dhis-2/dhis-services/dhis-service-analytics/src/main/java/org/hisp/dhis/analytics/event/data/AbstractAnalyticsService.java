@@ -146,6 +146,94 @@ public abstract class AbstractAnalyticsService {
 
     Grid grid = createGridWithHeaders(params);
 
+    addDimensionAndItemHeaders(params, periods, grid);
+
+    // ---------------------------------------------------------------------
+    // Data
+    // ---------------------------------------------------------------------
+
+    long count = 0;
+
+    if (!params.isSkipData() || params.analyzeOnly()) {
+      params = withPeriodItems(params, periods);
+      count = addData(grid, params);
+    }
+
+    // ---------------------------------------------------------------------
+    // Metadata
+    // ---------------------------------------------------------------------
+
+    addMetadata(params, periodKeywords, grid);
+
+    // ---------------------------------------------------------------------
+    // ID scheme
+    // ---------------------------------------------------------------------
+
+    if (params.hasDataIdScheme()) {
+      schemeIdResponseMapper.applyOptionAndLegendSetMapping(grid, NAME);
+    }
+
+    schemeIdResponseMapper.applyCustomIdScheme(params, grid);
+
+    // ---------------------------------------------------------------------
+    // Paging
+    // ---------------------------------------------------------------------
+
+    addPaging(params, count, grid);
+
+    // ---------------------------------------------------------------------
+    // Headers
+    // ---------------------------------------------------------------------
+
+    addHeaders(params, grid);
+
+    // ---------------------------------------------------------------------
+    // RowContext
+    // ---------------------------------------------------------------------
+
+    setRowContextColumns(grid);
+
+    return grid;
+  }
+
+  /**
+   * Adds the headers and rows of the given query to the given grid, as the rows are read from the
+   * database. Only headers and rows are added, as metadata, identifier schemes, paging and other
+   * post-processing require the full set of rows. The given grid will typically write rows to an
+   * output as they are added rather than holding them in memory.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   */
+  protected void streamGrid(EventQueryParams params, Grid grid) {
+    securityManager.decideAccessEventQuery(params);
+
+    params = securityManager.withUserConstraints(params);
+
+    queryValidator.validate(params);
+
+    List<DimensionalObject> periods = getPeriods(params);
+
+    params = new EventQueryParams.Builder(params).withStartEndDatesForPeriods().build();
+
+    createGridWithHeaders(params).getHeaders().forEach(grid::addHeader);
+
+    addDimensionAndItemHeaders(params, periods, grid);
+
+    if (!params.isSkipData()) {
+      streamData(grid, withPeriodItems(params, periods));
+    }
+  }
+
+  /**
+   * Adds headers for the dimensions, periods and query items of the given query to the given grid.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param periods the list of period dimensions.
+   * @param grid the {@link Grid}.
+   */
+  private void addDimensionAndItemHeaders(
+      EventQueryParams params, List<DimensionalObject> periods, Grid grid) {
     for (DimensionalObject dimension : params.getDimensions()) {
       grid.addHeader(
           new GridHeader(
@@ -228,58 +316,24 @@ public abstract class AbstractAnalyticsService {
                 item.getLegendSet()));
       }
     }
+  }
 
-    // ---------------------------------------------------------------------
-    // Data
-    // ---------------------------------------------------------------------
-
-    long count = 0;
-
-    if (!params.isSkipData() || params.analyzeOnly()) {
-      if (!periods.isEmpty()) {
-        params =
-            new EventQueryParams.Builder(params)
-                .withPeriods(periods.stream().flatMap(p -> p.getItems().stream()).toList(), EMPTY)
-                .build();
-      }
-      count = addData(grid, params);
-    }
-
-    // ---------------------------------------------------------------------
-    // Metadata
-    // ---------------------------------------------------------------------
-
-    addMetadata(params, periodKeywords, grid);
-
-    // ---------------------------------------------------------------------
-    // ID scheme
-    // ---------------------------------------------------------------------
-
-    if (params.hasDataIdScheme()) {
-      schemeIdResponseMapper.applyOptionAndLegendSetMapping(grid, NAME);
+  /**
+   * Returns the given query with the items of the given period dimensions as periods.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param periods the list of period dimensions.
+   * @return a {@link EventQueryParams}.
+   */
+  private EventQueryParams withPeriodItems(
+      EventQueryParams params, List<DimensionalObject> periods) {
+    if (periods.isEmpty()) {
+      return params;
     }
 
-    schemeIdResponseMapper.applyCustomIdScheme(params, grid);
-
-    // ---------------------------------------------------------------------
-    // Paging
-    // ---------------------------------------------------------------------
-
-    addPaging(params, count, grid);
-
-    // ---------------------------------------------------------------------
-    // Headers
-    // ---------------------------------------------------------------------
-
-    addHeaders(params, grid);
-
-    // ---------------------------------------------------------------------
-    // RowContext
-    // ---------------------------------------------------------------------
-
-    setRowContextColumns(grid);
-
-    return grid;
+    return new EventQueryParams.Builder(params)
+        .withPeriods(periods.stream().flatMap(p -> p.getItems().stream()).toList(), EMPTY)
+        .build();
   }
 
   /**
@@ -351,6 +405,17 @@ public abstract class AbstractAnalyticsService {
 
   protected abstract long addData(Grid grid, EventQueryParams params);
 
+  /**
+   * Adds data to the given grid as it is read from the database. Falls back to {@link
+   * #addData(Grid, EventQueryParams)} for services which do not support streaming.
+   *
+   * @param grid the {@link Grid}.
+   * @param params the {@link EventQueryParams}.
+   */
+  protected void streamData(Grid grid, EventQueryParams params) {
+    addData(grid, params);
+  }
+
   /**
    * Applies headers to the given if the given query specifies headers.
    *
@@ -75,6 +75,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -90,6 +91,7 @@ import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.EventOutputType;
 import org.hisp.dhis.analytics.SortOrder;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
@@ -164,6 +166,8 @@ public abstract class AbstractJdbcEventAnalyticsManager {
 
   protected final SqlBuilder sqlBuilder;
 
+  protected final AnalyticsQueryGuard queryGuard;
+
   /**
    * Returns a SQL paging clause.
    *
@@ -613,7 +617,7 @@ public abstract class AbstractJdbcEventAnalyticsManager {
   private void getAggregatedEventData(Grid grid, EventQueryParams params, String sql) {
     log.debug("Event analytics aggregate SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    SqlRowSet rowSet = queryForRowSet(params, sql);
 
     while (rowSet.next()) {
       grid.addRow();
@@ -1285,6 +1289,52 @@ public abstract class AbstractJdbcEventAnalyticsManager {
     return programStageId + "." + queryItem.getItem().getUid();
   }
 
+  /**
+   * Runs the given SQL query with the statement timeout of the given query parameters.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param sql the SQL query.
+   * @return a {@link SqlRowSet}.
+   */
+  protected SqlRowSet queryForRowSet(EventQueryParams params, String sql) {
+    return queryGuard.queryForRowSet(
+        jdbcTemplate, sql, params.getQueryTimeout(), AnalyticsQueryGuard.ENDPOINT_EVENT);
+  }
+
+  /**
+   * Runs the given SQL query with the statement timeout of the given query parameters, and passes
+   * the rows to the given handler as they are read from the database.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param sql the SQL query.
+   * @param rowSetHandler the handler of the {@link SqlRowSet}.
+   */
+  protected void streamRowSet(
+      EventQueryParams params, String sql, Consumer<SqlRowSet> rowSetHandler) {
+    queryGuard.streamRowSet(
+        jdbcTemplate,
+        sql,
+        params.getQueryTimeout(),
+        AnalyticsQueryGuard.ENDPOINT_EVENT,
+        rowSetHandler);
+  }
+
+  /**
+   * Runs the given SQL count query with the statement timeout of the given query parameters.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param sql the SQL count query.
+   * @return the count.
+   */
+  protected Long queryForCount(EventQueryParams params, String sql) {
+    return queryGuard.queryForObject(
+        jdbcTemplate,
+        sql,
+        Long.class,
+        params.getQueryTimeout(),
+        AnalyticsQueryGuard.ENDPOINT_EVENT);
+  }
+
   @Getter
   @Builder
   private static class IdentifiableSql {
@@ -614,6 +614,17 @@ public class DefaultEventAnalyticsService extends AbstractAnalyticsService
     return getGrid(params);
   }
 
+  @Override
+  public void streamEvents(EventQueryParams params, Grid grid) {
+    if (isStreamable(params)) {
+      streamGrid(params, grid);
+    } else {
+      Grid result = getGrid(params);
+      result.getHeaders().forEach(grid::addHeader);
+      grid.addRows(result);
+    }
+  }
+
   @Override
   public Grid getEventClusters(EventQueryParams params) {
     if (!spatialSupport) {
@@ -786,6 +797,22 @@ public class DefaultEventAnalyticsService extends AbstractAnalyticsService
     return grid;
   }
 
+  /**
+   * Indicates whether the events of the given query can be streamed, which is the case when the
+   * events do not require post-processing after being retrieved from the database.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return true if the events of the query can be streamed.
+   */
+  private boolean isStreamable(EventQueryParams params) {
+    return !params.analyzeOnly()
+        && !params.hasDataIdScheme()
+        && !params.hasCustomIdSchemeSet()
+        && !params.hasHeaders()
+        && params.getItems().stream()
+            .noneMatch(QueryItem::hasNonDefaultRepeatableProgramStageOffset);
+  }
+
   /**
    * Adds event data to the given grid. Returns the number of events matching the given event query.
    *
@@ -817,4 +844,20 @@ public class DefaultEventAnalyticsService extends AbstractAnalyticsService
 
     return count;
   }
+
+  /**
+   * Adds event data to the given grid as it is read from the database.
+   *
+   * @param grid the {@link Grid}.
+   * @param params the {@link EventQueryParams}.
+   */
+  @Override
+  protected void streamData(Grid grid, EventQueryParams params) {
+    params = queryPlanner.planEventQuery(params);
+
+    if (params.getPartitions().hasAny() || params.isSkipPartitioning()) {
+      eventAnalyticsManager.streamEvents(
+          new EventQueryParams.Builder(params).build(), grid, queryValidator.getMaxLimit());
+    }
+  }
 }
@@ -51,6 +51,7 @@ import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.event.EnrollmentAnalyticsManager;
 import org.hisp.dhis.analytics.event.EventQueryParams;
@@ -123,13 +124,15 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
       ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder,
       EnrollmentTimeFieldSqlRenderer timeFieldSqlRenderer,
       ExecutionPlanStore executionPlanStore,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsQueryGuard queryGuard) {
     super(
         jdbcTemplate,
         programIndicatorService,
         programIndicatorSubqueryBuilder,
         executionPlanStore,
-        sqlBuilder);
+        sqlBuilder,
+        queryGuard);
     this.timeFieldSqlRenderer = timeFieldSqlRenderer;
   }
 
@@ -160,7 +163,7 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
       EventQueryParams params, Grid grid, String sql, boolean unlimitedPaging) {
     log.debug("Analytics enrollment query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    SqlRowSet rowSet = queryForRowSet(params, sql);
 
     int rowsRed = 0;
 
@@ -297,7 +300,7 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
     } else {
       count =
           withExceptionHandling(
-                  () -> jdbcTemplate.queryForObject(finalSqlValue, Long.class),
+                  () -> queryForCount(params, finalSqlValue),
                   params.isMultipleQueries())
               .orElse(0l);
     }
@@ -63,6 +63,7 @@ import org.hisp.dhis.analytics.OrgUnitField;
 import org.hisp.dhis.analytics.Rectangle;
 import org.hisp.dhis.analytics.TimeField;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.event.EventAnalyticsManager;
 import org.hisp.dhis.analytics.event.EventQueryParams;
@@ -113,13 +114,15 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
       ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder,
       EventTimeFieldSqlRenderer timeFieldSqlRenderer,
       ExecutionPlanStore executionPlanStore,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsQueryGuard queryGuard) {
     super(
         jdbcTemplate,
         programIndicatorService,
         programIndicatorSubqueryBuilder,
         executionPlanStore,
-        sqlBuilder);
+        sqlBuilder,
+        queryGuard);
     this.timeFieldSqlRenderer = timeFieldSqlRenderer;
   }
 
@@ -138,6 +141,18 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
     return grid;
   }
 
+  @Override
+  public void streamEvents(EventQueryParams params, Grid grid, int maxLimit) {
+    String sql = getAggregatedEnrollmentsSql(params, maxLimit);
+
+    log.debug("Analytics event streaming query SQL: '{}'", sql);
+
+    withExceptionHandling(
+        () ->
+            streamRowSet(
+                params, sql, rowSet -> addEvents(params, grid, rowSet, maxLimit == 0)));
+  }
+
   /**
    * Adds event to the given grid based on the given parameters and SQL statement.
    *
@@ -148,8 +163,21 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
   private void getEvents(EventQueryParams params, Grid grid, String sql, boolean unlimitedPaging) {
     log.debug("Analytics event query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = queryForRows(sql);
+    SqlRowSet rowSet = queryForRows(params, sql);
 
+    addEvents(params, grid, rowSet, unlimitedPaging);
+  }
+
+  /**
+   * Adds the events of the given row set to the given grid.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @param rowSet the {@link SqlRowSet} of events.
+   * @param unlimitedPaging whether unlimited paging is enabled.
+   */
+  private void addEvents(
+      EventQueryParams params, Grid grid, SqlRowSet rowSet, boolean unlimitedPaging) {
     int rowsRed = 0;
 
     grid.setLastDataRow(true);
@@ -218,7 +246,7 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
 
     log.debug("Analytics event cluster SQL: '{}'", sql);
 
-    SqlRowSet rowSet = queryForRows(sql);
+    SqlRowSet rowSet = queryForRows(params, sql);
 
     while (rowSet.next()) {
       grid.addRow()
@@ -250,9 +278,7 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
           () -> executionPlanStore.addExecutionPlan(params.getExplainOrderId(), finalSqlValue),
           params.isMultipleQueries());
     } else {
-      count =
-          withExceptionHandling(() -> jdbcTemplate.queryForObject(finalSqlValue, Long.class))
-              .orElse(0l);
+      count = withExceptionHandling(() -> queryForCount(params, finalSqlValue)).orElse(0l);
     }
 
     return count;
@@ -280,7 +306,7 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
 
     final String finalSqlValue = sql;
 
-    SqlRowSet rowSet = withExceptionHandling(() -> queryForRows(finalSqlValue)).get();
+    SqlRowSet rowSet = withExceptionHandling(() -> queryForRows(params, finalSqlValue)).get();
 
     if (rowSet.next()) {
       Object extent = rowSet.getObject(COL_EXTENT);
@@ -292,9 +318,9 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
     return rectangle;
   }
 
-  private SqlRowSet queryForRows(String sql) {
+  private SqlRowSet queryForRows(EventQueryParams params, String sql) {
     try {
-      return jdbcTemplate.queryForRowSet(sql);
+      return queryForRowSet(params, sql);
     } catch (DataAccessResourceFailureException ex) {
       log.warn(E7131.getMessage(), ex);
       throw new QueryRuntimeException(E7131);
@@ -29,17 +29,26 @@ package org.hisp.dhis.analytics.security;
 
 import static org.hisp.dhis.analytics.security.CategorySecurityUtils.getConstrainedCategories;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.throwIllegalQueryEx;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_EVENT_QUERY_TIMEOUT;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_TIMEOUT;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_TIMEOUT_USER_ROLES;
 import static org.hisp.dhis.security.Authorities.F_VIEW_UNAPPROVED_DATA;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.QueryParamsBuilder;
@@ -55,12 +64,15 @@ import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.dataapproval.DataApprovalLevel;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -83,6 +95,16 @@ public class DefaultAnalyticsSecurityManager implements AnalyticsSecurityManager
 
   private final org.hisp.dhis.user.UserService userService;
 
+  private final DhisConfigurationProvider config;
+
+  /** Mapping of user role UID and statement timeout in seconds, parsed once on startup. */
+  private Map<String, Integer> userRoleTimeouts = Map.of();
+
+  @PostConstruct
+  void init() {
+    userRoleTimeouts = getUserRoleTimeouts(config.getProperty(ANALYTICS_QUERY_TIMEOUT_USER_ROLES));
+  }
+
   // -------------------------------------------------------------------------
   // AnalyticsSecurityManager implementation
   // -------------------------------------------------------------------------
@@ -283,6 +305,7 @@ public class DefaultAnalyticsSecurityManager implements AnalyticsSecurityManager
 
     applyOrganisationUnitConstraint(builder, params);
     applyDimensionConstraints(builder, params);
+    applyQueryTimeout(builder, ANALYTICS_QUERY_TIMEOUT);
 
     return builder.build();
   }
@@ -294,10 +317,107 @@ public class DefaultAnalyticsSecurityManager implements AnalyticsSecurityManager
 
     applyOrganisationUnitConstraint(builder, params);
     applyDimensionConstraints(builder, params);
+    applyQueryTimeout(builder, ANALYTICS_EVENT_QUERY_TIMEOUT);
 
     return builder.build();
   }
 
+  /**
+   * Applies the statement timeout for the current user. A timeout configured for any of the user
+   * roles of the current user overrides the timeout of the query endpoint. If several user roles
+   * have a timeout configured, the most permissive timeout applies, where 0 means no timeout.
+   *
+   * @param builder the {@link QueryParamsBuilder}.
+   * @param endpointTimeoutKey the {@link ConfigurationKey} of the endpoint timeout.
+   */
+  private void applyQueryTimeout(QueryParamsBuilder builder, ConfigurationKey endpointTimeoutKey) {
+    UserDetails currentUser =
+        CurrentUserUtil.hasCurrentUser() ? CurrentUserUtil.getCurrentUserDetails() : null;
+
+    int timeout =
+        getQueryTimeout(
+            NumberUtils.toInt(config.getProperty(endpointTimeoutKey), 0),
+            userRoleTimeouts,
+            currentUser != null ? currentUser.getUserRoleIds() : null);
+
+    builder.withQueryTimeout(timeout);
+  }
+
+  /**
+   * Returns the statement timeout for a user with the given user roles. A timeout configured for
+   * any of the user roles overrides the endpoint timeout. If several user roles have a timeout
+   * configured, the most permissive timeout applies, where 0 means no timeout.
+   *
+   * @param endpointTimeout the timeout of the query endpoint in seconds.
+   * @param roleTimeouts the mapping of user role UID and timeout in seconds.
+   * @param userRoleIds the user role UIDs of the user, may be null.
+   * @return the statement timeout in seconds, 0 indicates no timeout.
+   */
+  static int getQueryTimeout(
+      int endpointTimeout, Map<String, Integer> roleTimeouts, Collection<String> userRoleIds) {
+    int timeout = endpointTimeout;
+
+    if (!roleTimeouts.isEmpty() && userRoleIds != null) {
+      List<Integer> userTimeouts =
+          userRoleIds.stream()
+              .filter(roleTimeouts::containsKey)
+              .map(roleTimeouts::get)
+              .toList();
+
+      if (!userTimeouts.isEmpty()) {
+        timeout = userTimeouts.contains(0) ? 0 : Collections.max(userTimeouts);
+      }
+    }
+
+    return Math.max(timeout, 0);
+  }
+
+  /**
+   * Parses the user role timeouts configuration into a mapping of user role UID and timeout in
+   * seconds. Entries which cannot be parsed, including timeouts out of the integer range, are
+   * logged and ignored.
+   *
+   * @param value the configuration value, e.g. "yrB6vc5Ip3r:0,Ufph3mGRmMo:300".
+   * @return a mapping of user role UID and timeout in seconds.
+   */
+  static Map<String, Integer> getUserRoleTimeouts(String value) {
+    Map<String, Integer> timeouts = new HashMap<>();
+
+    for (String entry : StringUtils.split(StringUtils.trimToEmpty(value), ',')) {
+      String[] pair = StringUtils.split(entry, ':');
+      Integer timeout = pair.length == 2 ? parseTimeout(pair[1].trim()) : null;
+
+      if (timeout != null) {
+        timeouts.put(pair[0].trim(), timeout);
+      } else {
+        log.warn(
+            "Ignoring invalid entry '{}' of '{}'",
+            entry.trim(),
+            ANALYTICS_QUERY_TIMEOUT_USER_ROLES.getKey());
+      }
+    }
+
+    return Map.copyOf(timeouts);
+  }
+
+  /**
+   * Parses a timeout in seconds.
+   *
+   * @param value the timeout.
+   * @return the timeout, or null if the value is not a non-negative integer.
+   */
+  private static Integer parseTimeout(String value) {
+    if (!NumberUtils.isDigits(value)) {
+      return null;
+    }
+
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+
   /**
    * Applies organisation unit security constraint.
    *
@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableHook;
@@ -116,6 +117,16 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
 
   protected static final String PREFIX_ORGUNITNAMELEVEL = "namelevel";
 
+  /** Types of metadata for which deletions affect data in all table partitions. */
+  private static final List<String> STRUCTURAL_METADATA_TYPES =
+      List.of(
+          "OrganisationUnit",
+          "DataElement",
+          "CategoryOptionCombo",
+          "DataSet",
+          "Program",
+          "ProgramStage");
+
   protected final IdentifiableObjectManager idObjectManager;
 
   protected final OrganisationUnitService organisationUnitService;
@@ -634,6 +645,69 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
     return jdbcTemplate.queryForRowSet(sql).next();
   }
 
+  /**
+   * Returns a SQL clause which restricts source data to rows which changed since the last
+   * successful analytics table update, for updates of changed table partitions only. Soft deletes
+   * of source rows update the last updated timestamp and are covered by the clause. Returns an
+   * empty string if all partitions must be updated, which is the case if structural metadata
+   * changed since the last update.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param lastUpdatedColumns the last updated columns of the source tables. A row is changed if
+   *     any of the columns is at or after the last successful update.
+   * @return a SQL clause, or an empty string.
+   */
+  protected String getChangedDataClause(
+      AnalyticsTableUpdateParams params, String... lastUpdatedColumns) {
+    if (!params.isChangedPartitionsUpdate()
+        || hasChangedStructuralMetadata(params.getLastSuccessfulUpdate())) {
+      return "";
+    }
+
+    String lastSuccessfulUpdate = toLongDate(params.getLastSuccessfulUpdate());
+    String condition =
+        Stream.of(lastUpdatedColumns)
+            .map(column -> format("{} >= '{}'", column, lastSuccessfulUpdate))
+            .collect(Collectors.joining(" or "));
+
+    return lastUpdatedColumns.length > 1
+        ? format("and ({}) ", condition)
+        : format("and {} ", condition);
+  }
+
+  /**
+   * Indicates whether metadata which affects data in all table partitions changed since the given
+   * date. This is the case if organisation units were updated, as the hierarchy is stored in each
+   * partition, or if data dimension items were deleted, as the related source data is deleted
+   * without leaving a trace.
+   *
+   * @param since the date.
+   * @return true if structural metadata changed since the given date.
+   */
+  private boolean hasChangedStructuralMetadata(Date since) {
+    String sql =
+        TextUtils.replace(
+            """
+            select 1 from organisationunit ou \
+            where ou.lastupdated >= '${since}' \
+            union all \
+            select 1 from deletedobject d \
+            where d.klass in (${klasses}) \
+            and d.deleted_at >= '${since}' \
+            limit 1;""",
+            Map.of(
+                "since", toLongDate(since),
+                "klasses", sqlBuilder.singleQuotedCommaDelimited(STRUCTURAL_METADATA_TYPES)));
+
+    boolean changed = !jdbcTemplate.queryForList(sql).isEmpty();
+
+    if (changed) {
+      log.info("Structural metadata changed since: '{}', updating all partitions", since);
+    }
+
+    return changed;
+  }
+
   /**
    * Quotes the given relation.
    *
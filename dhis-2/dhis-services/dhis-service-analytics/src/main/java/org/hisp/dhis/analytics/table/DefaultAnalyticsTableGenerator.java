@@ -45,6 +45,7 @@ import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.cache.OutliersCache;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollupTable;
 import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.setting.SettingKey;
@@ -63,6 +64,8 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
 
   private final ResourceTableService resourceTableService;
 
+  private final JdbcAnalyticsRollupTableManager rollupTableManager;
+
   private final SystemSettingManager systemSettingManager;
 
   private final AnalyticsCache analyticsCache;
@@ -91,8 +94,7 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
     log.info("Analytics table update: {}", params);
     log.info("Last successful analytics table update: {}", toLongDate(lastSuccessfulUpdate));
 
-    progress.startingProcess(
-        "Analytics table update process{}", (params.isLatestUpdate() ? " (latest partition)" : ""));
+    progress.startingProcess("Analytics table update process{}", getProcessSuffix(params));
 
     if (!params.isSkipResourceTables() && !params.isLatestUpdate()) {
       generateResourceTablesInternal(progress);
@@ -108,6 +110,11 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
       }
     }
 
+    if (availableTypes.contains(AnalyticsTableType.DATA_VALUE)
+        && !skipTypes.contains(AnalyticsTableType.DATA_VALUE)) {
+      generateRollupTablesInternal(params, progress);
+    }
+
     progress.startingStage("Updating system settings");
     progress.runStage(() -> updateLastSuccessfulSystemSettings(params, clock));
 
@@ -117,17 +124,35 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
     progress.completedProcess("Analytics tables updated: {}", clock.time());
   }
 
+  /**
+   * Returns a description of the type of update process, if not a regular full update.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return a description of the type of update process, or an empty string.
+   */
+  private String getProcessSuffix(AnalyticsTableUpdateParams params) {
+    if (params.isLatestUpdate()) {
+      return " (latest partition)";
+    } else if (params.isChangedPartitionsUpdate()) {
+      return " (changed partitions)";
+    }
+
+    return "";
+  }
+
   private void updateLastSuccessfulSystemSettings(AnalyticsTableUpdateParams params, Clock clock) {
     if (params.isLatestUpdate()) {
       systemSettingManager.saveSystemSetting(
           SettingKey.LAST_SUCCESSFUL_LATEST_ANALYTICS_PARTITION_UPDATE, params.getStartTime());
       systemSettingManager.saveSystemSetting(
           SettingKey.LAST_SUCCESSFUL_LATEST_ANALYTICS_PARTITION_RUNTIME, clock.time());
-    } else {
+    } else if (params.isCompleteUpdate()) {
       systemSettingManager.saveSystemSetting(
           SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE, params.getStartTime());
       systemSettingManager.saveSystemSetting(
           SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_RUNTIME, clock.time());
+    } else {
+      log.info("Last successful analytics table update not changed, as update was not complete");
     }
   }
 
@@ -151,6 +176,43 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
   // Supportive methods
   // -------------------------------------------------------------------------
 
+  /**
+   * Generates the analytics rollup tables. For partial updates, rollup tables are only updated for
+   * the years of the aggregate analytics table rows which were updated.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param progress the {@link JobProgress}.
+   */
+  @SuppressWarnings("unchecked")
+  private void generateRollupTablesInternal(
+      AnalyticsTableUpdateParams params, JobProgress progress) {
+    List<AnalyticsRollupTable> rollupTables = rollupTableManager.getRollupTables();
+
+    if (rollupTables.isEmpty()) {
+      return;
+    }
+
+    if (!params.isPartialUpdate()) {
+      progress.startingStage("Generating analytics rollup tables", rollupTables.size());
+      progress.runStage(
+          rollupTables,
+          AnalyticsRollupTable::getMainName,
+          rollupTableManager::generateRollupTable);
+      return;
+    }
+
+    Set<Integer> years =
+        (Set<Integer>) params.getExtraParam("", JdbcAnalyticsTableManager.UPDATED_YEARS_KEY);
+
+    if (years != null && !years.isEmpty()) {
+      progress.startingStage("Updating analytics rollup tables", rollupTables.size());
+      progress.runStage(
+          rollupTables,
+          AnalyticsRollupTable::getMainName,
+          table -> rollupTableManager.updateRollupTable(table, years));
+    }
+  }
+
   private void generateResourceTablesInternal(JobProgress progress) {
     resourceTableService.dropAllSqlViews(progress);
 
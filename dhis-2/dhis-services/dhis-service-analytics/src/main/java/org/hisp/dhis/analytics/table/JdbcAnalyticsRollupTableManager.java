@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static org.hisp.dhis.analytics.table.model.AnalyticsRollupTable.YEAR_COLUMN_NAME;
+import static org.hisp.dhis.common.DimensionalObject.VALUE_COLUMN_NAME;
+import static org.hisp.dhis.commons.util.TextUtils.format;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollupTable;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
+import org.hisp.dhis.commons.timer.SystemTimer;
+import org.hisp.dhis.commons.timer.Timer;
+import org.hisp.dhis.db.sql.SqlBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Manager responsible for generating the pre-aggregated analytics rollup tables configured through
+ * {@link AnalyticsTableSettings#getRollupTables()}. Rollup tables are populated from the main
+ * aggregate analytics table and must hence be generated after the analytics tables are swapped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JdbcAnalyticsRollupTableManager {
+  private final AnalyticsTableSettings analyticsTableSettings;
+
+  private final SqlBuilder sqlBuilder;
+
+  @Qualifier("analyticsJdbcTemplate")
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Returns the configured rollup tables.
+   *
+   * @return a list of {@link AnalyticsRollupTable}.
+   */
+  public List<AnalyticsRollupTable> getRollupTables() {
+    return analyticsTableSettings.getRollupTables();
+  }
+
+  /**
+   * Generates the given rollup table. The table is created and populated as a staging table, and
+   * then swapped with the main table.
+   *
+   * @param table the {@link AnalyticsRollupTable}.
+   */
+  public void generateRollupTable(AnalyticsRollupTable table) {
+    Timer timer = new SystemTimer().start();
+
+    jdbcTemplate.execute(sqlBuilder.dropTableIfExists(table));
+    jdbcTemplate.execute(sqlBuilder.createTable(table));
+    jdbcTemplate.execute(getPopulateSql(table, ""));
+    analyzeAndSwapTable(table);
+
+    log.info("Generated rollup table: '{}' in: {}", table.getMainName(), timer.stop().toString());
+  }
+
+  /**
+   * Updates the given rollup table for the given years. Rows for other years are copied from the
+   * existing rollup table, and rows for the given years are populated from the main aggregate
+   * analytics table. The table is created and populated as a staging table, and then swapped with
+   * the main table. The table is generated in full if it does not exist.
+   *
+   * @param table the {@link AnalyticsRollupTable}.
+   * @param years the years of the analytics table partitions which were updated.
+   */
+  public void updateRollupTable(AnalyticsRollupTable table, Set<Integer> years) {
+    if (jdbcTemplate.queryForList(sqlBuilder.tableExists(table.getMainName())).isEmpty()) {
+      generateRollupTable(table);
+      return;
+    }
+
+    Timer timer = new SystemTimer().start();
+    String yearList = years.stream().map(String::valueOf).collect(Collectors.joining(","));
+    String yearFilter = format("and {} in ({}) ", quote(YEAR_COLUMN_NAME), yearList);
+
+    jdbcTemplate.execute(sqlBuilder.dropTableIfExists(table));
+    jdbcTemplate.execute(sqlBuilder.createTable(table));
+    jdbcTemplate.execute(getCopySql(table, yearList));
+    jdbcTemplate.execute(getPopulateSql(table, yearFilter));
+    analyzeAndSwapTable(table);
+
+    log.info(
+        "Updated rollup table: '{}' for years: {} in: {}",
+        table.getMainName(),
+        yearList,
+        timer.stop().toString());
+  }
+
+  /**
+   * Analyzes the given staging rollup table if supported, and swaps it with the main table.
+   *
+   * @param table the {@link AnalyticsRollupTable}.
+   */
+  private void analyzeAndSwapTable(AnalyticsRollupTable table) {
+    if (sqlBuilder.supportsAnalyze()) {
+      jdbcTemplate.execute(sqlBuilder.analyzeTable(table));
+    }
+
+    jdbcTemplate.execute(sqlBuilder.swapTable(table, table.getMainName()));
+  }
+
+  /**
+   * Returns the SQL statement for populating the given rollup table from the main aggregate
+   * analytics table.
+   *
+   * @param table the {@link AnalyticsRollupTable}.
+   * @param filter an additional filter on the main aggregate analytics table, may be empty.
+   * @return a SQL statement.
+   */
+  String getPopulateSql(AnalyticsRollupTable table, String filter) {
+    String dimensionColumns = getDimensionColumns(table);
+    String valueColumn = quote(VALUE_COLUMN_NAME);
+
+    return format(
+        "insert into {} ({},{}) select {},sum({}) as {} from {} "
+            + "where {} is not null {}group by {};",
+        quote(table.getName()),
+        dimensionColumns,
+        valueColumn,
+        dimensionColumns,
+        valueColumn,
+        valueColumn,
+        quote(AnalyticsTableType.DATA_VALUE.getTableName()),
+        valueColumn,
+        filter,
+        dimensionColumns);
+  }
+
+  /**
+   * Returns the SQL statement for copying the rows of all years except the given years from the
+   * main rollup table to the given staging rollup table.
+   *
+   * @param table the {@link AnalyticsRollupTable}.
+   * @param yearList the comma separated years to exclude.
+   * @return a SQL statement.
+   */
+  String getCopySql(AnalyticsRollupTable table, String yearList) {
+    String columns = format("{},{}", getDimensionColumns(table), quote(VALUE_COLUMN_NAME));
+
+    return format(
+        "insert into {} ({}) select {} from {} where {} not in ({});",
+        quote(table.getName()),
+        columns,
+        columns,
+        quote(table.getMainName()),
+        quote(YEAR_COLUMN_NAME),
+        yearList);
+  }
+
+  private String getDimensionColumns(AnalyticsRollupTable table) {
+    return table.getDimensionColumns().stream()
+        .map(sqlBuilder::quote)
+        .collect(Collectors.joining(","));
+  }
+
+  private String quote(String relation) {
+    return sqlBuilder.quote(relation);
+  }
+}
@@ -45,6 +45,7 @@ import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -103,6 +104,12 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 @Service("org.hisp.dhis.analytics.AnalyticsTableManager")
 public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
+  /**
+   * Key of the extra update parameter holding the set of years of analytics table rows which are
+   * updated, used for updating rollup tables.
+   */
+  static final String UPDATED_YEARS_KEY = "updatedYears";
+
   private static final List<AnalyticsTableColumn> FIXED_COLS =
       List.of(
           AnalyticsTableColumn.builder()
@@ -206,9 +213,55 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
             ? getLatestAnalyticsTable(params, getColumns(params))
             : getRegularAnalyticsTable(params, getDataYears(params), getColumns(params));
 
+    params.addExtraParam("", UPDATED_YEARS_KEY, getUpdatedYears(table));
+
     return table.hasTablePartitions() ? List.of(table) : List.of();
   }
 
+  /**
+   * Returns the years of analytics table rows which are updated with the given table. For the
+   * latest partition, these are the years of data values which changed within the time range of
+   * the partition, as such rows are removed from the partitions of their year.
+   *
+   * @param table the {@link AnalyticsTable}.
+   * @return a set of years.
+   */
+  private Set<Integer> getUpdatedYears(AnalyticsTable table) {
+    Set<Integer> years = new HashSet<>();
+
+    for (AnalyticsTablePartition partition : table.getTablePartitions()) {
+      if (partition.isLatestPartition()) {
+        years.addAll(getLatestDataYears(partition));
+      } else {
+        years.add(partition.getYear());
+      }
+    }
+
+    return years;
+  }
+
+  /**
+   * Returns the distinct years of data values which changed within the time range of the given
+   * latest partition.
+   *
+   * @param partition the latest {@link AnalyticsTablePartition}.
+   * @return a list of years.
+   */
+  private List<Integer> getLatestDataYears(AnalyticsTablePartition partition) {
+    String sql =
+        replace(
+            """
+            select distinct ps.year \
+            from datavalue dv \
+            inner join analytics_rs_periodstructure ps on dv.periodid=ps.periodid \
+            where dv.lastupdated >= '${startDate}' and dv.lastupdated < '${endDate}';""",
+            Map.of(
+                "startDate", toLongDate(partition.getStartDate()),
+                "endDate", toLongDate(partition.getEndDate())));
+
+    return jdbcTemplate.queryForList(sql, Integer.class);
+  }
+
   @Override
   public boolean validState() {
     return tableIsNotEmpty("datavalue")
@@ -663,6 +716,8 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
                 and dv.lastupdated < '${startTime}'\s""",
                 Map.of("startTime", toLongDate(params.getStartTime()))));
 
+    sql.append(getChangedDataClause(params, "dv.lastupdated"));
+
     if (params.getFromDate() != null) {
       sql.append(
           replace(
@@ -299,9 +299,11 @@ public class JdbcCompletenessTableManager extends AbstractJdbcTableManager {
             from completedatasetregistration cdr \
             inner join period pe on cdr.periodid=pe.periodid \
             where pe.startdate is not null \
-            and cdr.date < '${startTime}'""",
+            and cdr.date < '${startTime}'\s""",
             Map.of("startTime", toLongDate(params.getStartTime())));
 
+    sql += getChangedDataClause(params, "cdr.lastupdated");
+
     if (params.getFromDate() != null) {
       sql +=
           replace(
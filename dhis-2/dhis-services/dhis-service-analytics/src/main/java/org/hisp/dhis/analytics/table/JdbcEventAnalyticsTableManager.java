@@ -379,8 +379,13 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
     Integer latestDataYear = availableDataYears.get(availableDataYears.size() - 1);
 
     for (Program program : programs) {
-      List<Integer> yearsForPartitionTables =
-          getYearsForPartitionTable(getDataYears(params, program, firstDataYear, latestDataYear));
+      List<Integer> dataYears = getDataYears(params, program, firstDataYear, latestDataYear);
+
+      if (params.isChangedPartitionsUpdate() && dataYears.isEmpty()) {
+        continue;
+      }
+
+      List<Integer> yearsForPartitionTables = getYearsForPartitionTable(dataYears);
 
       Collections.sort(yearsForPartitionTables);
 
@@ -941,6 +946,16 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
                     "fromDate",
                     toMediumDate(params.getFromDate())))
             : "";
+    // Event rows hold enrollment and tracked entity data, changes to those also change the rows
+    String changedDataClause =
+        getChangedDataClause(params, "psi.lastupdated", "pi.lastupdated", "tei.lastupdated");
+    // Deleted events must be included when looking for changed data
+    String dataClause =
+        changedDataClause.isEmpty() ? "and psi.deleted = false " : changedDataClause;
+    String trackedEntityJoin =
+        changedDataClause.isEmpty()
+            ? ""
+            : "left join trackedentity tei on pi.trackedentityid = tei.trackedentityid ";
     String sql =
         replace(
             """
@@ -948,18 +963,19 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
             (select distinct extract(year from ${eventDateExpression}) as supportedyear \
             from event psi \
             inner join enrollment pi on psi.enrollmentid = pi.enrollmentid \
-            where psi.lastupdated <= '${startTime}' \
+            ${trackedEntityJoin}where psi.lastupdated <= '${startTime}' \
             and pi.programid = ${programId} \
             and (${eventDateExpression}) is not null \
             and (${eventDateExpression}) > '1000-01-01' \
-            and psi.deleted = false \
-            ${fromDateClause}) as temp \
+            ${dataClause}${fromDateClause}) as temp \
             where temp.supportedyear >= ${firstDataYear} \
             and temp.supportedyear <= ${latestDataYear}""",
             Map.of(
                 "eventDateExpression", eventDateExpression,
                 "startTime", toLongDate(params.getStartTime()),
                 "programId", String.valueOf(program.getId()),
+                "trackedEntityJoin", trackedEntityJoin,
+                "dataClause", dataClause,
                 "fromDateClause", fromDateClause,
                 "firstDataYear", String.valueOf(firstDataYear),
                 "latestDataYear", String.valueOf(latestDataYear)));
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table.model;
+
+import static org.hisp.dhis.analytics.DataQueryParams.LEVEL_PREFIX;
+import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObject.VALUE_COLUMN_NAME;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import org.hisp.dhis.db.model.Column;
+import org.hisp.dhis.db.model.DataType;
+import org.hisp.dhis.db.model.Logged;
+import org.hisp.dhis.db.model.Table;
+import org.hisp.dhis.db.model.constraint.Nullable;
+import org.hisp.dhis.period.PeriodType;
+
+/**
+ * Class representing a pre-aggregated analytics rollup table. A rollup table holds the sum of the
+ * values of the analytics table grouped by data element, by organisation unit for each level up to
+ * and including the rollup level, and by each period type with a frequency equal to or lower than
+ * the rollup period type. Values are also grouped by the year of the analytics table partition, so
+ * that the rollup can be updated for single years. Note that the table name initially represents a
+ * staging table.
+ */
+@Getter
+public class AnalyticsRollupTable extends Table {
+  public static final String TABLE_PREFIX = "analytics_rollup_";
+
+  /** The name of the analytics table partition year column. */
+  public static final String YEAR_COLUMN_NAME = "year";
+
+  /** The finest organisation unit level of the rollup. */
+  private final int orgUnitLevel;
+
+  /** The finest period type of the rollup. */
+  private final PeriodType periodType;
+
+  /**
+   * Constructor. Sets the name to represent a staging table.
+   *
+   * @param orgUnitLevel the finest organisation unit level.
+   * @param periodType the finest {@link PeriodType}.
+   * @param logged the {@link Logged} parameter.
+   */
+  public AnalyticsRollupTable(int orgUnitLevel, PeriodType periodType, Logged logged) {
+    super(
+        toStaging(getTableName(orgUnitLevel, periodType)),
+        getColumns(orgUnitLevel, periodType),
+        List.of(),
+        logged);
+    this.orgUnitLevel = orgUnitLevel;
+    this.periodType = periodType;
+  }
+
+  /**
+   * Returns the main table name of a rollup table.
+   *
+   * @param orgUnitLevel the organisation unit level.
+   * @param periodType the {@link PeriodType}.
+   * @return the table name.
+   */
+  public static String getTableName(int orgUnitLevel, PeriodType periodType) {
+    return TABLE_PREFIX + orgUnitLevel + "_" + periodType.getName().toLowerCase();
+  }
+
+  /**
+   * Returns the names of the period type columns, which are the period types with a frequency
+   * equal to or lower than the given period type.
+   *
+   * @param periodType the {@link PeriodType}.
+   * @return a list of period type column names.
+   */
+  public static List<String> getPeriodTypeColumns(PeriodType periodType) {
+    return PeriodType.getAvailablePeriodTypes().stream()
+        .filter(pt -> pt.getFrequencyOrder() >= periodType.getFrequencyOrder())
+        .map(pt -> pt.getName().toLowerCase())
+        .toList();
+  }
+
+  /**
+   * Returns the names of the dimension columns of this rollup table, i.e. all columns except the
+   * value column.
+   *
+   * @return a list of column names.
+   */
+  public List<String> getDimensionColumns() {
+    return getColumns().stream()
+        .map(Column::getName)
+        .filter(name -> !VALUE_COLUMN_NAME.equals(name))
+        .toList();
+  }
+
+  /**
+   * Returns the main table name of this rollup table.
+   *
+   * @return the main table name.
+   */
+  public String getMainName() {
+    return getTableName(orgUnitLevel, periodType);
+  }
+
+  /**
+   * Indicates whether this rollup table contains a dimension column with the given name.
+   *
+   * @param name the column name.
+   * @return true if the column exists.
+   */
+  public boolean hasDimensionColumn(String name) {
+    return getDimensionColumns().contains(name);
+  }
+
+  /**
+   * Returns the list of columns of a rollup table.
+   *
+   * @param orgUnitLevel the organisation unit level.
+   * @param periodType the {@link PeriodType}.
+   * @return a list of {@link Column}.
+   */
+  private static List<Column> getColumns(int orgUnitLevel, PeriodType periodType) {
+    List<Column> columns = new ArrayList<>();
+    columns.add(new Column(DATA_X_DIM_ID, DataType.CHARACTER_11, Nullable.NOT_NULL));
+
+    for (int level = 1; level <= orgUnitLevel; level++) {
+      columns.add(new Column(LEVEL_PREFIX + level, DataType.CHARACTER_11));
+    }
+
+    for (String name : getPeriodTypeColumns(periodType)) {
+      columns.add(new Column(name, DataType.TEXT));
+    }
+
+    columns.add(new Column(YEAR_COLUMN_NAME, DataType.INTEGER, Nullable.NOT_NULL));
+
+    columns.add(new Column(VALUE_COLUMN_NAME, DataType.DOUBLE));
+    return columns;
+  }
+}
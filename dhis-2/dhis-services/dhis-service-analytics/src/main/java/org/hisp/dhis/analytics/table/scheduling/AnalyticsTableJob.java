@@ -59,6 +59,7 @@ public class AnalyticsTableJob implements Job {
     AnalyticsTableUpdateParams params =
         AnalyticsTableUpdateParams.newBuilder()
             .withLastYears(parameters.getLastYears())
+            .withChangedPartitionsOnly(parameters.isChangedPartitionsOnly())
             .withSkipResourceTables(parameters.isSkipResourceTables())
             .withSkipOutliers(parameters.isSkipOutliers())
             .withSkipTableTypes(parameters.getSkipTableTypes())
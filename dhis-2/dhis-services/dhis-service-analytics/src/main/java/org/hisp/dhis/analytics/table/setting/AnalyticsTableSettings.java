@@ -31,21 +31,29 @@ import static org.hisp.dhis.commons.util.TextUtils.format;
 import static org.hisp.dhis.db.model.Logged.LOGGED;
 import static org.hisp.dhis.db.model.Logged.UNLOGGED;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_DATABASE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_ROLLUP_TABLES;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_INDEX_CATEGORY;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_INDEX_CATEGORY_OPTION_GROUP_SET;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_INDEX_DATA_ELEMENT_GROUP_SET;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_INDEX_ORG_UNIT_GROUP_SET;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_UNLOGGED;
+import static org.hisp.dhis.period.PeriodType.getPeriodTypeByName;
 import static org.hisp.dhis.setting.SettingKey.ANALYTICS_MAX_PERIOD_YEARS_OFFSET;
 import static org.hisp.dhis.util.ObjectUtils.isNull;
 
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollupTable;
 import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.springframework.stereotype.Component;
 
@@ -62,6 +70,16 @@ public class AnalyticsTableSettings {
 
   private final SystemSettingManager systemSettings;
 
+  /** Rollup tables, parsed and validated from configuration once at startup. */
+  private List<AnalyticsRollupTable> rollupTables = List.of();
+
+  @PostConstruct
+  void init() {
+    rollupTables =
+        getAndValidateRollupTables(
+            StringUtils.trimToEmpty(config.getProperty(ANALYTICS_ROLLUP_TABLES)));
+  }
+
   /**
    * Returns the setting indicating whether resource and analytics tables should be logged or
    * unlogged.
@@ -131,6 +149,47 @@ public class AnalyticsTableSettings {
     return database;
   }
 
+  /**
+   * Returns the configured analytics rollup tables. The configuration value is a comma separated
+   * list of organisation unit level and period type name pairs, e.g. "3:Yearly,4:Monthly". The
+   * value is parsed and validated at startup, an invalid value fails the startup.
+   *
+   * @return a list of {@link AnalyticsRollupTable}, empty if none are configured.
+   */
+  public List<AnalyticsRollupTable> getRollupTables() {
+    return rollupTables;
+  }
+
+  /**
+   * Returns the list of {@link AnalyticsRollupTable} matching the given value.
+   *
+   * @param value the string value.
+   * @return a list of {@link AnalyticsRollupTable}.
+   * @throws IllegalArgumentException if the value is not a valid rollup table configuration.
+   */
+  List<AnalyticsRollupTable> getAndValidateRollupTables(String value) {
+    List<AnalyticsRollupTable> tables = new ArrayList<>();
+
+    for (String item : StringUtils.split(value, ',')) {
+      String[] pair = StringUtils.split(item.trim(), ':');
+      int level = pair.length == 2 ? NumberUtils.toInt(pair[0].trim(), 0) : 0;
+      PeriodType periodType = pair.length == 2 ? getPeriodTypeByName(pair[1].trim()) : null;
+
+      if (level < 1 || isNull(periodType)) {
+        String message =
+            format(
+                "Property '{}' has illegal value: '{}', expected format: '<level>:<period type>'",
+                ANALYTICS_ROLLUP_TABLES.getKey(),
+                item);
+        throw new IllegalArgumentException(message);
+      }
+
+      tables.add(new AnalyticsRollupTable(level, periodType, getTableLogged()));
+    }
+
+    return List.copyOf(tables);
+  }
+
   /**
    * Indicates whether to skip indexing of data element group set analytics table columns.
    *
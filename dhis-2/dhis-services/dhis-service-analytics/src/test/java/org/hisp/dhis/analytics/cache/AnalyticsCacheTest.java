@@ -32,7 +32,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheBuilder;
@@ -64,15 +70,7 @@ class AnalyticsCacheTest {
     // arrange
     AnalyticsCacheSettings settings = new AnalyticsCacheSettings(systemSettingManager);
 
-    CacheBuilder<Grid> cacheBuilder = new SimpleCacheBuilder<>();
-
-    cacheBuilder.expireAfterWrite(1L, TimeUnit.MINUTES);
-
-    Cache<Grid> cache = new LocalCache<>(cacheBuilder);
-
-    Mockito.<Cache<Grid>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
-
-    AnalyticsCache analyticsCache = new AnalyticsCache(cacheProvider, settings);
+    AnalyticsCache analyticsCache = createAnalyticsCache(settings);
 
     Grid grid = new ListGrid();
     grid.addHeader(new GridHeader("Header1"))
@@ -113,4 +111,159 @@ class AnalyticsCacheTest {
 
     assertEquals(2, optCachedGrid.get().getRows().size());
   }
+
+  @Test
+  void returnSameObjectAfterModifyFetchedObject() {
+    // arrange
+    AnalyticsCacheSettings settings = new AnalyticsCacheSettings(systemSettingManager);
+
+    AnalyticsCache analyticsCache = createAnalyticsCache(settings);
+
+    DataQueryParams params =
+        DataQueryParams.newBuilder()
+            .withDataElements(List.of(new DataElement("dataElementA")))
+            .build();
+
+    // act
+    Grid fetchedGrid =
+        analyticsCache.getOrFetch(
+            params, p -> new ListGrid().addHeader(new GridHeader("Header1")).addRow().addValue(1));
+
+    fetchedGrid.addHeader(new GridHeader("Header2")).addRow().addValue(2);
+
+    Grid cachedGrid = analyticsCache.getOrFetch(params, p -> new ListGrid());
+
+    // assert
+    assertEquals(1, cachedGrid.getHeaderWidth());
+
+    assertEquals(1, cachedGrid.getRows().size());
+  }
+
+  @Test
+  void coalesceConcurrentFetchesOfSameKey() throws Exception {
+    // arrange
+    AnalyticsCacheSettings settings = new AnalyticsCacheSettings(systemSettingManager);
+
+    DataQueryParams params =
+        DataQueryParams.newBuilder()
+            .withDataElements(List.of(new DataElement("dataElementA")))
+            .build();
+
+    // the first caller looks up the cache twice before fetching, the
+    // second caller once before it waits for or repeats the fetch
+    CountDownLatch lookups = new CountDownLatch(3);
+    Cache<byte[]> cache = Mockito.spy(createLocalCache());
+    Mockito.doAnswer(
+            invocation -> {
+              Object result = invocation.callRealMethod();
+              lookups.countDown();
+              return result;
+            })
+        .when(cache)
+        .get(params.getKey());
+
+    AnalyticsCache analyticsCache = createAnalyticsCache(settings, cache);
+
+    AtomicInteger fetches = new AtomicInteger();
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+
+    Function<DataQueryParams, Grid> slowFetch =
+        p -> {
+          fetches.incrementAndGet();
+          fetchStarted.countDown();
+          awaitQuietly(releaseFetch);
+          return new ListGrid().addHeader(new GridHeader("Header1")).addRow().addValue("Value11");
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      // act
+      Future<Grid> first = executor.submit(() -> analyticsCache.getOrFetch(params, slowFetch));
+
+      assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+
+      Future<Grid> second = executor.submit(() -> analyticsCache.getOrFetch(params, slowFetch));
+
+      // the second caller has missed the cache while the first fetch is
+      // in flight, so it must not fetch again however the calls interleave
+      assertTrue(lookups.await(10, TimeUnit.SECONDS));
+
+      releaseFetch.countDown();
+
+      // assert
+      assertEquals("Value11", first.get(10, TimeUnit.SECONDS).getValue(0, 0));
+      assertEquals("Value11", second.get(10, TimeUnit.SECONDS).getValue(0, 0));
+      assertEquals(1, fetches.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void useGridCachedAfterMissWhenNoFetchInFlight() {
+    // arrange
+    AnalyticsCacheSettings settings = new AnalyticsCacheSettings(systemSettingManager);
+
+    DataQueryParams params =
+        DataQueryParams.newBuilder()
+            .withDataElements(List.of(new DataElement("dataElementA")))
+            .build();
+
+    Cache<byte[]> cache = Mockito.spy(createLocalCache());
+
+    AnalyticsCache analyticsCache = createAnalyticsCache(settings, cache);
+
+    analyticsCache.put(
+        params.getKey(),
+        new ListGrid().addHeader(new GridHeader("Header1")).addRow().addValue("Value11"),
+        60);
+
+    // another caller completed its fetch between the cache miss and the
+    // registration of this caller's fetch
+    Mockito.doReturn(Optional.empty()).doCallRealMethod().when(cache).get(params.getKey());
+
+    AtomicInteger fetches = new AtomicInteger();
+
+    // act
+    Grid grid =
+        analyticsCache.getOrFetch(
+            params,
+            p -> {
+              fetches.incrementAndGet();
+              return new ListGrid().addHeader(new GridHeader("Header1")).addRow().addValue("X");
+            });
+
+    // assert
+    assertEquals("Value11", grid.getValue(0, 0));
+    assertEquals(0, fetches.get());
+  }
+
+  private AnalyticsCache createAnalyticsCache(AnalyticsCacheSettings settings) {
+    return createAnalyticsCache(settings, createLocalCache());
+  }
+
+  private AnalyticsCache createAnalyticsCache(
+      AnalyticsCacheSettings settings, Cache<byte[]> cache) {
+    Mockito.<Cache<byte[]>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
+
+    return new AnalyticsCache(cacheProvider, settings);
+  }
+
+  private static Cache<byte[]> createLocalCache() {
+    CacheBuilder<byte[]> cacheBuilder = new SimpleCacheBuilder<>();
+
+    cacheBuilder.expireAfterWrite(1L, TimeUnit.MINUTES);
+
+    return new LocalCache<>(cacheBuilder);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
 }
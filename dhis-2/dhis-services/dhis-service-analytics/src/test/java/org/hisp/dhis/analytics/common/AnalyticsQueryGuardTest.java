@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.common;
+
+import static org.hisp.dhis.analytics.common.AnalyticsQueryGuard.ENDPOINT_AGGREGATE;
+import static org.hisp.dhis.analytics.common.AnalyticsQueryGuard.ENDPOINT_EVENT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import javax.sql.DataSource;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard.RunningQueries;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+/** Unit tests for {@link AnalyticsQueryGuard}. */
+@ExtendWith(MockitoExtension.class)
+class AnalyticsQueryGuardTest {
+  private static final String SQL = "select 1";
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private SqlRowSet rowSet;
+
+  @Mock private DataSource dataSource;
+
+  @Mock private Connection connection;
+
+  @Mock private PreparedStatement statement;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private AnalyticsQueryGuard queryGuard;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    queryGuard = new AnalyticsQueryGuard(meterRegistry);
+  }
+
+  @Test
+  void testQueryForRowSetWithoutTimeout() {
+    when(jdbcTemplate.queryForRowSet(SQL)).thenReturn(rowSet);
+
+    assertSame(rowSet, queryGuard.queryForRowSet(jdbcTemplate, SQL, 0, ENDPOINT_EVENT));
+  }
+
+  @Test
+  void testQueryForRowSetCanceledByDatabase() {
+    when(jdbcTemplate.queryForRowSet(SQL))
+        .thenThrow(
+            new DataAccessResourceFailureException(
+                "Canceled", new SQLException("canceling statement", "57014")));
+
+    assertThrows(
+        DataAccessResourceFailureException.class,
+        () -> queryGuard.queryForRowSet(jdbcTemplate, SQL, 0, ENDPOINT_EVENT));
+
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("analytics.queries.timed_out")
+            .tag("endpoint", ENDPOINT_EVENT)
+            .counter()
+            .count());
+  }
+
+  @Test
+  void testCancelled() {
+    queryGuard.cancelled(ENDPOINT_AGGREGATE, 3);
+    queryGuard.cancelled(ENDPOINT_AGGREGATE, 0);
+
+    assertEquals(
+        3.0,
+        meterRegistry
+            .get("analytics.queries.cancelled")
+            .tag("endpoint", ENDPOINT_AGGREGATE)
+            .counter()
+            .count());
+  }
+
+  @Test
+  void testCancelRunningQueries() throws SQLException {
+    RunningQueries runningQueries = queryGuard.newRunningQueries();
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(SQL)).thenReturn(statement);
+    when(statement.executeQuery())
+        .thenAnswer(
+            invocation -> {
+              assertEquals(1, runningQueries.cancel());
+              throw new SQLException("canceling statement due to user request", "57014");
+            });
+
+    Callable<SqlRowSet> query =
+        queryGuard.runningIn(
+            runningQueries,
+            () -> queryGuard.queryForRowSet(newJdbcTemplate(), SQL, 0, ENDPOINT_AGGREGATE));
+
+    assertThrows(DataAccessException.class, query::call);
+
+    verify(statement).cancel();
+    assertEquals(0, runningQueries.cancel());
+    assertNull(meterRegistry.find("analytics.queries.timed_out").counter());
+  }
+
+  @Test
+  void testCancelQueryStartedAfterCancel() throws SQLException {
+    RunningQueries runningQueries = queryGuard.newRunningQueries();
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(SQL)).thenReturn(statement);
+
+    assertEquals(0, runningQueries.cancel());
+
+    Callable<SqlRowSet> query =
+        queryGuard.runningIn(
+            runningQueries,
+            () -> queryGuard.queryForRowSet(newJdbcTemplate(), SQL, 30, ENDPOINT_AGGREGATE));
+
+    assertThrows(DataAccessException.class, query::call);
+
+    verify(statement).close();
+    verify(statement, never()).executeQuery();
+  }
+
+  private JdbcTemplate newJdbcTemplate() {
+    JdbcTemplate template = new JdbcTemplate(dataSource);
+    template.setExceptionTranslator(new SQLStateSQLExceptionTranslator());
+    return template;
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.common;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_MAX_PER_REQUEST;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_MAX_PER_USER;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_THREADS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link AnalyticsQueryScheduler}. */
+@ExtendWith(MockitoExtension.class)
+class AnalyticsQuerySchedulerTest {
+  @Mock private DhisConfigurationProvider config;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private AnalyticsQueryScheduler scheduler;
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  void testSubmitReturnsResult() throws Exception {
+    initScheduler(2, 0);
+
+    Future<String> future = scheduler.newBatch("admin").submit(() -> "result");
+
+    assertEquals("result", future.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testSubmitPropagatesException() {
+    initScheduler(2, 0);
+
+    Future<String> future =
+        scheduler
+            .newBatch(null)
+            .submit(
+                () -> {
+                  throw new IllegalStateException("Query failed");
+                });
+
+    ExecutionException ex =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, ex.getCause());
+  }
+
+  @Test
+  void testMaxPerRequest() throws Exception {
+    initScheduler(4, 1);
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AnalyticsQueryScheduler.Batch batch = scheduler.newBatch("admin");
+    List<Future<Integer>> futures = new ArrayList<>();
+
+    for (int i = 0; i < 4; i++) {
+      futures.add(
+          batch.submit(
+              () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                return running.decrementAndGet();
+              }));
+    }
+
+    for (Future<Integer> future : futures) {
+      future.get(5, TimeUnit.SECONDS);
+    }
+
+    assertEquals(1, maxRunning.get());
+  }
+
+  @Test
+  void testUsersAreServedInTurn() throws Exception {
+    initScheduler(1, 0);
+
+    CountDownLatch latch = new CountDownLatch(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+    AnalyticsQueryScheduler.Batch batchA = scheduler.newBatch("userA");
+    AnalyticsQueryScheduler.Batch batchB = scheduler.newBatch("userB");
+
+    Future<Boolean> blocker = batchA.submit(() -> latch.await(5, TimeUnit.SECONDS));
+    Future<Boolean> a1 = batchA.submit(() -> order.add("a1"));
+    Future<Boolean> a2 = batchA.submit(() -> order.add("a2"));
+    Future<Boolean> a3 = batchA.submit(() -> order.add("a3"));
+    Future<Boolean> b1 = batchB.submit(() -> order.add("b1"));
+
+    assertEquals(4.0, meterRegistry.get("analytics.queries.queued").gauge().value());
+
+    latch.countDown();
+
+    for (Future<Boolean> future : List.of(blocker, a1, a2, a3, b1)) {
+      assertTrue(future.get(5, TimeUnit.SECONDS));
+    }
+
+    assertEquals(List.of("a1", "b1", "a2", "a3"), order);
+    assertEquals(5, meterRegistry.get("analytics.queries.wait").timer().count());
+  }
+
+  @Test
+  void testCancelQueuedQuery() throws Exception {
+    initScheduler(1, 0);
+
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicBoolean executed = new AtomicBoolean();
+    AnalyticsQueryScheduler.Batch batch = scheduler.newBatch("admin");
+
+    Future<Boolean> blocker = batch.submit(() -> latch.await(5, TimeUnit.SECONDS));
+    Future<Boolean> queued = batch.submit(() -> executed.getAndSet(true));
+
+    assertTrue(queued.cancel(true));
+
+    latch.countDown();
+
+    assertTrue(blocker.get(5, TimeUnit.SECONDS));
+    assertEquals("done", batch.submit(() -> "done").get(5, TimeUnit.SECONDS));
+    assertFalse(executed.get());
+    assertEquals(0.0, meterRegistry.get("analytics.queries.queued").gauge().value());
+  }
+
+  private void initScheduler(int threads, int maxPerRequest) {
+    when(config.getProperty(ANALYTICS_QUERY_THREADS)).thenReturn(String.valueOf(threads));
+    when(config.getProperty(ANALYTICS_QUERY_MAX_PER_REQUEST))
+        .thenReturn(String.valueOf(maxPerRequest));
+    when(config.getProperty(ANALYTICS_QUERY_MAX_PER_USER)).thenReturn("0");
+
+    meterRegistry = new SimpleMeterRegistry();
+    scheduler = new AnalyticsQueryScheduler(config, meterRegistry);
+  }
+}
@@ -42,6 +42,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,6 +54,7 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.ListMap;
 import org.hisp.dhis.db.sql.PostgreSqlBuilder;
@@ -95,7 +97,12 @@ class AnalyticsManagerTest extends DhisConvenienceTest {
   @BeforeEach
   void before() {
     analyticsManager =
-        new JdbcAnalyticsManager(queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder);
+        new JdbcAnalyticsManager(
+            queryPlanner,
+            jdbcTemplate,
+            executionPlanStore,
+            sqlBuilder,
+            new AnalyticsQueryGuard(new SimpleMeterRegistry()));
   }
 
   @ParameterizedTest
@@ -29,8 +29,10 @@ package org.hisp.dhis.analytics.data;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hisp.dhis.analytics.AnalyticsManager;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
 import org.hisp.dhis.analytics.DataQueryGroups;
@@ -42,6 +44,8 @@ import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.cache.AnalyticsCacheSettings;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
+import org.hisp.dhis.analytics.common.AnalyticsQueryScheduler;
 import org.hisp.dhis.analytics.data.handler.DataAggregator;
 import org.hisp.dhis.analytics.data.handler.DataHandler;
 import org.hisp.dhis.analytics.data.handler.HeaderHandler;
@@ -119,7 +123,10 @@ abstract class AnalyticsServiceBaseTest {
             systemSettingManager,
             analyticsManager,
             organisationUnitService,
-            executionPlanStore);
+            executionPlanStore,
+            new AnalyticsQueryGuard(new SimpleMeterRegistry()),
+            new AnalyticsQueryScheduler(
+                mock(DhisConfigurationProvider.class), new SimpleMeterRegistry()));
 
     target = new DataAggregator(headerHandler, metadataHandler, dataHandler);
     target.feedHandlers();
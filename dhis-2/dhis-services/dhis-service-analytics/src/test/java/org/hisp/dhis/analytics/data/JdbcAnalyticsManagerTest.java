@@ -38,6 +38,7 @@ import static org.hisp.dhis.common.DimensionalObjectUtils.getList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
@@ -46,7 +47,9 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
 import org.hisp.dhis.common.ValueType;
@@ -76,6 +79,8 @@ class JdbcAnalyticsManagerTest {
 
   @Mock private PartitionManager partitionManager;
 
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
   @Mock private JdbcTemplate jdbcTemplate;
 
   @Mock private SqlRowSet rowSet;
@@ -92,9 +97,15 @@ class JdbcAnalyticsManagerTest {
 
   @BeforeEach
   public void setUp() {
-    QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager);
-
-    subject = new JdbcAnalyticsManager(queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder);
+    QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager, analyticsTableSettings);
+
+    subject =
+        new JdbcAnalyticsManager(
+            queryPlanner,
+            jdbcTemplate,
+            executionPlanStore,
+            sqlBuilder,
+            new AnalyticsQueryGuard(new SimpleMeterRegistry()));
   }
 
   @Test
@@ -40,6 +40,7 @@ import static org.hisp.dhis.common.DimensionalObjectUtils.getList;
 import static org.hisp.dhis.subexpression.SubexpressionDimensionItem.getItemColumnName;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.regex.Pattern;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
@@ -47,7 +48,9 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
@@ -76,6 +79,8 @@ import org.springframework.jdbc.core.JdbcTemplate;
 class JdbcSubexpressionQueryGeneratorTest {
   @Mock private PartitionManager partitionManager;
 
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
   @Mock private JdbcTemplate jdbcTemplate;
 
   @Mock private ExecutionPlanStore executionPlanStore;
@@ -89,9 +94,15 @@ class JdbcSubexpressionQueryGeneratorTest {
 
   @BeforeAll
   public void setUp() {
-    QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager);
-
-    jam = new JdbcAnalyticsManager(queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder);
+    QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager, analyticsTableSettings);
+
+    jam =
+        new JdbcAnalyticsManager(
+            queryPlanner,
+            jdbcTemplate,
+            executionPlanStore,
+            sqlBuilder,
+            new AnalyticsQueryGuard(new SimpleMeterRegistry()));
   }
 
   @Test
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.hisp.dhis.DhisConvenienceTest.createDataElement;
+import static org.hisp.dhis.DhisConvenienceTest.createOrganisationUnit;
+import static org.hisp.dhis.analytics.DataQueryParams.DISPLAY_NAME_DATA_X;
+import static org.hisp.dhis.analytics.DataQueryParams.DISPLAY_NAME_ORGUNIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.hisp.dhis.analytics.AggregationType;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.DataQueryGroups;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.QueryPlannerParams;
+import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollupTable;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
+import org.hisp.dhis.common.BaseDimensionalObject;
+import org.hisp.dhis.common.DimensionType;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.db.model.Logged;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.period.QuarterlyPeriodType;
+import org.hisp.dhis.period.YearlyPeriodType;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QueryPlannerRollupTableTest {
+  @Mock private PartitionManager partitionManager;
+
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
+  private DefaultQueryPlanner subject;
+
+  private OrganisationUnit ouB;
+
+  @BeforeEach
+  public void setUp() {
+    subject = new DefaultQueryPlanner(partitionManager, analyticsTableSettings);
+
+    OrganisationUnit ouA = createOrganisationUnit('A');
+    ouB = createOrganisationUnit('B');
+    ouB.setParent(ouA);
+    ouB.setPath("/" + ouA.getUid() + "/" + ouB.getUid());
+
+    lenient()
+        .when(analyticsTableSettings.getRollupTables())
+        .thenReturn(
+            List.of(
+                new AnalyticsRollupTable(4, new MonthlyPeriodType(), Logged.UNLOGGED),
+                new AnalyticsRollupTable(2, new QuarterlyPeriodType(), Logged.UNLOGGED),
+                new AnalyticsRollupTable(3, new MonthlyPeriodType(), Logged.UNLOGGED)));
+  }
+
+  @Test
+  void testRouteToSmallestRollupTable() {
+    when(partitionManager.getAnalyticsPartitions(AnalyticsTableType.DATA_VALUE))
+        .thenReturn(
+            Set.of(
+                "analytics_2019",
+                "analytics_rollup_4_monthly",
+                "analytics_rollup_2_quarterly",
+                "analytics_rollup_3_monthly"));
+
+    DataQueryParams query = planQuery(getParams(createSumDataElement(), new YearlyPeriodType()));
+
+    assertEquals("analytics_rollup_2_quarterly", query.getTableName());
+    assertTrue(query.isSkipPartitioning());
+  }
+
+  @Test
+  void testRouteToExistingRollupTable() {
+    when(partitionManager.getAnalyticsPartitions(AnalyticsTableType.DATA_VALUE))
+        .thenReturn(Set.of("analytics_2019", "analytics_rollup_4_monthly"));
+
+    DataQueryParams query = planQuery(getParams(createSumDataElement(), new MonthlyPeriodType()));
+
+    assertEquals("analytics_rollup_4_monthly", query.getTableName());
+    assertTrue(query.isSkipPartitioning());
+  }
+
+  @Test
+  void testNoRouteForAverageAggregation() {
+    DataElement deA =
+        createDataElement('A', ValueType.INTEGER, AggregationType.AVERAGE_SUM_ORG_UNIT);
+
+    DataQueryParams query = planQuery(getParams(deA, new MonthlyPeriodType()));
+
+    assertEquals("analytics", query.getTableName());
+    assertFalse(query.isSkipPartitioning());
+  }
+
+  private DataQueryParams planQuery(DataQueryParams params) {
+    DataQueryGroups queryGroups =
+        subject.planQuery(
+            params,
+            QueryPlannerParams.newBuilder().withTableType(AnalyticsTableType.DATA_VALUE).build());
+
+    assertEquals(1, queryGroups.getAllQueries().size());
+
+    return queryGroups.getAllQueries().get(0);
+  }
+
+  private DataElement createSumDataElement() {
+    return createDataElement('A', ValueType.INTEGER, AggregationType.SUM);
+  }
+
+  private DataQueryParams getParams(DataElement dataElement, PeriodType periodType) {
+    List<DimensionalItemObject> periods =
+        List.of(periodType.createPeriod(new DateTime(2019, 4, 1, 0, 0).toDate()));
+
+    return DataQueryParams.newBuilder()
+        .withDimensions(
+            List.of(
+                new BaseDimensionalObject("pe", DimensionType.PERIOD, periods),
+                new BaseDimensionalObject(
+                    "dx",
+                    DimensionType.DATA_X,
+                    DISPLAY_NAME_DATA_X,
+                    "display name",
+                    List.of(dataElement))))
+        .withFilters(
+            List.of(
+                new BaseDimensionalObject(
+                    "ou",
+                    DimensionType.ORGANISATION_UNIT,
+                    null,
+                    DISPLAY_NAME_ORGUNIT,
+                    List.of(ouB))))
+        .build();
+  }
+}
@@ -61,6 +61,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.ResultSet;
@@ -75,6 +76,7 @@ import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.EventOutputType;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.event.EventQueryParams.Builder;
 import org.hisp.dhis.analytics.event.data.programindicator.DefaultProgramIndicatorSubqueryBuilder;
@@ -153,7 +155,8 @@ class AbstractJdbcEventAnalyticsManagerTest extends EventAnalyticsTest {
             programIndicatorSubqueryBuilder,
             new EventTimeFieldSqlRenderer(sqlBuilder),
             executionPlanStore,
-            sqlBuilder);
+            sqlBuilder,
+            new AnalyticsQueryGuard(new SimpleMeterRegistry()));
 
     enrollmentSubject =
         new JdbcEnrollmentAnalyticsManager(
@@ -162,7 +165,8 @@ class AbstractJdbcEventAnalyticsManagerTest extends EventAnalyticsTest {
             programIndicatorSubqueryBuilder,
             new EnrollmentTimeFieldSqlRenderer(sqlBuilder),
             executionPlanStore,
-            sqlBuilder);
+            sqlBuilder,
+            new AnalyticsQueryGuard(new SimpleMeterRegistry()));
 
     programA = createProgram('A');
 
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.security;
+
+import static org.hisp.dhis.analytics.security.DefaultAnalyticsSecurityManager.getQueryTimeout;
+import static org.hisp.dhis.analytics.security.DefaultAnalyticsSecurityManager.getUserRoleTimeouts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the statement timeouts resolved by {@link DefaultAnalyticsSecurityManager}. */
+class DefaultAnalyticsSecurityManagerTest {
+  private static final Map<String, Integer> ROLE_TIMEOUTS =
+      Map.of("yrB6vc5Ip3r", 0, "Ufph3mGRmMo", 300, "Euq3XfEIEbx", 60);
+
+  @Test
+  void testGetUserRoleTimeouts() {
+    assertEquals(
+        ROLE_TIMEOUTS, getUserRoleTimeouts("yrB6vc5Ip3r:0,Ufph3mGRmMo:300,Euq3XfEIEbx:60"));
+    assertEquals(
+        Map.of("yrB6vc5Ip3r", 0, "Ufph3mGRmMo", 300),
+        getUserRoleTimeouts(" yrB6vc5Ip3r : 0 , Ufph3mGRmMo:300 "));
+  }
+
+  @Test
+  void testGetUserRoleTimeoutsIgnoresInvalidEntries() {
+    assertEquals(
+        Map.of("Ufph3mGRmMo", 300),
+        getUserRoleTimeouts("yrB6vc5Ip3r,Ufph3mGRmMo:300,Euq3XfEIEbx:-1,Wp0qXWcG4Lh:ten,:"));
+  }
+
+  @Test
+  void testGetUserRoleTimeoutsIgnoresTimeoutsOutOfRange() {
+    assertEquals(
+        Map.of("Ufph3mGRmMo", 300, "Euq3XfEIEbx", Integer.MAX_VALUE),
+        getUserRoleTimeouts("yrB6vc5Ip3r:2147483648,Ufph3mGRmMo:300,Euq3XfEIEbx:2147483647"));
+  }
+
+  @Test
+  void testGetUserRoleTimeoutsEmpty() {
+    assertTrue(getUserRoleTimeouts(null).isEmpty());
+    assertTrue(getUserRoleTimeouts("").isEmpty());
+    assertTrue(getUserRoleTimeouts(" ").isEmpty());
+  }
+
+  @Test
+  void testGetQueryTimeoutWithoutRoleTimeout() {
+    assertEquals(30, getQueryTimeout(30, Map.of(), Set.of("Ufph3mGRmMo")));
+    assertEquals(30, getQueryTimeout(30, ROLE_TIMEOUTS, Set.of("Wp0qXWcG4Lh")));
+    assertEquals(30, getQueryTimeout(30, ROLE_TIMEOUTS, null));
+    assertEquals(0, getQueryTimeout(-5, ROLE_TIMEOUTS, Set.of()));
+  }
+
+  @Test
+  void testGetQueryTimeoutRoleOverridesEndpoint() {
+    assertEquals(300, getQueryTimeout(30, ROLE_TIMEOUTS, Set.of("Ufph3mGRmMo")));
+    assertEquals(60, getQueryTimeout(600, ROLE_TIMEOUTS, Set.of("Euq3XfEIEbx", "Wp0qXWcG4Lh")));
+  }
+
+  @Test
+  void testGetQueryTimeoutMostPermissiveRoleApplies() {
+    assertEquals(300, getQueryTimeout(30, ROLE_TIMEOUTS, List.of("Euq3XfEIEbx", "Ufph3mGRmMo")));
+    assertEquals(0, getQueryTimeout(30, ROLE_TIMEOUTS, Set.of("Ufph3mGRmMo", "yrB6vc5Ip3r")));
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import org.hisp.dhis.analytics.AnalyticsTableService;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.cache.AnalyticsCache;
+import org.hisp.dhis.analytics.cache.OutliersCache;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollupTable;
+import org.hisp.dhis.db.model.Logged;
+import org.hisp.dhis.period.YearlyPeriodType;
+import org.hisp.dhis.resourcetable.ResourceTableService;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.setting.SettingKey;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultAnalyticsTableGeneratorTest {
+  @Mock private AnalyticsTableService dataValueTableService;
+
+  @Mock private AnalyticsTableService eventTableService;
+
+  @Mock private ResourceTableService resourceTableService;
+
+  @Mock private JdbcAnalyticsRollupTableManager rollupTableManager;
+
+  @Mock private SystemSettingManager systemSettingManager;
+
+  @Mock private AnalyticsCache analyticsCache;
+
+  @Mock private OutliersCache outliersCache;
+
+  private DefaultAnalyticsTableGenerator subject;
+
+  @BeforeEach
+  void setUp() {
+    when(dataValueTableService.getAnalyticsTableType()).thenReturn(AnalyticsTableType.DATA_VALUE);
+    when(eventTableService.getAnalyticsTableType()).thenReturn(AnalyticsTableType.EVENT);
+
+    subject =
+        new DefaultAnalyticsTableGenerator(
+            List.of(dataValueTableService, eventTableService),
+            resourceTableService,
+            rollupTableManager,
+            systemSettingManager,
+            analyticsCache,
+            outliersCache);
+  }
+
+  @Test
+  void testFullUpdateAdvancesLastSuccessfulUpdate() {
+    subject.generateAnalyticsTables(
+        AnalyticsTableUpdateParams.newBuilder().build(), JobProgress.noop());
+
+    verify(systemSettingManager)
+        .saveSystemSetting(eq(SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE), any(Date.class));
+  }
+
+  @Test
+  void testChangedPartitionsUpdateAdvancesLastSuccessfulUpdate() {
+    when(systemSettingManager.getDateSetting(SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE))
+        .thenReturn(new DateTime(2024, 1, 1, 0, 0).toDate());
+
+    subject.generateAnalyticsTables(
+        AnalyticsTableUpdateParams.newBuilder().withChangedPartitionsOnly(true).build(),
+        JobProgress.noop());
+
+    verify(systemSettingManager)
+        .saveSystemSetting(eq(SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE), any(Date.class));
+  }
+
+  @Test
+  void testLastYearsUpdateKeepsLastSuccessfulUpdate() {
+    subject.generateAnalyticsTables(
+        AnalyticsTableUpdateParams.newBuilder().withLastYears(2).build(), JobProgress.noop());
+
+    verify(systemSettingManager, never())
+        .saveSystemSetting(eq(SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE), any());
+  }
+
+  @Test
+  void testSkipTableTypesUpdateKeepsLastSuccessfulUpdate() {
+    subject.generateAnalyticsTables(
+        AnalyticsTableUpdateParams.newBuilder()
+            .withSkipTableTypes(Set.of(AnalyticsTableType.EVENT))
+            .build(),
+        JobProgress.noop());
+
+    verify(systemSettingManager, never())
+        .saveSystemSetting(eq(SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE), any());
+  }
+
+  @Test
+  void testFullUpdateGeneratesRollupTables() {
+    AnalyticsRollupTable rollupTable =
+        new AnalyticsRollupTable(3, new YearlyPeriodType(), Logged.UNLOGGED);
+    when(rollupTableManager.getRollupTables()).thenReturn(List.of(rollupTable));
+
+    subject.generateAnalyticsTables(
+        AnalyticsTableUpdateParams.newBuilder().build(), JobProgress.noop());
+
+    verify(rollupTableManager).generateRollupTable(rollupTable);
+    verify(rollupTableManager, never()).updateRollupTable(any(), any());
+  }
+
+  @Test
+  void testPartialUpdateUpdatesRollupTablesForUpdatedYears() {
+    AnalyticsRollupTable rollupTable =
+        new AnalyticsRollupTable(3, new YearlyPeriodType(), Logged.UNLOGGED);
+    when(rollupTableManager.getRollupTables()).thenReturn(List.of(rollupTable));
+    doAnswer(
+            invocation -> {
+              AnalyticsTableUpdateParams params = invocation.getArgument(0);
+              params.addExtraParam("", JdbcAnalyticsTableManager.UPDATED_YEARS_KEY, Set.of(2024));
+              return null;
+            })
+        .when(dataValueTableService)
+        .create(any(), any());
+
+    subject.generateAnalyticsTables(
+        AnalyticsTableUpdateParams.newBuilder().withLastYears(1).build(), JobProgress.noop());
+
+    verify(rollupTableManager).updateRollupTable(rollupTable, Set.of(2024));
+    verify(rollupTableManager, never()).generateRollupTable(any());
+  }
+
+  @Test
+  void testLatestUpdateWithoutUpdatedYearsKeepsRollupTables() {
+    AnalyticsRollupTable rollupTable =
+        new AnalyticsRollupTable(3, new YearlyPeriodType(), Logged.UNLOGGED);
+    when(rollupTableManager.getRollupTables()).thenReturn(List.of(rollupTable));
+
+    subject.generateAnalyticsTables(
+        AnalyticsTableUpdateParams.newBuilder().withLatestPartition().build(), JobProgress.noop());
+
+    verify(rollupTableManager, never()).generateRollupTable(any());
+    verify(rollupTableManager, never()).updateRollupTable(any(), any());
+  }
+}
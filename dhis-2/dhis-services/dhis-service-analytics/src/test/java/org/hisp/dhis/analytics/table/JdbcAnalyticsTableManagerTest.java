@@ -44,6 +44,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableType;
@@ -70,6 +71,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -197,6 +199,63 @@ class JdbcAnalyticsTableManagerTest {
         partitionB.getYear().intValue(), new DateTime(partitionB.getStartDate()).getYear());
   }
 
+  @Test
+  void testGetChangedPartitionsAnalyticsTable() {
+    Date lastSuccessfulUpdate = new DateTime(2019, 2, 28, 22, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime(startTime)
+            .withLastSuccessfulUpdate(lastSuccessfulUpdate)
+            .withChangedPartitionsOnly(true)
+            .build();
+
+    when(analyticsTableSettings.getTableLogged()).thenReturn(UNLOGGED);
+    when(jdbcTemplate.queryForList(Mockito.anyString())).thenReturn(List.of());
+    when(jdbcTemplate.queryForList(Mockito.anyString(), ArgumentMatchers.<Class<Integer>>any()))
+        .thenReturn(List.of(2019));
+
+    List<AnalyticsTable> tables = subject.getAnalyticsTables(params);
+
+    assertTrue(params.isPartialUpdate());
+    assertEquals(1, tables.size());
+    assertEquals(1, tables.get(0).getTablePartitions().size());
+    assertEquals(2019, tables.get(0).getTablePartitions().get(0).getYear());
+    assertEquals(
+        Set.of(2019), params.getExtraParam("", JdbcAnalyticsTableManager.UPDATED_YEARS_KEY));
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).queryForList(sqlCaptor.capture(), ArgumentMatchers.<Class<Integer>>any());
+    assertTrue(sqlCaptor.getValue().contains("and dv.lastupdated >= '2019-02-28T22:00:00'"));
+  }
+
+  @Test
+  void testGetChangedPartitionsAnalyticsTableWithChangedMetadata() {
+    Date lastSuccessfulUpdate = new DateTime(2019, 2, 28, 22, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime(startTime)
+            .withLastSuccessfulUpdate(lastSuccessfulUpdate)
+            .withChangedPartitionsOnly(true)
+            .build();
+
+    when(analyticsTableSettings.getTableLogged()).thenReturn(UNLOGGED);
+    List<Map<String, Object>> metadataResp = List.of(Map.of("exists", 1));
+
+    when(jdbcTemplate.queryForList(Mockito.anyString())).thenReturn(metadataResp);
+    when(jdbcTemplate.queryForList(Mockito.anyString(), ArgumentMatchers.<Class<Integer>>any()))
+        .thenReturn(List.of(2018, 2019));
+
+    subject.getAnalyticsTables(params);
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).queryForList(sqlCaptor.capture(), ArgumentMatchers.<Class<Integer>>any());
+    assertFalse(sqlCaptor.getValue().contains("dv.lastupdated >="));
+  }
+
   @Test
   void testGetLatestAnalyticsTable() {
     Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
@@ -219,10 +278,15 @@ class JdbcAnalyticsTableManagerTest {
         .thenReturn(lastLatestPartitionUpdate);
     when(analyticsTableSettings.getTableLogged()).thenReturn(UNLOGGED);
     when(jdbcTemplate.queryForList(Mockito.anyString())).thenReturn(queryResp);
+    when(jdbcTemplate.queryForList(Mockito.anyString(), ArgumentMatchers.<Class<Integer>>any()))
+        .thenReturn(List.of(2018, 2019));
 
     List<AnalyticsTable> tables = subject.getAnalyticsTables(params);
 
     assertEquals(1, tables.size());
+    assertEquals(
+        Set.of(2018, 2019),
+        params.getExtraParam("", JdbcAnalyticsTableManager.UPDATED_YEARS_KEY));
 
     AnalyticsTable table = tables.get(0);
 
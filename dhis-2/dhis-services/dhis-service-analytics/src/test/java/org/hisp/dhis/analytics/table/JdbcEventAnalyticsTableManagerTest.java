@@ -366,6 +366,40 @@ class JdbcEventAnalyticsTableManagerTest {
     assertThat(tables.get(0).getTablePartitions().get(0).getYear(), equalTo(Year.now().getValue()));
   }
 
+  @Test
+  void verifyChangedPartitionsIncludeEnrollmentAndTrackedEntityChanges() {
+    Program program = createProgram('A');
+    when(idObjectManager.getAllNoAcl(Program.class)).thenReturn(List.of(program));
+    when(periodDataProvider.getAvailableYears(DATABASE)).thenReturn(List.of(2018, 2019));
+    when(jdbcTemplate.queryForList(Mockito.anyString())).thenReturn(List.of());
+    when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.eq(Integer.class)))
+        .thenReturn(List.of(2019));
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime(START_TIME)
+            .withLastSuccessfulUpdate(new DateTime(2019, 7, 1, 0, 0).toDate())
+            .withChangedPartitionsOnly(true)
+            .build();
+
+    List<AnalyticsTable> tables = subject.getAnalyticsTables(params);
+
+    assertThat(tables, hasSize(1));
+    assertThat(tables.get(0).getTablePartitions(), hasSize(1));
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).queryForList(sql.capture(), Mockito.eq(Integer.class));
+    assertThat(
+        sql.getValue(),
+        containsString("left join trackedentity tei on pi.trackedentityid = tei.trackedentityid"));
+    assertThat(
+        sql.getValue(),
+        containsString(
+            "and (psi.lastupdated >= '2019-07-01T00:00:00' "
+                + "or pi.lastupdated >= '2019-07-01T00:00:00' "
+                + "or tei.lastupdated >= '2019-07-01T00:00:00')"));
+  }
+
   private AnalyticsTableColumn getColumn(String column, AnalyticsTable analyticsTable) {
     return analyticsTable.getDimensionColumns().stream()
         .filter(col -> col.getName().equals(column))
@@ -29,12 +29,17 @@ package org.hisp.dhis.analytics.table.setting;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollupTable;
 import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.period.MonthlyPeriodType;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -73,6 +78,47 @@ class AnalyticsTableSettingsTest {
     assertEquals(Database.POSTGRESQL, settings.getAnalyticsDatabase());
   }
 
+  @Test
+  void testGetAndValidateRollupTables() {
+    List<AnalyticsRollupTable> tables = settings.getAndValidateRollupTables("3:Yearly, 4:Monthly");
+
+    assertEquals(2, tables.size());
+    assertEquals("analytics_rollup_3_yearly", tables.get(0).getMainName());
+    assertEquals(4, tables.get(1).getOrgUnitLevel());
+    assertEquals(new MonthlyPeriodType(), tables.get(1).getPeriodType());
+    assertTrue(settings.getAndValidateRollupTables("").isEmpty());
+  }
+
+  @Test
+  void testGetAndValidateInvalidRollupTables() {
+    assertThrows(
+        IllegalArgumentException.class, () -> settings.getAndValidateRollupTables("3:Hourly"));
+    assertThrows(
+        IllegalArgumentException.class, () -> settings.getAndValidateRollupTables("0:Monthly"));
+    assertThrows(
+        IllegalArgumentException.class, () -> settings.getAndValidateRollupTables("Monthly"));
+  }
+
+  @Test
+  void testGetRollupTablesParsedOnInit() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_ROLLUP_TABLES)).thenReturn("3:Yearly");
+
+    assertTrue(settings.getRollupTables().isEmpty());
+
+    settings.init();
+
+    assertEquals(1, settings.getRollupTables().size());
+    assertEquals(1, settings.getRollupTables().size());
+    verify(config).getProperty(ConfigurationKey.ANALYTICS_ROLLUP_TABLES);
+  }
+
+  @Test
+  void testInitWithInvalidRollupTables() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_ROLLUP_TABLES)).thenReturn("3:Hourly");
+
+    assertThrows(IllegalArgumentException.class, settings::init);
+  }
+
   @Test
   void testToSkip() {
     assertEquals(Skip.INCLUDE, settings.toSkip(true));
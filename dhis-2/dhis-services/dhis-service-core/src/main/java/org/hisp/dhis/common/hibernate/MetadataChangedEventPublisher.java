@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.common.hibernate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hisp.dhis.common.MetadataObject;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.hisp.dhis.hibernate.HibernateProxyUtils;
+import org.hisp.dhis.user.User;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes a {@link MetadataChangedEvent} for metadata objects changed through any session on this
+ * server, not only through the metadata importer. The types changed within a transaction are
+ * collected and published once after the transaction committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetadataChangedEventPublisher
+    implements PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionUpdateEventListener {
+  /**
+   * Properties which are bookkeeping rather than metadata. Updates which only change these, like
+   * recording the last login of a user on every authenticated request, are not published.
+   */
+  private static final Map<Class<?>, Set<String>> NON_METADATA_PROPERTIES =
+      Map.of(User.class, Set.of("lastLogin"));
+
+  @PersistenceUnit private EntityManagerFactory entityManagerFactory;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PostConstruct
+  protected void init() {
+    EventListenerRegistry registry =
+        entityManagerFactory
+            .unwrap(SessionFactoryImpl.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+
+    registry.appendListeners(EventType.POST_INSERT, this);
+    registry.appendListeners(EventType.POST_UPDATE, this);
+    registry.appendListeners(EventType.POST_DELETE, this);
+    registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    changed(event.getEntity());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!isNonMetadataUpdate(event)) {
+      changed(event.getEntity());
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    changed(event.getEntity());
+  }
+
+  @Override
+  public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+    changed(event.getAffectedOwnerOrNull());
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return false;
+  }
+
+  /**
+   * Indicates whether the given update only changed {@link #NON_METADATA_PROPERTIES}. Updates of
+   * detached objects have no dirty properties and are always treated as metadata changes.
+   */
+  private boolean isNonMetadataUpdate(PostUpdateEvent event) {
+    Set<String> properties =
+        NON_METADATA_PROPERTIES.get(HibernateProxyUtils.getRealClass(event.getEntity()));
+    int[] dirtyProperties = event.getDirtyProperties();
+
+    if (properties == null || dirtyProperties == null || dirtyProperties.length == 0) {
+      return false;
+    }
+
+    String[] propertyNames = event.getPersister().getPropertyNames();
+
+    return Arrays.stream(dirtyProperties)
+        .mapToObj(index -> propertyNames[index])
+        .allMatch(properties::contains);
+  }
+
+  private void changed(Object entity) {
+    if (!(entity instanceof MetadataObject)) {
+      return;
+    }
+
+    Class<?> type = HibernateProxyUtils.getRealClass(entity);
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      eventPublisher.publishEvent(new MetadataChangedEvent(this, Set.of(type)));
+      return;
+    }
+
+    ChangedTypes changedTypes =
+        TransactionSynchronizationManager.getSynchronizations().stream()
+            .filter(ChangedTypes.class::isInstance)
+            .map(ChangedTypes.class::cast)
+            .findFirst()
+            .orElse(null);
+
+    if (changedTypes == null) {
+      changedTypes = new ChangedTypes();
+      TransactionSynchronizationManager.registerSynchronization(changedTypes);
+    }
+
+    changedTypes.types.add(type);
+  }
+
+  /**
+   * The types changed in the current transaction. Synchronizations are suspended together with
+   * their transaction, so changes in a nested transaction are published when that one commits.
+   */
+  private class ChangedTypes implements TransactionSynchronization {
+    private final Set<Class<?>> types = new HashSet<>();
+
+    @Override
+    public void afterCompletion(int status) {
+      if (status == STATUS_COMMITTED) {
+        eventPublisher.publishEvent(
+            new MetadataChangedEvent(MetadataChangedEventPublisher.this, types));
+      }
+    }
+  }
+}
@@ -39,6 +39,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.MapUtils;
@@ -95,6 +97,9 @@ import org.springframework.transaction.annotation.Transactional;
 @Service("org.hisp.dhis.preheat.PreheatService")
 @Scope(value = "prototype", proxyMode = ScopedProxyMode.INTERFACES)
 public class DefaultPreheatService implements PreheatService {
+  /** Max number of identifiers in the IN list of a single preheat query. */
+  private static final int MAX_IDENTIFIERS_PER_QUERY = 20000;
+
   private final SchemaService schemaService;
 
   private final QueryService queryService;
@@ -113,6 +118,8 @@ public class DefaultPreheatService implements PreheatService {
 
   private final UserService userService;
 
+  private final PreheatExecutor preheatExecutor;
+
   @Override
   @Transactional(readOnly = true)
   public Preheat preheat(PreheatParams params) {
@@ -130,88 +137,37 @@ public class DefaultPreheatService implements PreheatService {
     preheat.put(PreheatIdentifier.UID, preheat.getUser());
     preheat.put(PreheatIdentifier.CODE, preheat.getUser());
 
-    Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> uniqueCollectionMap =
-        new HashMap<>();
     Set<Class<? extends IdentifiableObject>> klasses = new HashSet<>(params.getObjects().keySet());
 
+    // unique values are plain projections which do not need the import
+    // session, so they load while the referenced objects are loaded below
+    Map<Class<? extends IdentifiableObject>, CompletableFuture<List<? extends IdentifiableObject>>>
+        uniqueValues = fetchUniqueValues(klasses);
+
     Map<PreheatIdentifier, Map<Class<? extends IdentifiableObject>, Set<String>>> references =
         collectReferences(params.getObjects());
 
-    Map<Class<? extends IdentifiableObject>, Set<String>> uidMap =
-        references.get(PreheatIdentifier.UID);
-    Map<Class<? extends IdentifiableObject>, Set<String>> codeMap =
-        references.get(PreheatIdentifier.CODE);
+    UserDetails currentUserDetails = UserDetails.fromUser(preheat.getUser());
 
-    boolean hasOnlyUIDClasses = uidMap.keySet().stream().anyMatch(this::isOnlyUID);
-
-    if (PreheatIdentifier.UID == params.getPreheatIdentifier() || hasOnlyUIDClasses) {
-      for (Class<? extends IdentifiableObject> klass : uidMap.keySet()) {
-        List<List<String>> identifiers =
-            Lists.partition(Lists.newArrayList(uidMap.get(klass)), 20000);
-
-        if (!identifiers.isEmpty()) {
-          for (List<String> ids : identifiers) {
-            Query query = Query.from(schemaService.getDynamicSchema(klass));
-            query.setCurrentUserDetails(UserDetails.fromUser(preheat.getUser()));
-            query.setSkipSharing(true);
-            query.add(Restrictions.in("id", ids));
-            List<? extends IdentifiableObject> objects = queryService.query(query);
-            preheat.put(PreheatIdentifier.UID, objects);
-          }
-        }
-      }
+    for (PreheatLookup lookup : planLookups(params.getPreheatIdentifier(), references)) {
+      Query query = Query.from(schemaService.getDynamicSchema(lookup.klass()));
+      query.setCurrentUserDetails(currentUserDetails);
+      query.setSkipSharing(lookup.skipSharing());
+      query.add(Restrictions.in(lookup.property(), lookup.ids()));
+      List<? extends IdentifiableObject> objects = queryService.query(query);
+      preheat.put(lookup.identifier(), objects);
     }
 
-    if (codeMap != null && (PreheatIdentifier.CODE == params.getPreheatIdentifier())) {
-      for (Class<? extends IdentifiableObject> klass : codeMap.keySet()) {
-        List<List<String>> identifiers =
-            Lists.partition(Lists.newArrayList(codeMap.get(klass)), 20000);
+    Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> uniqueCollectionMap =
+        new HashMap<>();
 
-        if (!identifiers.isEmpty()) {
-          for (List<String> ids : identifiers) {
-            Query query = Query.from(schemaService.getDynamicSchema(klass));
-            query.setCurrentUserDetails(UserDetails.fromUser(preheat.getUser()));
-            query.add(Restrictions.in("code", ids));
-            List<? extends IdentifiableObject> objects = queryService.query(query);
-            preheat.put(PreheatIdentifier.CODE, objects);
+    uniqueValues.forEach(
+        (klass, future) -> {
+          List<? extends IdentifiableObject> objects = join(future);
+          if (!objects.isEmpty()) {
+            uniqueCollectionMap.put(klass, new ArrayList<>(objects));
           }
-        }
-      }
-
-      if (uidMap.containsKey(User.class) && !uidMap.get(User.class).isEmpty()) {
-        List<List<String>> identifiers =
-            Lists.partition(Lists.newArrayList(uidMap.get(User.class)), 20000);
-
-        for (List<String> ids : identifiers) {
-          Query query = Query.from(schemaService.getDynamicSchema(User.class));
-          query.setCurrentUserDetails(UserDetails.fromUser(preheat.getUser()));
-          query.add(Restrictions.in("id", ids));
-          List<? extends IdentifiableObject> objects = queryService.query(query);
-          preheat.put(PreheatIdentifier.UID, objects);
-        }
-      }
-
-      if (uidMap.containsKey(UserRole.class) && !uidMap.get(UserRole.class).isEmpty()) {
-        List<List<String>> identifiers =
-            Lists.partition(Lists.newArrayList(uidMap.get(UserRole.class)), 20000);
-
-        for (List<String> ids : identifiers) {
-          Query query = Query.from(schemaService.getDynamicSchema(UserRole.class));
-          query.setCurrentUserDetails(UserDetails.fromUser(preheat.getUser()));
-          query.add(Restrictions.in("id", ids));
-          List<? extends IdentifiableObject> objects = queryService.query(query);
-          preheat.put(PreheatIdentifier.UID, objects);
-        }
-      }
-    }
-
-    for (Class<? extends IdentifiableObject> klass : klasses) {
-      List<? extends IdentifiableObject> objects =
-          schemaToDataFetcher.fetch(schemaService.getDynamicSchema(klass));
-      if (!objects.isEmpty()) {
-        uniqueCollectionMap.put(klass, new ArrayList<>(objects));
-      }
-    }
+        });
 
     // assign an uid to objects without an UID, if they don't have UID but
     // an existing object exists then reuse the UID
@@ -261,6 +217,105 @@ public class DefaultPreheatService implements PreheatService {
     return preheat;
   }
 
+  /**
+   * Plans the queries loading the referenced objects. Each type is looked up once per identifier,
+   * with the identifiers split into chunks of at most {@link #MAX_IDENTIFIERS_PER_QUERY}.
+   */
+  private List<PreheatLookup> planLookups(
+      PreheatIdentifier preheatIdentifier,
+      Map<PreheatIdentifier, Map<Class<? extends IdentifiableObject>, Set<String>>> references) {
+    Map<Class<? extends IdentifiableObject>, Set<String>> uidMap =
+        references.get(PreheatIdentifier.UID);
+    Map<Class<? extends IdentifiableObject>, Set<String>> codeMap =
+        references.get(PreheatIdentifier.CODE);
+
+    List<PreheatLookup> lookups = new ArrayList<>();
+    boolean hasOnlyUIDClasses = uidMap.keySet().stream().anyMatch(this::isOnlyUID);
+    boolean lookupAllUIDs = PreheatIdentifier.UID == preheatIdentifier || hasOnlyUIDClasses;
+
+    if (lookupAllUIDs) {
+      uidMap.forEach((klass, ids) -> addLookups(lookups, klass, PreheatIdentifier.UID, ids, true));
+    }
+
+    if (codeMap != null && PreheatIdentifier.CODE == preheatIdentifier) {
+      codeMap.forEach(
+          (klass, ids) -> addLookups(lookups, klass, PreheatIdentifier.CODE, ids, false));
+
+      if (!lookupAllUIDs) {
+        addLookups(lookups, User.class, PreheatIdentifier.UID, uidMap.get(User.class), false);
+        addLookups(
+            lookups, UserRole.class, PreheatIdentifier.UID, uidMap.get(UserRole.class), false);
+      }
+    }
+
+    return lookups;
+  }
+
+  private static void addLookups(
+      List<PreheatLookup> lookups,
+      Class<? extends IdentifiableObject> klass,
+      PreheatIdentifier identifier,
+      Set<String> ids,
+      boolean skipSharing) {
+    if (ids == null || ids.isEmpty()) {
+      return;
+    }
+
+    for (List<String> chunk : Lists.partition(new ArrayList<>(ids), MAX_IDENTIFIERS_PER_QUERY)) {
+      lookups.add(new PreheatLookup(klass, identifier, chunk, skipSharing));
+    }
+  }
+
+  /**
+   * Starts loading the unique values of the given types. With more than one preheat thread each
+   * type is loaded in its own read-only session on the {@link PreheatExecutor}, otherwise they are
+   * loaded right away in the import session.
+   */
+  private Map<
+          Class<? extends IdentifiableObject>,
+          CompletableFuture<List<? extends IdentifiableObject>>>
+      fetchUniqueValues(Set<Class<? extends IdentifiableObject>> klasses) {
+    Map<Class<? extends IdentifiableObject>, CompletableFuture<List<? extends IdentifiableObject>>>
+        futures = new HashMap<>();
+
+    for (Class<? extends IdentifiableObject> klass : klasses) {
+      Schema schema = schemaService.getDynamicSchema(klass);
+
+      if (preheatExecutor.getParallelism() > 1) {
+        futures.put(
+            klass,
+            CompletableFuture.supplyAsync(
+                () -> schemaToDataFetcher.fetchInNewSession(schema), preheatExecutor));
+      } else {
+        futures.put(klass, CompletableFuture.completedFuture(schemaToDataFetcher.fetch(schema)));
+      }
+    }
+
+    return futures;
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  /** A single query of preheat for the given identifiers of one type. */
+  private record PreheatLookup(
+      Class<? extends IdentifiableObject> klass,
+      PreheatIdentifier identifier,
+      List<String> ids,
+      boolean skipSharing) {
+    String property() {
+      return identifier == PreheatIdentifier.UID ? "id" : "code";
+    }
+  }
+
   private void handleSharing(PreheatParams params, Preheat preheat) {
     params
         .getObjects()
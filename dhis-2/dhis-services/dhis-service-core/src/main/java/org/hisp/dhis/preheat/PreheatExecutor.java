@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.preheat;
+
+import static org.hisp.dhis.commons.util.ConcurrentUtils.newCallerRunsExecutor;
+import static org.hisp.dhis.external.conf.ConfigurationKey.METADATA_IMPORT_PREHEAT_THREADS;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executor for the preheat loads which {@link DefaultPreheatService} runs outside of the import
+ * session. The pool is shared by all metadata imports and bounded to {@link #getParallelism()}
+ * threads, each of which holds a database connection while loading. When the pool and its queue
+ * are busy the importing thread runs the load itself.
+ */
+@Slf4j
+@Component
+public class PreheatExecutor implements Executor {
+  private final ThreadPoolExecutor executor;
+
+  private final int parallelism;
+
+  public PreheatExecutor(DhisConfigurationProvider config) {
+    this.parallelism =
+        Math.max(1, NumberUtils.toInt(config.getProperty(METADATA_IMPORT_PREHEAT_THREADS), 1));
+
+    this.executor = newCallerRunsExecutor("METADATA-PREHEAT-%d", parallelism, parallelism);
+
+    log.info("Metadata preheat threads: {}", parallelism);
+  }
+
+  /**
+   * @return the maximum number of loads running concurrently, 1 if preheat should load everything
+   *     on the importing thread in the import session
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    executor.execute(command);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -34,10 +34,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.beanutils.BeanUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
 import org.hibernate.jpa.QueryHints;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.schema.Property;
@@ -73,11 +77,42 @@ public class SchemaToDataFetcher {
       return Collections.emptyList();
     }
 
-    return mapUniqueFields(schema);
+    return mapUniqueFields(
+        schema,
+        hql ->
+            entityManager.createQuery(hql).setHint(QueryHints.HINT_READONLY, true).getResultList());
+  }
+
+  /**
+   * Same as {@link #fetch(Schema)} but runs the query in a read-only transaction of a new stateless
+   * session instead of the current one, so it can run on another thread. Such a session only sees
+   * committed data.
+   *
+   * @param schema a {@link Schema}
+   * @return a List of objects corresponding to the "klass" of the given Schema
+   */
+  public List<? extends IdentifiableObject> fetchInNewSession(Schema schema) {
+    if (schema == null || schema.getUniqueProperties().isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    StatelessSession session =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).openStatelessSession();
+    Transaction transaction = session.beginTransaction();
+    try {
+      // the connection pool resets the read-only flag when the connection is returned
+      session.doWork(connection -> connection.setReadOnly(true));
+
+      return mapUniqueFields(schema, hql -> session.createQuery(hql).setReadOnly(true).list());
+    } finally {
+      transaction.rollback();
+      session.close();
+    }
   }
 
   @SuppressWarnings("unchecked")
-  private List<? extends IdentifiableObject> mapUniqueFields(Schema schema) {
+  private List<? extends IdentifiableObject> mapUniqueFields(
+      Schema schema, Function<String, List> query) {
     List<Property> uniqueProperties = schema.getUniqueProperties();
 
     List objects = new ArrayList();
@@ -85,11 +120,7 @@ public class SchemaToDataFetcher {
     if (!uniqueProperties.isEmpty()) {
       final String fields = extractUniqueFields(uniqueProperties);
 
-      objects =
-          entityManager
-              .createQuery("SELECT " + fields + " from " + schema.getKlass().getSimpleName())
-              .setHint(QueryHints.HINT_READONLY, true)
-              .getResultList();
+      objects = query.apply("SELECT " + fields + " from " + schema.getKlass().getSimpleName());
     }
 
     // Hibernate returns a List containing an array of Objects if multiple
@@ -40,6 +40,7 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.common.adapter.Sharing_;
 import org.hisp.dhis.commons.collection.CollectionUtils;
 import org.hisp.dhis.hibernate.jsonb.type.JsonbFunctions;
 import org.hisp.dhis.schema.Property;
@@ -282,7 +283,9 @@ public class JpaQueryUtils {
   }
 
   /**
-   * Generate JPA Predicate for checking User Access for given User Uid and access string
+   * Generate JPA Predicate for checking User Access for given User Uid and access string. The user
+   * is looked up using jsonb containment first, which a GIN index on the sharing column can serve,
+   * so that the access string is only matched for objects shared with the user.
    *
    * @param builder
    * @param userUid User Uid
@@ -294,13 +297,7 @@ public class JpaQueryUtils {
       CriteriaBuilder builder, String userUid, String access) {
     return root ->
         builder.and(
-            builder.equal(
-                builder.function(
-                    JsonbFunctions.HAS_USER_ID,
-                    Boolean.class,
-                    root.get("sharing"),
-                    builder.literal(userUid)),
-                true),
+            sharingContains(builder, root, Sharing_.USERS, userUid),
             builder.equal(
                 builder.function(
                     JsonbFunctions.CHECK_USER_ACCESS,
@@ -313,7 +310,8 @@ public class JpaQueryUtils {
 
   /**
    * Generate Predicate for checking Access for given Set of UserGroup Id and access string Return
-   * NULL if given Set of UserGroup is empty
+   * NULL if given Set of UserGroup is empty. Like {@link #checkUserAccess(CriteriaBuilder, String,
+   * String)} the user groups are looked up using jsonb containment first.
    *
    * @param builder
    * @param userGroupIds List of User Group Uids
@@ -330,13 +328,10 @@ public class JpaQueryUtils {
       String groupUuIds = "{" + String.join(",", userGroupIds) + "}";
 
       return builder.and(
-          builder.equal(
-              builder.function(
-                  JsonbFunctions.HAS_USER_GROUP_IDS,
-                  Boolean.class,
-                  root.get("sharing"),
-                  builder.literal(groupUuIds)),
-              true),
+          builder.or(
+              userGroupIds.stream()
+                  .map(id -> sharingContains(builder, root, Sharing_.USER_GROUPS, id))
+                  .toArray(Predicate[]::new)),
           builder.equal(
               builder.function(
                   JsonbFunctions.CHECK_USER_GROUPS_ACCESS,
@@ -348,6 +343,21 @@ public class JpaQueryUtils {
     };
   }
 
+  /**
+   * Generate Predicate checking that the sharing of an object has an entry for given user or user
+   * group uid, e.g. {@code sharing @> '{"users":{"<uid>":{}}}'}.
+   */
+  private static <T> Predicate sharingContains(
+      CriteriaBuilder builder, Root<T> root, String key, String uid) {
+    return builder.equal(
+        builder.function(
+            JsonbFunctions.CONTAINS,
+            Boolean.class,
+            root.get("sharing"),
+            builder.literal("{\"" + key + "\":{\"" + uid + "\":{}}}")),
+        true);
+  }
+
   /**
    * Return SQL query for checking sharing access for given user
    *
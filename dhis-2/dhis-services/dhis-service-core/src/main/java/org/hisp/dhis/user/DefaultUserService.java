@@ -846,6 +846,16 @@ public class DefaultUserService implements UserService {
     return userStore.disableUsersInactiveSince(inactiveSince);
   }
 
+  @Override
+  @Transactional
+  public void updateLastLogin(String username) {
+    User user = userStore.getUserByUsername(username);
+
+    if (user != null) {
+      user.updateLastLogin();
+    }
+  }
+
   @Override
   @Transactional(readOnly = true)
   public Map<String, Optional<Locale>> findNotifiableUsersWithLastLoginBetween(Date from, Date to) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.common.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementGroup;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class MetadataChangedEventPublisherTest {
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void testPublishesChangedTypesOnceAfterCommit() {
+    MetadataChangedEventPublisher publisher = new MetadataChangedEventPublisher(eventPublisher);
+    TransactionSynchronizationManager.initSynchronization();
+
+    publisher.onPostInsert(insertOf(new DataElement("A")));
+    publisher.onPostInsert(insertOf(new DataElement("B")));
+    publisher.onPostUpdate(updateOf(new DataElementGroup("C")));
+    publisher.onPostInsert(insertOf(new DataValue()));
+
+    verify(eventPublisher, never()).publishEvent(any());
+    complete(TransactionSynchronization.STATUS_COMMITTED);
+
+    ArgumentCaptor<MetadataChangedEvent> event =
+        ArgumentCaptor.forClass(MetadataChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(Set.of(DataElement.class, DataElementGroup.class), event.getValue().getTypes());
+  }
+
+  @Test
+  void testPublishesNothingAfterRollback() {
+    MetadataChangedEventPublisher publisher = new MetadataChangedEventPublisher(eventPublisher);
+    TransactionSynchronizationManager.initSynchronization();
+
+    publisher.onPostInsert(insertOf(new DataElement("A")));
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void testPublishesRightAwayWithoutTransaction() {
+    MetadataChangedEventPublisher publisher = new MetadataChangedEventPublisher(eventPublisher);
+
+    publisher.onPostInsert(insertOf(new DataElement("A")));
+
+    ArgumentCaptor<MetadataChangedEvent> event =
+        ArgumentCaptor.forClass(MetadataChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(Set.of(DataElement.class), event.getValue().getTypes());
+  }
+
+  @Test
+  void testPublishesNothingForLastLoginOnlyUpdate() {
+    MetadataChangedEventPublisher publisher = new MetadataChangedEventPublisher(eventPublisher);
+
+    publisher.onPostUpdate(updateOf(new User(), new String[] {"name", "lastLogin"}, 1));
+
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void testPublishesUserUpdateOfOtherProperties() {
+    MetadataChangedEventPublisher publisher = new MetadataChangedEventPublisher(eventPublisher);
+
+    publisher.onPostUpdate(updateOf(new User(), new String[] {"name", "lastLogin"}, 0, 1));
+
+    ArgumentCaptor<MetadataChangedEvent> event =
+        ArgumentCaptor.forClass(MetadataChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(Set.of(User.class), event.getValue().getTypes());
+  }
+
+  private static void complete(int status) {
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCompletion(status);
+    }
+  }
+
+  private static PostInsertEvent insertOf(Object entity) {
+    PostInsertEvent event = mock(PostInsertEvent.class);
+    when(event.getEntity()).thenReturn(entity);
+    return event;
+  }
+
+  private static PostUpdateEvent updateOf(Object entity) {
+    PostUpdateEvent event = mock(PostUpdateEvent.class);
+    when(event.getEntity()).thenReturn(entity);
+    return event;
+  }
+
+  private static PostUpdateEvent updateOf(
+      Object entity, String[] propertyNames, int... dirtyProperties) {
+    PostUpdateEvent event = updateOf(entity);
+    EntityPersister persister = mock(EntityPersister.class);
+    when(event.getDirtyProperties()).thenReturn(dirtyProperties);
+    when(event.getPersister()).thenReturn(persister);
+    when(persister.getPropertyNames()).thenReturn(propertyNames);
+    return event;
+  }
+}
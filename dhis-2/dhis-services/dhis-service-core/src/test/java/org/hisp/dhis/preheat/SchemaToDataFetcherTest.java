@@ -35,17 +35,26 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Lists;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Stream;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import org.hamcrest.collection.IsIterableContainingInAnyOrder;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.jdbc.Work;
 import org.hibernate.query.Query;
 import org.hisp.dhis.DhisConvenienceTest;
 import org.hisp.dhis.common.IdentifiableObject;
@@ -56,6 +65,7 @@ import org.hisp.dhis.sms.command.SMSCommand;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -213,6 +223,56 @@ class SchemaToDataFetcherTest extends DhisConvenienceTest {
     verify(entityManager, times(0)).createQuery(anyString());
   }
 
+  @Test
+  void verifyFetchInNewSessionUsesAndClosesReadOnlyStatelessSession() throws SQLException {
+    Schema schema =
+        createSchema(
+            DataElement.class,
+            "dataElement",
+            Stream.of(
+                    createProperty(String.class, "name", true, true),
+                    createUniqueProperty(String.class, "code", true, true))
+                .collect(toList()));
+
+    EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    SessionFactory sessionFactory = mock(SessionFactory.class);
+    StatelessSession session = mock(StatelessSession.class);
+    Transaction transaction = mock(Transaction.class);
+    when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+    when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+    when(sessionFactory.openStatelessSession()).thenReturn(session);
+    when(session.beginTransaction()).thenReturn(transaction);
+    when(session.createQuery("SELECT code from DataElement")).thenReturn(query);
+    when(query.setReadOnly(true)).thenReturn(query);
+    when(query.list()).thenReturn(List.of("abc", "bce"));
+
+    List<DataElement> result = (List<DataElement>) subject.fetchInNewSession(schema);
+
+    assertThat(
+        result,
+        IsIterableContainingInAnyOrder.containsInAnyOrder(
+            hasProperty("code", is("abc")), hasProperty("code", is("bce"))));
+
+    ArgumentCaptor<Work> work = ArgumentCaptor.forClass(Work.class);
+    verify(session).doWork(work.capture());
+    Connection connection = mock(Connection.class);
+    work.getValue().execute(connection);
+    verify(connection).setReadOnly(true);
+    verify(query).setReadOnly(true);
+    verify(transaction).rollback();
+    verify(session).close();
+    verify(entityManager, never()).createQuery(anyString());
+  }
+
+  @Test
+  void verifyFetchInNewSessionOpensNoSessionWithoutUniqueProperties() {
+    Schema schema = createSchema(SMSCommand.class, "smsCommand", Lists.newArrayList());
+
+    assertThat(subject.fetchInNewSession(schema), hasSize(0));
+
+    verify(entityManager, never()).getEntityManagerFactory();
+  }
+
   private void mockSession(String hql) {
     when(entityManager.createQuery(hql)).thenReturn(query);
     when(query.setHint(any(), any())).thenReturn(query);
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.adx;
+
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.xerces.util.XMLChar;
+import org.hisp.dhis.category.Category;
+import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.category.CategoryComboMap;
+import org.hisp.dhis.category.CategoryComboMap.CategoryComboMapException;
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.common.IdSchemes;
+import org.hisp.dhis.commons.collection.CachingMap;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.dxf2.datavalue.DataValue;
+import org.hisp.dhis.dxf2.datavalueset.DataValueEntry;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSetReader;
+import org.hisp.dhis.dxf2.importsummary.ImportConflict;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.system.callable.IdentifiableObjectCallable;
+import org.hisp.staxwax.reader.XMLReader;
+
+/**
+ * Reads the data values of an ADX message as {@link DataValueEntry}s in a single pass. The group
+ * attributes are merged into each data value of the group and ADX category attributes are expanded
+ * to category option combos.
+ *
+ * <p>Data values which can not be converted are skipped and collected as {@link #getConflicts()}.
+ * A group which can not be converted fails the read, the cause is available as {@link
+ * #getFailure()}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+final class AdxDataValueSetReader implements DataValueSetReader {
+  private final XMLReader adxReader;
+
+  private final IdSchemes idSchemes;
+
+  private final CachingMap<String, DataSet> dataSetMap;
+
+  private final IdentifiableObjectCallable<DataSet> dataSetCallable;
+
+  private final CachingMap<String, DataElement> dataElementMap;
+
+  private final IdentifiableObjectCallable<DataElement> dataElementCallable;
+
+  /** Called with the group number when a group is started. */
+  private final IntConsumer groupListener;
+
+  private final Map<String, Map<String, Category>> categoryMaps = new HashMap<>();
+
+  private final Map<String, CategoryComboMap> categoryComboMaps = new HashMap<>();
+
+  @Getter private final List<ImportConflict> conflicts = new ArrayList<>();
+
+  /** Number of groups which were read completely. */
+  @Getter private int groupCount;
+
+  @Getter private Exception failure;
+
+  /** Attributes of the current group, null when not within a group. */
+  private Map<String, String> groupAttributes;
+
+  @Override
+  public DataValueSet readHeader() {
+    adxReader.moveToStartElement(AdxDataService.ROOT, AdxDataService.NAMESPACE);
+    return new DataValueSet();
+  }
+
+  @Override
+  public DataValueEntry readNext() {
+    try {
+      while (true) {
+        if (groupAttributes == null) {
+          if (!adxReader.moveToStartElement(AdxDataService.GROUP, AdxDataService.NAMESPACE)) {
+            return null;
+          }
+          groupListener.accept(groupCount);
+          groupAttributes = readGroupAttributes();
+        }
+
+        if (!adxReader.moveToStartElement(AdxDataService.DATAVALUE, AdxDataService.GROUP)) {
+          groupAttributes = null;
+          groupCount++;
+          continue;
+        }
+
+        try {
+          return readDataValue();
+        } catch (AdxException ex) {
+          conflicts.add(new ImportConflict(ex.getObject(), ex.getMessage()));
+
+          log.info("ADX data value conflict: {} {}", ex.getObject(), ex.getMessage());
+        }
+      }
+    } catch (AdxException ex) {
+      failure = ex;
+      throw new IllegalStateException(ex.getMessage(), ex);
+    } catch (RuntimeException ex) {
+      failure = ex;
+      throw ex;
+    }
+  }
+
+  @Override
+  public void close() {
+    adxReader.closeReader();
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  private Map<String, String> readGroupAttributes() throws AdxException {
+    Map<String, String> attributes = adxReader.readAttributes();
+
+    if (!attributes.containsKey(AdxDataService.PERIOD)) {
+      throw new AdxException(AdxDataService.PERIOD + " attribute is required on 'group'");
+    }
+
+    if (!attributes.containsKey(AdxDataService.ORGUNIT)) {
+      throw new AdxException(AdxDataService.ORGUNIT + " attribute is required on 'group'");
+    }
+
+    // translate ADX period to DXF
+    Period period = AdxPeriod.parse(attributes.get(AdxDataService.PERIOD));
+    attributes.put(AdxDataService.PERIOD, period.getIsoDate());
+
+    // process ADX group attributes
+    if (!attributes.containsKey(AdxDataService.ATTOPTCOMBO)
+        && attributes.containsKey(AdxDataService.DATASET)) {
+      log.debug("No attribute option combo present, check data set for attribute category combo");
+
+      String dataSetStr = trimToNull(attributes.get(AdxDataService.DATASET));
+      final DataSet dataSet = dataSetMap.get(dataSetStr, dataSetCallable.setId(dataSetStr));
+
+      if (dataSet == null) {
+        throw new AdxException(
+            "No data set matching "
+                + dataSetCallable.getIdScheme().name().toLowerCase()
+                + " '"
+                + attributes.get(AdxDataService.DATASET)
+                + "'");
+      }
+
+      attributes.put(AdxDataService.DATASET, dataSet.getUid());
+      convertAttributesToDxf(attributes, AdxDataService.ATTOPTCOMBO, dataSet.getCategoryCombo());
+    }
+
+    return attributes;
+  }
+
+  private DataValueEntry readDataValue() throws AdxException {
+    Map<String, String> dvAttributes = adxReader.readAttributes();
+
+    log.debug("Processing data value: {}", dvAttributes);
+
+    if (!dvAttributes.containsKey(AdxDataService.DATAELEMENT)) {
+      throw new AdxException(AdxDataService.DATAELEMENT + " attribute is required on 'dataValue'");
+    }
+
+    if (!dvAttributes.containsKey(AdxDataService.VALUE)) {
+      throw new AdxException(AdxDataService.VALUE + " attribute is required on 'dataValue'");
+    }
+
+    String dataElementStr = trimToNull(dvAttributes.get(AdxDataService.DATAELEMENT));
+    final DataElement dataElement =
+        dataElementMap.get(dataElementStr, dataElementCallable.setId(dataElementStr));
+
+    if (dataElement == null) {
+      throw new AdxException(
+          "No data element matching "
+              + dataElementCallable.getIdScheme().name().toLowerCase()
+              + " '"
+              + dataElementStr
+              + "'");
+    }
+
+    // process ADX data value attributes
+    if (!dvAttributes.containsKey(AdxDataService.CATOPTCOMBO)) {
+      log.debug("No category option combo present");
+
+      // TODO expand to allow for category combos part of DataSetElements.
+
+      convertAttributesToDxf(
+          dvAttributes, AdxDataService.CATOPTCOMBO, dataElement.getCategoryCombo());
+    }
+
+    // if data element type is not numeric we need to pick out the
+    // 'annotation' element
+    if (!dataElement.getValueType().isNumeric()) {
+      adxReader.moveToStartElement(AdxDataService.ANNOTATION, AdxDataService.DATAVALUE);
+
+      if (adxReader.isStartElement(AdxDataService.ANNOTATION)) {
+        dvAttributes.put(AdxDataService.VALUE, adxReader.getElementValue());
+      } else {
+        throw new AdxException(
+            dvAttributes.get(AdxDataService.DATAELEMENT), "DataElement expects text annotation");
+      }
+    }
+
+    Map<String, String> attributes = new HashMap<>(groupAttributes);
+    attributes.putAll(dvAttributes);
+
+    for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+      if (attribute.getValue() == null) {
+        throw new AdxException("Value for " + attribute.getKey() + " is null");
+      }
+    }
+
+    log.debug("Processing data value as DXF: {}", attributes);
+
+    return toDataValue(attributes);
+  }
+
+  private static DataValue toDataValue(Map<String, String> attributes) {
+    DataValue value = new DataValue();
+    value.setDataElement(attributes.get(AdxDataService.DATAELEMENT));
+    value.setPeriod(attributes.get(AdxDataService.PERIOD));
+    value.setOrgUnit(attributes.get(AdxDataService.ORGUNIT));
+    value.setCategoryOptionCombo(attributes.get(AdxDataService.CATOPTCOMBO));
+    value.setAttributeOptionCombo(attributes.get(AdxDataService.ATTOPTCOMBO));
+    value.setValue(attributes.get(AdxDataService.VALUE));
+    value.setStoredBy(attributes.get("storedBy"));
+    value.setCreated(attributes.get("created"));
+    value.setLastUpdated(attributes.get("lastUpdated"));
+    value.setComment(attributes.get("comment"));
+    value.setFollowup(Boolean.parseBoolean(attributes.get("followUp")));
+    value.setDeleted(Boolean.valueOf(attributes.get("deleted")));
+    return value;
+  }
+
+  private Map<String, Category> getCodeCategoryMap(CategoryCombo categoryCombo)
+      throws AdxException {
+    Map<String, Category> categoryMap = categoryMaps.get(categoryCombo.getUid());
+
+    if (categoryMap != null) {
+      return categoryMap;
+    }
+
+    categoryMap = new HashMap<>();
+
+    for (Category category : categoryCombo.getCategories()) {
+      String categoryId = category.getPropertyValue(idSchemes.getCategoryIdScheme());
+
+      if (categoryId == null || !XMLChar.isValidName(categoryId)) {
+        throw new AdxException(
+            "Category "
+                + idSchemes.getCategoryIdScheme().name()
+                + " for "
+                + category.getName()
+                + " is missing or invalid: "
+                + categoryId);
+      }
+
+      categoryMap.put(categoryId, category);
+    }
+
+    categoryMaps.put(categoryCombo.getUid(), categoryMap);
+
+    return categoryMap;
+  }
+
+  private CategoryComboMap getCategoryComboMap(CategoryCombo catcombo) throws AdxException {
+    CategoryComboMap catcomboMap = categoryComboMaps.get(catcombo.getUid());
+
+    if (catcomboMap != null) {
+      return catcomboMap;
+    }
+
+    try {
+      catcomboMap = new CategoryComboMap(catcombo, idSchemes.getCategoryOptionIdScheme());
+    } catch (CategoryComboMapException ex) {
+      log.info("Failed to create category combo map from: " + catcombo);
+      throw new AdxException(ex.getMessage());
+    }
+
+    categoryComboMaps.put(catcombo.getUid(), catcomboMap);
+
+    return catcomboMap;
+  }
+
+  private CategoryOptionCombo getCatOptComboFromAttributes(
+      Map<String, String> attributes, CategoryCombo catcombo) throws AdxException {
+    CategoryComboMap catcomboMap = getCategoryComboMap(catcombo);
+
+    String compositeIdentifier = StringUtils.EMPTY;
+
+    for (Category category : catcomboMap.getCategories()) {
+      String categoryId = category.getPropertyValue(idSchemes.getCategoryIdScheme());
+
+      if (categoryId == null) {
+        throw new AdxException(
+            "No category "
+                + idSchemes.getCategoryIdScheme().name()
+                + " for: "
+                + category.toString());
+      }
+
+      String catAttribute = attributes.get(categoryId);
+
+      if (catAttribute == null) {
+        throw new AdxException(
+            "Missing required attribute from category combo "
+                + catcombo.getName()
+                + ": "
+                + categoryId);
+      }
+
+      compositeIdentifier += "\"" + catAttribute + "\"";
+    }
+
+    CategoryOptionCombo catOptionCombo = catcomboMap.getCategoryOptionCombo(compositeIdentifier);
+
+    if (catOptionCombo == null) {
+      throw new AdxException("Invalid attributes: " + attributes);
+    }
+
+    return catOptionCombo;
+  }
+
+  private void convertAttributesToDxf(
+      Map<String, String> attributes, String optionComboName, CategoryCombo catCombo)
+      throws AdxException {
+    log.debug("ADX attributes: {}", attributes);
+
+    if (catCombo.isDefault()) {
+      return;
+    }
+
+    Map<String, Category> categoryMap = getCodeCategoryMap(catCombo);
+
+    Map<String, String> attributeOptions = new HashMap<>();
+
+    for (String category : categoryMap.keySet()) {
+      if (attributes.containsKey(category)) {
+        attributeOptions.put(category, attributes.get(category));
+        attributes.remove(category);
+      } else {
+        throw new AdxException(
+            "Category combo "
+                + catCombo.getName()
+                + " must have "
+                + categoryMap.get(category).getName());
+      }
+    }
+
+    CategoryOptionCombo catOptCombo = getCatOptComboFromAttributes(attributeOptions, catCombo);
+
+    attributes.put(
+        optionComboName, catOptCombo.getPropertyValue(idSchemes.getCategoryOptionComboIdScheme()));
+
+    log.debug("DXF attributes: {}", attributes);
+  }
+}
@@ -94,6 +94,30 @@ public final class DataValue implements DataValueEntry {
   @JacksonXmlProperty(isAttribute = true)
   private Boolean deleted;
 
+  /**
+   * Creates a detached copy of the given entry. Entries of streaming readers are only valid until
+   * the next entry is read.
+   *
+   * @param entry the entry to copy
+   * @return a new data value with the same properties as the entry
+   */
+  public static DataValue copyOf(DataValueEntry entry) {
+    DataValue copy = new DataValue();
+    copy.setDataElement(entry.getDataElement());
+    copy.setPeriod(entry.getPeriod());
+    copy.setOrgUnit(entry.getOrgUnit());
+    copy.setCategoryOptionCombo(entry.getCategoryOptionCombo());
+    copy.setAttributeOptionCombo(entry.getAttributeOptionCombo());
+    copy.setValue(entry.getValue());
+    copy.setStoredBy(entry.getStoredBy());
+    copy.setCreated(entry.getCreated());
+    copy.setLastUpdated(entry.getLastUpdated());
+    copy.setComment(entry.getComment());
+    copy.setFollowup(entry.getFollowup());
+    copy.setDeleted(entry.getDeleted());
+    return copy;
+  }
+
   @Override
   public boolean getFollowup() {
     return followup;
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * The layout of a {@link DataValueSet} as Apache Arrow IPC stream, shared by {@link
+ * ArrowDataValueSetWriter} and {@link ArrowDataValueSetReader}.
+ *
+ * <p>Each data value is a row. The identifier columns and the stored by column are dictionary
+ * encoded, with dictionaries which are replaced for every record batch. The header of the data
+ * value set is included as schema metadata.
+ */
+final class ArrowDataValueSet {
+  private ArrowDataValueSet() {
+    throw new UnsupportedOperationException("util");
+  }
+
+  static final int BATCH_SIZE = 10_000;
+
+  /*
+   * Columns
+   */
+
+  static final String DATA_ELEMENT = "dataElement";
+
+  static final String PERIOD = "period";
+
+  static final String ORG_UNIT = "orgUnit";
+
+  static final String CATEGORY_OPTION_COMBO = "categoryOptionCombo";
+
+  static final String ATTRIBUTE_OPTION_COMBO = "attributeOptionCombo";
+
+  static final String VALUE = "value";
+
+  static final String STORED_BY = "storedBy";
+
+  static final String CREATED = "created";
+
+  static final String LAST_UPDATED = "lastUpdated";
+
+  static final String COMMENT = "comment";
+
+  static final String FOLLOWUP = "followup";
+
+  static final String DELETED = "deleted";
+
+  /** The dictionary encoded columns, the index in the list is the dictionary id. */
+  static final List<String> DICTIONARY_COLUMNS =
+      List.of(
+          DATA_ELEMENT, PERIOD, ORG_UNIT, CATEGORY_OPTION_COMBO, ATTRIBUTE_OPTION_COMBO, STORED_BY);
+
+  static final List<String> TEXT_COLUMNS = List.of(VALUE, CREATED, LAST_UPDATED, COMMENT);
+
+  /*
+   * Schema metadata
+   */
+
+  static final String META_DATA_SET = "dataSet";
+
+  static final String META_COMPLETE_DATE = "completeDate";
+
+  static final String META_PERIOD = "period";
+
+  static final String META_ORG_UNIT = "orgUnit";
+
+  static Schema createSchema(Map<String, String> metadata) {
+    List<Field> fields = new ArrayList<>();
+
+    for (int id = 0; id < DICTIONARY_COLUMNS.size(); id++) {
+      fields.add(
+          new Field(
+              DICTIONARY_COLUMNS.get(id),
+              new FieldType(true, new ArrowType.Int(32, true), createEncoding(id)),
+              null));
+    }
+
+    for (String column : TEXT_COLUMNS) {
+      fields.add(new Field(column, FieldType.nullable(ArrowType.Utf8.INSTANCE), null));
+    }
+
+    fields.add(new Field(FOLLOWUP, FieldType.notNullable(ArrowType.Bool.INSTANCE), null));
+    fields.add(new Field(DELETED, FieldType.nullable(ArrowType.Bool.INSTANCE), null));
+
+    return new Schema(fields, metadata);
+  }
+
+  static DictionaryEncoding createEncoding(long id) {
+    return new DictionaryEncoding(id, false, new ArrowType.Int(32, true));
+  }
+
+  /**
+   * Creates the allocator for the buffers of a reader or writer. Arrow reads the address of direct
+   * buffers, which on JDK 17 requires the JVM to be started with {@code
+   * --add-opens=java.base/java.nio=ALL-UNNAMED} whichever Arrow memory module is used. Without it
+   * only requests for the Arrow format fail.
+   *
+   * @throws IllegalStateException if Arrow cannot allocate memory in this JVM
+   */
+  static BufferAllocator createAllocator() {
+    if (Allocation.FAILURE != null) {
+      throw new IllegalStateException(
+          "The Apache Arrow format requires the JVM option "
+              + "--add-opens=java.base/java.nio=ALL-UNNAMED",
+          Allocation.FAILURE);
+    }
+    return new RootAllocator();
+  }
+
+  /** Tries to allocate a buffer once, when the Arrow format is first used. */
+  private static final class Allocation {
+    static final Throwable FAILURE = tryAllocate();
+
+    private static Throwable tryAllocate() {
+      try (BufferAllocator allocator = new RootAllocator()) {
+        allocator.buffer(1).close();
+        return null;
+      } catch (RuntimeException | LinkageError ex) {
+        return ex;
+      }
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.ATTRIBUTE_OPTION_COMBO;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.CATEGORY_OPTION_COMBO;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.COMMENT;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.CREATED;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.DATA_ELEMENT;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.DELETED;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.DICTIONARY_COLUMNS;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.FOLLOWUP;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.LAST_UPDATED;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.META_COMPLETE_DATE;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.META_DATA_SET;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.META_ORG_UNIT;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.META_PERIOD;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.ORG_UNIT;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.PERIOD;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.STORED_BY;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.VALUE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.util.Text;
+
+/**
+ * Reads {@link DataValueSet} from Apache Arrow IPC stream input as written by {@link
+ * ArrowDataValueSetWriter}.
+ *
+ * <p>The dictionaries of a record batch are decoded once when the batch is loaded so that reading
+ * identifiers of individual rows is a plain array lookup.
+ */
+final class ArrowDataValueSetReader implements DataValueSetReader, DataValueEntry {
+  private final BufferAllocator allocator = ArrowDataValueSet.createAllocator();
+
+  private final ArrowStreamReader reader;
+
+  private final String[][] dictionaries = new String[DICTIONARY_COLUMNS.size()][];
+
+  private VectorSchemaRoot root;
+
+  private int row;
+
+  private int rowCount;
+
+  ArrowDataValueSetReader(InputStream in) {
+    this.reader = new ArrowStreamReader(in, allocator);
+  }
+
+  @Override
+  public DataValueSet readHeader() {
+    try {
+      root = reader.getVectorSchemaRoot();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to read Arrow schema", ex);
+    }
+    Map<String, String> metadata = root.getSchema().getCustomMetadata();
+    DataValueSet set = new DataValueSet();
+    if (metadata != null) {
+      set.setDataSet(metadata.get(META_DATA_SET));
+      set.setCompleteDate(metadata.get(META_COMPLETE_DATE));
+      set.setPeriod(metadata.get(META_PERIOD));
+      set.setOrgUnit(metadata.get(META_ORG_UNIT));
+    }
+    return set;
+  }
+
+  @Override
+  public DataValueEntry readNext() {
+    if (root == null) {
+      readHeader();
+    }
+    if (++row < rowCount) {
+      return this;
+    }
+    try {
+      while (reader.loadNextBatch()) {
+        rowCount = root.getRowCount();
+        if (rowCount > 0) {
+          row = 0;
+          decodeDictionaries();
+          return this;
+        }
+      }
+      return null;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to read record batch", ex);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      reader.close();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to close Arrow reader", ex);
+    } finally {
+      allocator.close();
+    }
+  }
+
+  private void decodeDictionaries() throws IOException {
+    Map<Long, Dictionary> vectors = reader.getDictionaryVectors();
+    for (int id = 0; id < dictionaries.length; id++) {
+      VarCharVector vector = (VarCharVector) vectors.get((long) id).getVector();
+      String[] values = new String[vector.getValueCount()];
+      for (int i = 0; i < values.length; i++) {
+        Text text = vector.getObject(i);
+        values[i] = text == null ? null : text.toString();
+      }
+      dictionaries[id] = values;
+    }
+  }
+
+  /*
+   * When used as DataValueEntry
+   */
+
+  @Override
+  public String getDataElement() {
+    return getDecoded(DATA_ELEMENT);
+  }
+
+  @Override
+  public String getPeriod() {
+    return getDecoded(PERIOD);
+  }
+
+  @Override
+  public String getOrgUnit() {
+    return getDecoded(ORG_UNIT);
+  }
+
+  @Override
+  public String getCategoryOptionCombo() {
+    return getDecoded(CATEGORY_OPTION_COMBO);
+  }
+
+  @Override
+  public String getAttributeOptionCombo() {
+    return getDecoded(ATTRIBUTE_OPTION_COMBO);
+  }
+
+  @Override
+  public String getValue() {
+    return getText(VALUE);
+  }
+
+  @Override
+  public String getStoredBy() {
+    return getDecoded(STORED_BY);
+  }
+
+  @Override
+  public String getCreated() {
+    return getText(CREATED);
+  }
+
+  @Override
+  public String getLastUpdated() {
+    return getText(LAST_UPDATED);
+  }
+
+  @Override
+  public String getComment() {
+    return getText(COMMENT);
+  }
+
+  @Override
+  public boolean getFollowup() {
+    BitVector vector = (BitVector) root.getVector(FOLLOWUP);
+    return !vector.isNull(row) && vector.get(row) == 1;
+  }
+
+  @Override
+  public Boolean getDeleted() {
+    BitVector vector = (BitVector) root.getVector(DELETED);
+    return vector.isNull(row) ? null : vector.get(row) == 1;
+  }
+
+  private String getDecoded(String column) {
+    IntVector vector = (IntVector) root.getVector(column);
+    return vector.isNull(row)
+        ? null
+        : dictionaries[DICTIONARY_COLUMNS.indexOf(column)][vector.get(row)];
+  }
+
+  private String getText(String column) {
+    Text text = ((VarCharVector) root.getVector(column)).getObject(row);
+    return text == null ? null : text.toString();
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.ATTRIBUTE_OPTION_COMBO;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.BATCH_SIZE;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.CATEGORY_OPTION_COMBO;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.COMMENT;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.CREATED;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.DATA_ELEMENT;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.DELETED;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.DICTIONARY_COLUMNS;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.FOLLOWUP;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.LAST_UPDATED;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.META_COMPLETE_DATE;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.META_DATA_SET;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.META_ORG_UNIT;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.META_PERIOD;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.ORG_UNIT;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.PERIOD;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.STORED_BY;
+import static org.hisp.dhis.dxf2.datavalueset.ArrowDataValueSet.VALUE;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+
+/**
+ * Write {@link DataValueSet}s as Apache Arrow IPC stream.
+ *
+ * <p>Values are collected into record batches of {@link ArrowDataValueSet#BATCH_SIZE} rows. Each
+ * batch is preceded by the dictionaries of the identifiers used within the batch, so the memory
+ * needed is bound by the batch size independent of the number of values written.
+ */
+final class ArrowDataValueSetWriter implements DataValueSetWriter {
+  private final OutputStream out;
+
+  private final BufferAllocator allocator = ArrowDataValueSet.createAllocator();
+
+  private final List<Map<String, Integer>> dictionaryIndexes = new ArrayList<>();
+
+  private final List<VarCharVector> dictionaries = new ArrayList<>();
+
+  private VectorSchemaRoot root;
+
+  private ArrowStreamWriter writer;
+
+  private int rows;
+
+  ArrowDataValueSetWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  @Override
+  public void writeHeader() {
+    start(Map.of());
+  }
+
+  @Override
+  public void writeHeader(
+      String dataSetId, String completeDate, String isoPeriod, String orgUnitId) {
+    Map<String, String> metadata = new LinkedHashMap<>();
+    putIfNotNull(metadata, META_DATA_SET, dataSetId);
+    putIfNotNull(metadata, META_COMPLETE_DATE, completeDate);
+    putIfNotNull(metadata, META_PERIOD, isoPeriod);
+    putIfNotNull(metadata, META_ORG_UNIT, orgUnitId);
+    start(metadata);
+  }
+
+  @Override
+  public void writeValue(DataValueEntry entry) {
+    setIndex(DATA_ELEMENT, entry.getDataElement());
+    setIndex(PERIOD, entry.getPeriod());
+    setIndex(ORG_UNIT, entry.getOrgUnit());
+    setIndex(CATEGORY_OPTION_COMBO, entry.getCategoryOptionCombo());
+    setIndex(ATTRIBUTE_OPTION_COMBO, entry.getAttributeOptionCombo());
+    setIndex(STORED_BY, entry.getStoredBy());
+    setText(VALUE, entry.getValue());
+    setText(CREATED, entry.getCreated());
+    setText(LAST_UPDATED, entry.getLastUpdated());
+    setText(COMMENT, entry.getComment());
+    ((BitVector) root.getVector(FOLLOWUP)).setSafe(rows, entry.getFollowup() ? 1 : 0);
+    BitVector deleted = (BitVector) root.getVector(DELETED);
+    if (entry.getDeleted() == null) {
+      deleted.setNull(rows);
+    } else {
+      deleted.setSafe(rows, entry.getDeleted() ? 1 : 0);
+    }
+    if (++rows == BATCH_SIZE) {
+      writeBatch();
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (writer != null) {
+        if (rows > 0) {
+          writeBatch();
+        }
+        writer.end();
+        writer.close();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to write Arrow data", ex);
+    } finally {
+      if (root != null) {
+        root.close();
+      }
+      dictionaries.forEach(VarCharVector::close);
+      allocator.close();
+    }
+  }
+
+  private void start(Map<String, String> metadata) {
+    root = VectorSchemaRoot.create(ArrowDataValueSet.createSchema(metadata), allocator);
+    DictionaryProvider.MapDictionaryProvider provider =
+        new DictionaryProvider.MapDictionaryProvider();
+    for (int id = 0; id < DICTIONARY_COLUMNS.size(); id++) {
+      VarCharVector dictionary =
+          new VarCharVector(DICTIONARY_COLUMNS.get(id) + "Dictionary", allocator);
+      dictionary.allocateNew();
+      dictionaries.add(dictionary);
+      dictionaryIndexes.add(new HashMap<>());
+      provider.put(new Dictionary(dictionary, ArrowDataValueSet.createEncoding(id)));
+    }
+    root.allocateNew();
+    writer = new ArrowStreamWriter(root, provider, Channels.newChannel(out));
+    try {
+      writer.start();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to write Arrow data", ex);
+    }
+  }
+
+  private void writeBatch() {
+    for (int id = 0; id < DICTIONARY_COLUMNS.size(); id++) {
+      VarCharVector dictionary = dictionaries.get(id);
+      dictionary.setValueCount(dictionaryIndexes.get(id).size());
+    }
+    root.setRowCount(rows);
+    try {
+      writer.writeBatch();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to write Arrow data", ex);
+    }
+    for (FieldVector vector : root.getFieldVectors()) {
+      vector.reset();
+    }
+    dictionaries.forEach(VarCharVector::reset);
+    dictionaryIndexes.forEach(Map::clear);
+    rows = 0;
+  }
+
+  private void setIndex(String column, String value) {
+    IntVector vector = (IntVector) root.getVector(column);
+    if (value == null) {
+      vector.setNull(rows);
+      return;
+    }
+    int id = DICTIONARY_COLUMNS.indexOf(column);
+    Map<String, Integer> indexes = dictionaryIndexes.get(id);
+    Integer index = indexes.get(value);
+    if (index == null) {
+      index = indexes.size();
+      indexes.put(value, index);
+      dictionaries.get(id).setSafe(index, value.getBytes(UTF_8));
+    }
+    vector.setSafe(rows, index);
+  }
+
+  private void setText(String column, String value) {
+    VarCharVector vector = (VarCharVector) root.getVector(column);
+    if (value == null) {
+      vector.setNull(rows);
+    } else {
+      vector.setSafe(rows, value.getBytes(UTF_8));
+    }
+  }
+
+  private static void putIfNotNull(Map<String, String> metadata, String key, String value) {
+    if (value != null) {
+      metadata.put(key, value);
+    }
+  }
+}
@@ -88,7 +88,9 @@ public enum DataValueImportConflict implements ImportConflictDescriptor {
       DataSet.class),
   PERIOD_NOT_OPEN_FOR_DATA_SET(ErrorCode.E7643, "period", Period.class, DataSet.class),
   PERIOD_NOT_CONFORM_TO_OPEN_PERIODS(ErrorCode.E7644, "period", Period.class),
-  FILE_RESOURCE_NOT_FOUND(ErrorCode.E7645, "dataElement", DataElement.class);
+  FILE_RESOURCE_NOT_FOUND(ErrorCode.E7645, "dataElement", DataElement.class),
+  VALUE_SAVED_CONCURRENTLY(
+      ErrorCode.E7646, null, DataElement.class, Period.class, OrganisationUnit.class);
 
   private final ErrorCode errorCode;
 
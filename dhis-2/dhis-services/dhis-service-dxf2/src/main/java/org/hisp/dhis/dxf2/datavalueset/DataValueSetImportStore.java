@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import java.util.Collection;
+import java.util.List;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.datavalue.DataValueAudit;
+
+/**
+ * Set-based persistence of {@link DataValue}s used by bulk {@link DataValueSet} imports. Data
+ * values are staged in chunks using the PostgreSQL COPY protocol and resolved and written with a
+ * single statement per chunk and operation instead of a statement per data value.
+ */
+public interface DataValueSetImportStore {
+  /**
+   * Looks up the persisted data values which have the same key as the given data values.
+   *
+   * @param values the data values to look up, must all have distinct keys
+   * @return the persisted data values, in the order of the given data values, with null elements
+   *     for data values which do not exist
+   */
+  List<DataValue> getExistingDataValues(List<DataValue> values);
+
+  /**
+   * Writes the given data values and audits. Inserts of data values which already exist, as they
+   * were saved concurrently after they were looked up, are not written.
+   *
+   * @param inserts the data values to insert
+   * @param updates the data values to update, including soft deletes
+   * @param audits the audits to insert
+   * @return the data values of the given inserts which were not written
+   */
+  List<DataValue> saveDataValues(
+      Collection<DataValue> inserts,
+      Collection<DataValue> updates,
+      Collection<DataValueAudit> audits);
+}
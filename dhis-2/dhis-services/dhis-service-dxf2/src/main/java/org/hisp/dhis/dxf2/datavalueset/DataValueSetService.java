@@ -84,6 +84,8 @@ public interface DataValueSetService {
 
   void exportDataValueSetCsv(DataExportParams params, Writer writer);
 
+  void exportDataValueSetArrow(DataExportParams params, OutputStream out);
+
   RootNode getDataValueSetTemplate(
       DataSet dataSet,
       Period period,
@@ -117,4 +119,19 @@ public interface DataValueSetService {
 
   ImportSummary importDataValueSetPdf(
       InputStream in, ImportOptions importOptions, JobConfiguration id);
+
+  ImportSummary importDataValueSetArrow(
+      InputStream in, ImportOptions importOptions, JobConfiguration id);
+
+  /**
+   * Imports the data values provided by the given reader. The reader is closed when the import is
+   * done.
+   *
+   * @param reader the reader of the data values, read on the calling thread.
+   * @param importOptions the import options.
+   * @param id the job id, can be null.
+   * @return the import summary.
+   */
+  ImportSummary importDataValueSet(
+      DataValueSetReader reader, ImportOptions importOptions, JobConfiguration id);
 }
@@ -43,6 +43,15 @@ public interface DataValueSetStore {
 
   void exportDataValueSetCsv(DataExportParams params, Date completeDate, Writer writer);
 
+  /**
+   * Query for data values and write the result as Apache Arrow IPC stream.
+   *
+   * @param params the export parameters
+   * @param completeDate the complete date of the data set, can be null
+   * @param out the stream to write to
+   */
+  void exportDataValueSetArrow(DataExportParams params, Date completeDate, OutputStream out);
+
   /**
    * Query for {@link DataValueSet DataValueSets} and write result as JSON.
    *
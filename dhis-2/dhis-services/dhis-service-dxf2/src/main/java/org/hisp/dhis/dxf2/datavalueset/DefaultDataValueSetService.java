@@ -31,6 +31,7 @@ import static org.apache.commons.lang3.StringUtils.trimToNull;
 import static org.hisp.dhis.commons.collection.CollectionUtils.isEmpty;
 import static org.hisp.dhis.commons.util.StreamUtils.wrapAndCheckCompressionFormat;
 import static org.hisp.dhis.external.conf.ConfigurationKey.CHANGELOG_AGGREGATE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.DATA_IMPORT_READ_AHEAD;
 import static org.hisp.dhis.system.notification.NotificationLevel.ERROR;
 import static org.hisp.dhis.system.notification.NotificationLevel.INFO;
 import static org.hisp.dhis.system.notification.NotificationLevel.WARN;
@@ -47,13 +48,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.hisp.dhis.calendar.CalendarService;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.category.CategoryService;
@@ -75,7 +79,9 @@ import org.hisp.dhis.datavalue.DataExportParams;
 import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueAudit;
 import org.hisp.dhis.dxf2.common.ImportOptions;
+import org.hisp.dhis.dxf2.datavalueset.ImportContext.BulkImportChunk;
 import org.hisp.dhis.dxf2.datavalueset.ImportContext.DataSetContext;
+import org.hisp.dhis.dxf2.datavalueset.ImportContext.PendingDataValue;
 import org.hisp.dhis.dxf2.importsummary.ImportCount;
 import org.hisp.dhis.dxf2.importsummary.ImportStatus;
 import org.hisp.dhis.dxf2.importsummary.ImportSummary;
@@ -138,6 +144,10 @@ public class DefaultDataValueSetService implements DataValueSetService {
 
   private static final int CACHE_MISS_THRESHOLD = 250;
 
+  private static final int BULK_IMPORT_CHUNK_SIZE = 10_000;
+
+  private static final int DEFAULT_READ_AHEAD = 1000;
+
   private final IdentifiableObjectManager identifiableObjectManager;
 
   private final CategoryService categoryService;
@@ -152,6 +162,8 @@ public class DefaultDataValueSetService implements DataValueSetService {
 
   private final DataValueSetStore dataValueSetStore;
 
+  private final DataValueSetImportStore dataValueSetImportStore;
+
   private final SystemSettingManager systemSettingManager;
 
   private final LockExceptionStore lockExceptionStore;
@@ -406,6 +418,15 @@ public class DefaultDataValueSetService implements DataValueSetService {
     dataValueSetStore.exportDataValueSetCsv(params, getCompleteDate(params), writer);
   }
 
+  @Override
+  @Transactional
+  public void exportDataValueSetArrow(DataExportParams params, OutputStream out) {
+    decideAccess(params);
+    validate(params);
+
+    dataValueSetStore.exportDataValueSetArrow(params, getCompleteDate(params), out);
+  }
+
   private Date getCompleteDate(DataExportParams params) {
     if (params.isSingleDataValueSet()) {
       CategoryOptionCombo optionCombo = categoryService.getDefaultCategoryOptionCombo(); // TODO
@@ -583,7 +604,9 @@ public class DefaultDataValueSetService implements DataValueSetService {
         options,
         id,
         () ->
-            new XmlDataValueSetReader(XMLFactory.getXMLReader(wrapAndCheckCompressionFormat(in))));
+            createPipelinedReader(
+                new XmlDataValueSetReader(
+                    XMLFactory.getXMLReader(wrapAndCheckCompressionFormat(in)))));
   }
 
   @Override
@@ -604,8 +627,9 @@ public class DefaultDataValueSetService implements DataValueSetService {
         options,
         id,
         () ->
-            new CsvDataValueSetReader(
-                CsvUtils.getReader(wrapAndCheckCompressionFormat(in)), options));
+            createPipelinedReader(
+                new CsvDataValueSetReader(
+                    CsvUtils.getReader(wrapAndCheckCompressionFormat(in)), options)));
   }
 
   @Override
@@ -621,6 +645,25 @@ public class DefaultDataValueSetService implements DataValueSetService {
     return importDataValueSetPdf(in, options, null);
   }
 
+  @Override
+  @Transactional
+  public ImportSummary importDataValueSetArrow(
+      InputStream in, ImportOptions options, JobConfiguration id) {
+    return importDataValueSet(
+        options,
+        id,
+        () ->
+            createPipelinedReader(
+                new ArrowDataValueSetReader(wrapAndCheckCompressionFormat(in))));
+  }
+
+  @Override
+  @Transactional
+  public ImportSummary importDataValueSet(
+      DataValueSetReader reader, ImportOptions options, JobConfiguration id) {
+    return importDataValueSet(options, id, () -> reader);
+  }
+
   private ImportSummary importDataValueSet(
       ImportOptions options, JobConfiguration id, Callable<DataValueSetReader> createReader) {
     options = ObjectUtils.firstNonNull(options, ImportOptions.getDefaultImportOptions());
@@ -654,6 +697,18 @@ public class DefaultDataValueSetService implements DataValueSetService {
     }
   }
 
+  /**
+   * Parses the values of a streaming reader ahead on a separate thread unless read ahead is
+   * disabled. Only readers which do not access the database can be pipelined. Validation and
+   * writes remain on the importing thread, as they share the Hibernate session, the transaction
+   * and the {@link ImportContext} which are bound to that thread.
+   */
+  private DataValueSetReader createPipelinedReader(DataValueSetReader reader) {
+    int readAhead =
+        NumberUtils.toInt(config.getProperty(DATA_IMPORT_READ_AHEAD), DEFAULT_READ_AHEAD);
+    return readAhead > 0 ? new PipelinedDataValueSetReader(reader, readAhead) : reader;
+  }
+
   /**
    * There are specific id schemes for data elements and organisation units and a generic id scheme
    * for all objects. The specific id schemes will take precedence over the generic id scheme. The
@@ -751,6 +806,10 @@ public class DefaultDataValueSetService implements DataValueSetService {
       dataValue = reader.readNext();
     }
 
+    if (context.isBulkImport()) {
+      flushBulkImportChunk(context, importCount);
+    }
+
     context
         .getSummary()
         .setImportCount(importCount)
@@ -811,6 +870,24 @@ public class DefaultDataValueSetService implements DataValueSetService {
     // -----------------------------------------------------------------
     DataValue internalValue = createDataValue(dataValue, context, valueContext, now);
 
+    // -----------------------------------------------------------------
+    // Defer to chunk for bulk import
+    // -----------------------------------------------------------------
+    if (context.isBulkImport()) {
+      BulkImportChunk chunk = context.getBulkImportChunk();
+
+      if (!chunk.add(dataValue, valueContext, internalValue)) {
+        // Value with same key must see the outcome of the pending value
+        flushBulkImportChunk(context, importCount);
+        chunk.add(dataValue, valueContext, internalValue);
+      }
+
+      if (chunk.isFull()) {
+        flushBulkImportChunk(context, importCount);
+      }
+      return;
+    }
+
     // -----------------------------------------------------------------
     // Save, update or delete data value
     // -----------------------------------------------------------------
@@ -819,6 +896,87 @@ public class DefaultDataValueSetService implements DataValueSetService {
             ? context.getDataValueBatchHandler().findObject(internalValue)
             : null;
 
+    saveDataValue(context, importCount, dataValue, valueContext, internalValue, existingValue);
+  }
+
+  /**
+   * Looks up the existing data values for all pending data values of a bulk import, decides for
+   * each data value how it is saved and writes the resulting data values and audits of the chunk.
+   */
+  private void flushBulkImportChunk(ImportContext context, ImportCount importCount) {
+    BulkImportChunk chunk = context.getBulkImportChunk();
+    List<PendingDataValue> pending = chunk.getPending();
+
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    List<DataValue> existingValues =
+        !context.isSkipExistingCheck()
+            ? dataValueSetImportStore.getExistingDataValues(chunk.getPendingValues())
+            : Collections.nCopies(pending.size(), null);
+
+    for (int i = 0; i < pending.size(); i++) {
+      PendingDataValue value = pending.get(i);
+      saveDataValue(
+          context,
+          importCount,
+          value.entry(),
+          value.valueContext(),
+          value.internalValue(),
+          existingValues.get(i));
+    }
+
+    if (!context.isDryRun()) {
+      List<DataValue> notInserted =
+          dataValueSetImportStore.saveDataValues(
+              chunk.getInserts(), chunk.getUpdates(), chunk.getAudits());
+
+      if (!notInserted.isEmpty()) {
+        rejectNotInserted(context, importCount, pending, notInserted);
+      }
+    }
+
+    chunk.clear();
+  }
+
+  /**
+   * Counts data values of a bulk import chunk which were not inserted because another import saved
+   * them after they were looked up as ignored instead of imported, and reports them as conflicts.
+   */
+  private static void rejectNotInserted(
+      ImportContext context,
+      ImportCount importCount,
+      List<PendingDataValue> pending,
+      List<DataValue> notInserted) {
+    Set<DataValue> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+    rejected.addAll(notInserted);
+
+    importCount.setImported(importCount.getImported() - rejected.size());
+    importCount.incrementIgnored(rejected.size());
+
+    for (PendingDataValue value : pending) {
+      if (rejected.contains(value.internalValue())) {
+        DataValueEntry entry = value.entry();
+        int index = value.valueContext().getIndex();
+        context.addConflict(
+            index,
+            DataValueImportConflict.VALUE_SAVED_CONCURRENTLY,
+            entry.getDataElement(),
+            entry.getPeriod(),
+            entry.getOrgUnit());
+        context.addRejected(index);
+      }
+    }
+  }
+
+  private void saveDataValue(
+      ImportContext context,
+      ImportCount importCount,
+      DataValueEntry dataValue,
+      ImportContext.DataValueContext valueContext,
+      DataValue internalValue,
+      DataValue existingValue) {
     // -----------------------------------
     // Preserve any existing created date
     // -----------------------------------
@@ -874,7 +1032,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
       importCount.incrementImported();
 
       if (!context.isDryRun()) {
-        context.getDataValueBatchHandler().updateObject(internalValue);
+        updateDataValue(context, internalValue);
 
         if (valueContext.getDataElement().isFileType()) {
           FileResource fr = fileResourceService.getFileResource(internalValue.getValue());
@@ -889,7 +1047,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
     boolean added = false;
 
     if (!context.isDryRun()) {
-      added = context.getDataValueBatchHandler().addObject(internalValue);
+      added = addDataValue(context, internalValue);
 
       if (added && valueContext.getDataElement().isFileType()) {
         FileResource fr = fileResourceService.getFileResource(internalValue.getValue());
@@ -925,7 +1083,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
         }
       }
 
-      context.getDataValueBatchHandler().updateObject(internalValue);
+      updateDataValue(context, internalValue);
 
       if (!context.isSkipAudit()) {
         DataValueAudit auditValue =
@@ -935,7 +1093,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
                 context.getStoredBy(dataValue),
                 ChangeLogType.DELETE);
 
-        context.getAuditBatchHandler().addObject(auditValue);
+        addDataValueAudit(context, auditValue);
       }
     }
   }
@@ -963,7 +1121,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
       } else importCount.incrementUpdated();
     }
     if (!context.isDryRun()) {
-      context.getDataValueBatchHandler().updateObject(internalValue);
+      updateDataValue(context, internalValue);
 
       if (!context.isSkipAudit()
           && !Objects.equals(existingValue.getValue(), internalValue.getValue())) {
@@ -974,7 +1132,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
                 context.getStoredBy(dataValue),
                 changeLogType);
 
-        context.getAuditBatchHandler().addObject(auditValue);
+        addDataValueAudit(context, auditValue);
       }
 
       if (valueContext.getDataElement().isFileType()) {
@@ -992,6 +1150,34 @@ public class DefaultDataValueSetService implements DataValueSetService {
     }
   }
 
+  /**
+   * Adds the data value to the chunk if this is a bulk import, or to the batch handler otherwise.
+   *
+   * @return true if the data value was added
+   */
+  private static boolean addDataValue(ImportContext context, DataValue internalValue) {
+    if (context.isBulkImport()) {
+      return context.getBulkImportChunk().getInserts().add(internalValue);
+    }
+    return context.getDataValueBatchHandler().addObject(internalValue);
+  }
+
+  private static void updateDataValue(ImportContext context, DataValue internalValue) {
+    if (context.isBulkImport()) {
+      context.getBulkImportChunk().getUpdates().add(internalValue);
+    } else {
+      context.getDataValueBatchHandler().updateObject(internalValue);
+    }
+  }
+
+  private static void addDataValueAudit(ImportContext context, DataValueAudit auditValue) {
+    if (context.isBulkImport()) {
+      context.getBulkImportChunk().getAudits().add(auditValue);
+    } else {
+      context.getAuditBatchHandler().addObject(auditValue);
+    }
+  }
+
   private static boolean dataValueUpdateShouldBeIgnored(
       DataValue internalValue, DataValue existingValue) {
     return !internalValue.isDeleted()
@@ -1161,6 +1347,8 @@ public class DefaultDataValueSetService implements DataValueSetService {
         // data processing
         .dataValueBatchHandler(dataValueBatchHandler.init())
         .auditBatchHandler(skipAudit ? null : auditBatchHandler.init())
+        .bulkImportChunk(
+            options.isBulkImport() ? new BulkImportChunk(BULK_IMPORT_CHUNK_SIZE) : null)
         .singularNameForType(klass -> schemaService.getDynamicSchema(klass).getSingular())
         .build();
   }
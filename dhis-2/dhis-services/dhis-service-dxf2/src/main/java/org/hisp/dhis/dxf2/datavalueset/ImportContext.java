@@ -27,10 +27,12 @@
  */
 package org.hisp.dhis.dxf2.datavalueset;
 
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toUnmodifiableList;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
@@ -199,8 +201,15 @@ public final class ImportContext {
 
   private final BatchHandler<DataValueAudit> auditBatchHandler;
 
+  /** The data values of a bulk import which are not yet written, null unless bulk import. */
+  private final BulkImportChunk bulkImportChunk;
+
   private final Function<Class<? extends IdentifiableObject>, String> singularNameForType;
 
+  public boolean isBulkImport() {
+    return bulkImportChunk != null;
+  }
+
   public String getCurrentUserName() {
     return currentUser.getUsername();
   }
@@ -353,4 +362,80 @@ public final class ImportContext {
           getAttrOptionCombo());
     }
   }
+
+  /**
+   * The data values of a bulk {@link DataValueSet} import which passed validation but are not yet
+   * written, together with the writes of the data values already decided upon. Existing data
+   * values are looked up and writes are made for all data values of a chunk at once.
+   */
+  @Getter
+  public static final class BulkImportChunk {
+    private final int capacity;
+
+    private final List<PendingDataValue> pending = new ArrayList<>();
+
+    private final Set<String> keys = new HashSet<>();
+
+    private final List<org.hisp.dhis.datavalue.DataValue> inserts = new ArrayList<>();
+
+    private final List<org.hisp.dhis.datavalue.DataValue> updates = new ArrayList<>();
+
+    private final List<DataValueAudit> audits = new ArrayList<>();
+
+    public BulkImportChunk(int capacity) {
+      this.capacity = capacity;
+    }
+
+    /**
+     * Adds a data value which is pending the lookup of the existing data value.
+     *
+     * @return false if the chunk already has a pending data value with the same key, in which
+     *     case the data value is not added
+     */
+    public boolean add(
+        DataValueEntry entry,
+        DataValueContext valueContext,
+        org.hisp.dhis.datavalue.DataValue internalValue) {
+      if (!keys.add(getKey(internalValue))) {
+        return false;
+      }
+
+      pending.add(new PendingDataValue(entry, valueContext, internalValue));
+      return true;
+    }
+
+    public boolean isFull() {
+      return pending.size() >= capacity;
+    }
+
+    public List<org.hisp.dhis.datavalue.DataValue> getPendingValues() {
+      return pending.stream().map(PendingDataValue::internalValue).collect(toList());
+    }
+
+    public void clear() {
+      pending.clear();
+      keys.clear();
+      inserts.clear();
+      updates.clear();
+      audits.clear();
+    }
+
+    private static String getKey(org.hisp.dhis.datavalue.DataValue value) {
+      return value.getDataElement().getId()
+          + "-"
+          + value.getPeriod().getId()
+          + "-"
+          + value.getSource().getId()
+          + "-"
+          + value.getCategoryOptionCombo().getId()
+          + "-"
+          + value.getAttributeOptionCombo().getId();
+    }
+  }
+
+  /** A validated data value of a bulk import with the context it was validated in. */
+  public record PendingDataValue(
+      DataValueEntry entry,
+      DataValueContext valueContext,
+      org.hisp.dhis.datavalue.DataValue internalValue) {}
 }
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hisp.dhis.util.DateUtils.toLongDate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.datavalue.DataValueAudit;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link DataValueSetImportStore} which stages data values in temporary tables using the
+ * PostgreSQL COPY protocol. The staging tables are created and dropped within the connection of
+ * the current transaction, if any.
+ */
+@Slf4j
+@Repository("org.hisp.dhis.dxf2.datavalueset.DataValueSetImportStore")
+public class JdbcDataValueSetImportStore implements DataValueSetImportStore {
+  private static final String STAGE_TABLE = "datavalue_import_stage";
+
+  private static final String AUDIT_STAGE_TABLE = "datavalueaudit_import_stage";
+
+  private static final String KEY_COLUMNS =
+      "dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid";
+
+  private static final String VALUE_COLUMNS =
+      KEY_COLUMNS + ", value, storedby, created, lastupdated, comment, followup, deleted";
+
+  private static final String AUDIT_COLUMNS =
+      "dataelementid, periodid, organisationunitid, categoryoptioncomboid, "
+          + "attributeoptioncomboid, value, modifiedby, created, audittype";
+
+  private static final String KEY_JOIN =
+      "dv.dataelementid = s.dataelementid and dv.periodid = s.periodid "
+          + "and dv.sourceid = s.sourceid "
+          + "and dv.categoryoptioncomboid = s.categoryoptioncomboid "
+          + "and dv.attributeoptioncomboid = s.attributeoptioncomboid";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public JdbcDataValueSetImportStore(JdbcTemplate jdbcTemplate) {
+    checkNotNull(jdbcTemplate);
+
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<DataValue> getExistingDataValues(List<DataValue> values) {
+    List<DataValue> existing = new ArrayList<>(Collections.nCopies(values.size(), null));
+
+    if (values.isEmpty()) {
+      return existing;
+    }
+
+    CopyBuffer keys = new CopyBuffer();
+
+    for (int i = 0; i < values.size(); i++) {
+      keys.add(i);
+      addKey(keys, values.get(i));
+      keys.endRow();
+    }
+
+    String sql =
+        "select s.idx, dv.value, dv.storedby, dv.created, dv.comment, dv.followup, dv.deleted "
+            + "from "
+            + STAGE_TABLE
+            + " s join datavalue dv on "
+            + KEY_JOIN;
+
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              try (Statement statement = connection.createStatement()) {
+                createStageTables(statement);
+                copyIn(connection, STAGE_TABLE, "idx, " + KEY_COLUMNS, keys);
+
+                try (ResultSet rs = statement.executeQuery(sql)) {
+                  while (rs.next()) {
+                    int index = rs.getInt("idx");
+                    existing.set(index, mapRow(rs, values.get(index)));
+                  }
+                }
+
+                dropStageTables(statement);
+              }
+              return null;
+            });
+
+    return existing;
+  }
+
+  @Override
+  public List<DataValue> saveDataValues(
+      Collection<DataValue> inserts,
+      Collection<DataValue> updates,
+      Collection<DataValueAudit> audits) {
+    List<DataValue> notInserted = new ArrayList<>();
+
+    if (inserts.isEmpty() && updates.isEmpty() && audits.isEmpty()) {
+      return notInserted;
+    }
+
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              try (Statement statement = connection.createStatement()) {
+                createStageTables(statement);
+
+                if (!updates.isEmpty()) {
+                  copyIn(connection, STAGE_TABLE, VALUE_COLUMNS, toCopyBuffer(updates));
+
+                  int updated =
+                      statement.executeUpdate(
+                          "update datavalue dv set value = s.value, storedby = s.storedby, "
+                              + "created = s.created, lastupdated = s.lastupdated, "
+                              + "comment = s.comment, followup = s.followup, deleted = s.deleted "
+                              + "from "
+                              + STAGE_TABLE
+                              + " s where "
+                              + KEY_JOIN);
+
+                  log.debug("Bulk updated {} of {} data values", updated, updates.size());
+
+                  statement.execute("truncate " + STAGE_TABLE);
+                }
+
+                if (!inserts.isEmpty()) {
+                  List<DataValue> values = new ArrayList<>(inserts);
+                  copyIn(
+                      connection,
+                      STAGE_TABLE,
+                      "idx, " + VALUE_COLUMNS,
+                      toIndexedCopyBuffer(values));
+
+                  // Rows of data values saved concurrently since they were looked up are skipped
+                  String sql =
+                      "with dv as (insert into datavalue ("
+                          + VALUE_COLUMNS
+                          + ") select "
+                          + VALUE_COLUMNS
+                          + " from "
+                          + STAGE_TABLE
+                          + " on conflict do nothing returning "
+                          + KEY_COLUMNS
+                          + ") select s.idx from "
+                          + STAGE_TABLE
+                          + " s where not exists (select 1 from dv where "
+                          + KEY_JOIN
+                          + ")";
+
+                  try (ResultSet rs = statement.executeQuery(sql)) {
+                    while (rs.next()) {
+                      notInserted.add(values.get(rs.getInt("idx")));
+                    }
+                  }
+
+                  log.debug(
+                      "Bulk inserted {} of {} data values",
+                      values.size() - notInserted.size(),
+                      values.size());
+                }
+
+                if (!audits.isEmpty()) {
+                  copyIn(connection, AUDIT_STAGE_TABLE, AUDIT_COLUMNS, toAuditCopyBuffer(audits));
+
+                  statement.executeUpdate(
+                      "insert into datavalueaudit (datavalueauditid, "
+                          + AUDIT_COLUMNS
+                          + ") select nextval('datavalueaudit_sequence'), "
+                          + AUDIT_COLUMNS
+                          + " from "
+                          + AUDIT_STAGE_TABLE);
+                }
+
+                dropStageTables(statement);
+              }
+              return null;
+            });
+
+    return notInserted;
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Creates the staging tables unless they exist and empties them, as tables of a previous chunk
+   * survive when the connection is not bound to a transaction.
+   */
+  private static void createStageTables(Statement statement) throws SQLException {
+    statement.execute(
+        "create temporary table if not exists "
+            + STAGE_TABLE
+            + " (idx integer, dataelementid bigint, periodid bigint, sourceid bigint, "
+            + "categoryoptioncomboid bigint, attributeoptioncomboid bigint, value text, "
+            + "storedby text, created timestamp, lastupdated timestamp, comment text, "
+            + "followup boolean, deleted boolean)");
+    statement.execute(
+        "create temporary table if not exists "
+            + AUDIT_STAGE_TABLE
+            + " (dataelementid bigint, periodid bigint, organisationunitid bigint, "
+            + "categoryoptioncomboid bigint, attributeoptioncomboid bigint, value text, "
+            + "modifiedby text, created timestamp, audittype text)");
+    statement.execute("truncate " + STAGE_TABLE + ", " + AUDIT_STAGE_TABLE);
+  }
+
+  private static void dropStageTables(Statement statement) throws SQLException {
+    statement.execute("drop table if exists " + STAGE_TABLE + ", " + AUDIT_STAGE_TABLE);
+  }
+
+  private static void copyIn(Connection connection, String table, String columns, CopyBuffer rows)
+      throws SQLException {
+    String sql = "copy " + table + " (" + columns + ") from stdin with (format csv)";
+
+    try {
+      connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, rows.toReader());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static DataValue mapRow(ResultSet rs, DataValue key) throws SQLException {
+    DataValue dv = new DataValue();
+
+    dv.setDataElement(key.getDataElement());
+    dv.setPeriod(key.getPeriod());
+    dv.setSource(key.getSource());
+    dv.setCategoryOptionCombo(key.getCategoryOptionCombo());
+    dv.setAttributeOptionCombo(key.getAttributeOptionCombo());
+    dv.setValue(rs.getString("value"));
+    dv.setStoredBy(rs.getString("storedby"));
+    dv.setCreated(rs.getTimestamp("created"));
+    dv.setComment(rs.getString("comment"));
+    dv.setFollowup(rs.getBoolean("followup"));
+    dv.setDeleted(rs.getBoolean("deleted"));
+
+    return dv;
+  }
+
+  private static void addKey(CopyBuffer buffer, DataValue value) {
+    buffer
+        .add(value.getDataElement().getId())
+        .add(value.getPeriod().getId())
+        .add(value.getSource().getId())
+        .add(value.getCategoryOptionCombo().getId())
+        .add(value.getAttributeOptionCombo().getId());
+  }
+
+  private static void addValue(CopyBuffer buffer, DataValue value) {
+    addKey(buffer, value);
+    buffer
+        .add(value.getValue())
+        .add(value.getStoredBy())
+        .add(value.getCreated())
+        .add(value.getLastUpdated())
+        .add(value.getComment())
+        .add(value.isFollowup())
+        .add(value.isDeleted());
+  }
+
+  private static CopyBuffer toCopyBuffer(Collection<DataValue> values) {
+    CopyBuffer buffer = new CopyBuffer();
+
+    for (DataValue value : values) {
+      addValue(buffer, value);
+      buffer.endRow();
+    }
+
+    return buffer;
+  }
+
+  private static CopyBuffer toIndexedCopyBuffer(List<DataValue> values) {
+    CopyBuffer buffer = new CopyBuffer();
+
+    for (int i = 0; i < values.size(); i++) {
+      buffer.add(i);
+      addValue(buffer, values.get(i));
+      buffer.endRow();
+    }
+
+    return buffer;
+  }
+
+  private static CopyBuffer toAuditCopyBuffer(Collection<DataValueAudit> audits) {
+    CopyBuffer buffer = new CopyBuffer();
+
+    for (DataValueAudit audit : audits) {
+      buffer
+          .add(audit.getDataElement().getId())
+          .add(audit.getPeriod().getId())
+          .add(audit.getOrganisationUnit().getId())
+          .add(audit.getCategoryOptionCombo().getId())
+          .add(audit.getAttributeOptionCombo().getId())
+          .add(audit.getValue())
+          .add(audit.getModifiedBy())
+          .add(audit.getCreated())
+          .add(audit.getAuditType().toString())
+          .endRow();
+    }
+
+    return buffer;
+  }
+
+  /**
+   * Rows in the CSV format of the COPY protocol. Null is written as an unquoted empty field, text
+   * is always quoted so that empty strings are distinct from null.
+   */
+  static final class CopyBuffer {
+    private final StringBuilder csv = new StringBuilder();
+
+    private boolean firstColumn = true;
+
+    CopyBuffer add(Object value) {
+      if (!firstColumn) {
+        csv.append(',');
+      }
+
+      firstColumn = false;
+
+      if (value instanceof String text) {
+        csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+      } else if (value instanceof Date date) {
+        csv.append(toLongDate(date));
+      } else if (value != null) {
+        csv.append(value);
+      }
+
+      return this;
+    }
+
+    CopyBuffer endRow() {
+      csv.append('\n');
+      firstColumn = true;
+      return this;
+    }
+
+    StringReader toReader() {
+      return new StringReader(csv.toString());
+    }
+
+    @Override
+    public String toString() {
+      return csv.toString();
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.dxf2.datavalue.DataValue;
+
+/**
+ * A {@link DataValueSetReader} which parses the values of another reader ahead on a separate
+ * thread, so that parsing the input overlaps with validating and writing the values already read.
+ *
+ * <p>At most {@code capacity} values are read ahead. Values are handed over as detached copies, as
+ * entries of streaming readers are only valid until the next entry is read. Failures of the
+ * underlying reader are rethrown by {@link #readNext()} in the position of the input where they
+ * occurred.
+ */
+@Slf4j
+public final class PipelinedDataValueSetReader implements DataValueSetReader {
+  private static final Object END = new Object();
+
+  private final DataValueSetReader reader;
+
+  private final BlockingQueue<Object> queue;
+
+  private ExecutorService executor;
+
+  private boolean done;
+
+  public PipelinedDataValueSetReader(DataValueSetReader reader, int capacity) {
+    this.reader = reader;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  @Override
+  public DataValueSet readHeader() {
+    return reader.readHeader();
+  }
+
+  @Override
+  public DataValueEntry readNext() {
+    if (done) {
+      return null;
+    }
+
+    if (executor == null) {
+      executor = Executors.newSingleThreadExecutor();
+      executor.execute(this::readAhead);
+    }
+
+    Object next;
+
+    try {
+      next = queue.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading data values", ex);
+    }
+
+    if (next instanceof DataValueEntry entry) {
+      return entry;
+    }
+
+    done = true;
+
+    if (next instanceof RuntimeException ex) {
+      throw ex;
+    }
+    if (next instanceof Error error) {
+      throw error;
+    }
+    return null;
+  }
+
+  private void readAhead() {
+    try {
+      DataValueEntry entry = reader.readNext();
+
+      while (entry != null) {
+        queue.put(DataValue.copyOf(entry));
+        entry = reader.readNext();
+      }
+
+      queue.put(END);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException | Error ex) {
+      try {
+        queue.put(ex);
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+
+      try {
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+          log.warn("Data value set reader did not stop before being closed");
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    reader.close();
+  }
+}
@@ -30,23 +30,36 @@ package org.hisp.dhis.dxf2.datavalueset;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hisp.dhis.common.IdentifiableObjectUtils.getIdentifiers;
 import static org.hisp.dhis.commons.util.TextUtils.getCommaDelimitedString;
+import static org.hisp.dhis.external.conf.ConfigurationKey.DATA_EXPORT_THREADS;
 import static org.hisp.dhis.util.DateUtils.toLongGmtDate;
 import static org.hisp.dhis.util.DateUtils.toMediumDate;
 
 import com.google.common.base.Preconditions;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.hisp.dhis.calendar.Calendar;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.commons.util.TextUtils;
+import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.dxf2.datavalue.DataValue;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.query.JpaQueryUtils;
@@ -59,6 +72,7 @@ import org.hisp.dhis.user.UserService;
 import org.hisp.dhis.util.DateUtils;
 import org.hisp.staxwax.factory.XMLFactory;
 import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -68,15 +82,27 @@ import org.springframework.stereotype.Repository;
 @Slf4j
 @Repository("org.hisp.dhis.dxf2.datavalueset.DataValueSetStore")
 public class SpringDataValueSetStore implements DataValueSetStore {
+  /** Number of rows fetched per round trip by the server-side cursor of an export query. */
+  private static final int FETCH_SIZE = 1000;
+
+  /** Number of partitions per thread, so that a slow partition does not stall the others. */
+  private static final int PARTITIONS_PER_THREAD = 4;
+
+  private static final Object END = new Object();
+
   private final JdbcTemplate jdbcTemplate;
   private final UserService userService;
+  private final DhisConfigurationProvider config;
 
-  public SpringDataValueSetStore(UserService userService, JdbcTemplate jdbcTemplate) {
+  public SpringDataValueSetStore(
+      UserService userService, JdbcTemplate jdbcTemplate, DhisConfigurationProvider config) {
     checkNotNull(userService);
     checkNotNull(jdbcTemplate);
+    checkNotNull(config);
 
     this.userService = userService;
     this.jdbcTemplate = jdbcTemplate;
+    this.config = config;
   }
 
   // --------------------------------------------------------------------------
@@ -86,7 +112,7 @@ public class SpringDataValueSetStore implements DataValueSetStore {
   @Override
   public void exportDataValueSetXml(DataExportParams params, Date completeDate, OutputStream out) {
     try (DataValueSetWriter writer = new XmlDataValueSetWriter(XMLFactory.getXMLWriter(out))) {
-      exportDataValueSet(getDataValueSql(params), params, completeDate, writer);
+      exportDataValueSet(params, completeDate, writer);
     }
   }
 
@@ -94,14 +120,22 @@ public class SpringDataValueSetStore implements DataValueSetStore {
   public void exportDataValueSetJson(DataExportParams params, Date completeDate, OutputStream out) {
 
     try (DataValueSetWriter writer = new JsonDataValueSetWriter(out)) {
-      exportDataValueSet(getDataValueSql(params), params, completeDate, writer);
+      exportDataValueSet(params, completeDate, writer);
     }
   }
 
   @Override
   public void exportDataValueSetCsv(DataExportParams params, Date completeDate, Writer out) {
     try (DataValueSetWriter writer = new CsvDataValueSetWriter(CsvUtils.getWriter(out))) {
-      exportDataValueSet(getDataValueSql(params), params, completeDate, writer);
+      exportDataValueSet(params, completeDate, writer);
+    }
+  }
+
+  @Override
+  public void exportDataValueSetArrow(
+      DataExportParams params, Date completeDate, OutputStream out) {
+    try (DataValueSetWriter writer = new ArrowDataValueSetWriter(out)) {
+      exportDataValueSet(params, completeDate, writer);
     }
   }
 
@@ -163,8 +197,53 @@ public class SpringDataValueSetStore implements DataValueSetStore {
     return sql;
   }
 
+  /**
+   * Exports the data values of the given params. Unless limited, the export is partitioned by data
+   * element and the partitions are read in parallel, each on its own connection, when more than
+   * one thread is configured. Partitions are written in order of their data element ids.
+   */
+  private void exportDataValueSet(
+      DataExportParams params, Date completeDate, DataValueSetWriter writer) {
+    int threads = NumberUtils.toInt(config.getProperty(DATA_EXPORT_THREADS), 1);
+
+    List<List<Long>> partitions =
+        threads > 1 && !params.hasLimit()
+            ? getDataElementPartitions(params, threads * PARTITIONS_PER_THREAD)
+            : List.of();
+
+    if (partitions.size() < 2) {
+      exportDataValueSet(getDataValueSql(params), params, completeDate, writer);
+      return;
+    }
+
+    String userClause = getAttributeOptionComboClause();
+    List<String> sqls = new ArrayList<>();
+
+    for (List<Long> partition : partitions) {
+      sqls.add(getDataValueSql(params, partition, userClause));
+    }
+
+    writeHeader(params, completeDate, writer);
+
+    exportPartitions(sqls, Math.min(threads, sqls.size()), writer);
+  }
+
   private void exportDataValueSet(
       String sql, DataExportParams params, Date completeDate, final DataValueSetWriter writer) {
+    writeHeader(params, completeDate, writer);
+
+    final Calendar calendar = PeriodType.getCalendar();
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(sql);
+          statement.setFetchSize(FETCH_SIZE);
+          return statement;
+        },
+        (ResultSet rs) -> writer.writeValue(new ResultSetDataValueEntry(rs, calendar)));
+  }
+
+  private static void writeHeader(
+      DataExportParams params, Date completeDate, DataValueSetWriter writer) {
     if (params.isSingleDataValueSet()) {
       IdSchemes idScheme =
           params.getOutputIdSchemes() != null ? params.getOutputIdSchemes() : new IdSchemes();
@@ -179,10 +258,121 @@ public class SpringDataValueSetStore implements DataValueSetStore {
     } else {
       writer.writeHeader();
     }
+  }
 
+  /**
+   * Reads the given partition queries in parallel and writes their values in order. Each
+   * partition is read with a server-side cursor into a bounded queue, so that at most {@code
+   * threads} partitions are buffered while the current partition is written.
+   */
+  private void exportPartitions(List<String> sqls, int threads, DataValueSetWriter writer) {
     final Calendar calendar = PeriodType.getCalendar();
-    jdbcTemplate.query(
-        sql, (ResultSet rs) -> writer.writeValue(new ResultSetDataValueEntry(rs, calendar)));
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      List<BlockingQueue<Object>> queues = new ArrayList<>();
+
+      for (String sql : sqls) {
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(FETCH_SIZE);
+        queues.add(queue);
+        executor.execute(() -> readPartition(sql, calendar, queue));
+      }
+
+      for (BlockingQueue<Object> queue : queues) {
+        Object next = take(queue);
+
+        while (next != END) {
+          if (next instanceof RuntimeException ex) {
+            throw ex;
+          } else if (next instanceof Throwable ex) {
+            throw new IllegalStateException("Failed to read data value set export partition", ex);
+          }
+
+          writer.writeValue((DataValueEntry) next);
+          next = take(queue);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Reads the values of a partition in a read-only transaction on a connection of its own. Values
+   * are copied as the entry of the result set is only valid for the current row. The queue always
+   * ends with either {@link #END} or the failure, as the writing thread waits for one of them.
+   */
+  private void readPartition(String sql, Calendar calendar, BlockingQueue<Object> queue) {
+    try {
+      jdbcTemplate.execute(
+          (ConnectionCallback<Void>)
+              connection -> {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+
+                try (Statement statement = connection.createStatement()) {
+                  statement.setFetchSize(FETCH_SIZE);
+
+                  try (ResultSet rs = statement.executeQuery(sql)) {
+                    DataValueEntry entry = new ResultSetDataValueEntry(rs, calendar);
+
+                    while (rs.next()) {
+                      put(queue, DataValue.copyOf(entry));
+                    }
+                  }
+                } finally {
+                  connection.rollback();
+                  connection.setAutoCommit(autoCommit);
+                }
+                return null;
+              });
+
+      put(queue, END);
+    } catch (Throwable ex) {
+      if (!Thread.currentThread().isInterrupted()) {
+        log.error("Failed to read data value set export partition", ex);
+        queue.clear();
+        queue.offer(ex);
+      }
+    }
+  }
+
+  private static void put(BlockingQueue<Object> queue, Object value) {
+    try {
+      queue.put(value);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Data value set export was cancelled", ex);
+    }
+  }
+
+  private static Object take(BlockingQueue<Object> queue) {
+    try {
+      return queue.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Data value set export was interrupted", ex);
+    }
+  }
+
+  /**
+   * Splits the data elements of the export into partitions of consecutive ids, ordered by id.
+   *
+   * @param params the export params.
+   * @param maxPartitions the max number of partitions.
+   * @return the ids of the data elements of each partition.
+   */
+  static List<List<Long>> getDataElementPartitions(DataExportParams params, int maxPartitions) {
+    List<Long> ids = params.getAllDataElements().stream().map(DataElement::getId).sorted().toList();
+    int partitionSize = Math.max(1, (ids.size() + maxPartitions - 1) / maxPartitions);
+
+    List<List<Long>> partitions = new ArrayList<>();
+
+    for (int i = 0; i < ids.size(); i += partitionSize) {
+      partitions.add(ids.subList(i, Math.min(ids.size(), i + partitionSize)));
+    }
+
+    return partitions;
   }
 
   // --------------------------------------------------------------------------
@@ -190,6 +380,17 @@ public class SpringDataValueSetStore implements DataValueSetStore {
   // --------------------------------------------------------------------------
 
   private String getDataValueSql(DataExportParams params) {
+    return getDataValueSql(params, null, getAttributeOptionComboClause());
+  }
+
+  /**
+   * @param params the export params.
+   * @param partition the ids of the data elements to restrict the values to, or null.
+   * @param userClause the attribute option combo filter clause of the current user.
+   * @return the data value SQL query.
+   */
+  private String getDataValueSql(
+      DataExportParams params, List<Long> partition, String userClause) {
     Preconditions.checkArgument(!params.getAllDataElements().isEmpty());
 
     IdSchemes idScheme =
@@ -285,6 +486,10 @@ public class SpringDataValueSetStore implements DataValueSetStore {
               + ")) ";
     }
 
+    if (partition != null) {
+      sql += "and dv.dataelementid in (" + getCommaDelimitedString(partition) + ") ";
+    }
+
     if (params.isIncludeDescendants()) {
       sql += "and (";
 
@@ -345,10 +550,7 @@ public class SpringDataValueSetStore implements DataValueSetStore {
               + "' ";
     }
 
-    User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
-    if (currentUser != null && !currentUser.isSuper()) {
-      sql += getAttributeOptionComboClause(currentUser);
-    }
+    sql += userClause;
 
     if (params.hasLimit()) {
       sql += "limit " + params.getLimit();
@@ -359,6 +561,19 @@ public class SpringDataValueSetStore implements DataValueSetStore {
     return sql;
   }
 
+  /**
+   * Returns an attribute option combo filter SQL clause for the current user, which is empty for
+   * super users.
+   *
+   * @return an SQL filter clause.
+   */
+  private String getAttributeOptionComboClause() {
+    User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
+    return currentUser != null && !currentUser.isSuper()
+        ? getAttributeOptionComboClause(currentUser)
+        : "";
+  }
+
   /**
    * Returns an attribute option combo filter SQL clause. The filter enforces that only attribute
    * option combinations which the given user has access to are returned.
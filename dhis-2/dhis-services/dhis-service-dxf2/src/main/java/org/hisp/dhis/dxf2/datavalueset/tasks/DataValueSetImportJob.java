@@ -83,6 +83,9 @@ public class DataValueSetImportJob implements Job {
             case "application/pdf" ->
                 progress.runStage(
                     () -> dataValueSetService.importDataValueSetPdf(input, options, jobId));
+            case "application/vnd.apache.arrow.stream" ->
+                progress.runStage(
+                    () -> dataValueSetService.importDataValueSetArrow(input, options, jobId));
             case "application/adx+xml" ->
                 progress.runStage(() -> adxDataService.saveDataValueSet(input, options, jobId));
             case "application/xml" ->
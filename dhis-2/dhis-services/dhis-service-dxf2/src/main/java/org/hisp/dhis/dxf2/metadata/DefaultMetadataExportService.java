@@ -37,25 +37,40 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Sets;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.attribute.AttributeService;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.category.Category;
 import org.hisp.dhis.category.CategoryCombo;
 import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.InterpretableObject;
 import org.hisp.dhis.common.SetMap;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 import org.hisp.dhis.commons.timer.SystemTimer;
 import org.hisp.dhis.commons.timer.Timer;
 import org.hisp.dhis.dashboard.Dashboard;
@@ -67,11 +82,13 @@ import org.hisp.dhis.dataentryform.DataEntryForm;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.DataSetElement;
 import org.hisp.dhis.dataset.Section;
+import org.hisp.dhis.deletedobject.DeletedObjectService;
 import org.hisp.dhis.document.Document;
 import org.hisp.dhis.dxf2.common.OrderParams;
 import org.hisp.dhis.eventchart.EventChart;
 import org.hisp.dhis.eventreport.EventReport;
 import org.hisp.dhis.eventvisualization.EventVisualization;
+import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.fieldfiltering.FieldFilterParams;
 import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.indicator.Indicator;
@@ -103,16 +120,21 @@ import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.security.Authorities;
 import org.hisp.dhis.system.SystemInfo;
 import org.hisp.dhis.system.SystemService;
+import org.hisp.dhis.system.util.CodecUtils;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityType;
+import org.hisp.dhis.user.AuthenticationService;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.user.UserService;
 import org.hisp.dhis.util.DateUtils;
 import org.hisp.dhis.visualization.Visualization;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author Morten Olav Hansen <mortenoh@gmail.com>
@@ -121,6 +143,12 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Service("org.hisp.dhis.dxf2.metadata.MetadataExportService")
 public class DefaultMetadataExportService implements MetadataExportService {
+  /**
+   * How long a computed metadata watermark is reused. Changes made through the metadata importer
+   * reset it right away, other changes are picked up after at most this long.
+   */
+  private static final long WATERMARK_TTL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
   private final SchemaService schemaService;
 
   private final QueryService queryService;
@@ -139,6 +167,29 @@ public class DefaultMetadataExportService implements MetadataExportService {
 
   private final UserService userService;
 
+  private final IdentifiableObjectManager idObjectManager;
+
+  private final DeletedObjectService deletedObjectService;
+
+  private final AuthenticationService authenticationService;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final CacheProvider cacheProvider;
+
+  private final AtomicInteger pendingSnapshotRebuilds = new AtomicInteger();
+
+  /** Last computed watermark of all metadata, null when it must be computed again. */
+  private volatile MetadataWatermark watermark;
+
+  /** Pre-rendered exports of the metadata endpoint, keyed by user and request parameters. */
+  private Cache<MetadataExportSnapshot> snapshotCache;
+
+  @PostConstruct
+  public void init() {
+    snapshotCache = cacheProvider.createMetadataExportSnapshotCache();
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   @Transactional(readOnly = true)
@@ -249,14 +300,79 @@ public class DefaultMetadataExportService implements MetadataExportService {
   @Transactional(readOnly = true)
   public void getMetadataAsObjectNodeStream(MetadataExportParams params, OutputStream outputStream)
       throws IOException {
-    SystemInfo systemInfo = systemService.getSystemInfo();
-
     if (params.isExportWithDependencies()) {
       getMetadataWithDependenciesAsNodeStream(
           params.getObjectExportWithDependencies(), params, outputStream);
       return;
     }
 
+    if (params.getSnapshotParameters() != null) {
+      writeSnapshot(params, outputStream);
+      return;
+    }
+
+    writeMetadata(params, outputStream);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getMetadataSnapshotTag(MetadataExportParams params) {
+    if (params.getSnapshotParameters() == null) {
+      return null;
+    }
+
+    return CodecUtils.md5Hex(getSnapshotKey(params) + "-" + getMetadataWatermark());
+  }
+
+  /**
+   * Returns the watermark of all metadata, the latest last updated and the number of deleted
+   * objects. Computing it runs a query per metadata type, so it is reused for a short while.
+   */
+  private String getMetadataWatermark() {
+    MetadataWatermark current = watermark;
+    long now = System.currentTimeMillis();
+
+    if (current != null && now - current.computedAt() < WATERMARK_TTL_MILLIS) {
+      return current.value();
+    }
+
+    String value =
+        DateUtils.toLongDateWithMillis(getMetadataLastUpdated())
+            + "-"
+            + deletedObjectService.countDeletedObjects();
+
+    watermark = new MetadataWatermark(value, now);
+    return value;
+  }
+
+  /**
+   * Rebuilds the snapshots of recent exports after metadata has been changed, so that the next
+   * request for an export does not have to wait for it to be rendered. Changes arriving while a
+   * rebuild is running are picked up by running the rebuild once more.
+   */
+  @Override
+  @Async
+  @TransactionalEventListener(fallbackExecution = true)
+  public void handleMetadataChanged(MetadataChangedEvent event) {
+    watermark = null;
+
+    if (pendingSnapshotRebuilds.getAndIncrement() > 0) {
+      return;
+    }
+
+    do {
+      pendingSnapshotRebuilds.set(1);
+
+      for (String key : snapshotCache.keys()) {
+        snapshotCache.getIfPresent(key).ifPresent(snapshot -> rebuildSnapshot(key, snapshot));
+      }
+    } while (pendingSnapshotRebuilds.decrementAndGet() > 0);
+  }
+
+  private void writeMetadata(MetadataExportParams params, OutputStream outputStream)
+      throws IOException {
+    SystemInfo systemInfo = systemService.getSystemInfo();
+
     Map<Class<? extends IdentifiableObject>, List<? extends IdentifiableObject>> metadata =
         getMetadata(params);
 
@@ -296,6 +412,96 @@ public class DefaultMetadataExportService implements MetadataExportService {
     }
   }
 
+  /**
+   * Writes the snapshot of the export for given params, rendering it first if there is no snapshot
+   * yet or metadata has changed since it was rendered.
+   */
+  private void writeSnapshot(MetadataExportParams params, OutputStream outputStream)
+      throws IOException {
+    String key = getSnapshotKey(params);
+    String tag = getMetadataSnapshotTag(params);
+
+    MetadataExportSnapshot snapshot =
+        snapshotCache.getIfPresent(key).filter(s -> s.tag().equals(tag)).orElse(null);
+
+    if (snapshot == null) {
+      snapshot = createSnapshot(params, tag);
+      snapshotCache.put(key, snapshot);
+    }
+
+    try (InputStream content = new GZIPInputStream(new ByteArrayInputStream(snapshot.content()))) {
+      content.transferTo(outputStream);
+    }
+  }
+
+  private MetadataExportSnapshot createSnapshot(MetadataExportParams params, String tag)
+      throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+    try (OutputStream outputStream = new GZIPOutputStream(content)) {
+      writeMetadata(params, outputStream);
+    }
+
+    return new MetadataExportSnapshot(
+        tag,
+        CurrentUserUtil.getCurrentUserDetails().getUid(),
+        new TreeMap<>(params.getSnapshotParameters()),
+        content.toByteArray());
+  }
+
+  private void rebuildSnapshot(String key, MetadataExportSnapshot snapshot) {
+    try {
+      authenticationService.obtainAuthentication(snapshot.userUid());
+
+      MetadataExportSnapshot rebuilt =
+          transactionTemplate.execute(
+              status -> {
+                MetadataExportParams params =
+                    getParamsFromMap(new HashMap<>(snapshot.parameters()));
+                params.setSnapshotParameters(snapshot.parameters());
+                validate(params);
+                String tag = getMetadataSnapshotTag(params);
+
+                try {
+                  return tag.equals(snapshot.tag()) ? snapshot : createSnapshot(params, tag);
+                } catch (IOException ex) {
+                  throw new UncheckedIOException(ex);
+                }
+              });
+
+      snapshotCache.put(key, rebuilt);
+    } catch (NotFoundException | RuntimeException ex) {
+      log.warn("Could not rebuild metadata export snapshot, removing it", ex);
+      snapshotCache.invalidate(key);
+    } finally {
+      authenticationService.clearAuthentication();
+    }
+  }
+
+  /**
+   * Returns the key of the snapshot for given params. Exports are filtered by sharing, so the key
+   * is specific to the current user.
+   */
+  private String getSnapshotKey(MetadataExportParams params) {
+    return CodecUtils.md5Hex(
+        CurrentUserUtil.getCurrentUserDetails().getUid()
+            + "-"
+            + new TreeMap<>(params.getSnapshotParameters()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Date getMetadataLastUpdated() {
+    return DateUtils.max(
+        schemaService.getMetadataSchemas().stream()
+            .filter(schema -> schema.isIdentifiableObject() && schema.isPersisted())
+            .map(
+                schema ->
+                    idObjectManager.getLastUpdated(
+                        (Class<? extends IdentifiableObject>) schema.getKlass()))
+            .filter(Objects::nonNull)
+            .toList());
+  }
+
   @Override
   @Transactional(readOnly = true)
   public void getMetadataWithDependenciesAsNodeStream(
@@ -1125,4 +1331,17 @@ public class DefaultMetadataExportService implements MetadataExportService {
 
     return metadata;
   }
+
+  /**
+   * A gzip compressed export rendered for the user with given uid and given request parameters.
+   *
+   * @param tag the tag of the metadata the export was rendered for.
+   */
+  private record MetadataExportSnapshot(
+      String tag, String userUid, Map<String, List<String>> parameters, byte[] content) {}
+
+  /**
+   * @param computedAt the time in millis at which the value was computed.
+   */
+  private record MetadataWatermark(String value, long computedAt) {}
 }
@@ -91,6 +91,13 @@ public class MetadataExportParams {
 
   private boolean download = false;
 
+  /**
+   * The request parameters these params were created from. When set, the export may be served
+   * from a pre-rendered snapshot, see {@link
+   * MetadataExportService#getMetadataSnapshotTag(MetadataExportParams)}.
+   */
+  private Map<String, List<String>> snapshotParameters;
+
   public MetadataExportParams() {}
 
   public Set<Class<? extends IdentifiableObject>> getClasses() {
@@ -219,4 +226,12 @@ public class MetadataExportParams {
   public void setDownload(boolean download) {
     this.download = download;
   }
+
+  public Map<String, List<String>> getSnapshotParameters() {
+    return snapshotParameters;
+  }
+
+  public void setSnapshotParameters(Map<String, List<String>> snapshotParameters) {
+    this.snapshotParameters = snapshotParameters;
+  }
 }
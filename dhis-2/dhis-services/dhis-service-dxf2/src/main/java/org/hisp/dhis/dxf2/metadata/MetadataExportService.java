@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 
 /**
  * @author Morten Olav Hansen <mortenoh@gmail.com>
@@ -66,6 +67,24 @@ public interface MetadataExportService {
   void getMetadataAsObjectNodeStream(MetadataExportParams params, OutputStream outputStream)
       throws IOException;
 
+  /**
+   * Returns a tag identifying the content of the export for given params and the current user. The
+   * tag is derived from a high-watermark of the metadata (latest last updated and number of deleted
+   * objects), so it changes whenever metadata is changed and can be used as a strong ETag.
+   *
+   * @param params Export parameters with snapshot parameters set
+   * @return the tag, or null if the params have no snapshot parameters
+   */
+  String getMetadataSnapshotTag(MetadataExportParams params);
+
+  /**
+   * Rebuilds the snapshots of recent exports, see {@link
+   * #getMetadataSnapshotTag(MetadataExportParams)}, after metadata has been changed.
+   *
+   * @param event the event describing which types of metadata changed
+   */
+  void handleMetadataChanged(MetadataChangedEvent event);
+
   /**
    * Validates the import params. Not currently implemented.
    *
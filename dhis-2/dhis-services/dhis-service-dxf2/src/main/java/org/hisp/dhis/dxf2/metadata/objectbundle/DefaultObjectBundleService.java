@@ -48,6 +48,7 @@ import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.hisp.dhis.common.MergeMode;
 import org.hisp.dhis.common.ObjectDeletionRequestedEvent;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.dxf2.metadata.FlushMode;
 import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleCommitReport;
@@ -68,6 +69,7 @@ import org.hisp.dhis.system.deletion.DeletionManager;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -90,6 +92,7 @@ public class DefaultObjectBundleService implements ObjectBundleService {
   private final ObjectBundleHooks objectBundleHooks;
   private final EventHookPublisher eventHookPublisher;
   private final DeletionManager deletionManager;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional(readOnly = true)
@@ -146,6 +149,7 @@ public class DefaultObjectBundleService implements ObjectBundleService {
 
     dbmsManager.clearSession();
     cacheManager.clearCache();
+    eventPublisher.publishEvent(new MetadataChangedEvent(this, klasses));
 
     bundle.setObjectBundleStatus(ObjectBundleStatus.COMMITTED);
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.hisp.dhis.dxf2.datavalue.DataValue;
+import org.junit.jupiter.api.Test;
+
+class ArrowDataValueSetReaderTest {
+
+  @Test
+  void testReadHeaderReturnsSchemaMetadata() {
+    byte[] data = write(0);
+
+    try (DataValueSetReader reader =
+        new ArrowDataValueSetReader(new ByteArrayInputStream(data))) {
+      DataValueSet set = reader.readHeader();
+
+      assertEquals("ds1", set.getDataSet());
+      assertEquals("2024-01-31", set.getCompleteDate());
+      assertEquals("202401", set.getPeriod());
+      assertEquals("ou1", set.getOrgUnit());
+      assertNull(reader.readNext());
+    }
+  }
+
+  @Test
+  void testReadNextReturnsValuesAcrossBatches() {
+    int count = ArrowDataValueSet.BATCH_SIZE + 5;
+    byte[] data = write(count);
+
+    try (DataValueSetReader reader =
+        new ArrowDataValueSetReader(new ByteArrayInputStream(data))) {
+      reader.readHeader();
+
+      for (int i = 0; i < count; i++) {
+        DataValueEntry entry = reader.readNext();
+
+        assertEquals("de" + (i % 7), entry.getDataElement());
+        assertEquals("202401", entry.getPeriod());
+        assertEquals("ou" + (i % 3), entry.getOrgUnit());
+        assertEquals("coc1", entry.getCategoryOptionCombo());
+        assertNull(entry.getAttributeOptionCombo());
+        assertEquals(String.valueOf(i), entry.getValue());
+        assertEquals("admin", entry.getStoredBy());
+        assertNull(entry.getCreated());
+        assertEquals(i % 2 == 0 ? "comment" : null, entry.getComment());
+        assertEquals(i % 5 == 0, entry.getFollowup());
+        assertEquals(i % 2 == 0 ? null : Boolean.FALSE, entry.getDeleted());
+      }
+      assertNull(reader.readNext());
+    }
+  }
+
+  @Test
+  void testReadNextOnEmptyStream() {
+    byte[] data = write(0);
+
+    try (DataValueSetReader reader =
+        new ArrowDataValueSetReader(new ByteArrayInputStream(data))) {
+      assertNull(reader.readNext());
+    }
+  }
+
+  @Test
+  void testWriteHeaderWithoutMetadata() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (DataValueSetWriter writer = new ArrowDataValueSetWriter(out)) {
+      writer.writeHeader();
+      writer.writeValue(createValue(1));
+    }
+
+    try (DataValueSetReader reader =
+        new ArrowDataValueSetReader(new ByteArrayInputStream(out.toByteArray()))) {
+      assertNull(reader.readHeader().getDataSet());
+      DataValueEntry entry = reader.readNext();
+      assertEquals("de1", entry.getDataElement());
+      assertFalse(entry.getFollowup());
+      assertEquals(Boolean.FALSE, entry.getDeleted());
+      assertNull(reader.readNext());
+    }
+  }
+
+  private static byte[] write(int count) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (DataValueSetWriter writer = new ArrowDataValueSetWriter(out)) {
+      writer.writeHeader("ds1", "2024-01-31", "202401", "ou1");
+      for (int i = 0; i < count; i++) {
+        writer.writeValue(createValue(i));
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static DataValue createValue(int i) {
+    DataValue value = new DataValue();
+    value.setDataElement("de" + (i % 7));
+    value.setPeriod("202401");
+    value.setOrgUnit("ou" + (i % 3));
+    value.setCategoryOptionCombo("coc1");
+    value.setValue(String.valueOf(i));
+    value.setStoredBy("admin");
+    value.setComment(i % 2 == 0 ? "comment" : null);
+    value.setFollowup(i % 5 == 0);
+    value.setDeleted(i % 2 == 0 ? null : Boolean.FALSE);
+    return value;
+  }
+}
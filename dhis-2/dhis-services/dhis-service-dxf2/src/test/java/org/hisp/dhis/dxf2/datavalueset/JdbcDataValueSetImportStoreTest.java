@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import static org.hisp.dhis.util.DateUtils.toLongDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Date;
+import org.hisp.dhis.dxf2.datavalueset.JdbcDataValueSetImportStore.CopyBuffer;
+import org.junit.jupiter.api.Test;
+
+/** Tests the COPY rows written by {@link JdbcDataValueSetImportStore}. */
+class JdbcDataValueSetImportStoreTest {
+
+  @Test
+  void testCopyBufferNullAndEmpty() {
+    CopyBuffer buffer = new CopyBuffer().add(1L).add(null).add("").add(true).endRow();
+
+    assertEquals("1,,\"\",true\n", buffer.toString());
+  }
+
+  @Test
+  void testCopyBufferEscapesText() {
+    CopyBuffer buffer =
+        new CopyBuffer().add("say \"hi\", bye").endRow().add("line\nbreak").endRow();
+
+    assertEquals("\"say \"\"hi\"\", bye\"\n\"line\nbreak\"\n", buffer.toString());
+  }
+
+  @Test
+  void testCopyBufferDate() {
+    Date date = new Date(0);
+    CopyBuffer buffer = new CopyBuffer().add(date).endRow();
+
+    assertEquals(toLongDate(date) + "\n", buffer.toString());
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.csvreader.CsvReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.hisp.dhis.dxf2.datavalue.DataValue;
+import org.junit.jupiter.api.Test;
+
+class PipelinedDataValueSetReaderTest {
+
+  @Test
+  void testReadNextReturnsDetachedCopiesInOrder() {
+    String csv =
+        """
+        dataelement,period,orgunit,catoptcombo,attroptcombo,value
+        de1,202001,ou1,coc1,aoc1,1
+        de2,202002,ou2,coc2,aoc2,2
+        de3,202003,ou3,coc3,aoc3,3
+        """;
+    List<DataValueEntry> entries = new ArrayList<>();
+
+    try (DataValueSetReader reader =
+        new PipelinedDataValueSetReader(
+            new CsvDataValueSetReader(new CsvReader(new StringReader(csv)), null), 1)) {
+      assertNotNull(reader.readHeader());
+
+      for (DataValueEntry entry = reader.readNext(); entry != null; entry = reader.readNext()) {
+        entries.add(entry);
+      }
+      assertNull(reader.readNext());
+    }
+
+    assertEquals(3, entries.size());
+    for (int i = 0; i < 3; i++) {
+      assertTrue(entries.get(i) instanceof DataValue);
+      assertEquals("de" + (i + 1), entries.get(i).getDataElement());
+      assertEquals(String.valueOf(i + 1), entries.get(i).getValue());
+    }
+  }
+
+  @Test
+  void testReadNextRethrowsFailureInPosition() {
+    UncheckedIOException failure = new UncheckedIOException("broken", new IOException());
+    DataValue value = new DataValue();
+    value.setDataElement("de1");
+
+    DataValueSetReader failing =
+        new DataValueSetReader() {
+          private int count;
+
+          @Override
+          public DataValueSet readHeader() {
+            return new DataValueSet();
+          }
+
+          @Override
+          public DataValueEntry readNext() {
+            if (count++ == 0) {
+              return value;
+            }
+            throw failure;
+          }
+
+          @Override
+          public void close() {
+            // nothing to close
+          }
+        };
+
+    try (DataValueSetReader reader = new PipelinedDataValueSetReader(failing, 10)) {
+      reader.readHeader();
+
+      assertEquals("de1", reader.readNext().getDataElement());
+      assertSame(failure, assertThrows(UncheckedIOException.class, reader::readNext));
+      assertNull(reader.readNext());
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import static org.hisp.dhis.dxf2.datavalueset.SpringDataValueSetStore.getDataElementPartitions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.datavalue.DataExportParams;
+import org.junit.jupiter.api.Test;
+
+class SpringDataValueSetStoreTest {
+
+  @Test
+  void testGetDataElementPartitions() {
+    DataExportParams params = new DataExportParams().setDataElements(createDataElements(10));
+
+    assertEquals(
+        List.of(List.of(1L, 2L, 3L), List.of(4L, 5L, 6L), List.of(7L, 8L, 9L), List.of(10L)),
+        getDataElementPartitions(params, 4));
+  }
+
+  @Test
+  void testGetDataElementPartitionsFewerDataElementsThanPartitions() {
+    DataExportParams params = new DataExportParams().setDataElements(createDataElements(2));
+
+    assertEquals(List.of(List.of(1L), List.of(2L)), getDataElementPartitions(params, 8));
+  }
+
+  private static Set<DataElement> createDataElements(int count) {
+    return LongStream.rangeClosed(1, count)
+        .mapToObj(
+            id -> {
+              DataElement de = new DataElement("DataElement" + id);
+              de.setId(id);
+              de.setUid("DataElemen" + id);
+              return de;
+            })
+        .collect(Collectors.toSet());
+  }
+}
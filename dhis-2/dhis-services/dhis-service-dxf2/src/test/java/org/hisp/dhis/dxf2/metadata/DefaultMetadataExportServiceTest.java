@@ -27,21 +27,33 @@
  */
 package org.hisp.dhis.dxf2.metadata;
 
+import static org.hisp.dhis.DhisConvenienceTest.clearSecurityContext;
+import static org.hisp.dhis.DhisConvenienceTest.injectSecurityContext;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.NoOpCache;
 import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.SetMap;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 import org.hisp.dhis.dashboard.Dashboard;
 import org.hisp.dhis.dashboard.DashboardItem;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.deletedobject.DeletedObjectService;
 import org.hisp.dhis.mapping.MapView;
 import org.hisp.dhis.option.Option;
 import org.hisp.dhis.option.OptionGroup;
@@ -54,6 +66,9 @@ import org.hisp.dhis.programrule.ProgramRuleVariableService;
 import org.hisp.dhis.scheduling.JobConfiguration;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserDetails;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -75,8 +90,19 @@ class DefaultMetadataExportServiceTest {
 
   @Mock private ProgramRuleVariableService programRuleVariableService;
 
+  @Mock private IdentifiableObjectManager idObjectManager;
+
+  @Mock private DeletedObjectService deletedObjectService;
+
+  @Mock private CacheProvider cacheProvider;
+
   @InjectMocks private DefaultMetadataExportService service;
 
+  @AfterEach
+  void tearDown() {
+    clearSecurityContext();
+  }
+
   @Test
   void getParamsFromMapIncludedSecondary() {
     when(schemaService.getSchemaByPluralName(Mockito.eq("jobConfigurations")))
@@ -181,4 +207,40 @@ class DefaultMetadataExportServiceTest {
     assertNotNull(result.get(OptionGroup.class));
     assertNotNull(result.get(OptionSet.class));
   }
+
+  @Test
+  void testGetMetadataSnapshotTagWithoutSnapshotParameters() {
+    assertNull(service.getMetadataSnapshotTag(new MetadataExportParams()));
+  }
+
+  @Test
+  void testGetMetadataSnapshotTagChangesWithMetadata() {
+    User user = new User();
+    user.setUid("kWQX5J2YHVs");
+    user.setUsername("admin");
+    injectSecurityContext(UserDetails.fromUser(user));
+
+    Schema schema = new Schema(DataElement.class, "dataElement", "dataElements");
+    schema.setPersisted(true);
+    when(schemaService.getMetadataSchemas()).thenReturn(List.of(schema));
+    when(idObjectManager.getLastUpdated(DataElement.class))
+        .thenReturn(new Date(1000), new Date(2000), new Date(2000));
+    when(deletedObjectService.countDeletedObjects()).thenReturn(0, 0, 1);
+    when(cacheProvider.createMetadataExportSnapshotCache()).thenReturn(new NoOpCache<>());
+    service.init();
+
+    MetadataExportParams params = new MetadataExportParams();
+    params.setSnapshotParameters(Map.of("dataElements", List.of("true")));
+
+    String tag = service.getMetadataSnapshotTag(params);
+    assertEquals(tag, service.getMetadataSnapshotTag(params));
+    verify(idObjectManager, times(1)).getLastUpdated(DataElement.class);
+
+    service.handleMetadataChanged(new MetadataChangedEvent(this, Set.of(DataElement.class)));
+    String updatedTag = service.getMetadataSnapshotTag(params);
+    assertNotEquals(tag, updatedTag);
+
+    service.handleMetadataChanged(new MetadataChangedEvent(this, Set.of(DataElement.class)));
+    assertNotEquals(updatedTag, service.getMetadataSnapshotTag(params));
+  }
 }
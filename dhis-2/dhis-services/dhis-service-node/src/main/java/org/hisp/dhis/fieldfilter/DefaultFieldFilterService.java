@@ -394,7 +394,7 @@ public class DefaultFieldFilterService implements FieldFilterService {
         continue;
       }
 
-      Object returnValue = ReflectionUtils.invokeMethod(object, property.getGetterMethod());
+      Object returnValue = property.getValue(object);
 
       Class<?> propertyClass = property.getKlass();
       Schema propertySchema = schemaService.getDynamicSchema(propertyClass);
@@ -707,7 +707,7 @@ public class DefaultFieldFilterService implements FieldFilterService {
         continue;
       }
 
-      Object returnValue = ReflectionUtils.invokeMethod(object, property.getGetterMethod());
+      Object returnValue = property.getValue(object);
 
       SimpleNode simpleNode = new SimpleNode(field, returnValue);
       simpleNode.setAttribute(property.isAttribute());
@@ -49,25 +49,36 @@ public class Page<T> {
   private final Long total;
   private final Integer prevPage;
   private final Integer nextPage;
+  private final String nextCursor;
 
   /**
    * Create a new page based on an existing one but with given {@code items}. Page related counts
    * will not be changed so make sure the given {@code items} match the previous page size.
    */
   public <U> Page<U> withItems(List<U> items) {
-    return new Page<>(items, this.page, this.pageSize, this.total, this.prevPage, this.nextPage);
+    return new Page<>(
+        items, this.page, this.pageSize, this.total, this.prevPage, this.nextPage, this.nextCursor);
   }
 
   public static <T> Page<T> withTotals(List<T> items, int page, int pageSize, long total) {
-    return new Page<>(items, page, pageSize, total, null, null);
+    return new Page<>(items, page, pageSize, total, null, null, null);
   }
 
   public static <T> Page<T> withoutTotals(List<T> items, int page, int pageSize) {
-    return new Page<>(items, page, pageSize, null, null, null);
+    return new Page<>(items, page, pageSize, null, null, null, null);
   }
 
   public static <T> Page<T> withPrevAndNext(
       List<T> items, int page, int pageSize, Integer prevPage, Integer nextPage) {
-    return new Page<>(items, page, pageSize, null, prevPage, nextPage);
+    return new Page<>(items, page, pageSize, null, prevPage, nextPage, null);
+  }
+
+  /**
+   * Create a page of a walk by {@link PageCursor}. The {@code nextCursor} is null if this is the
+   * last page.
+   */
+  public static <T> Page<T> withNextCursor(List<T> items, int pageSize, PageCursor nextCursor) {
+    return new Page<>(
+        items, 1, pageSize, null, null, null, nextCursor == null ? null : nextCursor.encode());
   }
 }
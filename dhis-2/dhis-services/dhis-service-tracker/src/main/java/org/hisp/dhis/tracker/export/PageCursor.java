@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * {@link PageCursor} is the position in a walk over items ordered by last updated and id. Unlike a
+ * page number, a cursor lets the database seek directly to the first item of the next page using
+ * an index on (lastupdated, id), so fetching a page does not get slower the further a client
+ * walks.
+ *
+ * <p>Clients start a walk with {@link #START} and continue with the opaque cursor returned with
+ * each page.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageCursor {
+  /** The cursor clients use to start a walk. */
+  public static final String START = "*";
+
+  private static final PageCursor START_CURSOR = new PageCursor(null, 0);
+
+  /** The last updated timestamp of the last item of the previous page, null at the start. */
+  private final Timestamp lastUpdated;
+
+  /** The id of the last item of the previous page. */
+  private final long id;
+
+  public static PageCursor start() {
+    return START_CURSOR;
+  }
+
+  /**
+   * Returns the cursor of the page after the item with given last updated and id. The last updated
+   * timestamp keeps its full precision if given as {@link Timestamp}, as the database stores
+   * microseconds.
+   */
+  public static PageCursor after(Date lastUpdated, long id) {
+    return new PageCursor(Timestamp.from(lastUpdated.toInstant()), id);
+  }
+
+  public boolean isStart() {
+    return lastUpdated == null;
+  }
+
+  /** Returns the opaque representation of this cursor as used by clients. */
+  public String encode() {
+    if (isStart()) {
+      return START;
+    }
+
+    Instant instant = lastUpdated.toInstant();
+    String value = instant.getEpochSecond() + ":" + instant.getNano() + ":" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8));
+  }
+
+  /**
+   * Returns the cursor of given opaque representation.
+   *
+   * @throws IllegalArgumentException if given cursor was not created by {@link #encode()}
+   */
+  public static PageCursor decode(String cursor) {
+    if (START.equals(cursor)) {
+      return START_CURSOR;
+    }
+
+    try {
+      String[] parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(":");
+
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+      }
+
+      Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+      return new PageCursor(Timestamp.from(instant), Long.parseLong(parts[2]));
+    } catch (IllegalArgumentException | DateTimeException ex) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+    }
+  }
+}
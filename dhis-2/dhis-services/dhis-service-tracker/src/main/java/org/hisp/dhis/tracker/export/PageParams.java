@@ -35,6 +35,10 @@ import lombok.ToString;
 /**
  * {@link PageParams} represent the parameters that configure the page of items to be returned. By
  * default, the total number of items will not be fetched.
+ *
+ * <p>Pages are either selected by page number or, if a {@link PageCursor} is given, by seeking to
+ * the items after the cursor. Items are then ordered by last updated and id and no total is
+ * fetched.
  */
 @Getter
 @ToString
@@ -52,9 +56,24 @@ public class PageParams {
   /** Indicates whether to fetch the total number of items. */
   final boolean pageTotal;
 
+  /** The position after which to return items, null if the page is selected by number. */
+  final PageCursor cursor;
+
   public PageParams(Integer page, Integer pageSize, Boolean pageTotal) {
     this.page = Objects.requireNonNullElse(page, DEFAULT_PAGE);
     this.pageSize = Objects.requireNonNullElse(pageSize, DEFAULT_PAGE_SIZE);
     this.pageTotal = Boolean.TRUE.equals(pageTotal);
+    this.cursor = null;
+  }
+
+  public PageParams(PageCursor cursor, Integer pageSize) {
+    this.page = DEFAULT_PAGE;
+    this.pageSize = Objects.requireNonNullElse(pageSize, DEFAULT_PAGE_SIZE);
+    this.pageTotal = false;
+    this.cursor = Objects.requireNonNull(cursor);
+  }
+
+  public boolean isCursorPaging() {
+    return cursor != null;
   }
 }
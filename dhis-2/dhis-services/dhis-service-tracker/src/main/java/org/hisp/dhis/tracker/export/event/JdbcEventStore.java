@@ -95,6 +95,7 @@ import org.hisp.dhis.trackedentity.TrackedEntity;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.Page;
+import org.hisp.dhis.tracker.export.PageCursor;
 import org.hisp.dhis.tracker.export.PageParams;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.User;
@@ -182,6 +183,9 @@ class JdbcEventStore implements EventStore {
   private static final String COLUMN_USER_UID = "u_uid";
   private static final String COLUMN_ORG_UNIT_PATH = "ou_path";
   private static final String DEFAULT_ORDER = COLUMN_EVENT_ID + " desc";
+
+  private static final String CURSOR_ORDER =
+      COLUMN_EVENT_LAST_UPDATED + " asc, " + COLUMN_EVENT_ID + " asc";
   private static final String USER_SCOPE_ORG_UNIT_PATH_LIKE_MATCH_QUERY =
       " ou.path like CONCAT(orgunit.path, '%') ";
   private static final String CUSTOM_ORG_UNIT_PATH_LIKE_MATCH_QUERY =
@@ -286,6 +290,7 @@ class JdbcEventStore implements EventStore {
               event = eventsByUid.get(eventUid);
             } else {
               event = new Event();
+              event.setId(resultSet.getLong(COLUMN_EVENT_ID));
               event.setUid(eventUid);
               eventsByUid.put(eventUid, event);
 
@@ -433,6 +438,10 @@ class JdbcEventStore implements EventStore {
   }
 
   private Page<Event> getPage(PageParams pageParams, List<Event> events, LongSupplier eventCount) {
+    if (pageParams.isCursorPaging()) {
+      return getCursorPage(pageParams, events);
+    }
+
     if (pageParams.isPageTotal()) {
       return Page.withTotals(
           events, pageParams.getPage(), pageParams.getPageSize(), eventCount.getAsLong());
@@ -441,6 +450,21 @@ class JdbcEventStore implements EventStore {
     return Page.withoutTotals(events, pageParams.getPage(), pageParams.getPageSize());
   }
 
+  /**
+   * Events are fetched with one more event than the page size when paging by cursor, so we know if
+   * there is a next page without counting all events.
+   */
+  private Page<Event> getCursorPage(PageParams pageParams, List<Event> events) {
+    if (events.size() <= pageParams.getPageSize()) {
+      return Page.withNextCursor(events, pageParams.getPageSize(), null);
+    }
+
+    List<Event> items = events.subList(0, pageParams.getPageSize());
+    Event last = items.get(items.size() - 1);
+    return Page.withNextCursor(
+        items, pageParams.getPageSize(), PageCursor.after(last.getLastUpdated(), last.getId()));
+  }
+
   @Override
   public Set<String> getOrderableFields() {
     return ORDERABLE_FIELDS.keySet();
@@ -537,7 +561,7 @@ class JdbcEventStore implements EventStore {
 
     MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
 
-    sql = getEventSelectQuery(params, mapSqlParameterSource, currentUser);
+    sql = getEventSelectQuery(params, null, mapSqlParameterSource, currentUser);
 
     sql = sql.replaceFirst("select .*? from", "select count(*) as ev_count from");
 
@@ -575,9 +599,9 @@ class JdbcEventStore implements EventStore {
       User user) {
     StringBuilder sqlBuilder = new StringBuilder().append("select * from (");
 
-    sqlBuilder.append(getEventSelectQuery(queryParams, mapSqlParameterSource, user));
+    sqlBuilder.append(getEventSelectQuery(queryParams, pageParams, mapSqlParameterSource, user));
 
-    sqlBuilder.append(getOrderQuery(queryParams));
+    sqlBuilder.append(getOrderQuery(queryParams, pageParams));
 
     if (pageParams != null) {
       sqlBuilder.append(getLimitAndOffsetClause(pageParams));
@@ -601,7 +625,7 @@ class JdbcEventStore implements EventStore {
       sqlBuilder.append(RELATIONSHIP_IDS_QUERY);
     }
 
-    sqlBuilder.append(getOrderQuery(queryParams));
+    sqlBuilder.append(getOrderQuery(queryParams, pageParams));
 
     return sqlBuilder.toString();
   }
@@ -729,7 +753,10 @@ class JdbcEventStore implements EventStore {
   }
 
   private String getEventSelectQuery(
-      EventQueryParams params, MapSqlParameterSource mapSqlParameterSource, User user) {
+      EventQueryParams params,
+      PageParams pageParams,
+      MapSqlParameterSource mapSqlParameterSource,
+      User user) {
     SqlHelper hlp = new SqlHelper();
 
     StringBuilder selectBuilder =
@@ -826,9 +853,26 @@ class JdbcEventStore implements EventStore {
                 user,
                 hlp,
                 dataElementAndFiltersSql(params, mapSqlParameterSource, hlp, selectBuilder)))
+        .append(getCursorClause(pageParams, mapSqlParameterSource, hlp))
         .toString();
   }
 
+  /**
+   * Seeks to the events after the cursor using a row value comparison, so the database can start
+   * reading the index on (lastupdated, eventid) at the cursor instead of skipping an offset.
+   */
+  private String getCursorClause(
+      PageParams pageParams, MapSqlParameterSource mapSqlParameterSource, SqlHelper hlp) {
+    if (pageParams == null || !pageParams.isCursorPaging() || pageParams.getCursor().isStart()) {
+      return "";
+    }
+
+    mapSqlParameterSource.addValue("cursorLastUpdated", pageParams.getCursor().getLastUpdated());
+    mapSqlParameterSource.addValue("cursorId", pageParams.getCursor().getId());
+
+    return hlp.whereAnd() + " (ev.lastupdated, ev.eventid) > (:cursorLastUpdated, :cursorId) ";
+  }
+
   private boolean checkForOwnership(EventQueryParams params) {
     return Optional.ofNullable(params.getProgram())
         .filter(
@@ -1499,12 +1543,20 @@ class JdbcEventStore implements EventStore {
   }
 
   private String getLimitAndOffsetClause(final PageParams pageParams) {
+    if (pageParams.isCursorPaging()) {
+      return " limit " + (pageParams.getPageSize() + 1) + " ";
+    }
+
     int pageSize = pageParams.getPageSize();
     int offset = (pageParams.getPage() - 1) * pageParams.getPageSize();
     return " limit " + pageSize + " offset " + offset + " ";
   }
 
-  private String getOrderQuery(EventQueryParams params) {
+  private String getOrderQuery(EventQueryParams params, PageParams pageParams) {
+    if (pageParams != null && pageParams.isCursorPaging()) {
+      return "order by " + CURSOR_ORDER + " ";
+    }
+
     ArrayList<String> orderFields = new ArrayList<>();
 
     for (Order order : params.getOrder()) {
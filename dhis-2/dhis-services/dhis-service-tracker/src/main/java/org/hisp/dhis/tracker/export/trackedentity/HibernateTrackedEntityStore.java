@@ -68,6 +68,7 @@ import org.hisp.dhis.trackedentity.TrackedEntity;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.Page;
+import org.hisp.dhis.tracker.export.PageCursor;
 import org.hisp.dhis.tracker.export.PageParams;
 import org.hisp.dhis.util.DateUtils;
 import org.springframework.context.ApplicationEventPublisher;
@@ -85,6 +86,9 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
 
   private static final String DEFAULT_ORDER = MAIN_QUERY_ALIAS + ".trackedentityid desc";
 
+  private static final String CURSOR_ORDER =
+      MAIN_QUERY_ALIAS + ".lastupdated asc, " + MAIN_QUERY_ALIAS + ".trackedentityid asc";
+
   private static final String OFFSET = "OFFSET";
 
   private static final String LIMIT = "LIMIT";
@@ -164,10 +168,14 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
   @Override
   public Page<Long> getTrackedEntityIds(TrackedEntityQueryParams params, PageParams pageParams) {
     String sql = getQuery(params, pageParams);
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql, getCursorArgs(pageParams));
 
     checkMaxTrackedEntityCountReached(params, rowSet);
 
+    if (pageParams != null && pageParams.isCursorPaging()) {
+      return getCursorPage(pageParams, rowSet);
+    }
+
     List<Long> ids = new ArrayList<>();
 
     while (rowSet.next()) {
@@ -178,6 +186,27 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     return getPage(pageParams, ids, teCount);
   }
 
+  /**
+   * Tracked entities are fetched with one more row than the page size when paging by cursor, so we
+   * know if there is a next page without counting all tracked entities.
+   */
+  private Page<Long> getCursorPage(PageParams pageParams, SqlRowSet rowSet) {
+    List<Long> ids = new ArrayList<>();
+    PageCursor last = null;
+
+    while (rowSet.next()) {
+      if (ids.size() == pageParams.getPageSize()) {
+        return Page.withNextCursor(ids, pageParams.getPageSize(), last);
+      }
+
+      long id = rowSet.getLong("trackedentityid");
+      ids.add(id);
+      last = PageCursor.after(rowSet.getTimestamp("lastupdated"), id);
+    }
+
+    return Page.withNextCursor(ids, pageParams.getPageSize(), null);
+  }
+
   private Page<Long> getPage(
       PageParams pageParams, List<Long> teIds, LongSupplier enrollmentCount) {
     if (pageParams.isPageTotal()) {
@@ -278,7 +307,7 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     return stringBuilder
         .append("FROM ")
         .append(getFromSubQuery(params, false, pageParams))
-        .append(getQueryOrderBy(params, false))
+        .append(getQueryOrderBy(params, false, pageParams))
         .toString();
   }
 
@@ -378,9 +407,12 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
             .append(getFromSubQueryEnrollmentConditions(whereAnd, params));
 
     if (!isCountQuery) {
+      // SEEK
+      fromSubQuery.append(getFromSubQueryCursorCondition(whereAnd, pageParams));
+
       // SORT
       fromSubQuery
-          .append(getQueryOrderBy(params, true))
+          .append(getQueryOrderBy(params, true, pageParams))
           // LIMIT, OFFSET
           .append(getFromSubQueryLimitAndOffset(params, pageParams));
     }
@@ -953,6 +985,46 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     return "LIMIT " + limit;
   }
 
+  /**
+   * Generates the condition seeking to the tracked entities after the cursor. The row value
+   * comparison lets the database start reading the index on (lastupdated, trackedentityid) at the
+   * cursor instead of skipping an offset. The cursor values are bound as parameters, see {@link
+   * #getCursorArgs(PageParams)}.
+   *
+   * @return a SQL condition, or empty string if not paging by cursor or starting a walk
+   */
+  private String getFromSubQueryCursorCondition(SqlHelper whereAnd, PageParams pageParams) {
+    if (!isSeekingCursor(pageParams)) {
+      return "";
+    }
+
+    return whereAnd.whereAnd()
+        + "("
+        + MAIN_QUERY_ALIAS
+        + ".lastupdated, "
+        + MAIN_QUERY_ALIAS
+        + ".trackedentityid) > (?, ?) ";
+  }
+
+  /**
+   * Returns the arguments bound to the parameters of the cursor condition, in the order of the
+   * condition.
+   *
+   * @return the cursor last updated and id, or no arguments if not seeking to a cursor
+   */
+  private Object[] getCursorArgs(PageParams pageParams) {
+    if (!isSeekingCursor(pageParams)) {
+      return new Object[0];
+    }
+
+    PageCursor cursor = pageParams.getCursor();
+    return new Object[] {cursor.getLastUpdated(), cursor.getId()};
+  }
+
+  private static boolean isSeekingCursor(PageParams pageParams) {
+    return pageParams != null && pageParams.isCursorPaging() && !pageParams.getCursor().isStart();
+  }
+
   /**
    * Generates the ORDER BY clause. This clause is used both in the sub-query and main query. When
    * using it in the sub-query, we want to make sure we get the right tracked entities. When we
@@ -962,7 +1034,12 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
    * @param innerOrder indicates whether this is the sub-query order by or main query order by
    * @return a SQL ORDER BY clause.
    */
-  private String getQueryOrderBy(TrackedEntityQueryParams params, boolean innerOrder) {
+  private String getQueryOrderBy(
+      TrackedEntityQueryParams params, boolean innerOrder, PageParams pageParams) {
+    if (pageParams != null && pageParams.isCursorPaging()) {
+      return "ORDER BY " + CURSOR_ORDER + SPACE;
+    }
+
     List<String> orderFields = new ArrayList<>();
     for (Order order : params.getOrder()) {
       if (order.getField() instanceof String field) {
@@ -1024,6 +1101,16 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     int limit = params.getMaxTeLimit();
     int teQueryLimit = systemSettingManager.getIntSetting(SettingKey.TRACKED_ENTITY_MAX_LIMIT);
 
+    if (pageParams != null && pageParams.isCursorPaging()) {
+      int pageLimit = pageParams.getPageSize() + 1;
+      return limitOffset
+          .append(LIMIT)
+          .append(SPACE)
+          .append(limit == 0 ? pageLimit : Math.min(limit + 1, pageLimit))
+          .append(SPACE)
+          .toString();
+    }
+
     if (limit == 0 && pageParams == null) {
       if (teQueryLimit > 0) {
         return limitOffset
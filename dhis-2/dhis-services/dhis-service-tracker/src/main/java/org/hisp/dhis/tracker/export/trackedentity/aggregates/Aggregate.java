@@ -27,12 +27,11 @@
  */
 package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
-import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -40,29 +39,34 @@ import java.util.function.Supplier;
  */
 interface Aggregate {
   /**
-   * Executes the Supplier asynchronously using the thread pool from the provided {@see Executor}
+   * Executes the Supplier asynchronously using the provided {@see AggregateExecutor}
    *
    * @param condition A condition that, if true, executes the Supplier, if false, returns an empty
    *     Multimap
+   * @param fetch the name of the fetch, used to tag its duration metric
    * @param supplier The Supplier to execute
-   * @param executor an Executor instance
+   * @param executor an AggregateExecutor instance
    * @return A CompletableFuture with the result of the Supplier
    */
   default <T> CompletableFuture<Multimap<String, T>> conditionalAsyncFetch(
-      boolean condition, Supplier<Multimap<String, T>> supplier, Executor executor) {
-    return (condition
-        ? supplyAsync(supplier, executor)
-        : supplyAsync(ArrayListMultimap::create, executor));
+      boolean condition,
+      String fetch,
+      Supplier<Multimap<String, T>> supplier,
+      AggregateExecutor executor) {
+    return condition
+        ? executor.supplyAsync(fetch, supplier)
+        : completedFuture(ArrayListMultimap.create());
   }
 
   /**
-   * Executes the Supplier asynchronously using the thread pool from the provided {@see Executor}
+   * Executes the Supplier asynchronously using the provided {@see AggregateExecutor}
    *
+   * @param fetch the name of the fetch, used to tag its duration metric
    * @param supplier The Supplier to execute
    * @return A CompletableFuture with the result of the Supplier
    */
   default <T> CompletableFuture<Multimap<String, T>> asyncFetch(
-      Supplier<Multimap<String, T>> supplier, Executor executor) {
-    return supplyAsync(supplier, executor);
+      String fetch, Supplier<Multimap<String, T>> supplier, AggregateExecutor executor) {
+    return executor.supplyAsync(fetch, supplier);
   }
 }
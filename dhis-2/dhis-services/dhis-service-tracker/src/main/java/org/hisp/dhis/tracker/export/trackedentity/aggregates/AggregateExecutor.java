@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+
+import static org.hisp.dhis.commons.util.ConcurrentUtils.newCallerRunsExecutor;
+import static org.hisp.dhis.external.conf.ConfigurationKey.CONNECTION_POOL_MAX_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_EXPORT_AGGREGATE_THREADS;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executor for the sub-queries of the tracked entity aggregates. Each sub-query holds a database
+ * connection while it runs, so sub-queries are executed by a bounded pool of threads sized relative
+ * to the connection pool. Sub-queries which cannot be started right away wait in a bounded queue.
+ * When the queue is full the submitting thread executes the sub-query itself, which slows down the
+ * export issuing it instead of starting more threads.
+ *
+ * <p>Tasks running on this executor must not block on other tasks of this executor, as all threads
+ * might be waiting at the same time. The aggregates compose {@link CompletableFuture}s instead.
+ *
+ * <p>The number of active and queued tasks, the time tasks wait before being started and the
+ * duration of each kind of sub-query are exposed as metrics.
+ */
+@Slf4j
+@Component
+public class AggregateExecutor implements Executor {
+  private static final String METRIC_ACTIVE = "tracker.aggregates.active";
+
+  private static final String METRIC_QUEUED = "tracker.aggregates.queued";
+
+  private static final String METRIC_WAIT = "tracker.aggregates.wait";
+
+  private static final String METRIC_FETCH = "tracker.aggregates.fetch";
+
+  private final ThreadPoolExecutor executor;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Timer waitTimer;
+
+  private final Map<String, Timer> fetchTimers = new ConcurrentHashMap<>();
+
+  public AggregateExecutor(DhisConfigurationProvider config, MeterRegistry meterRegistry) {
+    int threads = NumberUtils.toInt(config.getProperty(TRACKER_EXPORT_AGGREGATE_THREADS), 0);
+    int maxThreads =
+        threads > 0
+            ? threads
+            : Math.max(1, NumberUtils.toInt(config.getProperty(CONNECTION_POOL_MAX_SIZE), 80) / 4);
+    int queueSize =
+        Math.max(1, NumberUtils.toInt(config.getProperty(TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE), 1));
+
+    this.executor = newCallerRunsExecutor("TRACKER-TEI-FETCH-%d", maxThreads, queueSize);
+    this.meterRegistry = meterRegistry;
+    this.waitTimer = Timer.builder(METRIC_WAIT).register(meterRegistry);
+
+    meterRegistry.gauge(METRIC_ACTIVE, executor, ThreadPoolExecutor::getActiveCount);
+    meterRegistry.gauge(METRIC_QUEUED, executor, pool -> pool.getQueue().size());
+
+    log.info("Tracker aggregate threads: {}, queue size: {}", maxThreads, queueSize);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    long queuedAt = System.nanoTime();
+
+    executor.execute(
+        () -> {
+          waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+          command.run();
+        });
+  }
+
+  /**
+   * Executes the given sub-query asynchronously and records its duration.
+   *
+   * @param fetch the name of the sub-query, used to tag its duration metric
+   * @param supplier the sub-query
+   * @return a {@link CompletableFuture} with the result of the sub-query
+   */
+  <T> CompletableFuture<T> supplyAsync(String fetch, Supplier<T> supplier) {
+    Timer timer =
+        fetchTimers.computeIfAbsent(
+            fetch, key -> Timer.builder(METRIC_FETCH).tag("fetch", key).register(meterRegistry));
+
+    return CompletableFuture.supplyAsync(() -> timer.record(supplier), this);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
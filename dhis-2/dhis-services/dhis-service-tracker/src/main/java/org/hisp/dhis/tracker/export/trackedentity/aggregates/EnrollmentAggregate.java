@@ -28,8 +28,9 @@
 package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
-import static org.hisp.dhis.tracker.export.trackedentity.aggregates.ThreadPoolManager.getPool;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -61,6 +62,8 @@ public class EnrollmentAggregate implements Aggregate {
   @Nonnull
   private final EventAggregate eventAggregate;
 
+  @Nonnull private final AggregateExecutor executor;
+
   /**
    * Key: te uid , value Enrollment
    *
@@ -68,37 +71,42 @@ public class EnrollmentAggregate implements Aggregate {
    * @return a MultiMap where key is a {@see TrackedEntity} uid and the key a List of {@see
    *     Enrollment} objects
    */
-  Multimap<String, Enrollment> findByTrackedEntityIds(List<Long> ids, Context ctx) {
-    Multimap<String, Enrollment> enrollments =
-        enrollmentStore.getEnrollmentsByTrackedEntityIds(ids, ctx);
-
-    if (enrollments.isEmpty()) {
-      return enrollments;
-    }
+  CompletableFuture<Multimap<String, Enrollment>> findByTrackedEntityIds(
+      List<Long> ids, Context ctx) {
+    return executor
+        .supplyAsync(
+            "enrollments", () -> enrollmentStore.getEnrollmentsByTrackedEntityIds(ids, ctx))
+        .thenCompose(
+            enrollments ->
+                enrollments.isEmpty() ? completedFuture(enrollments) : fetch(enrollments, ctx));
+  }
 
+  private CompletableFuture<Multimap<String, Enrollment>> fetch(
+      Multimap<String, Enrollment> enrollments, Context ctx) {
     List<Long> enrollmentIds =
         enrollments.values().stream().map(Enrollment::getId).collect(Collectors.toList());
 
     final CompletableFuture<Multimap<String, Event>> eventAsync =
-        conditionalAsyncFetch(
-            ctx.getParams().getEnrollmentParams().isIncludeEvents(),
-            () -> eventAggregate.findByEnrollmentIds(enrollmentIds, ctx),
-            getPool());
+        ctx.getParams().getEnrollmentParams().isIncludeEvents()
+            ? eventAggregate.findByEnrollmentIds(enrollmentIds, ctx)
+            : completedFuture(ArrayListMultimap.create());
 
     final CompletableFuture<Multimap<String, RelationshipItem>> relationshipAsync =
         conditionalAsyncFetch(
             ctx.getParams().getEnrollmentParams().isIncludeRelationships(),
+            "enrollmentRelationships",
             () -> enrollmentStore.getRelationships(enrollmentIds, ctx),
-            getPool());
+            executor);
 
     final CompletableFuture<Multimap<String, Note>> notesAsync =
-        asyncFetch(() -> enrollmentStore.getNotes(enrollmentIds), getPool());
+        asyncFetch("enrollmentNotes", () -> enrollmentStore.getNotes(enrollmentIds), executor);
 
     final CompletableFuture<Multimap<String, TrackedEntityAttributeValue>> attributesAsync =
         conditionalAsyncFetch(
             ctx.getParams().getTeEnrollmentParams().isIncludeAttributes(),
+            "enrollmentAttributes",
             () -> enrollmentStore.getAttributes(enrollmentIds, ctx),
-            getPool());
+            executor);
 
     return allOf(eventAsync, notesAsync, relationshipAsync, attributesAsync)
         .thenApplyAsync(
@@ -128,7 +136,6 @@ public class EnrollmentAggregate implements Aggregate {
 
               return enrollments;
             },
-            getPool())
-        .join();
+            executor);
   }
 }
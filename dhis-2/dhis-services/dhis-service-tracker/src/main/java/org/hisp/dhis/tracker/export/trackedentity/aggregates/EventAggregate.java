@@ -28,8 +28,7 @@
 package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static org.hisp.dhis.tracker.export.trackedentity.aggregates.ThreadPoolManager.getPool;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 import com.google.common.collect.Multimap;
 import java.util.ArrayList;
@@ -57,6 +56,8 @@ public class EventAggregate implements Aggregate {
   @Nonnull
   private final EventStore eventStore;
 
+  @Nonnull private final AggregateExecutor executor;
+
   /**
    * Key: enrollment uid -> Value: Event
    *
@@ -65,15 +66,15 @@ public class EventAggregate implements Aggregate {
    * @return a Map where the key is a Enrollment Primary Key, and the value is a List of {@see
    *     Event}
    */
-  Multimap<String, Event> findByEnrollmentIds(List<Long> ids, Context ctx) {
+  CompletableFuture<Multimap<String, Event>> findByEnrollmentIds(List<Long> ids, Context ctx) {
     // Fetch all the Events that are linked to the given Enrollment IDs
+    return executor
+        .supplyAsync("events", () -> eventStore.getEventsByEnrollmentIds(ids, ctx))
+        .thenCompose(events -> events.isEmpty() ? completedFuture(events) : fetch(events, ctx));
+  }
 
-    Multimap<String, Event> events = this.eventStore.getEventsByEnrollmentIds(ids, ctx);
-
-    if (events.isEmpty()) {
-      return events;
-    }
-
+  private CompletableFuture<Multimap<String, Event>> fetch(
+      Multimap<String, Event> events, Context ctx) {
     List<Long> eventIds = events.values().stream().map(Event::getId).collect(Collectors.toList());
 
     /*
@@ -83,20 +84,21 @@ public class EventAggregate implements Aggregate {
     final CompletableFuture<Multimap<String, RelationshipItem>> relationshipAsync =
         conditionalAsyncFetch(
             ctx.getParams().getEventParams().isIncludeRelationships(),
+            "eventRelationships",
             () -> eventStore.getRelationships(eventIds, ctx),
-            getPool());
+            executor);
 
     /*
      * Async fetch Notes for the given Event ids
      */
     final CompletableFuture<Multimap<String, Note>> notesAsync =
-        asyncFetch(() -> eventStore.getNotes(eventIds), getPool());
+        asyncFetch("eventNotes", () -> eventStore.getNotes(eventIds), executor);
 
     /*
      * Async fetch DataValues for the given Event ids
      */
     final CompletableFuture<Map<String, List<EventDataValue>>> dataValuesAsync =
-        supplyAsync(() -> eventStore.getDataValues(eventIds), getPool());
+        executor.supplyAsync("eventDataValues", () -> eventStore.getDataValues(eventIds));
 
     return allOf(dataValuesAsync, notesAsync, relationshipAsync)
         .thenApplyAsync(
@@ -119,7 +121,6 @@ public class EventAggregate implements Aggregate {
 
               return events;
             },
-            getPool())
-        .join();
+            executor);
   }
 }
@@ -28,10 +28,10 @@
 package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hisp.dhis.common.OrganisationUnitSelectionMode.ALL;
-import static org.hisp.dhis.tracker.export.trackedentity.aggregates.ThreadPoolManager.getPool;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import java.util.Collection;
@@ -91,6 +91,8 @@ public class TrackedEntityAggregate implements Aggregate {
 
   @Nonnull private final CacheProvider cacheProvider;
 
+  @Nonnull private final AggregateExecutor executor;
+
   private Cache<Set<TrackedEntityAttribute>> teAttributesCache;
 
   private Cache<Map<Program, Set<TrackedEntityAttribute>>> programTeAttributesCache;
@@ -175,18 +177,18 @@ public class TrackedEntityAggregate implements Aggregate {
     final CompletableFuture<Multimap<String, RelationshipItem>> relationshipsAsync =
         conditionalAsyncFetch(
             ctx.getParams().isIncludeRelationships(),
+            "relationships",
             () -> trackedEntityStore.getRelationships(ids, ctx),
-            getPool());
+            executor);
 
     /*
      * Async fetch Enrollments for the given TrackedEntity id (only if
      * isIncludeEnrollments = true)
      */
     final CompletableFuture<Multimap<String, Enrollment>> enrollmentsAsync =
-        conditionalAsyncFetch(
-            ctx.getParams().isIncludeEnrollments(),
-            () -> enrollmentAggregate.findByTrackedEntityIds(ids, ctx),
-            getPool());
+        ctx.getParams().isIncludeEnrollments()
+            ? enrollmentAggregate.findByTrackedEntityIds(ids, ctx)
+            : completedFuture(ArrayListMultimap.create());
 
     /*
      * Async fetch all ProgramOwner for the given TrackedEntity id
@@ -194,20 +196,22 @@ public class TrackedEntityAggregate implements Aggregate {
     final CompletableFuture<Multimap<String, TrackedEntityProgramOwner>> programOwnersAsync =
         conditionalAsyncFetch(
             ctx.getParams().isIncludeProgramOwners(),
+            "programOwners",
             () -> trackedEntityStore.getProgramOwners(ids),
-            getPool());
+            executor);
 
     /*
      * Async Fetch TrackedEntities by id
      */
     final CompletableFuture<Map<String, TrackedEntity>> trackedEntitiesAsync =
-        supplyAsync(() -> trackedEntityStore.getTrackedEntities(ids, ctx), getPool());
+        executor.supplyAsync(
+            "trackedEntities", () -> trackedEntityStore.getTrackedEntities(ids, ctx));
 
     /*
      * Async fetch TrackedEntity Attributes by TrackedEntity id
      */
     final CompletableFuture<Multimap<String, TrackedEntityAttributeValue>> attributesAsync =
-        supplyAsync(() -> trackedEntityStore.getAttributes(ids), getPool());
+        asyncFetch("attributes", () -> trackedEntityStore.getAttributes(ids), executor);
 
     /*
      * Async fetch Owned Tei mapped to the provided program attributes by
@@ -216,8 +220,9 @@ public class TrackedEntityAggregate implements Aggregate {
     final CompletableFuture<Multimap<String, String>> ownedTeiAsync =
         conditionalAsyncFetch(
             user.isPresent(),
+            "ownedTrackedEntities",
             () -> trackedEntityStore.getOwnedTeis(ids, ctx, orgUnitMode == ALL),
-            getPool());
+            executor);
     /*
      * Execute all queries and merge the results
      */
@@ -270,7 +275,7 @@ public class TrackedEntityAggregate implements Aggregate {
                       })
                   .collect(Collectors.toList());
             },
-            getPool())
+            executor)
         .join();
   }
 
@@ -338,18 +343,23 @@ public class TrackedEntityAggregate implements Aggregate {
    */
   private Context getSecurityContext(String userUID, List<String> userGroupUIDs) {
     final CompletableFuture<List<Long>> getTeiTypes =
-        supplyAsync(
-            () -> aclStore.getAccessibleTrackedEntityTypes(userUID, userGroupUIDs), getPool());
+        executor.supplyAsync(
+            "accessibleTrackedEntityTypes",
+            () -> aclStore.getAccessibleTrackedEntityTypes(userUID, userGroupUIDs));
 
     final CompletableFuture<List<Long>> getPrograms =
-        supplyAsync(() -> aclStore.getAccessiblePrograms(userUID, userGroupUIDs), getPool());
+        executor.supplyAsync(
+            "accessiblePrograms", () -> aclStore.getAccessiblePrograms(userUID, userGroupUIDs));
 
     final CompletableFuture<List<Long>> getProgramStages =
-        supplyAsync(() -> aclStore.getAccessibleProgramStages(userUID, userGroupUIDs), getPool());
+        executor.supplyAsync(
+            "accessibleProgramStages",
+            () -> aclStore.getAccessibleProgramStages(userUID, userGroupUIDs));
 
     final CompletableFuture<List<Long>> getRelationshipTypes =
-        supplyAsync(
-            () -> aclStore.getAccessibleRelationshipTypes(userUID, userGroupUIDs), getPool());
+        executor.supplyAsync(
+            "accessibleRelationshipTypes",
+            () -> aclStore.getAccessibleRelationshipTypes(userUID, userGroupUIDs));
 
     return allOf(getTeiTypes, getPrograms, getProgramStages, getRelationshipTypes)
         .thenApplyAsync(
@@ -360,7 +370,7 @@ public class TrackedEntityAggregate implements Aggregate {
                     .programStages(getProgramStages.join())
                     .relationshipTypes(getRelationshipTypes.join())
                     .build(),
-            getPool())
+            executor)
         .join();
   }
 }
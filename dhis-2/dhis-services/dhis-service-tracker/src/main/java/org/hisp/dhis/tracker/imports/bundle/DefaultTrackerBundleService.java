@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.tracker.imports.bundle;
 
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_IMPORT_JDBC_BATCH_SIZE;
+
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
@@ -35,9 +37,13 @@ import java.util.List;
 import java.util.Map;
 import javax.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hibernate.Session;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.program.UserInfoSnapshot;
 import org.hisp.dhis.trackedentity.TrackedEntityService;
 import org.hisp.dhis.tracker.TrackerType;
+import org.hisp.dhis.tracker.imports.FlushMode;
 import org.hisp.dhis.tracker.imports.ParamsConverter;
 import org.hisp.dhis.tracker.imports.TrackerImportParams;
 import org.hisp.dhis.tracker.imports.bundle.persister.CommitService;
@@ -77,6 +83,8 @@ public class DefaultTrackerBundleService implements TrackerBundleService {
 
   private final ObjectMapper mapper;
 
+  private final DhisConfigurationProvider config;
+
   private List<SideEffectHandlerService> sideEffectHandlers = new ArrayList<>();
 
   @Autowired(required = false)
@@ -114,18 +122,33 @@ public class DefaultTrackerBundleService implements TrackerBundleService {
       return PersistenceReport.emptyReport();
     }
 
-    Map<TrackerType, TrackerTypeReport> reportMap =
-        Map.of(
-            TrackerType.TRACKED_ENTITY,
-            commitService.getTrackerPersister().persist(entityManager, bundle),
-            TrackerType.ENROLLMENT,
-            commitService.getEnrollmentPersister().persist(entityManager, bundle),
-            TrackerType.EVENT,
-            commitService.getEventPersister().persist(entityManager, bundle),
-            TrackerType.RELATIONSHIP,
-            commitService.getRelationshipPersister().persist(entityManager, bundle));
+    Session session = entityManager.unwrap(Session.class);
+    Integer sessionJdbcBatchSize = session.getJdbcBatchSize();
+    if (FlushMode.AUTO == bundle.getFlushMode()) {
+      session.setJdbcBatchSize(
+          NumberUtils.toInt(config.getProperty(TRACKER_IMPORT_JDBC_BATCH_SIZE), 100));
+    }
 
-    return new PersistenceReport(reportMap);
+    try {
+      Map<TrackerType, TrackerTypeReport> reportMap =
+          Map.of(
+              TrackerType.TRACKED_ENTITY,
+              commitService.getTrackerPersister().persist(entityManager, bundle),
+              TrackerType.ENROLLMENT,
+              commitService.getEnrollmentPersister().persist(entityManager, bundle),
+              TrackerType.EVENT,
+              commitService.getEventPersister().persist(entityManager, bundle),
+              TrackerType.RELATIONSHIP,
+              commitService.getRelationshipPersister().persist(entityManager, bundle));
+
+      // flush while the batch size is set, the inserts and updates of all persisters are then
+      // sent in JDBC batches
+      entityManager.flush();
+
+      return new PersistenceReport(reportMap);
+    } finally {
+      session.setJdbcBatchSize(sessionJdbcBatchSize);
+    }
   }
 
   @Override
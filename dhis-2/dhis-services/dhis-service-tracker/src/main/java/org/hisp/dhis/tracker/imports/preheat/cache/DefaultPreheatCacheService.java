@@ -27,50 +27,92 @@
  */
 package org.hisp.dhis.tracker.imports.preheat.cache;
 
+import static org.hisp.dhis.commons.util.SystemUtils.isTestRun;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.cache2k.Cache;
 import org.cache2k.Cache2kBuilder;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.imports.TrackerIdScheme;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Pre-heat cache implementation for metadata objects.
  *
+ * <p>The cache is shared by concurrent imports. Each cached type is held in its own Cache2K cache
+ * bounded by the capacity given when the first object of that type is put. Hits and misses are
+ * counted per cached type.
+ *
+ * <p>Cached types are evicted when a {@link MetadataChangedEvent} for them is received, which is
+ * the case after a transaction changing them committed on this server or, in clustered deployments
+ * with Redis cache invalidation, after another server changed them. The preheat strategies key
+ * their entries by importing user, as the objects are loaded with the sharing of that user.
+ *
  * @author Luciano Fiandesio
  */
-@RequiredArgsConstructor
+@Slf4j
 @Service
 public class DefaultPreheatCacheService implements PreheatCacheService {
+  private static final String METRIC_GETS = "tracker.preheat.cache.gets";
+
   /**
    * Data structure to hold the metadata cache:
    *
-   * <p>- the key is the full class name of the metadata class getting cached (e.g.
-   * "org.hisp.dhis.program.Program")
+   * <p>- the key is the class name of the metadata class getting cached (e.g.
+   * "org.hisp.dhis.program.Program" or "Program")
    *
    * <p>- the value is a Cache2K cache holding the objects to cache
    *
    * <p>Caveat: this data structure may reference multiple times the same objects, if different
    * {@link TrackerIdScheme} are used during different imports.
    */
-  private static final Map<String, Cache<String, IdentifiableObject>> cache = new HashMap<>();
+  private final Map<String, Cache<String, IdentifiableObject>> cache = new ConcurrentHashMap<>();
+
+  private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+
+  private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+
+  private final MeterRegistry meterRegistry;
+
+  private final boolean enabled;
+
+  public DefaultPreheatCacheService(
+      DhisConfigurationProvider config, Environment environment, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.enabled =
+        config.isEnabled(TRACKER_IMPORT_PREHEAT_CACHE_ENABLED)
+            && !isTestRun(environment.getActiveProfiles());
+
+    log.info("Tracker preheat cache enabled: {}", enabled);
+  }
 
   @Override
   public Optional<IdentifiableObject> get(final String cacheKey, final String id) {
-    if (isCacheEnabled() && cache.containsKey(cacheKey)) {
-      return Optional.ofNullable(cache.get(cacheKey).get(id));
+    if (!enabled) {
+      return Optional.empty();
     }
 
-    return Optional.empty();
+    Cache<String, IdentifiableObject> c = cache.get(cacheKey);
+    IdentifiableObject value = c == null ? null : c.get(id);
+    recordGet(cacheKey, value != null);
+
+    return Optional.ofNullable(value);
   }
 
   @Override
@@ -99,15 +141,13 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
 
   @Override
   public boolean hasKey(String cacheKey) {
-    return cache.containsKey(cacheKey);
+    return enabled && cache.containsKey(cacheKey);
   }
 
+  @Override
   public List<IdentifiableObject> getAll(String cacheKey) {
-    List<IdentifiableObject> res = new ArrayList<>();
-    if (hasKey(cacheKey)) {
-      cache.get(cacheKey).keys().forEach(k -> res.add(cache.get(cacheKey).get(k)));
-    }
-    return res;
+    Cache<String, IdentifiableObject> c = enabled ? cache.get(cacheKey) : null;
+    return c == null ? new ArrayList<>() : new ArrayList<>(c.asMap().values());
   }
 
   @Override
@@ -117,29 +157,11 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
       IdentifiableObject object,
       final int cacheTTL,
       final long capacity) {
-    if (cacheKey == null || id == null || object == null) return;
-
-    if (isCacheEnabled()) {
-      if (cache.containsKey(cacheKey)) {
-        cache.get(cacheKey).put(id, object);
-      } else {
-        Cache<String, IdentifiableObject> c =
-            new Cache2kBuilder<String, IdentifiableObject>() {}.expireAfterWrite(
-                    cacheTTL, TimeUnit.MINUTES)
-                .name(cacheKey)
-                .permitNullValues(false)
-                .entryCapacity(capacity == -1 ? Long.MAX_VALUE : capacity)
-                .resilienceDuration(30, TimeUnit.SECONDS) // cope with at
-                // most 30
-                // seconds
-                // outage before propagating exceptions
-                .build();
-
-        c.put(id, object);
-
-        cache.put(cacheKey, c);
-      }
+    if (!enabled || cacheKey == null || id == null || object == null) {
+      return;
     }
+
+    cache.computeIfAbsent(cacheKey, key -> newCache(cacheTTL, capacity)).put(id, object);
   }
 
   @EventListener
@@ -148,19 +170,48 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
     invalidateCache();
   }
 
+  @TransactionalEventListener(fallbackExecution = true)
+  @Override
+  public void handleMetadataChanged(MetadataChangedEvent event) {
+    for (Class<?> type : event.getTypes()) {
+      invalidateCache(type.getName());
+      invalidateCache(type.getSimpleName());
+    }
+  }
+
   @Override
   public void invalidateCache() {
     cache.values().forEach(Cache::removeAll);
   }
 
-  private boolean isCacheEnabled() {
-    return false;
+  private void invalidateCache(String cacheKey) {
+    Cache<String, IdentifiableObject> c = cache.get(cacheKey);
+    if (c != null) {
+      c.removeAll();
+    }
+  }
+
+  private static Cache<String, IdentifiableObject> newCache(int cacheTTL, long capacity) {
+    return new Cache2kBuilder<String, IdentifiableObject>() {}.expireAfterWrite(
+            cacheTTL, TimeUnit.MINUTES)
+        .permitNullValues(false)
+        .entryCapacity(capacity == -1 ? Long.MAX_VALUE : capacity)
+        .resilienceDuration(30, TimeUnit.SECONDS) // cope with at
+        // most 30
+        // seconds
+        // outage before propagating exceptions
+        .build();
+  }
 
-    // Due to concerns and issues with the current cache implementation, we
-    // decided to
-    // deactivate the cache in the preheat completely for now.
-    // return !isTestRun( this.environment.getActiveProfiles() )
-    // && config.isEnabled(
-    // ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
+  private void recordGet(String cacheKey, boolean hit) {
+    (hit ? hits : misses)
+        .computeIfAbsent(
+            cacheKey,
+            key ->
+                Counter.builder(METRIC_GETS)
+                    .tag("cache", key)
+                    .tag("result", hit ? "hit" : "miss")
+                    .register(meterRegistry))
+        .increment();
   }
 }
@@ -32,6 +32,7 @@ import java.util.Optional;
 import java.util.function.BiFunction;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 
 /**
  * A DHIS2 metadata cache implementation to reduce db lookups during pre-heat
@@ -102,4 +103,11 @@ public interface PreheatCacheService {
    * @param event the {@link ApplicationCacheClearedEvent}.
    */
   void handleApplicationCachesCleared(ApplicationCacheClearedEvent event);
+
+  /**
+   * Event handler for {@link MetadataChangedEvent}, invalidates the caches of the changed types.
+   *
+   * @param event the {@link MetadataChangedEvent}.
+   */
+  void handleMetadataChanged(MetadataChangedEvent event);
 }
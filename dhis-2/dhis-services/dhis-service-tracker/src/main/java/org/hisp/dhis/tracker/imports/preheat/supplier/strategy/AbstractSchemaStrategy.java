@@ -120,6 +120,14 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
     return schema.getKlass().getSimpleName();
   }
 
+  /**
+   * Objects are loaded with the sharing of the importing user applied, so cached objects are only
+   * handed out again to the same user.
+   */
+  private static String buildCacheEntryKey(User user, String id) {
+    return user == null || id == null ? id : user.getUid() + ":" + id;
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   private List<IdentifiableObject> cacheAwareFetch(
       User user,
@@ -138,7 +146,7 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
       for (String id : ids) {
         // is the object reference by the given id in cache?
         cache
-            .get(cacheKey, id)
+            .get(cacheKey, buildCacheEntryKey(user, id))
             .ifPresent(identifiableObject -> foundInCache.put(id, identifiableObject));
       }
 
@@ -161,7 +169,11 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
         objects.forEach(
             o ->
                 cache.put(
-                    cacheKey, idSchemeParam.getIdentifier(o), o, getCacheTTL(), getCapacity()));
+                    cacheKey,
+                    buildCacheEntryKey(user, idSchemeParam.getIdentifier(o)),
+                    o,
+                    getCacheTTL(),
+                    getCapacity()));
 
         // add back the cached objects to the final list
         objects.addAll(foundInCache.values());
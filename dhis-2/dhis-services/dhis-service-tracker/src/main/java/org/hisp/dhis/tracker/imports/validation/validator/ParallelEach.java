@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.validation.validator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
+import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
+import org.hisp.dhis.tracker.imports.domain.TrackerDto;
+import org.hisp.dhis.tracker.imports.validation.Error;
+import org.hisp.dhis.tracker.imports.validation.Reporter;
+import org.hisp.dhis.tracker.imports.validation.Validator;
+import org.hisp.dhis.tracker.imports.validation.Warning;
+
+/**
+ * ParallelEach is a {@link Validator} applying two {@link Validator}s in sequence to each element
+ * in a collection of type R like {@code each(map, seq(threadSafeValidator, validator))}. The
+ * thread safe {@link Validator} validates consecutive partitions of the collection concurrently.
+ * The other {@link Validator} then validates each element which passed on the importing thread.
+ *
+ * <p>Only {@link Validator}s that depend on nothing but the element they validate, the preheated
+ * maps of the {@link TrackerBundle} and plain fields of preheated entities are thread safe. They
+ * must not initialize lazy Hibernate associations, call services or use the security context or
+ * locale bound to the importing thread, as partitions are validated on threads without a session,
+ * user or locale. Validators looking at other elements of the collection or at errors reported for
+ * them must run after the {@link ParallelEach}.
+ *
+ * <p>Every partition is validated into its own {@link Reporter}. Once all partitions are done the
+ * elements are visited in order: the errors and warnings of the thread safe {@link Validator} are
+ * added to the given {@link Reporter} and, if it did not report an error, the other {@link
+ * Validator} is applied. The result is the same as if the elements had been validated one after
+ * the other. In fail fast mode a partition stops at its first error.
+ *
+ * @param <T> type of input to be mapped to a Collection of R
+ * @param <R> type of input to be validated by given validators
+ */
+public class ParallelEach<T, R> implements Validator<T> {
+  /** Collections smaller than this are not worth the overhead of partitioning. */
+  static final int MIN_PARTITION_SIZE = 250;
+
+  private final Executor executor;
+
+  private final int parallelism;
+
+  private final int minPartitionSize;
+
+  private final Function<T, ? extends Collection<R>> map;
+
+  private final Validator<R> threadSafeValidator;
+
+  private final Validator<R> validator;
+
+  ParallelEach(
+      Executor executor,
+      int parallelism,
+      int minPartitionSize,
+      Function<T, ? extends Collection<R>> map,
+      Validator<R> threadSafeValidator,
+      Validator<R> validator) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.minPartitionSize = minPartitionSize;
+    this.map = map;
+    this.threadSafeValidator = threadSafeValidator;
+    this.validator = validator;
+  }
+
+  /**
+   * Create a {@link ParallelEach} that will apply given thread safe {@link Validator} of type R to
+   * each element in the {@code Collection<R>} using the threads of given {@link
+   * ValidationExecutor}, and given {@link Validator} to each element that passed on the calling
+   * thread. The input to the returned {@code Validator} is of type T which is mapped using given
+   * {@code map} function.
+   *
+   * <pre>{@code
+   * parallelEach( executor, TrackerBundle::getEvents, seq( uidValidator, ... ), eventValidator )
+   * }</pre>
+   *
+   * @param executor executor validating the partitions
+   * @param map function taking type T to Collection of R
+   * @param threadSafeValidator validator validating a single element of type R on any thread
+   * @param validator validator validating a single element of type R on the calling thread
+   * @return validator of type T
+   * @param <T> type of input to be mapped to a Collection of R
+   * @param <R> type of input to be validated by given validators
+   */
+  public static <T, R> ParallelEach<T, R> parallelEach(
+      ValidationExecutor executor,
+      Function<T, ? extends Collection<R>> map,
+      Validator<R> threadSafeValidator,
+      Validator<R> validator) {
+    return new ParallelEach<>(
+        executor,
+        executor.getParallelism(),
+        MIN_PARTITION_SIZE,
+        map,
+        threadSafeValidator,
+        validator);
+  }
+
+  @Override
+  public void validate(Reporter reporter, TrackerBundle bundle, T input) {
+    List<R> elements = new ArrayList<>(map.apply(input));
+    int partitions = Math.min(parallelism, elements.size() / minPartitionSize);
+
+    if (partitions <= 1) {
+      validate(reporter, bundle, elements);
+      return;
+    }
+
+    int partitionSize = (elements.size() + partitions - 1) / partitions;
+    List<CompletableFuture<Partition<R>>> futures = new ArrayList<>(partitions);
+    for (int from = partitionSize; from < elements.size(); from += partitionSize) {
+      List<R> partition = elements.subList(from, Math.min(from + partitionSize, elements.size()));
+      futures.add(
+          CompletableFuture.supplyAsync(
+              () -> validatePartition(reporter, bundle, partition), executor));
+    }
+
+    // the importing thread validates the first partition instead of waiting idle
+    List<Partition<R>> results = new ArrayList<>(partitions);
+    results.add(validatePartition(reporter, bundle, elements.subList(0, partitionSize)));
+    for (CompletableFuture<Partition<R>> future : futures) {
+      results.add(join(future));
+    }
+
+    for (Partition<R> result : results) {
+      merge(reporter, bundle, result);
+    }
+  }
+
+  private Partition<R> validatePartition(
+      Reporter reporter, TrackerBundle bundle, List<R> elements) {
+    // fail fast is handled when merging, a partition only stops at its first error
+    Reporter partitionReporter = new Reporter(reporter.getIdSchemes(), false);
+    int[] errorEnds = new int[elements.size()];
+    int[] warningEnds = new int[elements.size()];
+    int validated = 0;
+    for (R in : elements) {
+      if (needsToRun(threadSafeValidator, bundle, in)) {
+        threadSafeValidator.validate(partitionReporter, bundle, in);
+      }
+      errorEnds[validated] = partitionReporter.getErrors().size();
+      warningEnds[validated] = partitionReporter.getWarnings().size();
+      validated++;
+
+      if (reporter.isFailFast() && partitionReporter.hasErrors()) {
+        break;
+      }
+    }
+    return new Partition<>(elements, validated, partitionReporter, errorEnds, warningEnds);
+  }
+
+  private void merge(Reporter reporter, TrackerBundle bundle, Partition<R> partition) {
+    List<Error> errors = partition.reporter().getErrors();
+    List<Warning> warnings = partition.reporter().getWarnings();
+    int errorStart = 0;
+    int warningStart = 0;
+    for (int i = 0; i < partition.validated(); i++) {
+      int errorEnd = partition.errorEnds()[i];
+      int warningEnd = partition.warningEnds()[i];
+      for (Warning warning : warnings.subList(warningStart, warningEnd)) {
+        reporter.addWarning(warning);
+      }
+      for (Error error : errors.subList(errorStart, errorEnd)) {
+        reporter.addError(error);
+      }
+
+      R in = partition.elements().get(i);
+      if (errorEnd == errorStart && needsToRun(validator, bundle, in)) {
+        validator.validate(reporter, bundle, in);
+      }
+      errorStart = errorEnd;
+      warningStart = warningEnd;
+    }
+  }
+
+  private void validate(Reporter reporter, TrackerBundle bundle, List<R> elements) {
+    Validator<R> sequential = Seq.seq(threadSafeValidator, validator);
+    for (R in : elements) {
+      sequential.validate(reporter, bundle, in);
+    }
+  }
+
+  private boolean needsToRun(Validator<R> validator, TrackerBundle bundle, R in) {
+    if (in instanceof TrackerDto dto) {
+      return validator.needsToRun(bundle.getStrategy(dto));
+    }
+    return validator.needsToRun(bundle.getImportStrategy());
+  }
+
+  private static <R> Partition<R> join(CompletableFuture<Partition<R>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean needsToRun(TrackerImportStrategy strategy) {
+    return true; // ParallelEach is used to compose other Validators, so it should always run
+  }
+
+  /**
+   * Result of validating a partition with the thread safe {@link Validator}. The errors and
+   * warnings of the i-th element end at index {@code errorEnds[i]} and {@code warningEnds[i]} of
+   * the partition {@link Reporter}. Only the first {@code validated} elements were validated.
+   */
+  private record Partition<R>(
+      List<R> elements, int validated, Reporter reporter, int[] errorEnds, int[] warningEnds) {}
+}
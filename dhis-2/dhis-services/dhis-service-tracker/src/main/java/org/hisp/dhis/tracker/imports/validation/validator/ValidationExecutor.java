@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.validation.validator;
+
+import static org.hisp.dhis.commons.util.ConcurrentUtils.newCallerRunsExecutor;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_IMPORT_VALIDATION_THREADS;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executor for the partitions validated by {@link ParallelEach}. The pool is shared by all tracker
+ * imports and bounded to {@link #getParallelism()} threads. Partitions which cannot be started
+ * right away wait in a queue of the same size. When the queue is full the importing thread
+ * validates the partition itself, so concurrent imports slow down instead of starting more
+ * threads.
+ */
+@Slf4j
+@Component
+public class ValidationExecutor implements Executor {
+  private static final String METRIC_ACTIVE = "tracker.validation.active";
+
+  private static final String METRIC_QUEUED = "tracker.validation.queued";
+
+  private final ThreadPoolExecutor executor;
+
+  private final int parallelism;
+
+  public ValidationExecutor(DhisConfigurationProvider config, MeterRegistry meterRegistry) {
+    int threads = NumberUtils.toInt(config.getProperty(TRACKER_IMPORT_VALIDATION_THREADS), 0);
+    this.parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+    this.executor = newCallerRunsExecutor("TRACKER-VALIDATION-%d", parallelism, parallelism);
+
+    meterRegistry.gauge(METRIC_ACTIVE, executor, ThreadPoolExecutor::getActiveCount);
+    meterRegistry.gauge(METRIC_QUEUED, executor, pool -> pool.getQueue().size());
+
+    log.info("Tracker validation threads: {}", parallelism);
+  }
+
+  /**
+   * @return the maximum number of partitions validated concurrently, 1 if validation should not be
+   *     partitioned at all
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    executor.execute(command);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
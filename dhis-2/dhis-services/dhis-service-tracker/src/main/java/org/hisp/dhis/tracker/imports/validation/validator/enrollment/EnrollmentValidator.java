@@ -28,7 +28,7 @@
 package org.hisp.dhis.tracker.imports.validation.validator.enrollment;
 
 import static org.hisp.dhis.tracker.imports.validation.validator.All.all;
-import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
+import static org.hisp.dhis.tracker.imports.validation.validator.ParallelEach.parallelEach;
 import static org.hisp.dhis.tracker.imports.validation.validator.Seq.seq;
 
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
@@ -36,6 +36,7 @@ import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.domain.Enrollment;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
+import org.hisp.dhis.tracker.imports.validation.validator.ValidationExecutor;
 import org.springframework.stereotype.Component;
 
 /** Validator to validate all {@link Enrollment}s in the {@link TrackerBundle}. */
@@ -45,14 +46,14 @@ public class EnrollmentValidator implements Validator<TrackerBundle> {
 
   public EnrollmentValidator(
       SecurityOwnershipValidator securityOwnershipValidator,
-      AttributeValidator attributeValidator) {
+      AttributeValidator attributeValidator,
+      ValidationExecutor validationExecutor) {
     validator =
-        each(
+        parallelEach(
+            validationExecutor,
             TrackerBundle::getEnrollments,
+            seq(new UidValidator(), new ExistenceValidator(), new MandatoryFieldsValidator()),
             seq(
-                new UidValidator(),
-                new ExistenceValidator(),
-                new MandatoryFieldsValidator(),
                 new MetaValidator(),
                 new UpdatableFieldsValidator(),
                 new DataRelationsValidator(),
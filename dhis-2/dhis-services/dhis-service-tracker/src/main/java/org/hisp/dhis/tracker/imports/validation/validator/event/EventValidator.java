@@ -28,8 +28,8 @@
 package org.hisp.dhis.tracker.imports.validation.validator.event;
 
 import static org.hisp.dhis.tracker.imports.validation.validator.All.all;
-import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
 import static org.hisp.dhis.tracker.imports.validation.validator.Field.field;
+import static org.hisp.dhis.tracker.imports.validation.validator.ParallelEach.parallelEach;
 import static org.hisp.dhis.tracker.imports.validation.validator.Seq.seq;
 
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
@@ -37,6 +37,7 @@ import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.domain.Event;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
+import org.hisp.dhis.tracker.imports.validation.validator.ValidationExecutor;
 import org.springframework.stereotype.Component;
 
 /** Validator to validate all {@link Event}s in the {@link TrackerBundle}. */
@@ -46,15 +47,15 @@ public class EventValidator implements Validator<TrackerBundle> {
 
   public EventValidator(
       SecurityOwnershipValidator securityOwnershipValidator,
-      CategoryOptValidator categoryOptValidator) {
+      CategoryOptValidator categoryOptValidator,
+      ValidationExecutor validationExecutor) {
     validator =
         all(
-            each(
+            parallelEach(
+                validationExecutor,
                 TrackerBundle::getEvents,
+                seq(new UidValidator(), new ExistenceValidator(), new MandatoryFieldsValidator()),
                 seq(
-                    new UidValidator(),
-                    new ExistenceValidator(),
-                    new MandatoryFieldsValidator(),
                     new MetaValidator(),
                     new UpdatableFieldsValidator(),
                     new DataRelationsValidator(),
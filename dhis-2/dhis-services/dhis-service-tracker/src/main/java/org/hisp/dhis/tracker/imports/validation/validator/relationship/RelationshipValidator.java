@@ -27,7 +27,7 @@
  */
 package org.hisp.dhis.tracker.imports.validation.validator.relationship;
 
-import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
+import static org.hisp.dhis.tracker.imports.validation.validator.ParallelEach.parallelEach;
 import static org.hisp.dhis.tracker.imports.validation.validator.Seq.seq;
 
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
@@ -35,6 +35,7 @@ import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.domain.Relationship;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
+import org.hisp.dhis.tracker.imports.validation.validator.ValidationExecutor;
 import org.springframework.stereotype.Component;
 
 /** Validator to validate all {@link Relationship}s in the {@link TrackerBundle}. */
@@ -42,14 +43,15 @@ import org.springframework.stereotype.Component;
 public class RelationshipValidator implements Validator<TrackerBundle> {
   private final Validator<TrackerBundle> validator;
 
-  public RelationshipValidator(SecurityOwnershipValidator securityOwnershipValidator) {
+  public RelationshipValidator(
+      SecurityOwnershipValidator securityOwnershipValidator,
+      ValidationExecutor validationExecutor) {
     validator =
-        each(
+        parallelEach(
+            validationExecutor,
             TrackerBundle::getRelationships,
+            seq(new UidValidator(), new ExistenceValidator(), new MandatoryFieldsValidator()),
             seq(
-                new UidValidator(),
-                new ExistenceValidator(),
-                new MandatoryFieldsValidator(),
                 new MetaValidator(),
                 new LinkValidator(),
                 new ConstraintValidator(),
@@ -28,7 +28,7 @@
 package org.hisp.dhis.tracker.imports.validation.validator.trackedentity;
 
 import static org.hisp.dhis.tracker.imports.validation.validator.All.all;
-import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
+import static org.hisp.dhis.tracker.imports.validation.validator.ParallelEach.parallelEach;
 import static org.hisp.dhis.tracker.imports.validation.validator.Seq.seq;
 
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
@@ -36,6 +36,7 @@ import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.domain.TrackedEntity;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
+import org.hisp.dhis.tracker.imports.validation.validator.ValidationExecutor;
 import org.springframework.stereotype.Component;
 
 /** Validator to validate all {@link TrackedEntity}s in the {@link TrackerBundle}. */
@@ -46,14 +47,14 @@ public class TrackedEntityValidator implements Validator<TrackerBundle> {
 
   public TrackedEntityValidator(
       SecurityOwnershipValidator securityOwnershipValidator,
-      AttributeValidator attributeValidator) {
+      AttributeValidator attributeValidator,
+      ValidationExecutor validationExecutor) {
     validator =
-        each(
+        parallelEach(
+            validationExecutor,
             TrackerBundle::getTrackedEntities,
+            seq(new UidValidator(), new ExistenceValidator(), new MandatoryFieldsValidator()),
             seq(
-                new UidValidator(),
-                new ExistenceValidator(),
-                new MandatoryFieldsValidator(),
                 new MetaValidator(),
                 new UpdatableFieldsValidator(),
                 securityOwnershipValidator,
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PageCursorTest {
+
+  @Test
+  void shouldDecodeStartCursor() {
+    PageCursor cursor = PageCursor.decode(PageCursor.START);
+
+    assertTrue(cursor.isStart());
+    assertSame(PageCursor.start(), cursor);
+    assertEquals(PageCursor.START, cursor.encode());
+  }
+
+  @Test
+  void shouldDecodeEncodedCursorKeepingMicroseconds() {
+    Timestamp lastUpdated = Timestamp.from(Instant.parse("2024-03-01T10:15:30.123456Z"));
+    PageCursor cursor = PageCursor.after(lastUpdated, 42);
+
+    PageCursor decoded = PageCursor.decode(cursor.encode());
+
+    assertEquals(cursor, decoded);
+    assertEquals(123456000, decoded.getLastUpdated().getNanos());
+    assertEquals(42, decoded.getId());
+  }
+
+  @ValueSource(strings = {"", "abc", "MTox", "YTpiOmM"})
+  @ParameterizedTest
+  void shouldFailToDecodeInvalidCursor(String cursor) {
+    assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor));
+  }
+}
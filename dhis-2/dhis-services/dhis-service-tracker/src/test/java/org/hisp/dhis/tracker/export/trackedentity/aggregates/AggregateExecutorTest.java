@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_EXPORT_AGGREGATE_THREADS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link AggregateExecutor}. */
+@ExtendWith(MockitoExtension.class)
+class AggregateExecutorTest {
+  @Mock private DhisConfigurationProvider config;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private AggregateExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    when(config.getProperty(TRACKER_EXPORT_AGGREGATE_THREADS)).thenReturn("1");
+    when(config.getProperty(TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE)).thenReturn("1");
+
+    meterRegistry = new SimpleMeterRegistry();
+    executor = new AggregateExecutor(config, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void testSupplyAsyncRecordsFetchDuration() {
+    assertEquals("result", executor.supplyAsync("notes", () -> "result").join());
+
+    assertEquals(
+        1, meterRegistry.get("tracker.aggregates.fetch").tag("fetch", "notes").timer().count());
+    assertEquals(1, meterRegistry.get("tracker.aggregates.wait").timer().count());
+  }
+
+  @Test
+  void testSupplyAsyncRunsOnCallerWhenSaturated() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> running =
+        executor.supplyAsync(
+            "blocking",
+            () -> {
+              started.countDown();
+              await(release);
+              return Thread.currentThread().getName();
+            });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<String> queued =
+        executor.supplyAsync("queued", () -> Thread.currentThread().getName());
+
+    String caller = executor.supplyAsync("caller", () -> Thread.currentThread().getName()).join();
+
+    assertEquals(Thread.currentThread().getName(), caller);
+    assertEquals(1.0, meterRegistry.get("tracker.aggregates.queued").gauge().value());
+    release.countDown();
+    assertNotEquals(caller, running.join());
+    assertNotEquals(caller, queued.join());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.preheat.cache;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.program.Program;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.Environment;
+
+class DefaultPreheatCacheServiceTest {
+  private DhisConfigurationProvider config;
+
+  private Environment environment;
+
+  private MeterRegistry meterRegistry;
+
+  private PreheatCacheService cache;
+
+  @BeforeEach
+  void setUp() {
+    config = mock(DhisConfigurationProvider.class);
+    environment = mock(Environment.class);
+    meterRegistry = new SimpleMeterRegistry();
+    when(config.isEnabled(TRACKER_IMPORT_PREHEAT_CACHE_ENABLED)).thenReturn(true);
+    when(environment.getActiveProfiles()).thenReturn(new String[0]);
+
+    cache = new DefaultPreheatCacheService(config, environment, meterRegistry);
+  }
+
+  @Test
+  void shouldReturnCachedObject() {
+    Program program = program("PrZMWi7rBga");
+
+    cache.put("Program", "PrZMWi7rBga", program, 10, 10);
+
+    assertEquals(Optional.of(program), cache.get("Program", "PrZMWi7rBga"));
+    assertEquals(List.of(program), cache.getAll("Program"));
+  }
+
+  @Test
+  void shouldCountHitsAndMisses() {
+    cache.put("Program", "PrZMWi7rBga", program("PrZMWi7rBga"), 10, 10);
+
+    cache.get("Program", "PrZMWi7rBga");
+    cache.get("Program", "PrZMWi7rBga");
+    cache.get("Program", "Hmb5QH0ClAg");
+
+    assertEquals(2, count("hit"));
+    assertEquals(1, count("miss"));
+  }
+
+  @Test
+  void shouldInvalidateCachesOfChangedTypesOnly() {
+    OrganisationUnit orgUnit = new OrganisationUnit();
+    orgUnit.setUid("OrgUnwi7rBg");
+    cache.put("Program", "PrZMWi7rBga", program("PrZMWi7rBga"), 10, 10);
+    cache.put(Program.class.getName(), "PrZMWi7rBga", program("PrZMWi7rBga"), 10, 10);
+    cache.put("OrganisationUnit", "OrgUnwi7rBg", orgUnit, 10, 10);
+
+    cache.handleMetadataChanged(new MetadataChangedEvent(this, List.of(Program.class)));
+
+    assertEquals(Optional.empty(), cache.get("Program", "PrZMWi7rBga"));
+    assertEquals(Optional.empty(), cache.get(Program.class.getName(), "PrZMWi7rBga"));
+    assertEquals(Optional.of(orgUnit), cache.get("OrganisationUnit", "OrgUnwi7rBg"));
+  }
+
+  @Test
+  void shouldNotCacheWhenDisabled() {
+    when(config.isEnabled(TRACKER_IMPORT_PREHEAT_CACHE_ENABLED)).thenReturn(false);
+    cache = new DefaultPreheatCacheService(config, environment, meterRegistry);
+
+    cache.put("Program", "PrZMWi7rBga", program("PrZMWi7rBga"), 10, 10);
+
+    assertFalse(cache.hasKey("Program"));
+    assertTrue(cache.get("Program", "PrZMWi7rBga").isEmpty());
+  }
+
+  private double count(String result) {
+    return meterRegistry.get("tracker.preheat.cache.gets").tag("result", result).counter().count();
+  }
+
+  private static Program program(String uid) {
+    Program program = new Program();
+    program.setUid(uid);
+    return program;
+  }
+}
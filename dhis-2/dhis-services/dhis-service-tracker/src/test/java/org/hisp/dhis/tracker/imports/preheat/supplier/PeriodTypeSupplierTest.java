@@ -38,7 +38,6 @@ import org.hisp.dhis.period.PeriodStore;
 import org.hisp.dhis.random.BeanRandomizer;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
 import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
-import org.hisp.dhis.tracker.imports.preheat.cache.DefaultPreheatCacheService;
 import org.hisp.dhis.tracker.imports.preheat.cache.PreheatCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -58,10 +57,10 @@ class PeriodTypeSupplierTest {
   private final BeanRandomizer rnd = BeanRandomizer.create();
   private PeriodTypeSupplier supplier;
   @Mock private PeriodStore periodStore;
+  @Mock private PreheatCacheService cache;
 
   @BeforeEach
   public void setUp() {
-    final PreheatCacheService cache = new DefaultPreheatCacheService();
     supplier = new PeriodTypeSupplier(periodStore, cache);
   }
 
@@ -34,6 +34,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -53,6 +54,7 @@ import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
 import org.hisp.dhis.tracker.imports.preheat.cache.PreheatCacheService;
 import org.hisp.dhis.tracker.imports.preheat.mappers.CopyMapper;
 import org.hisp.dhis.tracker.imports.preheat.mappers.ProgramMapper;
+import org.hisp.dhis.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -133,4 +135,36 @@ class AbstractSchemaStrategyCachingTest {
 
     verify(cache, times(1)).put(eq("Program"), anyString(), any(), eq(20), eq(10L));
   }
+
+  @Test
+  void verifyCachedObjectsAreKeyedByImportingUser() {
+    // Given
+    final Schema schema = new ProgramSchemaDescriptor().getSchema();
+
+    String UID = CodeGenerator.generateUid();
+
+    User user = new User();
+    user.setUid(CodeGenerator.generateUid());
+    preheat.setUser(user);
+
+    Program program = rnd.nextObject(Program.class);
+    program.setUid(UID);
+
+    when(cache.get("Program", user.getUid() + ":" + UID)).thenReturn(Optional.empty());
+
+    doReturn(singletonList(program)).when(queryService).query(any(Query.class));
+    ProgramStrategy strategy = new ProgramStrategy(schemaService, queryService, manager, cache);
+
+    // When
+    strategy.queryForIdentifiableObjects(
+        preheat,
+        schema,
+        TrackerIdSchemeParam.UID,
+        singletonList(singletonList(UID)),
+        CopyMapper.class);
+
+    // Then
+    verify(cache, never()).get("Program", UID);
+    verify(cache).put(eq("Program"), eq(user.getUid() + ":" + UID), any(), eq(20), eq(10L));
+  }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.validation.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hisp.dhis.tracker.TrackerType;
+import org.hisp.dhis.tracker.imports.TrackerIdSchemeParams;
+import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
+import org.hisp.dhis.tracker.imports.domain.Enrollment;
+import org.hisp.dhis.tracker.imports.domain.Note;
+import org.hisp.dhis.tracker.imports.validation.Error;
+import org.hisp.dhis.tracker.imports.validation.Reporter;
+import org.hisp.dhis.tracker.imports.validation.ValidationCode;
+import org.hisp.dhis.tracker.imports.validation.Validator;
+import org.hisp.dhis.tracker.imports.validation.Warning;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelEachTest {
+  private TrackerIdSchemeParams idSchemes;
+
+  private TrackerBundle bundle;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    idSchemes = TrackerIdSchemeParams.builder().build();
+    bundle = TrackerBundle.builder().build();
+    executor = Executors.newFixedThreadPool(3);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testReportsErrorsAndWarningsInOrderOfInputCollection() {
+    Reporter reporter = new Reporter(idSchemes);
+    Validator<Enrollment> validator =
+        new ParallelEach<>(
+            executor,
+            3,
+            2,
+            Enrollment::getNotes,
+            (r, b, n) -> {
+              addError(r, n.getNote());
+              r.addWarning(
+                  new Warning(n.getNote(), ValidationCode.E9999, TrackerType.ENROLLMENT, "uid"));
+            },
+            (r, b, n) -> {});
+
+    validator.validate(reporter, bundle, enrollment(10));
+
+    List<String> expected = IntStream.range(0, 10).mapToObj(i -> "V" + i).toList();
+    assertEquals(expected, errorMessages(reporter));
+    assertEquals(
+        expected,
+        reporter.getWarnings().stream()
+            .map(Warning::getMessage)
+            .toList());
+  }
+
+  @Test
+  void testFailFastReportsFirstErrorOfInputCollection() {
+    Reporter reporter = new Reporter(idSchemes, true);
+    Validator<Enrollment> validator =
+        new ParallelEach<>(
+            executor,
+            3,
+            2,
+            Enrollment::getNotes,
+            (r, b, n) -> addError(r, n.getNote()),
+            (r, b, n) -> {});
+
+    assertThrows(
+        RuntimeException.class, () -> validator.validate(reporter, bundle, enrollment(9)));
+
+    assertEquals(List.of("V0"), errorMessages(reporter));
+  }
+
+  @Test
+  void testValidatesSmallCollectionOnCallingThread() {
+    Reporter reporter = new Reporter(idSchemes);
+    Executor failing =
+        command -> {
+          throw new IllegalStateException("small collections must not be partitioned");
+        };
+    Validator<Enrollment> validator =
+        new ParallelEach<>(
+            failing,
+            3,
+            5,
+            Enrollment::getNotes,
+            (r, b, n) -> addError(r, n.getNote()),
+            (r, b, n) -> {});
+
+    validator.validate(reporter, bundle, enrollment(9));
+
+    assertEquals(IntStream.range(0, 9).mapToObj(i -> "V" + i).toList(), errorMessages(reporter));
+  }
+
+  @Test
+  void testRethrowsExceptionOfPartition() {
+    Reporter reporter = new Reporter(idSchemes);
+    IllegalStateException failure = new IllegalStateException("V7");
+    Validator<Enrollment> validator =
+        new ParallelEach<>(
+            executor,
+            3,
+            2,
+            Enrollment::getNotes,
+            (r, b, n) -> {
+              if ("V7".equals(n.getNote())) {
+                throw failure;
+              }
+            },
+            (r, b, n) -> {});
+
+    assertSame(
+        failure,
+        assertThrows(
+            IllegalStateException.class,
+            () -> validator.validate(reporter, bundle, enrollment(9))));
+  }
+
+  @Test
+  void testAppliesValidatorOnCallingThreadToElementsPassingThreadSafeValidator() {
+    Reporter reporter = new Reporter(idSchemes);
+    Thread caller = Thread.currentThread();
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    Validator<Enrollment> validator =
+        new ParallelEach<>(
+            executor,
+            3,
+            2,
+            Enrollment::getNotes,
+            (r, b, n) -> {
+              if (index(n) % 3 == 0) {
+                addError(r, "T" + index(n));
+              }
+            },
+            (r, b, n) -> {
+              threads.add(Thread.currentThread());
+              addError(r, n.getNote());
+            });
+
+    validator.validate(reporter, bundle, enrollment(10));
+
+    assertEquals(
+        IntStream.range(0, 10).mapToObj(i -> i % 3 == 0 ? "T" + i : "V" + i).toList(),
+        errorMessages(reporter));
+    assertEquals(6, threads.size());
+    assertTrue(threads.stream().allMatch(caller::equals));
+  }
+
+  @Test
+  void testFailFastDoesNotApplyValidatorAfterFirstError() {
+    Reporter reporter = new Reporter(idSchemes, true);
+    List<String> validated = new CopyOnWriteArrayList<>();
+    Validator<Enrollment> validator =
+        new ParallelEach<>(
+            executor,
+            3,
+            2,
+            Enrollment::getNotes,
+            (r, b, n) -> {
+              if (index(n) == 4) {
+                addError(r, n.getNote());
+              }
+            },
+            (r, b, n) -> validated.add(n.getNote()));
+
+    assertThrows(
+        RuntimeException.class, () -> validator.validate(reporter, bundle, enrollment(9)));
+
+    assertEquals(List.of("V0", "V1", "V2", "V3"), validated);
+    assertEquals(List.of("V4"), errorMessages(reporter));
+  }
+
+  private static int index(Note note) {
+    return Integer.parseInt(note.getNote().substring(1));
+  }
+
+  private static Enrollment enrollment(int notes) {
+    List<Note> n =
+        IntStream.range(0, notes)
+            .mapToObj(i -> Note.builder().note("V" + i).build())
+            .collect(Collectors.toList());
+
+    return Enrollment.builder().enrollment("Kj6vYde4LHh").notes(n).build();
+  }
+
+  private static void addError(Reporter reporter, String message) {
+    reporter.addError(
+        new Error(message, ValidationCode.E9999, TrackerType.TRACKED_ENTITY, "uid", List.of()));
+  }
+
+  private static List<String> errorMessages(Reporter reporter) {
+    return reporter.getErrors().stream().map(Error::getMessage).toList();
+  }
+}
@@ -31,6 +31,7 @@ import io.lettuce.core.pubsub.RedisPubSubListener;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.Objects;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.SessionFactory;
 import org.hisp.dhis.cache.PaginationCacheManager;
@@ -38,6 +39,8 @@ import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.cacheinvalidation.BaseCacheEvictionService;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.MetadataObject;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataset.CompleteDataSetRegistration;
 import org.hisp.dhis.dataset.DataSet;
@@ -51,6 +54,7 @@ import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentity.TrackedEntityService;
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -69,6 +73,8 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
     implements RedisPubSubListener<String, String> {
   protected String serverInstanceId;
 
+  private final ApplicationEventPublisher eventPublisher;
+
   public CacheInvalidationListener(
       SessionFactory sessionFactory,
       PaginationCacheManager paginationCacheManager,
@@ -77,6 +83,7 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
       TrackedEntityAttributeService trackedEntityAttributeService,
       TrackedEntityService trackedEntityService,
       PeriodService periodService,
+      ApplicationEventPublisher eventPublisher,
       @Qualifier("cacheInvalidationServerId") String serverInstanceId) {
     super(
         sessionFactory,
@@ -87,6 +94,7 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
         trackedEntityService,
         periodService);
 
+    this.eventPublisher = eventPublisher;
     this.serverInstanceId = serverInstanceId;
   }
 
@@ -118,18 +126,19 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
 
     CacheEventOperation operationType = CacheEventOperation.valueOf(parts[1].toUpperCase());
 
+    Class<?> entityClass = Class.forName(parts[2]);
+    Objects.requireNonNull(entityClass, "Entity class can't be null");
+
     if (CacheEventOperation.COLLECTION == operationType) {
       String role = parts[3];
       Long ownerEntityId = Long.parseLong(parts[4]);
       sessionFactory.getCache().evictCollectionData(role, ownerEntityId);
+      publishMetadataChanged(entityClass);
       return;
     }
 
     Serializable entityId = getEntityId(message);
 
-    Class<?> entityClass = Class.forName(parts[2]);
-    Objects.requireNonNull(entityClass, "Entity class can't be null");
-
     if (CacheEventOperation.INSERT == operationType) {
       // Make sure queries will refetch to capture the new object.
       queryCacheManager.evictQueryCache(sessionFactory.getCache(), entityClass);
@@ -143,6 +152,18 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
       paginationCacheManager.evictCache(entityClass.getName());
       sessionFactory.getCache().evict(entityClass, entityId);
     }
+
+    publishMetadataChanged(entityClass);
+  }
+
+  /**
+   * Lets application level caches holding metadata, like the tracker preheat cache, evict objects
+   * changed on another server.
+   */
+  private void publishMetadataChanged(Class<?> entityClass) {
+    if (MetadataObject.class.isAssignableFrom(entityClass)) {
+      eventPublisher.publishEvent(new MetadataChangedEvent(this, Set.of(entityClass)));
+    }
   }
 
   private Serializable getEntityId(String message) throws ClassNotFoundException {
@@ -30,6 +30,7 @@ package org.hisp.dhis.cacheinvalidation.redis;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -39,6 +40,7 @@ import org.hibernate.service.spi.ServiceRegistryImplementor;
 import org.hisp.dhis.cache.PaginationCacheManager;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentity.TrackedEntityService;
@@ -48,6 +50,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * @author Morten Svanæs <msvanaes@dhis2.org>
@@ -70,6 +73,8 @@ class CacheInvalidationListenerTest {
 
   @Mock protected DisabledCaching disabledCaching;
 
+  @Mock protected ApplicationEventPublisher eventPublisher;
+
   private CacheInvalidationListener cacheInvalidationListener;
 
   private AutoCloseable closeable;
@@ -89,6 +94,7 @@ class CacheInvalidationListenerTest {
             trackedEntityAttributeService,
             trackedEntityService,
             periodService,
+            eventPublisher,
             "SERVER_A");
 
     lenient().when(sessionFactory.getCache()).thenReturn(disabledCaching);
@@ -149,4 +155,22 @@ class CacheInvalidationListenerTest {
     verify(sessionFactory.getCache(), times(1)).evict(any(), any());
     verify(paginationCacheManager, times(1)).evictCache(anyString());
   }
+
+  @Test
+  @DisplayName("Should publish metadata changed event on messages for metadata")
+  void testMetadataMessagePublishesMetadataChangedEvent() {
+    String message = "SERVER_B" + ":" + "UPDATE" + ":" + "org.hisp.dhis.user.User" + ":" + "1";
+    cacheInvalidationListener.message(CacheInvalidationConfiguration.CHANNEL_NAME, message);
+
+    verify(eventPublisher, times(1)).publishEvent(any(MetadataChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should not publish metadata changed event on messages from this server")
+  void testOwnMessageDoesNotPublishMetadataChangedEvent() {
+    String message = "SERVER_A" + ":" + "UPDATE" + ":" + "org.hisp.dhis.user.User" + ":" + "1";
+    cacheInvalidationListener.message(CacheInvalidationConfiguration.CHANNEL_NAME, message);
+
+    verify(eventPublisher, never()).publishEvent(any(MetadataChangedEvent.class));
+  }
 }
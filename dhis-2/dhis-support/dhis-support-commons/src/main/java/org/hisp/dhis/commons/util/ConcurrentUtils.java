@@ -27,10 +27,15 @@
  */
 package org.hisp.dhis.commons.util;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -68,4 +73,39 @@ public class ConcurrentUtils {
   public static Future<?> getImmediateFuture() {
     return CompletableFuture.completedFuture("");
   }
+
+  /**
+   * Creates a pool of at most the given number of daemon threads, which are released when idle.
+   * Tasks which cannot be started right away wait in a queue of the given size. When the queue is
+   * full the submitting thread runs the task itself, which slows down the submitter instead of
+   * starting more threads. Unlike with {@link ThreadPoolExecutor.CallerRunsPolicy}, tasks
+   * submitted after shutdown are rejected rather than discarded, so nothing waits for them.
+   *
+   * @param nameFormat the name format of the threads, like {@code "POOL-%d"}.
+   * @param threads the max number of threads.
+   * @param queueSize the max number of tasks waiting for a thread.
+   * @return the executor.
+   */
+  public static ThreadPoolExecutor newCallerRunsExecutor(
+      String nameFormat, int threads, int queueSize) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build(),
+            ConcurrentUtils::runOnCaller);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static void runOnCaller(Runnable task, ThreadPoolExecutor executor) {
+    if (executor.isShutdown()) {
+      throw new RejectedExecutionException("Executor has been shut down");
+    }
+
+    task.run();
+  }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentUtilsTest {
+
+  @Test
+  void testCallerRunsExecutorRunsOnCallerWhenSaturated() throws InterruptedException {
+    ThreadPoolExecutor executor = ConcurrentUtils.newCallerRunsExecutor("TEST-%d", 1, 1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try {
+      CompletableFuture<String> running =
+          CompletableFuture.supplyAsync(
+              () -> {
+                started.countDown();
+                await(release);
+                return Thread.currentThread().getName();
+              },
+              executor);
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      CompletableFuture<String> queued =
+          CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor);
+
+      String caller =
+          CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor).join();
+
+      assertEquals(Thread.currentThread().getName(), caller);
+      release.countDown();
+      assertEquals("TEST-0", running.join());
+      assertNotEquals(caller, queued.join());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testCallerRunsExecutorRejectsAfterShutdown() {
+    ThreadPoolExecutor executor = ConcurrentUtils.newCallerRunsExecutor("TEST-%d", 1, 1);
+    executor.shutdownNow();
+
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
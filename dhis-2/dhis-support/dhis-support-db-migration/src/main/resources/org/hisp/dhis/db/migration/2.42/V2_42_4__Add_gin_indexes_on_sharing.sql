@@ -0,0 +1,52 @@
+-- sharing list filters look up user and user group uids by jsonb containment (sharing @> ...)
+CREATE INDEX IF NOT EXISTS in_aggregatedataexchange_sharing ON aggregatedataexchange USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_api_token_sharing ON api_token USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_attribute_sharing ON attribute USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_category_sharing ON category USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_categorycombo_sharing ON categorycombo USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_categoryoption_sharing ON categoryoption USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_categoryoptiongroup_sharing ON categoryoptiongroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_categoryoptiongroupset_sharing ON categoryoptiongroupset USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_constant_sharing ON constant USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_dashboard_sharing ON dashboard USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_dataapprovallevel_sharing ON dataapprovallevel USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_dataapprovalworkflow_sharing ON dataapprovalworkflow USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_dataelement_sharing ON dataelement USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_dataelementgroup_sharing ON dataelementgroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_dataset_sharing ON dataset USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_document_sharing ON document USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_eventfilter_sharing ON eventfilter USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_eventhook_sharing ON eventhook USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_eventvisualization_sharing ON eventvisualization USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_expressiondimensionitem_sharing ON expressiondimensionitem USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_externalmaplayer_sharing ON externalmaplayer USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_indicator_sharing ON indicator USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_indicatorgroup_sharing ON indicatorgroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_indicatorgroupset_sharing ON indicatorgroupset USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_interpretation_sharing ON interpretation USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_keyjsonvalue_sharing ON keyjsonvalue USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_map_sharing ON map USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_maplegendset_sharing ON maplegendset USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_optiongroup_sharing ON optiongroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_optiongroupset_sharing ON optiongroupset USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_optionset_sharing ON optionset USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_orgunitgroup_sharing ON orgunitgroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_orgunitgroupset_sharing ON orgunitgroupset USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_predictorgroup_sharing ON predictorgroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_program_sharing ON program USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_programindicator_sharing ON programindicator USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_programindicatorgroup_sharing ON programindicatorgroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_programstage_sharing ON programstage USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_programstageworkinglist_sharing ON programstageworkinglist USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_relationshiptype_sharing ON relationshiptype USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_report_sharing ON report USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_route_sharing ON route USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_sqlview_sharing ON sqlview USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_trackedentityattribute_sharing ON trackedentityattribute USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_trackedentityfilter_sharing ON trackedentityfilter USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_trackedentitytype_sharing ON trackedentitytype USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_usergroup_sharing ON usergroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_userrole_sharing ON userrole USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_validationrule_sharing ON validationrule USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_validationrulegroup_sharing ON validationrulegroup USING gin (sharing);
+CREATE INDEX IF NOT EXISTS in_visualization_sharing ON visualization USING gin (sharing);
@@ -0,0 +1,104 @@
+-- sharing list filters OR the public access and owner checks with the user and user group
+-- containment checks, so all of them need an index for the planner to combine them
+CREATE INDEX IF NOT EXISTS in_aggregatedataexchange_sharing_public ON aggregatedataexchange (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_aggregatedataexchange_sharing_owner ON aggregatedataexchange (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_api_token_sharing_public ON api_token (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_api_token_sharing_owner ON api_token (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_attribute_sharing_public ON attribute (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_attribute_sharing_owner ON attribute (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_category_sharing_public ON category (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_category_sharing_owner ON category (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_categorycombo_sharing_public ON categorycombo (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_categorycombo_sharing_owner ON categorycombo (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_categoryoption_sharing_public ON categoryoption (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_categoryoption_sharing_owner ON categoryoption (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_categoryoptiongroup_sharing_public ON categoryoptiongroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_categoryoptiongroup_sharing_owner ON categoryoptiongroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_categoryoptiongroupset_sharing_public ON categoryoptiongroupset (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_categoryoptiongroupset_sharing_owner ON categoryoptiongroupset (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_constant_sharing_public ON constant (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_constant_sharing_owner ON constant (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_dashboard_sharing_public ON dashboard (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_dashboard_sharing_owner ON dashboard (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_dataapprovallevel_sharing_public ON dataapprovallevel (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_dataapprovallevel_sharing_owner ON dataapprovallevel (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_dataapprovalworkflow_sharing_public ON dataapprovalworkflow (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_dataapprovalworkflow_sharing_owner ON dataapprovalworkflow (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_dataelement_sharing_public ON dataelement (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_dataelement_sharing_owner ON dataelement (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_dataelementgroup_sharing_public ON dataelementgroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_dataelementgroup_sharing_owner ON dataelementgroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_dataset_sharing_public ON dataset (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_dataset_sharing_owner ON dataset (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_document_sharing_public ON document (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_document_sharing_owner ON document (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_eventfilter_sharing_public ON eventfilter (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_eventfilter_sharing_owner ON eventfilter (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_eventhook_sharing_public ON eventhook (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_eventhook_sharing_owner ON eventhook (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_eventvisualization_sharing_public ON eventvisualization (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_eventvisualization_sharing_owner ON eventvisualization (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_expressiondimensionitem_sharing_public ON expressiondimensionitem (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_expressiondimensionitem_sharing_owner ON expressiondimensionitem (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_externalmaplayer_sharing_public ON externalmaplayer (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_externalmaplayer_sharing_owner ON externalmaplayer (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_indicator_sharing_public ON indicator (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_indicator_sharing_owner ON indicator (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_indicatorgroup_sharing_public ON indicatorgroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_indicatorgroup_sharing_owner ON indicatorgroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_indicatorgroupset_sharing_public ON indicatorgroupset (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_indicatorgroupset_sharing_owner ON indicatorgroupset (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_interpretation_sharing_public ON interpretation (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_interpretation_sharing_owner ON interpretation (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_keyjsonvalue_sharing_public ON keyjsonvalue (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_keyjsonvalue_sharing_owner ON keyjsonvalue (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_map_sharing_public ON map (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_map_sharing_owner ON map (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_maplegendset_sharing_public ON maplegendset (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_maplegendset_sharing_owner ON maplegendset (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_optiongroup_sharing_public ON optiongroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_optiongroup_sharing_owner ON optiongroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_optiongroupset_sharing_public ON optiongroupset (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_optiongroupset_sharing_owner ON optiongroupset (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_optionset_sharing_public ON optionset (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_optionset_sharing_owner ON optionset (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_orgunitgroup_sharing_public ON orgunitgroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_orgunitgroup_sharing_owner ON orgunitgroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_orgunitgroupset_sharing_public ON orgunitgroupset (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_orgunitgroupset_sharing_owner ON orgunitgroupset (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_predictorgroup_sharing_public ON predictorgroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_predictorgroup_sharing_owner ON predictorgroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_program_sharing_public ON program (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_program_sharing_owner ON program (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_programindicator_sharing_public ON programindicator (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_programindicator_sharing_owner ON programindicator (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_programindicatorgroup_sharing_public ON programindicatorgroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_programindicatorgroup_sharing_owner ON programindicatorgroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_programstage_sharing_public ON programstage (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_programstage_sharing_owner ON programstage (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_programstageworkinglist_sharing_public ON programstageworkinglist (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_programstageworkinglist_sharing_owner ON programstageworkinglist (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_relationshiptype_sharing_public ON relationshiptype (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_relationshiptype_sharing_owner ON relationshiptype (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_report_sharing_public ON report (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_report_sharing_owner ON report (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_route_sharing_public ON route (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_route_sharing_owner ON route (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_sqlview_sharing_public ON sqlview (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_sqlview_sharing_owner ON sqlview (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_trackedentityattribute_sharing_public ON trackedentityattribute (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_trackedentityattribute_sharing_owner ON trackedentityattribute (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_trackedentityfilter_sharing_public ON trackedentityfilter (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_trackedentityfilter_sharing_owner ON trackedentityfilter (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_trackedentitytype_sharing_public ON trackedentitytype (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_trackedentitytype_sharing_owner ON trackedentitytype (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_usergroup_sharing_public ON usergroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_usergroup_sharing_owner ON usergroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_userrole_sharing_public ON userrole (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_userrole_sharing_owner ON userrole (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_validationrule_sharing_public ON validationrule (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_validationrule_sharing_owner ON validationrule (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_validationrulegroup_sharing_public ON validationrulegroup (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_validationrulegroup_sharing_owner ON validationrulegroup (jsonb_extract_path_text(sharing, 'owner'));
+CREATE INDEX IF NOT EXISTS in_visualization_sharing_public ON visualization (jsonb_extract_path_text(sharing, 'public') text_pattern_ops);
+CREATE INDEX IF NOT EXISTS in_visualization_sharing_owner ON visualization (jsonb_extract_path_text(sharing, 'owner'));
@@ -354,6 +354,13 @@ public enum ConfigurationKey {
   META_DATA_SYNC_RETRY_TIME_FREQUENCY_MILLISEC(
       "metadata.sync.retry.time.frequency.millisec", "30000", false),
 
+  /**
+   * Max number of threads loading the unique values of metadata types in separate read-only
+   * sessions during metadata import preheat, across all imports. 1 loads them on the importing
+   * thread in the import session. (default: 1)
+   */
+  METADATA_IMPORT_PREHEAT_THREADS("metadata.import.preheat.threads", "1", false),
+
   /** EHCache replication host. */
   CLUSTER_HOSTNAME("cluster.hostname", "", false),
 
@@ -400,6 +407,51 @@ public enum ConfigurationKey {
   /** Use unlogged tables during analytics export. (default: ON) */
   ANALYTICS_TABLE_UNLOGGED("analytics.table.unlogged", Constants.ON),
 
+  /**
+   * Statement timeout in seconds for aggregate analytics queries, 0 means no timeout. (default:
+   * 0)
+   */
+  ANALYTICS_QUERY_TIMEOUT("analytics.query.timeout", "0", false),
+
+  /**
+   * Statement timeout in seconds for event and enrollment analytics queries, 0 means no timeout.
+   * (default: 0)
+   */
+  ANALYTICS_EVENT_QUERY_TIMEOUT("analytics.event.query.timeout", "0", false),
+
+  /**
+   * Statement timeouts in seconds for analytics queries made by users with specific user roles, as
+   * a comma separated list of role UID and timeout pairs, e.g. "yrB6vc5Ip3r:0,Ufph3mGRmMo:300". The
+   * timeouts override the endpoint timeouts, and the most permissive timeout of the roles of the
+   * current user applies. (default: none)
+   */
+  ANALYTICS_QUERY_TIMEOUT_USER_ROLES("analytics.query.timeout.user_roles", "", false),
+
+  /**
+   * Pre-aggregated analytics rollup tables to generate, as a comma separated list of org unit level
+   * and period type pairs, e.g. "3:Yearly,4:Monthly". Aggregate queries which can be answered
+   * exactly from a rollup table are routed to the smallest such table. (default: none)
+   */
+  ANALYTICS_ROLLUP_TABLES("analytics.rollup_tables", "", false),
+
+  /**
+   * Max number of aggregate analytics sub-queries executed concurrently across all requests, 0
+   * means twice the number of available processors. (default: 0)
+   */
+  ANALYTICS_QUERY_THREADS("analytics.query.threads", "0", false),
+
+  /**
+   * Max number of concurrent aggregate analytics sub-queries for a single request, 0 means no
+   * limit. (default: 8)
+   */
+  ANALYTICS_QUERY_MAX_PER_REQUEST("analytics.query.max_per_request", "8", false),
+
+  /**
+   * Max number of concurrent aggregate analytics sub-queries for a single user, 0 means no limit.
+   * (default: 16)
+   */
+  ANALYTICS_QUERY_MAX_PER_USER("analytics.query.max_per_user", "16", false),
+
   /**
    * Artemis support mode, 2 modes supported: EMBEDDED (starts up an embedded Artemis which lives in
    * the same process as your DHIS2 instance), NATIVE (connects to an external Artemis instance,
@@ -501,6 +553,51 @@ public enum ConfigurationKey {
    */
   CHANGELOG_AGGREGATE("changelog.aggregate", Constants.ON),
 
+  /**
+   * Max number of data values parsed ahead of the import on a separate thread during data value set
+   * imports, 0 means values are parsed on the importing thread. (default: 1000)
+   */
+  DATA_IMPORT_READ_AHEAD("data.import.read_ahead", "1000", false),
+
+  /**
+   * Max number of connections used in parallel to read a data value set export, where the export
+   * is partitioned by data element. 1 means the export is read with a single query. (default: 1)
+   */
+  DATA_EXPORT_THREADS("data.export.threads", "1", false),
+
+  /**
+   * Max number of tracked entity aggregate sub-queries executed concurrently across all tracker
+   * exports, 0 means a quarter of the max connection pool size. (default: 0)
+   */
+  TRACKER_EXPORT_AGGREGATE_THREADS("tracker.export.aggregate.threads", "0", false),
+
+  /**
+   * Max number of tracked entity aggregate sub-queries waiting for a thread. When the queue is
+   * full, sub-queries are executed by the thread which submits them. (default: 1000)
+   */
+  TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE("tracker.export.aggregate.queue_size", "1000", false),
+
+  /**
+   * Number of tracker import inserts and updates sent to the database as one JDBC batch, 0 means
+   * every statement is sent on its own. Only applies to imports with flushMode=AUTO. (default: 100)
+   */
+  TRACKER_IMPORT_JDBC_BATCH_SIZE("tracker.import.jdbc_batch_size", "100", false),
+
+  /**
+   * Max number of threads validating partitions of tracker import payloads concurrently across all
+   * imports, 0 means the number of available processors and 1 validates on the importing thread
+   * only. (default: 0)
+   */
+  TRACKER_IMPORT_VALIDATION_THREADS("tracker.import.validation.threads", "0", false),
+
+  /**
+   * Cache metadata like programs and organisation units loaded by the tracker import preheat
+   * between imports. Objects are cached per importing user and evicted when they are changed on
+   * this server or, with Redis cache invalidation enabled, on another server. (default: off)
+   */
+  TRACKER_IMPORT_PREHEAT_CACHE_ENABLED(
+      "tracker.import.preheat.cache.enabled", Constants.OFF, false),
+
   /**
    * Enable/disable changelog/history log of tracker data values. <br>
    * (default: on)
@@ -158,6 +158,15 @@ public class HibernateConfig {
     // TODO: this is anti-pattern and should be turn off
     properties.put("hibernate.allow_update_outside_transaction", "true");
 
+    // group inserts and updates by entity on flush so sessions with a JDBC batch size set send
+    // them in batches, instead of breaking a batch whenever the entity type changes. Hibernate
+    // reads these once per session factory, so they cannot be scoped to the tracker import
+    // session. They are safe globally: they only re-sort the action queue on flush, the insert
+    // sort keeps parents ahead of the entities referencing them, and sessions without a JDBC
+    // batch size still send one statement per row
+    properties.put(AvailableSettings.ORDER_INSERTS, "true");
+    properties.put(AvailableSettings.ORDER_UPDATES, "true");
+
     return properties;
   }
 
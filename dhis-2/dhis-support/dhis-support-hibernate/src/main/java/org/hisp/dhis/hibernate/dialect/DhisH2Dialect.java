@@ -54,6 +54,9 @@ public class DhisH2Dialect extends H2Dialect {
     registerFunction(
         JsonbFunctions.JSONB_TYPEOF,
         new StandardSQLFunction(JsonbFunctions.JSONB_TYPEOF, StandardBasicTypes.STRING));
+    registerFunction(
+        JsonbFunctions.CONTAINS,
+        new StandardSQLFunction(JsonbFunctions.CONTAINS, StandardBasicTypes.BOOLEAN));
     registerFunction(
         JsonbFunctions.HAS_USER_GROUP_IDS,
         new StandardSQLFunction(JsonbFunctions.HAS_USER_GROUP_IDS, StandardBasicTypes.BOOLEAN));
@@ -29,6 +29,7 @@ package org.hisp.dhis.hibernate.dialect;
 
 import com.vladmihalcea.hibernate.type.array.StringArrayType;
 import java.sql.Types;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
 import org.hibernate.dialect.function.StandardSQLFunction;
 import org.hibernate.spatial.dialect.postgis.PostgisPG95Dialect;
 import org.hibernate.type.StandardBasicTypes;
@@ -53,6 +54,9 @@ public class DhisPostgresDialect extends PostgisPG95Dialect {
     registerFunction(
         JsonbFunctions.JSONB_TYPEOF,
         new StandardSQLFunction(JsonbFunctions.JSONB_TYPEOF, StandardBasicTypes.STRING));
+    registerFunction(
+        JsonbFunctions.CONTAINS,
+        new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(?1 @> cast(?2 as jsonb))"));
     registerFunction(
         JsonbFunctions.HAS_USER_GROUP_IDS,
         new StandardSQLFunction(JsonbFunctions.HAS_USER_GROUP_IDS, StandardBasicTypes.BOOLEAN));
@@ -65,6 +65,14 @@ public class JsonbFunctions {
    */
   public static final String CHECK_USER_ACCESS = "jsonb_check_user_access";
 
+  /**
+   * Containment check rendered as {@code $1 @> $2::jsonb} so that a GIN index on the jsonb column
+   * can be used. $1: jsonb column $2: JSON text the column must contain
+   *
+   * @return True if the given jsonb contains the given JSON
+   */
+  public static final String CONTAINS = "jsonb_contains";
+
   /** Built-in function of PostgresQL */
   public static final String EXTRACT_PATH = "jsonb_extract_path";
 
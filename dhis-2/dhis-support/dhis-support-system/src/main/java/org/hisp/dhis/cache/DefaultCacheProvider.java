@@ -54,6 +54,8 @@ import org.springframework.stereotype.Component;
 public class DefaultCacheProvider implements CacheProvider {
   private static final long SIZE_1 = 1;
 
+  private static final long SIZE_20 = 20;
+
   private static final long SIZE_100 = 100;
 
   private static final long SIZE_500 = 500;
@@ -129,7 +131,8 @@ public class DefaultCacheProvider implements CacheProvider {
     jobCancelRequested,
     dataIntegritySummaryCache,
     dataIntegrityDetailsCache,
-    queryAliasCache
+    queryAliasCache,
+    metadataExportSnapshotCache
   }
 
   private final Map<String, Cache<?>> allCaches = new ConcurrentHashMap<>();
@@ -627,4 +630,14 @@ public class DefaultCacheProvider implements CacheProvider {
             .forceInMemory()
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
+
+  @Override
+  public <V> Cache<V> createMetadataExportSnapshotCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.metadataExportSnapshotCache.name())
+            .expireAfterAccess(6, HOURS)
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_20))));
+  }
 }
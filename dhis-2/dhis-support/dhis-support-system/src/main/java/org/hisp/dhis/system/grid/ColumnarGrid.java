@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grid which stores its values column by column in primitive arrays rather than as lists of boxed
+ * objects. String columns, typically dimension items, are dictionary encoded and double columns,
+ * typically aggregated values, are stored as double arrays with a null bitmap. This makes the grid
+ * suitable for large analytics responses, at the cost of boxing values when rows are read.
+ *
+ * <p>The grid supports the full {@link org.hisp.dhis.common.Grid} API. Columns which mix value
+ * types are stored as object arrays.
+ */
+public class ColumnarGrid extends ListGrid {
+  /** Default constructor. */
+  public ColumnarGrid() {
+    super(new HashMap<>(), new HashMap<>(), new ColumnarRowList());
+  }
+
+  /**
+   * @param metaData meta data.
+   * @param internalMetaData internal meta data.
+   */
+  public ColumnarGrid(Map<String, Object> metaData, Map<String, Object> internalMetaData) {
+    super(metaData, internalMetaData, new ColumnarRowList());
+  }
+
+  @Override
+  protected void insertColumnValues(int columnIndex, List<Object> columnValues) {
+    getColumnarRows().insertColumn(columnIndex, columnValues);
+  }
+
+  @Override
+  protected void removeColumnValues(int columnIndex) {
+    getColumnarRows().removeColumn(columnIndex);
+  }
+
+  @Override
+  protected void repositionColumnValues(List<Integer> columnIndexes) {
+    getColumnarRows().repositionColumns(columnIndexes);
+  }
+
+  private ColumnarRowList getColumnarRows() {
+    return (ColumnarRowList) getRows();
+  }
+}
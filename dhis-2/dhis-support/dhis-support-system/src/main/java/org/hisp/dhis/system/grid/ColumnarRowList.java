@@ -0,0 +1,677 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * List of grid rows which stores cells column by column. String columns are dictionary encoded
+ * into int arrays, {@link Double} columns are stored as double arrays with a null bitmap, and
+ * columns with any other or mixed value types fall back to object arrays. The type of a column is
+ * decided by its first non-null value and widened to an object column if a value of another type
+ * is written to it later.
+ *
+ * <p>Rows are exposed as live, mutable views, where values are boxed on access. Rows added to
+ * this list are copied into the column storage. Note that {@link #subList(int, int)} returns a
+ * copy rather than a view.
+ */
+class ColumnarRowList extends AbstractList<List<Object>> implements RandomAccess, Serializable {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /** The columns of the grid. May contain more columns than the widest row. */
+  private final List<Column> columns = new ArrayList<>();
+
+  /** The number of cells for each row. */
+  private int[] widths = new int[DEFAULT_CAPACITY];
+
+  /** The number of rows. */
+  private int size = 0;
+
+  /** The allocated number of rows of the column arrays. */
+  private int capacity = DEFAULT_CAPACITY;
+
+  // -------------------------------------------------------------------------
+  // List implementation
+  // -------------------------------------------------------------------------
+
+  @Override
+  public List<Object> get(int index) {
+    checkRowIndex(index, size);
+    return new RowView(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void add(int index, List<Object> row) {
+    checkRowIndex(index, size + 1);
+    List<Object> values = new ArrayList<>(row);
+    ensureCapacity(size + 1);
+
+    for (Column column : columns) {
+      column.insertRow(index, size);
+    }
+
+    System.arraycopy(widths, index, widths, index + 1, size - index);
+    widths[index] = 0;
+    size++;
+    modCount++;
+
+    writeRow(index, values);
+  }
+
+  @Override
+  public List<Object> set(int index, List<Object> row) {
+    checkRowIndex(index, size);
+    List<Object> values = new ArrayList<>(row);
+    List<Object> previous = new ArrayList<>(get(index));
+
+    clearRow(index);
+    writeRow(index, values);
+
+    return previous;
+  }
+
+  @Override
+  public List<Object> remove(int index) {
+    checkRowIndex(index, size);
+    List<Object> previous = new ArrayList<>(get(index));
+
+    for (Column column : columns) {
+      column.removeRow(index, size);
+    }
+
+    System.arraycopy(widths, index + 1, widths, index, size - index - 1);
+    size--;
+    widths[size] = 0;
+    modCount++;
+
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    columns.clear();
+    widths = new int[DEFAULT_CAPACITY];
+    capacity = DEFAULT_CAPACITY;
+    size = 0;
+    modCount++;
+  }
+
+  /**
+   * Sorts the rows by computing the sorted order of row indexes and then reordering each column,
+   * as the row views must not be written while they are being compared.
+   */
+  @Override
+  public void sort(Comparator<? super List<Object>> comparator) {
+    Integer[] order = new Integer[size];
+
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+
+    Arrays.sort(order, (i1, i2) -> comparator.compare(get(i1), get(i2)));
+
+    int[] rowOrder = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+
+    for (Column column : columns) {
+      column.reorderRows(rowOrder);
+    }
+
+    int[] sortedWidths = new int[capacity];
+
+    for (int i = 0; i < size; i++) {
+      sortedWidths[i] = widths[rowOrder[i]];
+    }
+
+    widths = sortedWidths;
+    modCount++;
+  }
+
+  /** Returns a copy of the given range of rows. */
+  @Override
+  public List<List<Object>> subList(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException(
+          "From index: " + fromIndex + ", to index: " + toIndex + ", size: " + size);
+    }
+
+    ColumnarRowList list = new ColumnarRowList();
+    list.size = toIndex - fromIndex;
+    list.capacity = Math.max(list.size, DEFAULT_CAPACITY);
+    list.widths = Arrays.copyOf(Arrays.copyOfRange(widths, fromIndex, toIndex), list.capacity);
+
+    for (Column column : columns) {
+      list.columns.add(column.copyRows(fromIndex, toIndex, list.capacity));
+    }
+
+    return list;
+  }
+
+  // -------------------------------------------------------------------------
+  // Column operations
+  // -------------------------------------------------------------------------
+
+  /**
+   * Inserts a column at the given index for all rows.
+   *
+   * @param columnIndex the column index.
+   * @param values the column values, one for each row.
+   */
+  void insertColumn(int columnIndex, List<Object> values) {
+    for (int i = 0; i < size; i++) {
+      checkColumnIndex(columnIndex, widths[i] + 1);
+    }
+
+    // an empty grid has no columns yet, so pad like writeCell does
+    while (columns.size() < columnIndex) {
+      columns.add(new DictionaryColumn(capacity));
+    }
+
+    columns.add(columnIndex, new DictionaryColumn(capacity));
+
+    for (int i = 0; i < size; i++) {
+      widths[i]++;
+      writeCell(i, columnIndex, values.get(i));
+    }
+
+    modCount++;
+  }
+
+  /**
+   * Removes the column at the given index for all rows.
+   *
+   * @param columnIndex the column index.
+   */
+  void removeColumn(int columnIndex) {
+    for (int i = 0; i < size; i++) {
+      checkColumnIndex(columnIndex, widths[i]);
+    }
+
+    if (columnIndex < columns.size()) {
+      columns.remove(columnIndex);
+    }
+
+    for (int i = 0; i < size; i++) {
+      widths[i]--;
+    }
+
+    modCount++;
+  }
+
+  /**
+   * Repositions the columns so that the column at position i is taken from the given column index
+   * at position i. The rows must be of equal width.
+   *
+   * @param columnIndexes the column indexes.
+   */
+  void repositionColumns(List<Integer> columnIndexes) {
+    int width = size > 0 ? widths[0] : 0;
+    List<Column> repositioned = new ArrayList<>(width);
+
+    for (int i = 0; i < width; i++) {
+      repositioned.add(columns.get(columnIndexes.get(i)).copyRows(0, size, capacity));
+    }
+
+    columns.clear();
+    columns.addAll(repositioned);
+    modCount++;
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  private Object readCell(int rowIndex, int columnIndex) {
+    return columns.get(columnIndex).get(rowIndex);
+  }
+
+  /**
+   * Writes a value to a cell, widening the column to an object column if the column does not
+   * accept the type of the value.
+   */
+  private void writeCell(int rowIndex, int columnIndex, Object value) {
+    while (columns.size() <= columnIndex) {
+      columns.add(new DictionaryColumn(capacity));
+    }
+
+    Column column = columns.get(columnIndex);
+
+    if (!column.accepts(value)) {
+      column = column.widen(value, size, capacity);
+      columns.set(columnIndex, column);
+    }
+
+    column.set(rowIndex, value);
+  }
+
+  private void writeRow(int rowIndex, List<Object> values) {
+    for (int i = 0; i < values.size(); i++) {
+      writeCell(rowIndex, i, values.get(i));
+    }
+
+    widths[rowIndex] = values.size();
+  }
+
+  private void clearRow(int rowIndex) {
+    for (int i = 0; i < widths[rowIndex]; i++) {
+      columns.get(i).set(rowIndex, null);
+    }
+
+    widths[rowIndex] = 0;
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    if (minCapacity > capacity) {
+      int newCapacity = Math.max(minCapacity, capacity + (capacity >> 1));
+
+      for (Column column : columns) {
+        column.grow(newCapacity);
+      }
+
+      widths = Arrays.copyOf(widths, newCapacity);
+      capacity = newCapacity;
+    }
+  }
+
+  private static void checkRowIndex(int index, int bound) {
+    if (index < 0 || index >= bound) {
+      throw new IndexOutOfBoundsException("Row index: " + index + ", bound: " + bound);
+    }
+  }
+
+  private static void checkColumnIndex(int index, int bound) {
+    if (index < 0 || index >= bound) {
+      throw new IndexOutOfBoundsException("Column index: " + index + ", bound: " + bound);
+    }
+  }
+
+  // -------------------------------------------------------------------------
+  // Row view
+  // -------------------------------------------------------------------------
+
+  /** Live view of a single row. */
+  private class RowView extends AbstractList<Object> implements RandomAccess {
+    private final int rowIndex;
+
+    private RowView(int rowIndex) {
+      this.rowIndex = rowIndex;
+    }
+
+    @Override
+    public Object get(int index) {
+      checkColumnIndex(index, widths[rowIndex]);
+      return readCell(rowIndex, index);
+    }
+
+    @Override
+    public int size() {
+      return widths[rowIndex];
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+      Object previous = get(index);
+      writeCell(rowIndex, index, value);
+      return previous;
+    }
+
+    @Override
+    public void add(int index, Object value) {
+      int width = widths[rowIndex];
+      checkColumnIndex(index, width + 1);
+
+      for (int i = width; i > index; i--) {
+        writeCell(rowIndex, i, readCell(rowIndex, i - 1));
+      }
+
+      writeCell(rowIndex, index, value);
+      widths[rowIndex] = width + 1;
+      modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+      Object previous = get(index);
+      int width = widths[rowIndex];
+
+      for (int i = index; i < width - 1; i++) {
+        writeCell(rowIndex, i, readCell(rowIndex, i + 1));
+      }
+
+      columns.get(width - 1).set(rowIndex, null);
+      widths[rowIndex] = width - 1;
+      modCount++;
+
+      return previous;
+    }
+
+    @Override
+    public void clear() {
+      clearRow(rowIndex);
+      modCount++;
+    }
+  }
+
+  // -------------------------------------------------------------------------
+  // Columns
+  // -------------------------------------------------------------------------
+
+  /** Storage of the cells of a single column for all rows. */
+  private abstract static class Column implements Serializable {
+    abstract Object get(int row);
+
+    abstract void set(int row, Object value);
+
+    /** Indicates whether this column can store the given value. */
+    abstract boolean accepts(Object value);
+
+    /** Indicates whether this column holds no non-null values. */
+    abstract boolean isEmpty();
+
+    abstract void grow(int capacity);
+
+    /** Shifts the rows from the given index one position down and clears the given row. */
+    abstract void insertRow(int row, int size);
+
+    /** Shifts the rows after the given index one position up and clears the last row. */
+    abstract void removeRow(int row, int size);
+
+    /** Reorders the rows so that row i is taken from the given row order at position i. */
+    abstract void reorderRows(int[] rowOrder);
+
+    abstract Column copyRows(int from, int to, int capacity);
+
+    /**
+     * Returns a column which accepts the given value and holds the values of this column. An empty
+     * column is replaced by the most compact column type for the value.
+     */
+    Column widen(Object value, int size, int capacity) {
+      Column column =
+          isEmpty() && value instanceof Double
+              ? new DoubleColumn(capacity)
+              : isEmpty() && value instanceof String
+                  ? new DictionaryColumn(capacity)
+                  : new ObjectColumn(capacity);
+
+      for (int i = 0; i < size; i++) {
+        column.set(i, get(i));
+      }
+
+      return column;
+    }
+  }
+
+  /** Column of strings stored as codes into a dictionary of distinct values. */
+  private static class DictionaryColumn extends Column {
+    private static final int NULL_CODE = -1;
+
+    private final List<String> dictionary = new ArrayList<>();
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private int[] values;
+
+    DictionaryColumn(int capacity) {
+      this.values = new int[capacity];
+      Arrays.fill(values, NULL_CODE);
+    }
+
+    @Override
+    Object get(int row) {
+      int code = values[row];
+      return code == NULL_CODE ? null : dictionary.get(code);
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = value == null ? NULL_CODE : encode((String) value);
+    }
+
+    private int encode(String value) {
+      return codes.computeIfAbsent(
+          value,
+          v -> {
+            dictionary.add(v);
+            return dictionary.size() - 1;
+          });
+    }
+
+    @Override
+    boolean accepts(Object value) {
+      return value == null || value instanceof String;
+    }
+
+    @Override
+    boolean isEmpty() {
+      return dictionary.isEmpty();
+    }
+
+    @Override
+    void grow(int capacity) {
+      int length = values.length;
+      values = Arrays.copyOf(values, capacity);
+      Arrays.fill(values, length, capacity, NULL_CODE);
+    }
+
+    @Override
+    void insertRow(int row, int size) {
+      System.arraycopy(values, row, values, row + 1, size - row);
+      values[row] = NULL_CODE;
+    }
+
+    @Override
+    void removeRow(int row, int size) {
+      System.arraycopy(values, row + 1, values, row, size - row - 1);
+      values[size - 1] = NULL_CODE;
+    }
+
+    @Override
+    void reorderRows(int[] rowOrder) {
+      int[] reordered = values.clone();
+
+      for (int i = 0; i < rowOrder.length; i++) {
+        reordered[i] = values[rowOrder[i]];
+      }
+
+      values = reordered;
+    }
+
+    @Override
+    Column copyRows(int from, int to, int capacity) {
+      DictionaryColumn column = new DictionaryColumn(capacity);
+
+      for (int i = from; i < to; i++) {
+        column.set(i - from, get(i));
+      }
+
+      return column;
+    }
+  }
+
+  /** Column of doubles with a bitmap indicating which rows hold a non-null value. */
+  private static class DoubleColumn extends Column {
+    private final BitSet present = new BitSet();
+
+    private double[] values;
+
+    DoubleColumn(int capacity) {
+      this.values = new double[capacity];
+    }
+
+    @Override
+    Object get(int row) {
+      return present.get(row) ? values[row] : null;
+    }
+
+    @Override
+    void set(int row, Object value) {
+      present.set(row, value != null);
+      values[row] = value == null ? 0d : (Double) value;
+    }
+
+    @Override
+    boolean accepts(Object value) {
+      return value == null || value instanceof Double;
+    }
+
+    @Override
+    boolean isEmpty() {
+      return present.isEmpty();
+    }
+
+    @Override
+    void grow(int capacity) {
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void insertRow(int row, int size) {
+      System.arraycopy(values, row, values, row + 1, size - row);
+
+      for (int i = size; i > row; i--) {
+        present.set(i, present.get(i - 1));
+      }
+
+      set(row, null);
+    }
+
+    @Override
+    void removeRow(int row, int size) {
+      System.arraycopy(values, row + 1, values, row, size - row - 1);
+
+      for (int i = row; i < size - 1; i++) {
+        present.set(i, present.get(i + 1));
+      }
+
+      set(size - 1, null);
+    }
+
+    @Override
+    void reorderRows(int[] rowOrder) {
+      double[] reordered = values.clone();
+      BitSet reorderedPresent = new BitSet();
+
+      for (int i = 0; i < rowOrder.length; i++) {
+        reordered[i] = values[rowOrder[i]];
+        reorderedPresent.set(i, present.get(rowOrder[i]));
+      }
+
+      values = reordered;
+      present.clear();
+      present.or(reorderedPresent);
+    }
+
+    @Override
+    Column copyRows(int from, int to, int capacity) {
+      DoubleColumn column = new DoubleColumn(capacity);
+
+      for (int i = from; i < to; i++) {
+        column.set(i - from, get(i));
+      }
+
+      return column;
+    }
+  }
+
+  /** Column of arbitrary objects, used for values which are neither strings nor doubles. */
+  private static class ObjectColumn extends Column {
+    private Object[] values;
+
+    ObjectColumn(int capacity) {
+      this.values = new Object[capacity];
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = value;
+    }
+
+    @Override
+    boolean accepts(Object value) {
+      return true;
+    }
+
+    @Override
+    boolean isEmpty() {
+      return Arrays.stream(values).allMatch(v -> v == null);
+    }
+
+    @Override
+    void grow(int capacity) {
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void insertRow(int row, int size) {
+      System.arraycopy(values, row, values, row + 1, size - row);
+      values[row] = null;
+    }
+
+    @Override
+    void removeRow(int row, int size) {
+      System.arraycopy(values, row + 1, values, row, size - row - 1);
+      values[size - 1] = null;
+    }
+
+    @Override
+    void reorderRows(int[] rowOrder) {
+      Object[] reordered = values.clone();
+
+      for (int i = 0; i < rowOrder.length; i++) {
+        reordered[i] = values[rowOrder[i]];
+      }
+
+      values = reordered;
+    }
+
+    @Override
+    Column copyRows(int from, int to, int capacity) {
+      ObjectColumn column = new ObjectColumn(capacity);
+      System.arraycopy(values, from, column.values, 0, to - from);
+      return column;
+    }
+  }
+}
@@ -25,33 +25,32 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+package org.hisp.dhis.system.grid;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import org.hisp.dhis.common.GridHeader;
 
 /**
- * Exposes a static method to fetch an Executor for the Aggregates operations
- *
- * @author Luciano Fiandesio
+ * Writer of grid headers and rows to an output, one row at a time. Used for streaming grids which
+ * are too large to be held in memory. The headers must be written before any row, and the writer
+ * must be closed to complete the output.
  */
-public class ThreadPoolManager {
-  // Thread factory that sets a user-defined thread name (useful for debugging
-  // purposes)
-  private ThreadPoolManager() {
-    throw new IllegalStateException("only used for its static fields");
-  }
-
-  private static final ThreadFactory threadFactory =
-      new ThreadFactoryBuilder().setNameFormat("TRACKER-TEI-FETCH-%d").setDaemon(true).build();
-
-  /** Cached thread pool: not bound to a size, but can reuse existing threads. */
-  private static final Executor AGGREGATE_THREAD_POOL =
-      Executors.newCachedThreadPool(threadFactory);
+public interface GridRowWriter extends Closeable {
+  /**
+   * Writes the given headers.
+   *
+   * @param headers the list of {@link GridHeader}.
+   * @throws IOException if writing fails.
+   */
+  void writeHeaders(List<GridHeader> headers) throws IOException;
 
-  static Executor getPool() {
-    return AGGREGATE_THREAD_POOL;
-  }
+  /**
+   * Writes the given row.
+   *
+   * @param row the row values.
+   * @throws IOException if writing fails.
+   */
+  void writeRow(List<Object> row) throws IOException;
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.hisp.dhis.common.adapter.OutputFormatter.maybeFormat;
+
+import com.csvreader.CsvWriter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
+
+/**
+ * Factory of {@link GridRowWriter} implementations for the CSV, JSON and NDJSON (newline delimited
+ * JSON) formats. CSV values are formatted in the same way as for regular grid responses. JSON
+ * values are written with their native JSON type, i.e. numbers, booleans and null, and other values
+ * as strings.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class GridRowWriters {
+  private static final char CSV_DELIMITER = ',';
+
+  private static final String KEY_HEADERS = "headers";
+
+  private static final String KEY_ROWS = "rows";
+
+  private static final String KEY_HEADER_WIDTH = "headerWidth";
+
+  private static final String KEY_HEIGHT = "height";
+
+  /**
+   * Returns a writer which writes a CSV representation of the grid, with the header display columns
+   * as the first record.
+   *
+   * @param writer the {@link Writer}.
+   * @return a {@link GridRowWriter}.
+   */
+  public static GridRowWriter csv(Writer writer) {
+    return new CsvGridRowWriter(writer);
+  }
+
+  /**
+   * Returns a writer which writes a JSON representation of the grid, compatible with the headers
+   * and rows of the regular JSON grid response.
+   *
+   * @param out the {@link OutputStream}.
+   * @return a {@link GridRowWriter}.
+   * @throws IOException if the JSON generator could not be created.
+   */
+  public static GridRowWriter json(OutputStream out) throws IOException {
+    return new JsonGridRowWriter(createGenerator(out));
+  }
+
+  /**
+   * Returns a writer which writes each row as a JSON object on a separate line, where the keys are
+   * the header names.
+   *
+   * @param out the {@link OutputStream}.
+   * @return a {@link GridRowWriter}.
+   * @throws IOException if the JSON generator could not be created.
+   */
+  public static GridRowWriter ndjson(OutputStream out) throws IOException {
+    JsonGenerator generator = createGenerator(out);
+    generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    return new NdjsonGridRowWriter(generator);
+  }
+
+  private static JsonGenerator createGenerator(OutputStream out) throws IOException {
+    return JacksonObjectMapperConfig.staticJsonMapper()
+        .getFactory()
+        .createGenerator(out, JsonEncoding.UTF8);
+  }
+
+  /** Returns the string representation of the given grid value. */
+  private static String toValue(Object value) {
+    return value != null ? String.valueOf(maybeFormat(value)) : StringUtils.EMPTY;
+  }
+
+  /**
+   * Writes the given grid value with its native JSON type. Doubles are written in plain notation,
+   * as for regular grid responses. Doubles which are not finite have no JSON representation and are
+   * written as strings.
+   */
+  private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof Double number) {
+      if (Double.isFinite(number)) {
+        generator.writeNumber(toValue(number));
+      } else {
+        generator.writeString(toValue(number));
+      }
+    } else if (value instanceof Number || value instanceof Boolean) {
+      generator.writeObject(value);
+    } else {
+      generator.writeString(toValue(value));
+    }
+  }
+
+  private static class CsvGridRowWriter implements GridRowWriter {
+    private final Writer writer;
+
+    private final CsvWriter csvWriter;
+
+    CsvGridRowWriter(Writer writer) {
+      this.writer = writer;
+      this.csvWriter = new CsvWriter(writer, CSV_DELIMITER);
+    }
+
+    @Override
+    public void writeHeaders(List<GridHeader> headers) throws IOException {
+      if (!headers.isEmpty()) {
+        for (GridHeader header : headers) {
+          csvWriter.write(header.getDisplayColumn());
+        }
+
+        csvWriter.endRecord();
+      }
+    }
+
+    @Override
+    public void writeRow(List<Object> row) throws IOException {
+      for (Object value : row) {
+        csvWriter.write(toValue(value));
+      }
+
+      csvWriter.endRecord();
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.flush();
+    }
+  }
+
+  private static class JsonGridRowWriter implements GridRowWriter {
+    private final JsonGenerator generator;
+
+    private int headerWidth;
+
+    private int height;
+
+    JsonGridRowWriter(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public void writeHeaders(List<GridHeader> headers) throws IOException {
+      headerWidth = headers.size();
+
+      generator.writeStartObject();
+      generator.writeArrayFieldStart(KEY_HEADERS);
+
+      for (GridHeader header : headers) {
+        generator.writeObject(header);
+      }
+
+      generator.writeEndArray();
+      generator.writeArrayFieldStart(KEY_ROWS);
+    }
+
+    @Override
+    public void writeRow(List<Object> row) throws IOException {
+      generator.writeStartArray();
+
+      for (Object value : row) {
+        writeValue(generator, value);
+      }
+
+      generator.writeEndArray();
+      height++;
+    }
+
+    @Override
+    public void close() throws IOException {
+      generator.writeEndArray();
+      generator.writeNumberField(KEY_HEADER_WIDTH, headerWidth);
+      generator.writeNumberField(KEY_HEIGHT, height);
+      generator.writeEndObject();
+      generator.flush();
+    }
+  }
+
+  private static class NdjsonGridRowWriter implements GridRowWriter {
+    private final JsonGenerator generator;
+
+    private List<GridHeader> headers;
+
+    private boolean hasRows;
+
+    NdjsonGridRowWriter(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public void writeHeaders(List<GridHeader> headers) {
+      this.headers = headers;
+    }
+
+    @Override
+    public void writeRow(List<Object> row) throws IOException {
+      generator.writeStartObject();
+
+      for (int i = 0; i < row.size(); i++) {
+        generator.writeFieldName(headers.get(i).getName());
+        writeValue(generator, row.get(i));
+      }
+
+      generator.writeEndObject();
+      hasRows = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (hasRows) {
+        generator.writeRaw('\n');
+      }
+
+      generator.flush();
+    }
+  }
+}
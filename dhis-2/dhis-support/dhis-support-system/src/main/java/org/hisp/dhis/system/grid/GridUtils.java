@@ -66,6 +66,7 @@ import net.sf.jasperreports.engine.JasperReport;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
@@ -74,6 +75,7 @@ import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.velocity.VelocityContext;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObjectUtils;
@@ -81,11 +83,14 @@ import org.hisp.dhis.common.DxfNamespaces;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.GridHeader;
 import org.hisp.dhis.common.GridResponse;
+import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.common.Reference;
 import org.hisp.dhis.commons.collection.ListUtils;
 import org.hisp.dhis.commons.util.Encoder;
 import org.hisp.dhis.commons.util.TextUtils;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.hisp.dhis.feedback.ErrorMessage;
 import org.hisp.dhis.system.util.MathUtils;
 import org.hisp.dhis.system.velocity.VelocityManager;
 import org.hisp.dhis.util.DateUtils;
@@ -114,7 +119,8 @@ public class GridUtils {
 
   private static final String XLS_SHEET_PREFIX = "Sheet ";
 
-  private static final int JXL_MAX_COLS = 256;
+  /** Number of rows kept in memory when writing XLSX workbooks. */
+  private static final int XLSX_ROW_ACCESS_WINDOW = 500;
 
   private static final String FONT_ARIAL = "Arial";
 
@@ -257,6 +263,56 @@ public class GridUtils {
   public static void toXls(List<Grid> grids, OutputStream out) throws Exception {
     Workbook workbook = new HSSFWorkbook();
 
+    addSheets(grids, workbook);
+
+    workbook.write(out);
+    workbook.close();
+  }
+
+  /** Writes a XLS (Excel workbook) representation of the given Grid to the given OutputStream. */
+  public static void toXls(Grid grid, OutputStream out) throws IOException {
+    Workbook workbook = new HSSFWorkbook();
+
+    addSheets(List.of(grid), workbook);
+
+    workbook.write(out);
+    workbook.close();
+  }
+
+  /**
+   * Writes a XLSX (Office Open XML workbook) representation of the given list of Grids to the
+   * given OutputStream. Only a bounded window of rows is kept in memory, rows outside the window
+   * are flushed to compressed temporary storage as the sheets are written.
+   */
+  public static void toXlsx(List<Grid> grids, OutputStream out) throws IOException {
+    SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_ACCESS_WINDOW);
+    workbook.setCompressTempFiles(true);
+
+    try {
+      addSheets(grids, workbook);
+
+      workbook.write(out);
+    } finally {
+      workbook.dispose();
+      workbook.close();
+    }
+  }
+
+  /**
+   * Writes a XLSX (Office Open XML workbook) representation of the given Grid to the given
+   * OutputStream. Only a bounded window of rows is kept in memory.
+   */
+  public static void toXlsx(Grid grid, OutputStream out) throws IOException {
+    toXlsx(List.of(grid), out);
+  }
+
+  /**
+   * Adds a sheet for each of the given grids to the given workbook. The sheet name is based on the
+   * grid title. Grids with the same title are written to the same sheet.
+   *
+   * @throws IllegalQueryException if a grid has more rows than a sheet of the workbook can hold
+   */
+  private static void addSheets(List<Grid> grids, Workbook workbook) {
     CellStyle headerCellStyle = createHeaderCellStyle(workbook);
     CellStyle cellStyle = createCellStyle(workbook);
 
@@ -271,26 +327,6 @@ public class GridUtils {
 
       toXlsInternal(grid, sheet, headerCellStyle, cellStyle);
     }
-
-    workbook.write(out);
-    workbook.close();
-  }
-
-  /** Writes a XLS (Excel workbook) representation of the given Grid to the given OutputStream. */
-  public static void toXls(Grid grid, OutputStream out) throws IOException {
-    Workbook workbook = new HSSFWorkbook();
-
-    String sheetName =
-        filenameEncode(StringUtils.defaultIfEmpty(grid.getTitle(), XLS_SHEET_PREFIX + 1));
-
-    toXlsInternal(
-        grid,
-        workbook.createSheet(sheetName),
-        createHeaderCellStyle(workbook),
-        createCellStyle(workbook));
-
-    workbook.write(out);
-    workbook.close();
   }
 
   private static void toXlsInternal(
@@ -299,14 +335,18 @@ public class GridUtils {
       return;
     }
 
+    SpreadsheetVersion version = sheet.getWorkbook().getSpreadsheetVersion();
+    int maxCols = version.getMaxColumns();
+    int maxRows = version.getMaxRows();
+
     int cols = grid.getVisibleHeaders().size();
 
-    if (cols > JXL_MAX_COLS) {
+    if (cols > maxCols) {
       log.warn(
-          "Grid will be truncated, no of columns is greater than JXL max limit: "
+          "Grid will be truncated, no of columns is greater than max limit: "
               + cols
               + "/"
-              + JXL_MAX_COLS);
+              + maxCols);
     }
 
     int rowNumber = 0;
@@ -328,7 +368,7 @@ public class GridUtils {
       rowNumber++;
     }
 
-    List<GridHeader> headers = ListUtils.subList(grid.getVisibleHeaders(), 0, JXL_MAX_COLS);
+    List<GridHeader> headers = ListUtils.subList(grid.getVisibleHeaders(), 0, maxCols);
     Row headerRow = sheet.createRow(++rowNumber);
     for (GridHeader header : headers) {
       Cell cell = headerRow.createCell(columnIndex++, CellType.STRING);
@@ -341,12 +381,22 @@ public class GridUtils {
     CellStyle numberCellStyle = getNumberCellStyle(sheet);
     CellStyle numberCellStyleForIntegerTypes = getNumberCellStyleForIntegerTypes(sheet);
 
-    for (List<Object> row : grid.getVisibleRows()) {
+    List<List<Object>> rows = grid.getVisibleRows();
+
+    if (rowNumber + rows.size() > maxRows) {
+      throw new IllegalQueryException(
+          new ErrorMessage(
+              ErrorCode.E7147,
+              String.valueOf(rows.size()),
+              String.valueOf(maxRows - rowNumber)));
+    }
+
+    for (List<Object> row : rows) {
       Row xlsRow = sheet.createRow(rowNumber);
       xlsRow.setRowStyle(cellStyle);
       columnIndex = 0;
 
-      List<Object> columns = ListUtils.subList(row, 0, JXL_MAX_COLS);
+      List<Object> columns = ListUtils.subList(row, 0, maxCols);
 
       for (Object column : columns) {
         if (column != null && Number.class.isAssignableFrom(column.getClass())) {
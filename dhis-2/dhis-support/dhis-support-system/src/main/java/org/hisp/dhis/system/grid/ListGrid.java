@@ -139,11 +139,7 @@ public class ListGrid implements Grid, Serializable {
 
   /** Default constructor. */
   public ListGrid() {
-    this.headers = new ArrayList<>();
-    this.metaData = new HashMap<>();
-    this.internalMetaData = new HashMap<>();
-    this.rowContext = new TreeMap<>();
-    this.grid = new ArrayList<>();
+    this(new HashMap<>(), new HashMap<>(), new ArrayList<>());
   }
 
   /**
@@ -151,11 +147,23 @@ public class ListGrid implements Grid, Serializable {
    * @param internalMetaData internal meta data.
    */
   public ListGrid(Map<String, Object> metaData, Map<String, Object> internalMetaData) {
+    this(metaData, internalMetaData, new ArrayList<>());
+  }
+
+  /**
+   * Constructor for grids which provide their own row storage.
+   *
+   * @param metaData meta data.
+   * @param internalMetaData internal meta data.
+   * @param rows the empty list of rows to use as storage.
+   */
+  protected ListGrid(
+      Map<String, Object> metaData, Map<String, Object> internalMetaData, List<List<Object>> rows) {
     this.headers = new ArrayList<>();
     this.metaData = metaData;
     this.internalMetaData = internalMetaData;
     this.rowContext = new TreeMap<>();
-    this.grid = new ArrayList<>();
+    this.grid = rows;
   }
 
   // ---------------------------------------------------------------------
@@ -525,9 +533,6 @@ public class ListGrid implements Grid, Serializable {
   public Grid addColumn(int columnIndex, List<Object> columnValues) {
     verifyGridState();
 
-    int currentRowIndex = 0;
-    int currentColumnIndex = 0;
-
     if (grid.size() != columnValues.size()) {
       throw new IllegalStateException(
           "Number of column values ("
@@ -537,9 +542,7 @@ public class ListGrid implements Grid, Serializable {
               + ")");
     }
 
-    for (int i = 0; i < grid.size(); i++) {
-      grid.get(currentRowIndex++).add(columnIndex, columnValues.get(currentColumnIndex++));
-    }
+    insertColumnValues(columnIndex, columnValues);
 
     return this;
   }
@@ -551,15 +554,17 @@ public class ListGrid implements Grid, Serializable {
     Objects.requireNonNull(valueMap);
     verifyGridState();
 
-    for (List<Object> row : grid) {
-      Object refVal = row.get(referenceColumnIndex);
-      List<?> list = valueMap.get(refVal);
+    List<Object> refValues = getColumn(referenceColumnIndex);
+
+    for (int i = 0; i < newColumns; i++) {
+      List<Object> columnValues = new ArrayList<>(refValues.size());
 
-      for (int i = 0; i < newColumns; i++) {
-        Object value = list == null ? null : Iterables.get(list, i, null);
-        int index = referenceColumnIndex + i;
-        row.add(index, value);
+      for (Object refVal : refValues) {
+        List<?> list = valueMap.get(refVal);
+        columnValues.add(list == null ? null : Iterables.get(list, i, null));
       }
+
+      insertColumnValues(referenceColumnIndex + i, columnValues);
     }
 
     return this;
@@ -605,9 +610,7 @@ public class ListGrid implements Grid, Serializable {
       headers.remove(columnIndex);
     }
 
-    for (List<Object> row : grid) {
-      row.remove(columnIndex);
-    }
+    removeColumnValues(columnIndex);
 
     updateColumnIndexMap();
 
@@ -1092,18 +1095,7 @@ public class ListGrid implements Grid, Serializable {
   public void repositionColumns(List<Integer> columnIndexes) {
     verifyGridState();
 
-    List<List<Object>> rows = getRows();
-
-    for (List<Object> row : rows) {
-      List<Object> orderedValues = new ArrayList<>();
-
-      for (int i = 0; i < row.size(); i++) {
-        orderedValues.add(row.get(columnIndexes.get(i)));
-      }
-
-      row.clear();
-      row.addAll(orderedValues);
-    }
+    repositionColumnValues(columnIndexes);
 
     // reposition columns in the row context structure
     Map<Integer, Map<String, Object>> orderedRowContext = new HashMap<>();
@@ -1142,6 +1134,55 @@ public class ListGrid implements Grid, Serializable {
     this.lastDataRow = lastDataRow;
   }
 
+  // -------------------------------------------------------------------------
+  // Column storage methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Inserts the given values as a column at the given index. Grids with their own row storage can
+   * override this method to perform the operation on the storage directly.
+   *
+   * @param columnIndex the column index.
+   * @param columnValues the column values, one for each row.
+   */
+  protected void insertColumnValues(int columnIndex, List<Object> columnValues) {
+    for (int i = 0; i < grid.size(); i++) {
+      grid.get(i).add(columnIndex, columnValues.get(i));
+    }
+  }
+
+  /**
+   * Removes the values of the column at the given index. Grids with their own row storage can
+   * override this method to perform the operation on the storage directly.
+   *
+   * @param columnIndex the column index.
+   */
+  protected void removeColumnValues(int columnIndex) {
+    for (List<Object> row : grid) {
+      row.remove(columnIndex);
+    }
+  }
+
+  /**
+   * Repositions the column values so that the column at position i is taken from the column at
+   * the given index i. Grids with their own row storage can override this method to perform the
+   * operation on the storage directly.
+   *
+   * @param columnIndexes the column indexes.
+   */
+  protected void repositionColumnValues(List<Integer> columnIndexes) {
+    for (List<Object> row : grid) {
+      List<Object> orderedValues = new ArrayList<>();
+
+      for (int i = 0; i < row.size(); i++) {
+        orderedValues.add(row.get(columnIndexes.get(i)));
+      }
+
+      row.clear();
+      row.addAll(orderedValues);
+    }
+  }
+
   // -------------------------------------------------------------------------
   // Supportive methods
   // -------------------------------------------------------------------------
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Grid which does not keep its rows in memory, but passes each row to a {@link GridRowWriter} as
+ * soon as the next row is added. Only the row currently being written is held by the grid, which
+ * keeps memory usage flat regardless of the number of rows.
+ *
+ * <p>The headers must be added before the first row. Rows which have already been written cannot
+ * be read or modified, which means that the grid does not support operations which work on the
+ * full set of rows, like sorting, limiting or column operations. The grid must be closed after the
+ * last row has been added in order to write the last row and complete the output.
+ */
+public class StreamingGrid extends ListGrid implements AutoCloseable {
+  private final StreamingRowList rows;
+
+  private final GridRowWriter writer;
+
+  private boolean headersWritten;
+
+  /**
+   * @param writer the {@link GridRowWriter} to write rows to.
+   */
+  public StreamingGrid(GridRowWriter writer) {
+    this(new StreamingRowList(), writer);
+  }
+
+  private StreamingGrid(StreamingRowList rows, GridRowWriter writer) {
+    super(new HashMap<>(), new HashMap<>(), rows);
+    this.rows = rows;
+    this.writer = writer;
+    this.rows.setConsumer(this::writeRow);
+  }
+
+  /**
+   * Writes the current row, and the headers if not already written, and closes the underlying
+   * {@link GridRowWriter}.
+   *
+   * @throws IOException if writing fails.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      rows.flush();
+      writeHeaders();
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+
+    writer.close();
+  }
+
+  private void writeRow(List<Object> row) {
+    writeHeaders();
+
+    try {
+      writer.writeRow(row);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void writeHeaders() {
+    if (!headersWritten) {
+      try {
+        writer.writeHeaders(getHeaders());
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+
+      headersWritten = true;
+    }
+  }
+
+  /**
+   * List of rows which holds the last added row only. The previous row is passed to the consumer
+   * when a new row is added.
+   */
+  private static class StreamingRowList extends AbstractList<List<Object>> {
+    private Consumer<List<Object>> consumer;
+
+    private List<Object> current;
+
+    private int size;
+
+    void setConsumer(Consumer<List<Object>> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public boolean add(List<Object> row) {
+      flush();
+      current = row;
+      size++;
+      return true;
+    }
+
+    @Override
+    public List<Object> get(int index) {
+      if (index != size - 1 || current == null) {
+        throw new UnsupportedOperationException(
+            "Streaming grid only allows access to the current row");
+      }
+
+      return current;
+    }
+
+    @Override
+    public List<Object> remove(int index) {
+      List<Object> row = get(index);
+      current = null;
+      size--;
+      return row;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    /** Passes the current row, if any, to the consumer. */
+    void flush() {
+      if (current != null) {
+        consumer.accept(current);
+        current = null;
+      }
+    }
+  }
+}
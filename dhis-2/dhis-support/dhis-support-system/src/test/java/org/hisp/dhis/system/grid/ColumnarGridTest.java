@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import org.apache.commons.lang3.SerializationUtils;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ColumnarGrid}. Runs all {@link GridTest} tests against the columnar grid.
+ */
+class ColumnarGridTest extends GridTest {
+  @Override
+  protected Grid createGrid() {
+    return new ColumnarGrid();
+  }
+
+  @Test
+  void testDictionaryAndDoubleColumns() {
+    Grid grid = createAnalyticsGrid();
+
+    assertEquals(List.of("deA", "ouA", 1.5), grid.getRow(0));
+    assertEquals(List.of("deB", "ouA", 2.0), grid.getRow(1));
+    assertEquals(List.of("deA", "ouB", 3.25), grid.getRow(2));
+    assertNull(grid.getValue(3, 2));
+    assertEquals(List.of("deA", "deB", "deA", "deB"), grid.getColumn(0));
+  }
+
+  @Test
+  void testWidenColumn() {
+    Grid grid = createAnalyticsGrid();
+    grid.getRow(1).set(2, "N/A");
+    grid.getRow(2).set(0, 7);
+
+    assertEquals(List.of("deA", "ouA", 1.5), grid.getRow(0));
+    assertEquals(List.of("deB", "ouA", "N/A"), grid.getRow(1));
+    assertEquals(List.of(7, "ouB", 3.25), grid.getRow(2));
+  }
+
+  @Test
+  void testSortRows() {
+    Grid grid = createAnalyticsGrid();
+    grid.sortGrid(3, 1);
+
+    assertEquals(List.of("deA", "ouB", 3.25), grid.getRow(0));
+    assertEquals(List.of("deB", "ouA", 2.0), grid.getRow(1));
+    assertEquals(List.of("deA", "ouA", 1.5), grid.getRow(2));
+    assertEquals(List.of("deB", "ouB"), grid.getRow(3).subList(0, 2));
+    assertNull(grid.getValue(3, 2));
+  }
+
+  @Test
+  void testInsertAndRemoveColumn() {
+    Grid grid = createAnalyticsGrid();
+    grid.addColumn(1, List.of("peA", "peA", "peB", "peB"));
+
+    assertEquals(List.of("deA", "peA", "ouA", 1.5), grid.getRow(0));
+    assertEquals(List.of("deB", "peB", "ouB"), grid.getRow(3).subList(0, 3));
+
+    grid.removeColumn(0);
+
+    assertEquals(List.of("peA", "ouA", 1.5), grid.getRow(0));
+    assertEquals(3, grid.getWidth());
+  }
+
+  @Test
+  void testInsertColumnIntoEmptyGrid() {
+    Grid grid = createGrid();
+    grid.addHeader(new GridHeader("dx"));
+    grid.addHeader(new GridHeader("ou"));
+    grid.addHeader(new GridHeader("value"));
+    grid.addHeader(2, new GridHeader("aoc")).addHeader(2, new GridHeader("coc"));
+
+    grid.addColumn(2, List.of()).addColumn(2, List.of());
+
+    assertEquals(0, grid.getHeight());
+
+    grid.addRow().addValuesVar("deA", "ouA", "cocA", "aocA", 1.5);
+
+    assertEquals(List.of("deA", "ouA", "cocA", "aocA", 1.5), grid.getRow(0));
+  }
+
+  @Test
+  void testSerialize() {
+    Grid grid = createAnalyticsGrid();
+
+    Grid deserialized = SerializationUtils.clone((ColumnarGrid) grid);
+
+    assertEquals(grid.getRows(), deserialized.getRows());
+  }
+
+  private Grid createAnalyticsGrid() {
+    Grid grid = createGrid();
+    grid.addHeader(new GridHeader("dx"));
+    grid.addHeader(new GridHeader("ou"));
+    grid.addHeader(new GridHeader("value"));
+    grid.addRow().addValuesVar("deA", "ouA", 1.5);
+    grid.addRow().addValuesVar("deB", "ouA", 2.0);
+    grid.addRow().addValuesVar("deA", "ouB", 3.25);
+    grid.addRow().addValuesVar("deB", "ouB", null);
+    return grid;
+  }
+}
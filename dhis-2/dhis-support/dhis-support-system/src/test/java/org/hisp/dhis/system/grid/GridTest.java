@@ -76,10 +76,20 @@ class GridTest {
 
   private GridHeader headerC;
 
+  /**
+   * Creates the grid under test. Subclasses override this to run the tests against other grid
+   * implementations.
+   *
+   * @return a new, empty {@link Grid}.
+   */
+  protected Grid createGrid() {
+    return new ListGrid();
+  }
+
   @BeforeEach
   void setUp() {
-    gridA = new ListGrid();
-    gridB = new ListGrid();
+    gridA = createGrid();
+    gridB = createGrid();
     headerA =
         new GridHeader(
             "ColA",
@@ -126,7 +136,7 @@ class GridTest {
 
   @Test
   void testAddHeaders() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     GridHeader headerA = new GridHeader("DataElementA", "Data element A");
     GridHeader headerB = new GridHeader("DataElementB", "Data element B");
     GridHeader headerC = new GridHeader("DataElementC", "Data element C");
@@ -145,7 +155,7 @@ class GridTest {
   @Test
   void testColumnIsEmpty() {
     Grid grid =
-        new ListGrid()
+        createGrid()
             .addRow()
             .addValuesVar("A1", null, "A3", null)
             .addRow()
@@ -163,7 +173,7 @@ class GridTest {
   @Test
   void testRemoveEmptyColumns() {
     Grid grid =
-        new ListGrid()
+        createGrid()
             .addHeader(new GridHeader("H1"))
             .addHeader(new GridHeader("H2"))
             .addHeader(new GridHeader("H3"))
@@ -185,7 +195,7 @@ class GridTest {
   @Test
   void testRemoveEmptyColumnsWithoutHeaders() {
     Grid grid =
-        new ListGrid()
+        createGrid()
             .addRow()
             .addValuesVar("A1", null, "A3", null)
             .addRow()
@@ -201,7 +211,7 @@ class GridTest {
 
   @Test
   void testAddHeaderList() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     GridHeader headerA = new GridHeader("DataElementA", "Data element A");
     GridHeader headerB = new GridHeader("DataElementB", "Data element B");
     GridHeader headerC = new GridHeader("DataElementC", "Data element C");
@@ -519,7 +529,7 @@ class GridTest {
 
   @Test
   void testSortA() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addRow().addValue(1).addValue("a");
     grid.addRow().addValue(2).addValue("b");
     grid.addRow().addValue(3).addValue("c");
@@ -534,7 +544,7 @@ class GridTest {
 
   @Test
   void testSortB() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addRow().addValue(3).addValue("a");
     grid.addRow().addValue(2).addValue("b");
     grid.addRow().addValue(1).addValue("c");
@@ -549,7 +559,7 @@ class GridTest {
 
   @Test
   void testSortC() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addRow().addValue(1).addValue("c");
     grid.addRow().addValue(3).addValue("a");
     grid.addRow().addValue(2).addValue("b");
@@ -564,7 +574,7 @@ class GridTest {
 
   @Test
   void testSortD() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addRow().addValue("a").addValue("a").addValue(5.2);
     grid.addRow().addValue("b").addValue("b").addValue(0.0);
     grid.addRow().addValue("c").addValue("c").addValue(108.1);
@@ -588,7 +598,7 @@ class GridTest {
 
   @Test
   void testSortE() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addRow().addValue("two").addValue(2);
     grid.addRow().addValue("null").addValue(null);
     grid.addRow().addValue("three").addValue(3);
@@ -603,7 +613,7 @@ class GridTest {
 
   @Test
   void testSortF() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addRow().addValue("two").addValue(2);
     grid.addRow().addValue("null").addValue(null);
     grid.addRow().addValue("one").addValue(1);
@@ -634,7 +644,7 @@ class GridTest {
 
   @Test
   void testAddRegressionColumn() {
-    gridA = new ListGrid();
+    gridA = createGrid();
     gridA.addRow();
     gridA.addValue(10.0);
     gridA.addRow();
@@ -654,7 +664,7 @@ class GridTest {
 
   @Test
   void testAddCumulativeColumn() {
-    gridA = new ListGrid();
+    gridA = createGrid();
     gridA.addRow();
     gridA.addValue(10.0);
     gridA.addRow();
@@ -727,7 +737,7 @@ class GridTest {
 
   @Test
   void testAddValuesAsList() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addRow().addValuesAsList(Lists.newArrayList("colA1", "colB1", "colC1"));
     grid.addRow().addValuesAsList(Lists.newArrayList("colA2", "colB2", "colC2"));
     assertEquals(2, grid.getHeight());
@@ -743,7 +753,7 @@ class GridTest {
     GridHeader headerB = new GridHeader("headerB", "Header B");
     GridHeader headerC = new GridHeader("headerC", "Header C");
 
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addHeader(headerA);
     grid.addHeader(headerB);
     grid.addHeader(headerC);
@@ -769,7 +779,7 @@ class GridTest {
     GridHeader headerB = new GridHeader("headerB", "Header B");
     GridHeader headerC = new GridHeader("headerC", "Header C");
 
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addHeader(headerA);
     grid.addHeader(headerB);
     grid.addHeader(headerC);
@@ -791,7 +801,7 @@ class GridTest {
 
   @Test
   void testGetIndexOfHeader() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addHeader(new GridHeader("headerA", "Header A"));
     grid.addHeader(new GridHeader("headerB", "Header B"));
     grid.addHeader(new GridHeader("headerC", "Header C"));
@@ -807,7 +817,7 @@ class GridTest {
 
   @Test
   void testHeaderExists() {
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addHeader(new GridHeader("headerA", "Header A"));
     grid.addHeader(new GridHeader("headerB", "Header B"));
     grid.addHeader(new GridHeader("headerC", "Header C"));
@@ -828,7 +838,7 @@ class GridTest {
     GridHeader headerB = new GridHeader("headerB", "Header B");
     GridHeader headerC = new GridHeader("headerC", "Header C");
 
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addHeader(headerA);
     grid.addHeader(headerB);
     grid.addHeader(headerC);
@@ -855,7 +865,7 @@ class GridTest {
     GridHeader headerB = new GridHeader("headerB", "Header B");
     GridHeader headerC = new GridHeader("headerC", "Header C");
 
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addHeader(headerA);
     grid.addHeader(headerB);
     grid.addHeader(headerC);
@@ -938,7 +948,7 @@ class GridTest {
     GridHeader headerB = new GridHeader("headerB", "Header B");
     GridHeader headerC = new GridHeader("headerC", "Header C");
 
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addHeader(headerA);
     grid.addHeader(headerB);
     grid.addHeader(headerC);
@@ -966,7 +976,7 @@ class GridTest {
     GridHeader headerB = new GridHeader("headerB", "Header B");
     GridHeader headerC = new GridHeader("headerC", "Header C");
 
-    Grid grid = new ListGrid();
+    Grid grid = createGrid();
     grid.addHeader(headerA);
     grid.addHeader(headerB);
     grid.addHeader(headerC);
@@ -30,17 +30,27 @@ package org.hisp.dhis.system.grid;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.google.common.collect.Lists;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.io.IOUtils;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodType;
 import org.junit.jupiter.api.Test;
@@ -102,4 +112,45 @@ class GridUtilsTest {
     OutputStream outputStream = new ByteArrayOutputStream();
     assertDoesNotThrow(() -> GridUtils.toXls(grids, outputStream));
   }
+
+  @Test
+  void testToXlsx() throws IOException {
+    Grid grid = new ListGrid();
+    grid.setTitle("Grid");
+    grid.addHeader(new GridHeader("dx", "Data", ValueType.TEXT, false, true));
+    grid.addHeader(new GridHeader("value", "Value", ValueType.NUMBER, false, false));
+
+    for (int i = 0; i < 1000; i++) {
+      grid.addRow().addValue("de" + i).addValue(i * 1.5);
+    }
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    GridUtils.toXlsx(grid, outputStream);
+
+    try (Workbook workbook =
+        new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      Sheet sheet = workbook.getSheet("Grid");
+
+      assertEquals("Grid", sheet.getRow(0).getCell(0).getStringCellValue());
+      assertEquals("Data", sheet.getRow(2).getCell(0).getStringCellValue());
+      assertEquals("de0", sheet.getRow(3).getCell(0).getStringCellValue());
+      assertEquals("de999", sheet.getRow(1002).getCell(0).getStringCellValue());
+      assertEquals(1498.5, sheet.getRow(1002).getCell(1).getNumericCellValue());
+    }
+  }
+
+  @Test
+  void testToXlsFailsWhenRowsExceedLimit() {
+    Grid grid = new ListGrid();
+    grid.addHeader(new GridHeader("value", "Value", ValueType.NUMBER, false, false));
+
+    for (int i = 0; i < 65536; i++) {
+      grid.addRow().addValue(i);
+    }
+
+    IllegalQueryException ex =
+        assertThrows(
+            IllegalQueryException.class, () -> GridUtils.toXls(grid, new ByteArrayOutputStream()));
+    assertEquals(ErrorCode.E7147, ex.getErrorCode());
+  }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.ValueType;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link StreamingGrid} and {@link GridRowWriters}. */
+class StreamingGridTest {
+  @Test
+  void testStreamCsv() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    StreamingGrid grid = new StreamingGrid(GridRowWriters.csv(writer));
+    addHeaders(grid);
+    addRows(grid);
+    grid.close();
+
+    assertEquals(
+        List.of("Data,Org unit", "deA,ouA", "deB,", "deC,ouC"), writer.toString().lines().toList());
+  }
+
+  @Test
+  void testStreamNdjson() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    StreamingGrid grid = new StreamingGrid(GridRowWriters.ndjson(out));
+    addHeaders(grid);
+    addRows(grid);
+    grid.close();
+
+    assertEquals(
+        List.of(
+            "{\"dx\":\"deA\",\"ou\":\"ouA\"}",
+            "{\"dx\":\"deB\",\"ou\":null}",
+            "{\"dx\":\"deC\",\"ou\":\"ouC\"}"),
+        out.toString(StandardCharsets.UTF_8).lines().toList());
+  }
+
+  @Test
+  void testStreamJson() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    StreamingGrid grid = new StreamingGrid(GridRowWriters.json(out));
+    addHeaders(grid);
+    addRows(grid);
+    grid.close();
+
+    JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+
+    assertEquals(2, json.get("headers").size());
+    assertEquals("dx", json.get("headers").get(0).get("name").asText());
+    assertEquals(3, json.get("rows").size());
+    assertEquals("deB", json.get("rows").get(1).get(0).asText());
+    assertTrue(json.get("rows").get(1).get(1).isNull());
+    assertEquals(2, json.get("headerWidth").asInt());
+    assertEquals(3, json.get("height").asInt());
+  }
+
+  @Test
+  void testStreamJsonWithNativeTypes() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    StreamingGrid grid = new StreamingGrid(GridRowWriters.json(out));
+    addHeaders(grid);
+    grid.addRow().addValue(12.5).addValue(true);
+    grid.addRow().addValue(123456789.0).addValue(3L);
+    grid.close();
+
+    JsonNode rows = new ObjectMapper().readTree(out.toByteArray()).get("rows");
+
+    assertTrue(rows.get(0).get(0).isNumber());
+    assertEquals(12.5, rows.get(0).get(0).asDouble());
+    assertTrue(rows.get(0).get(1).isBoolean());
+    assertTrue(rows.get(0).get(1).asBoolean());
+    assertTrue(rows.get(1).get(0).isNumber());
+    assertEquals(123456789.0, rows.get(1).get(0).asDouble());
+    assertTrue(rows.get(1).get(1).isIntegralNumber());
+    assertEquals(3L, rows.get(1).get(1).asLong());
+  }
+
+  @Test
+  void testStreamNdjsonWithNativeTypes() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    StreamingGrid grid = new StreamingGrid(GridRowWriters.ndjson(out));
+    addHeaders(grid);
+    grid.addRow().addValue(123456789.0).addValue(false);
+    grid.addRow().addValue(Double.NaN).addValue(7);
+    grid.close();
+
+    assertEquals(
+        List.of("{\"dx\":123456789.0,\"ou\":false}", "{\"dx\":\"NaN\",\"ou\":7}"),
+        out.toString(StandardCharsets.UTF_8).lines().toList());
+  }
+
+  @Test
+  void testStreamJsonWithoutRows() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    StreamingGrid grid = new StreamingGrid(GridRowWriters.json(out));
+    addHeaders(grid);
+    grid.close();
+
+    JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+
+    assertEquals(2, json.get("headers").size());
+    assertEquals(0, json.get("rows").size());
+    assertEquals(0, json.get("height").asInt());
+  }
+
+  @Test
+  void testRemoveCurrentWriteRow() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    StreamingGrid grid = new StreamingGrid(GridRowWriters.csv(writer));
+    addHeaders(grid);
+    addRows(grid);
+    grid.removeCurrentWriteRow();
+    grid.close();
+
+    assertEquals(List.of("Data,Org unit", "deA,ouA", "deB,"), writer.toString().lines().toList());
+  }
+
+  @Test
+  void testWrittenRowsNotAccessible() {
+    StreamingGrid grid = new StreamingGrid(GridRowWriters.csv(new StringWriter()));
+    addHeaders(grid);
+    addRows(grid);
+
+    assertEquals(3, grid.getHeight());
+    assertEquals(List.of("deC", "ouC"), grid.getRow(2));
+    assertThrows(UnsupportedOperationException.class, () -> grid.getRow(0));
+  }
+
+  private void addHeaders(Grid grid) {
+    grid.addHeader(new GridHeader("dx", "Data", ValueType.TEXT, false, true));
+    grid.addHeader(new GridHeader("ou", "Org unit", ValueType.TEXT, false, true));
+  }
+
+  private void addRows(Grid grid) {
+    grid.addRow().addValue("deA").addValue("ouA");
+    grid.addRow().addValue("deB").addValue(null);
+    grid.addRow().addValue("deC").addValue("ouC");
+  }
+}
@@ -33,7 +33,9 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.jsontree.JsonMixed;
@@ -52,6 +54,7 @@ public class H2SqlFunction {
       createAliasForFunction(connection, "jsonb_extract_path_text");
       createAliasForFunction(connection, "jsonb_extract_path");
       createAliasForFunction(connection, "jsonb_typeof");
+      createAliasForFunction(connection, "jsonb_contains");
       createAliasForFunction(connection, "jsonb_has_user_id");
       createAliasForFunction(connection, "jsonb_check_user_access");
     } catch (SQLException exception) {
@@ -136,6 +139,28 @@ public class H2SqlFunction {
     return p.toString();
   }
 
+  // Postgres inbuilt function, the @> operator
+  public static boolean jsonb_contains(PGobject json, String other) {
+    String content = json == null ? null : json.getValue();
+    if (content == null) {
+      return false;
+    }
+    Gson gson = new Gson();
+    return contains(gson.fromJson(content, Object.class), gson.fromJson(other, Object.class));
+  }
+
+  private static boolean contains(Object value, Object other) {
+    if (value instanceof Map<?, ?> map && other instanceof Map<?, ?> otherMap) {
+      return otherMap.entrySet().stream()
+          .allMatch(
+              e -> map.containsKey(e.getKey()) && contains(map.get(e.getKey()), e.getValue()));
+    }
+    if (value instanceof List<?> list && other instanceof List<?> otherList) {
+      return otherList.stream().allMatch(o -> list.stream().anyMatch(v -> contains(v, o)));
+    }
+    return Objects.equals(value, other);
+  }
+
   // Custom DHIS2 sharing function
   public static boolean jsonb_has_user_id(PGobject input1, String input2) {
     try {
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObject.ORGUNIT_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObject.PERIOD_DIM_ID;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementDomain;
+import org.hisp.dhis.indicator.Indicator;
+import org.hisp.dhis.indicator.IndicatorType;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.system.grid.ListGrid;
+
+/**
+ * Generated metadata for analytics benchmarks. The number of data elements, indicators, periods
+ * and organisation units is given on construction, so that benchmarks can be run against queries
+ * of different sizes. Identifiers and values are deterministic, so that runs are comparable.
+ *
+ * <ul>
+ *   <li>Every fifth data element uses average aggregation, the rest use sum aggregation.
+ *   <li>Indicators divide the sum of two data elements by a third data element.
+ *   <li>Periods are consecutive months, going back from December 2024.
+ *   <li>Every tenth organisation unit is a region at level 2, the remaining organisation units are
+ *       districts at level 3 below the preceding region.
+ * </ul>
+ */
+public class AnalyticsBenchmarkData {
+  private static final int ORG_UNITS_PER_REGION = 10;
+
+  private static final int LAST_YEAR = 2024;
+
+  private final List<DataElement> dataElements = new ArrayList<>();
+
+  private final List<Indicator> indicators = new ArrayList<>();
+
+  private final List<Period> periods = new ArrayList<>();
+
+  private final List<OrganisationUnit> organisationUnits = new ArrayList<>();
+
+  /**
+   * Generates benchmark metadata.
+   *
+   * @param dataElementCount the number of data elements, must be at least 1.
+   * @param indicatorCount the number of indicators.
+   * @param periodCount the number of monthly periods.
+   * @param orgUnitCount the number of organisation units.
+   */
+  public AnalyticsBenchmarkData(
+      int dataElementCount, int indicatorCount, int periodCount, int orgUnitCount) {
+    IndicatorType indicatorType = new IndicatorType("Percent", 100, false);
+
+    for (int i = 0; i < dataElementCount; i++) {
+      dataElements.add(createDataElement(i));
+    }
+
+    for (int i = 0; i < indicatorCount; i++) {
+      indicators.add(createIndicator(i, indicatorType));
+    }
+
+    for (int i = 0; i < periodCount; i++) {
+      int year = LAST_YEAR - i / 12;
+      int month = 12 - i % 12;
+      periods.add(PeriodType.getPeriodFromIsoString(String.format("%d%02d", year, month)));
+    }
+
+    OrganisationUnit root = createOrganisationUnit(0, null);
+    OrganisationUnit region = null;
+
+    for (int i = 0; i < orgUnitCount; i++) {
+      if (i % ORG_UNITS_PER_REGION == 0) {
+        region = createOrganisationUnit(i + 1, root);
+        organisationUnits.add(region);
+      } else {
+        organisationUnits.add(createOrganisationUnit(i + 1, region));
+      }
+    }
+  }
+
+  public List<DataElement> getDataElements() {
+    return dataElements;
+  }
+
+  public List<Indicator> getIndicators() {
+    return indicators;
+  }
+
+  public List<Period> getPeriods() {
+    return periods;
+  }
+
+  public List<OrganisationUnit> getOrganisationUnits() {
+    return organisationUnits;
+  }
+
+  /**
+   * Returns query parameters with data elements as data dimension, and periods and organisation
+   * units as dimensions.
+   *
+   * @return a {@link DataQueryParams}.
+   */
+  public DataQueryParams getDataElementParams() {
+    return DataQueryParams.newBuilder()
+        .withDataElements(dataElements)
+        .withPeriods(periods)
+        .withOrganisationUnits(organisationUnits)
+        .build();
+  }
+
+  /**
+   * Returns query parameters with indicators as data dimension, and periods and organisation units
+   * as dimensions.
+   *
+   * @return a {@link DataQueryParams}.
+   */
+  public DataQueryParams getIndicatorParams() {
+    return DataQueryParams.newBuilder()
+        .withIndicators(indicators)
+        .withPeriods(periods)
+        .withOrganisationUnits(organisationUnits)
+        .build();
+  }
+
+  /**
+   * Returns a grid of aggregated data values with data, period and organisation unit columns
+   * followed by a value column, with one row for each combination of the given data items and the
+   * periods and organisation units of this data.
+   *
+   * @param items the data items.
+   * @return a {@link Grid}.
+   */
+  public Grid getDataValueGrid(List<? extends DimensionalItemObject> items) {
+    Grid grid = new ListGrid();
+
+    grid.addHeader(new GridHeader(DATA_X_DIM_ID, ValueType.TEXT))
+        .addHeader(new GridHeader(PERIOD_DIM_ID, ValueType.TEXT))
+        .addHeader(new GridHeader(ORGUNIT_DIM_ID, ValueType.TEXT))
+        .addHeader(new GridHeader("value", ValueType.NUMBER));
+
+    for (int i = 0; i < items.size(); i++) {
+      for (int j = 0; j < periods.size(); j++) {
+        for (int k = 0; k < organisationUnits.size(); k++) {
+          grid.addRow()
+              .addValue(items.get(i).getDimensionItem())
+              .addValue(periods.get(j).getIsoDate())
+              .addValue(organisationUnits.get(k).getUid())
+              .addValue((double) ((i * 31 + j * 7 + k) % 1000) + 0.5);
+        }
+      }
+    }
+
+    return grid;
+  }
+
+  private DataElement createDataElement(int index) {
+    DataElement dataElement = new DataElement("DataElement" + index);
+    dataElement.setUid(uid("de", index));
+    dataElement.setShortName("DataElementShort" + index);
+    dataElement.setValueType(ValueType.NUMBER);
+    dataElement.setDomainType(DataElementDomain.AGGREGATE);
+    dataElement.setAggregationType(
+        index % 5 == 4 ? AggregationType.AVERAGE : AggregationType.SUM);
+
+    return dataElement;
+  }
+
+  private Indicator createIndicator(int index, IndicatorType indicatorType) {
+    int size = dataElements.size();
+
+    Indicator indicator = new Indicator();
+    indicator.setUid(uid("in", index));
+    indicator.setName("Indicator" + index);
+    indicator.setShortName("IndicatorShort" + index);
+    indicator.setIndicatorType(indicatorType);
+    indicator.setNumerator(
+        String.format(
+            "#{%s} + #{%s}",
+            dataElements.get(index % size).getUid(),
+            dataElements.get((index + 1) % size).getUid()));
+    indicator.setDenominator(
+        String.format("#{%s}", dataElements.get((index + 2) % size).getUid()));
+
+    return indicator;
+  }
+
+  private OrganisationUnit createOrganisationUnit(int index, OrganisationUnit parent) {
+    OrganisationUnit unit = new OrganisationUnit("OrganisationUnit" + index);
+    unit.setUid(uid("ou", index));
+    unit.setShortName("OrganisationUnitShort" + index);
+    unit.setParent(parent);
+    unit.getPath();
+
+    return unit;
+  }
+
+  /** Returns a valid, deterministic UID with the given two-letter prefix. */
+  private static String uid(String prefix, int index) {
+    return String.format("%s%09d", prefix, index);
+  }
+}
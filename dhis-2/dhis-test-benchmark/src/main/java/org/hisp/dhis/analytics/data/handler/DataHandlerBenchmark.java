@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data.handler;
+
+import static java.util.stream.Collectors.toMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.hisp.dhis.analytics.AnalyticsBenchmarkData;
+import org.hisp.dhis.analytics.AnalyticsManager;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.QueryPlanner;
+import org.hisp.dhis.analytics.RawAnalyticsManager;
+import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.common.AnalyticsQueryGuard;
+import org.hisp.dhis.analytics.common.AnalyticsQueryScheduler;
+import org.hisp.dhis.analytics.event.EventAnalyticsService;
+import org.hisp.dhis.analytics.resolver.ExpressionResolvers;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.NoOpCache;
+import org.hisp.dhis.common.DimensionItemType;
+import org.hisp.dhis.common.DimensionService;
+import org.hisp.dhis.common.DimensionalItemId;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.expression.DefaultExpressionService;
+import org.hisp.dhis.hibernate.HibernateGenericStore;
+import org.hisp.dhis.i18n.I18nManager;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.hisp.dhis.system.grid.ListGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the evaluation of indicators in {@link DataHandler}. The aggregated data values
+ * of the data elements referenced by the indicators are taken from a generated grid instead of the
+ * analytics tables, and indicator expressions are evaluated by {@link DefaultExpressionService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataHandlerBenchmark {
+  @Param({"20"})
+  private int dataElements;
+
+  @Param({"10", "50"})
+  private int indicators;
+
+  @Param({"12"})
+  private int periods;
+
+  @Param({"50", "500"})
+  private int orgUnits;
+
+  private DataHandler dataHandler;
+
+  private DataQueryParams params;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    AnalyticsBenchmarkData data =
+        new AnalyticsBenchmarkData(dataElements, indicators, periods, orgUnits);
+
+    Map<DimensionalItemId, DimensionalItemObject> dataElementMap =
+        data.getDataElements().stream()
+            .collect(
+                toMap(
+                    de -> new DimensionalItemId(DimensionItemType.DATA_ELEMENT, de.getUid()),
+                    Function.<DimensionalItemObject>identity()));
+
+    DimensionService dimensionService = mock(DimensionService.class);
+    when(dimensionService.getDataDimensionalItemObjectMap(any())).thenReturn(dataElementMap);
+
+    CacheProvider cacheProvider = mock(CacheProvider.class);
+    when(cacheProvider.createAllConstantsCache()).thenReturn(new NoOpCache<>());
+
+    DefaultExpressionService expressionService =
+        new DefaultExpressionService(
+            mock(HibernateGenericStore.class),
+            mock(ConstantService.class),
+            dimensionService,
+            mock(IdentifiableObjectManager.class),
+            mock(I18nManager.class),
+            cacheProvider);
+
+    Grid dataValueGrid = data.getDataValueGrid(data.getDataElements());
+
+    DataAggregator dataAggregator = mock(DataAggregator.class);
+    when(dataAggregator.getAggregatedDataValueGrid(any())).thenReturn(dataValueGrid);
+
+    dataHandler =
+        new DataHandler(
+            mock(EventAnalyticsService.class),
+            mock(RawAnalyticsManager.class),
+            mock(ExpressionResolvers.class),
+            expressionService,
+            mock(QueryPlanner.class),
+            mock(SystemSettingManager.class),
+            mock(AnalyticsManager.class),
+            mock(OrganisationUnitService.class),
+            mock(ExecutionPlanStore.class),
+            mock(AnalyticsQueryGuard.class),
+            mock(AnalyticsQueryScheduler.class));
+    dataHandler.require(dataAggregator);
+
+    params = data.getIndicatorParams();
+  }
+
+  @Benchmark
+  public Grid addIndicatorValues() {
+    Grid grid = new ListGrid();
+
+    dataHandler.addIndicatorValues(params, grid);
+
+    return grid;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.analytics.AnalyticsBenchmarkData;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.common.Grid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks for the grid post-processing in {@link AnalyticsUtils}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsUtilsBenchmark {
+  @Param({"10", "50"})
+  private int dataElements;
+
+  @Param({"12"})
+  private int periods;
+
+  @Param({"50", "500"})
+  private int orgUnits;
+
+  private AnalyticsBenchmarkData data;
+
+  private DataQueryParams params;
+
+  /** Grid of aggregated data values, not modified by benchmarks. */
+  private Grid grid;
+
+  /** Grid prepared for data value set conversion, not modified by benchmarks. */
+  private Grid dataValueSetGrid;
+
+  /** Grid of aggregated data values, recreated for each invocation as it is modified. */
+  private Grid mutableGrid;
+
+  @Setup
+  public void setUp() {
+    data = new AnalyticsBenchmarkData(dataElements, 0, periods, orgUnits);
+    params = data.getDataElementParams();
+    grid = data.getDataValueGrid(data.getDataElements());
+    dataValueSetGrid = data.getDataValueGrid(data.getDataElements());
+
+    AnalyticsUtils.handleGridForDataValueSet(params, dataValueSetGrid);
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpInvocation() {
+    mutableGrid = data.getDataValueGrid(data.getDataElements());
+  }
+
+  @Benchmark
+  public Map<String, Object> getAggregatedDataValueMapping() {
+    return AnalyticsUtils.getAggregatedDataValueMapping(grid);
+  }
+
+  @Benchmark
+  public Grid handleGridForDataValueSet() {
+    AnalyticsUtils.handleGridForDataValueSet(params, mutableGrid);
+
+    return mutableGrid;
+  }
+
+  @Benchmark
+  public Grid getDataValueSetAsGrid() {
+    return AnalyticsUtils.getDataValueSetAsGrid(dataValueSetGrid);
+  }
+}
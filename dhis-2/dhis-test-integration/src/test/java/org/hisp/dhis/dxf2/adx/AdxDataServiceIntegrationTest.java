@@ -61,6 +61,9 @@ import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.dxf2.common.ImportOptions;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSetQueryParams;
+import org.hisp.dhis.dxf2.importsummary.ImportConflict;
+import org.hisp.dhis.dxf2.importsummary.ImportStatus;
+import org.hisp.dhis.dxf2.importsummary.ImportSummary;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitGroup;
 import org.hisp.dhis.organisationunit.OrganisationUnitGroupService;
@@ -516,6 +519,20 @@ class AdxDataServiceIntegrationTest extends IntegrationTestBase {
     assertEquals("55", dataValue.getValue());
   }
 
+  @Test
+  void testImportUnknownDataSetReportsConflict() throws IOException {
+    InputStream in = new ClassPathResource("adx/importUnknownDataSet.adx.xml").getInputStream();
+    ImportSummary summary =
+        adxDataService.saveDataValueSet(in, ImportOptions.getDefaultImportOptions(), null);
+
+    assertEquals(ImportStatus.ERROR, summary.getStatus());
+    assertEquals(1, summary.getConflictCount());
+    ImportConflict conflict = summary.getConflicts().iterator().next();
+    assertEquals("ADX Error", conflict.getObject());
+    assertEquals("No data set matching code 'UnknownDsXy'", conflict.getValue());
+    assertEquals(0, dataValueService.getAllDataValues().size());
+  }
+
   // --------------------------------------------------------------------------
   // Supportive methods
   // --------------------------------------------------------------------------
@@ -29,6 +29,7 @@ package org.hisp.dhis.dxf2.datavalueset;
 
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toUnmodifiableSet;
+import static org.hisp.dhis.external.conf.ConfigurationKey.DATA_EXPORT_THREADS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -38,6 +39,7 @@ import com.google.common.collect.Sets;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.attribute.AttributeService;
@@ -612,4 +614,42 @@ class DataValueSetServiceExportTest extends IntegrationTestBase {
             () -> dataValueSetService.exportDataValueSetJson(params, out)),
         ErrorCode.E2012);
   }
+
+  @Test
+  void testExportPartitionedInParallelEqualsSingleQueryExport() throws IOException {
+    List<String> expected = exportValuesOfDataSetA();
+    assertEquals(12, expected.size());
+
+    dhisConfigurationProvider.getProperties().setProperty(DATA_EXPORT_THREADS.getKey(), "2");
+    try {
+      assertEquals(expected, exportValuesOfDataSetA());
+    } finally {
+      dhisConfigurationProvider.getProperties().remove(DATA_EXPORT_THREADS.getKey());
+    }
+  }
+
+  /** Exports data set A and returns its data values, sorted as the order is not defined. */
+  private List<String> exportValuesOfDataSetA() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataExportParams params =
+        new DataExportParams()
+            .setDataSets(Sets.newHashSet(dsA))
+            .setOrganisationUnits(Sets.newHashSet(ouA, ouB))
+            .setPeriods(Sets.newHashSet(peA, peB));
+    dataValueSetService.exportDataValueSetJson(params, out);
+    DataValueSet dvs = jsonMapper.readValue(out.toByteArray(), DataValueSet.class);
+    return dvs.getDataValues().stream()
+        .map(
+            dv ->
+                String.join(
+                    "/",
+                    dv.getDataElement(),
+                    dv.getPeriod(),
+                    dv.getOrgUnit(),
+                    dv.getCategoryOptionCombo(),
+                    dv.getAttributeOptionCombo(),
+                    dv.getValue()))
+        .sorted()
+        .toList();
+  }
 }
@@ -47,7 +47,9 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.time.DateUtils;
@@ -866,6 +868,18 @@ class DataValueSetServiceIntegrationTest extends IntegrationTestBase {
     assertImportDataValues(summary2);
   }
 
+  /**
+   * Imports new, updated, unchanged and repeated values in the regular mode for one org unit and in
+   * the bulk mode for another, and expects the same import counts, stored values and audits.
+   */
+  @Test
+  void testBulkImportMatchesRegularImport() {
+    List<Object> regular = importNewUpdatedAndRepeatedValues(ouA.getUid(), false);
+    List<Object> bulk = importNewUpdatedAndRepeatedValues(ouB.getUid(), true);
+
+    assertEquals(regular, bulk);
+  }
+
   @Test
   void testImportDataValueSetWithCode() {
     ImportOptions importOptions = new ImportOptions().setIdScheme("CODE");
@@ -1539,6 +1553,66 @@ class DataValueSetServiceIntegrationTest extends IntegrationTestBase {
   // Supportive methods
   // -------------------------------------------------------------------------
 
+  /**
+   * Imports data values for the given org unit and then new, updated, unchanged and repeated
+   * values for existing keys.
+   *
+   * @param orgUnit the org unit.
+   * @param bulkImport whether to use the bulk import mode.
+   * @return the import counts of the second import, the stored values and their audits.
+   */
+  private List<Object> importNewUpdatedAndRepeatedValues(String orgUnit, boolean bulkImport) {
+    ImportOptions importOptions = new ImportOptions().setBulkImport(bulkImport);
+
+    DataValueSet dataValueSet = new DataValueSet();
+    dataValueSet.setDataValues(
+        List.of(
+            getDataValue("f7n9E0hX8qk", "201201", orgUnit, "10"),
+            getDataValue("f7n9E0hX8qk", "201202", orgUnit, "11"),
+            getDataValue("Ix2HsbDMLea", "201201", orgUnit, "12")));
+
+    assertSuccessWithImportedUpdatedDeleted(
+        3, 0, 0, dataValueSetService.importDataValueSet(dataValueSet, importOptions));
+
+    // repeated keys are only used for existing values, as the regular
+    // mode does not look up pending inserts of the batch handler
+    DataValueSet dataValueSetUpdate = new DataValueSet();
+    dataValueSetUpdate.setDataValues(
+        List.of(
+            getDataValue("f7n9E0hX8qk", "201201", orgUnit, "20"),
+            getDataValue("f7n9E0hX8qk", "201202", orgUnit, "11"),
+            getDataValue("Ix2HsbDMLea", "201201", orgUnit, "21"),
+            getDataValue("Ix2HsbDMLea", "201201", orgUnit, "22"),
+            getDataValue("eY5ehpbEsB7", "201201", orgUnit, "23"),
+            getDataValue("eY5ehpbEsB7", "201202", orgUnit, "24")));
+
+    ImportSummary summary =
+        dataValueSetService.importDataValueSet(dataValueSetUpdate, importOptions);
+
+    assertSuccessWithImportedUpdatedDeleted(2, 3, 0, 1, summary);
+
+    Map<String, String> values = new TreeMap<>();
+    Map<String, List<String>> audits = new TreeMap<>();
+
+    for (DataValue dv : dataValueService.getAllDataValues()) {
+      if (orgUnit.equals(dv.getSource().getUid())) {
+        String key = dv.getDataElement().getUid() + "-" + dv.getPeriod().getIsoDate();
+        values.put(key, dv.getValue());
+        audits.put(
+            key,
+            dataValueAuditService.getDataValueAudits(dv).stream()
+                .map(audit -> audit.getAuditType() + ":" + audit.getValue())
+                .sorted()
+                .collect(Collectors.toList()));
+      }
+    }
+
+    assertEquals(5, values.size());
+    assertEquals("22", values.get("Ix2HsbDMLea-201201"));
+
+    return List.of(summary.getImportCount().toString(), values, audits);
+  }
+
   /**
    * Creates a {@link org.hisp.dhis.dxf2.datavalue.DataValue}.
    *
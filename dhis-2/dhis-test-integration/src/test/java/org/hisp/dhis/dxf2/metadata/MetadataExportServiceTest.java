@@ -29,6 +29,7 @@ package org.hisp.dhis.dxf2.metadata;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.collect.Sets;
@@ -45,10 +46,12 @@ import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.test.integration.TransactionalIntegrationTest;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserGroup;
+import org.hisp.dhis.user.UserService;
 import org.hisp.dhis.user.sharing.UserAccess;
 import org.hisp.dhis.user.sharing.UserGroupAccess;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * @author Morten Olav Hansen <mortenoh@gmail.com>
@@ -60,6 +63,8 @@ class MetadataExportServiceTest extends TransactionalIntegrationTest {
 
   @Autowired private SchemaService schemaService;
 
+  @Autowired private UserService _userService;
+
   @Test
   void testValidate() {
     MetadataExportParams params = new MetadataExportParams();
@@ -150,6 +155,21 @@ class MetadataExportServiceTest extends TransactionalIntegrationTest {
     assertEquals(2, metadata.get(DataElement.class).size());
   }
 
+  @Test
+  void testLoginDoesNotChangeMetadataSnapshotTag() {
+    User user = makeUser("A");
+    manager.save(user);
+    MetadataExportParams params = new MetadataExportParams();
+    params.setSnapshotParameters(Map.of("users", List.of("true")));
+    String tag = metadataExportService.getMetadataSnapshotTag(params);
+
+    _userService.updateLastLogin(user.getUsername());
+    ReflectionTestUtils.setField(metadataExportService, "watermark", null);
+
+    assertNotNull(manager.get(User.class, user.getUid()).getLastLogin());
+    assertEquals(tag, metadataExportService.getMetadataSnapshotTag(params));
+  }
+
   // @Test
   // TODO Fix this
   public void testSkipSharing() {
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.preheat;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.METADATA_IMPORT_PREHEAT_THREADS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests that preheat loads the unique values of committed objects when they are loaded
+ * concurrently in separate sessions, which only happens with more than one preheat thread.
+ */
+class PreheatUniqueValuesIntegrationTest extends IntegrationTestBase {
+  @Autowired private PreheatService preheatService;
+
+  @Autowired private PreheatExecutor preheatExecutor;
+
+  @Autowired private IdentifiableObjectManager manager;
+
+  private CountingPreheatExecutor concurrentExecutor;
+
+  private DataElement dataElementA;
+
+  private DataElement dataElementB;
+
+  @Override
+  protected void setUpTest() {
+    dataElementA = createDataElement('A');
+    dataElementB = createDataElement('B');
+    manager.save(dataElementA);
+    manager.save(dataElementB);
+
+    DhisConfigurationProvider config = mock(DhisConfigurationProvider.class);
+    when(config.getProperty(METADATA_IMPORT_PREHEAT_THREADS)).thenReturn("4");
+    concurrentExecutor = new CountingPreheatExecutor(config);
+    ReflectionTestUtils.setField(preheatService, "preheatExecutor", concurrentExecutor);
+  }
+
+  @Override
+  protected void tearDownTest() {
+    ReflectionTestUtils.setField(preheatService, "preheatExecutor", preheatExecutor);
+    concurrentExecutor.shutdown();
+  }
+
+  @Test
+  void testPreheatLoadsCommittedUniqueValuesConcurrently() {
+    PreheatParams params = new PreheatParams();
+    params.setUser(getAdminUser());
+    params.addObject(createDataElement('C'));
+
+    Preheat preheat = preheatService.preheat(params);
+
+    assertEquals(1, concurrentExecutor.tasks.get());
+    Map<String, Map<Object, String>> uniqueValues =
+        preheat.getUniquenessMap().get(DataElement.class);
+    assertEquals(dataElementA.getUid(), uniqueValues.get("code").get(dataElementA.getCode()));
+    assertEquals(dataElementB.getUid(), uniqueValues.get("code").get(dataElementB.getCode()));
+    assertEquals(dataElementB.getUid(), uniqueValues.get("name").get(dataElementB.getName()));
+  }
+
+  private static class CountingPreheatExecutor extends PreheatExecutor {
+    private final AtomicInteger tasks = new AtomicInteger();
+
+    CountingPreheatExecutor(DhisConfigurationProvider config) {
+      super(config);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.incrementAndGet();
+      super.execute(command);
+    }
+  }
+}
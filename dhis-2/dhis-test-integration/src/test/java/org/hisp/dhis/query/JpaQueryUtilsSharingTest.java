@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementStore;
+import org.hisp.dhis.hibernate.InternalHibernateGenericStore;
+import org.hisp.dhis.security.acl.AccessStringHelper;
+import org.hisp.dhis.security.acl.AclService;
+import org.hisp.dhis.test.integration.TransactionalIntegrationTest;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserDetails;
+import org.hisp.dhis.user.UserGroup;
+import org.hisp.dhis.user.sharing.Sharing;
+import org.hisp.dhis.user.sharing.UserAccess;
+import org.hisp.dhis.user.sharing.UserGroupAccess;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Tests that the sharing predicates of {@link JpaQueryUtils}, which look up users and user groups
+ * by jsonb containment, match the same objects as the {@code jsonb_has_user_id} and {@code
+ * jsonb_has_user_group_ids} functions.
+ */
+class JpaQueryUtilsSharingTest extends TransactionalIntegrationTest {
+  private static final String NONE = AccessStringHelper.DEFAULT;
+
+  private static final String READ = AccessStringHelper.READ;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Autowired private IdentifiableObjectManager manager;
+
+  @Autowired private DataElementStore dataElementStore;
+
+  private User user;
+
+  private UserGroup userGroup;
+
+  @Override
+  protected void setUpTest() {
+    user = createAndAddUser("sharingUser");
+    userGroup = createUserGroup('A', Set.of(user));
+    manager.save(userGroup);
+    user.getGroups().add(userGroup);
+
+    String otherUid = "otherUidAbc";
+
+    saveDataElement('A', sharing(NONE).users(Map.of(user.getUid(), userAccess(user.getUid()))));
+    saveDataElement(
+        'B', sharing(NONE).users(Map.of(user.getUid(), new UserAccess(NONE, user.getUid()))));
+    saveDataElement(
+        'C',
+        sharing(NONE)
+            .userGroups(
+                Map.of(userGroup.getUid(), new UserGroupAccess(READ, userGroup.getUid()))));
+    saveDataElement(
+        'D', sharing(NONE).userGroups(Map.of(otherUid, new UserGroupAccess(READ, otherUid))));
+    saveDataElement('E', sharing(READ));
+    saveDataElement('F', sharing(NONE).users(Map.of(otherUid, userAccess(otherUid))));
+    saveDataElement('G', sharing(NONE).owner(user.getUid()));
+
+    entityManager.flush();
+  }
+
+  @Test
+  void testUserAccessMatchesHasUserId() {
+    Set<String> expected =
+        queryUidsBySql(
+            String.format(
+                "jsonb_has_user_id(sharing, '%1$s')"
+                    + " and jsonb_check_user_access(sharing, '%1$s', '%2$s')",
+                user.getUid(), AclService.LIKE_READ_METADATA));
+
+    Set<String> actual =
+        queryUids(
+            JpaQueryUtils.checkUserAccess(
+                entityManager.getCriteriaBuilder(),
+                user.getUid(),
+                AclService.LIKE_READ_METADATA));
+
+    assertEquals(Set.of(dataElementUid('A')), expected);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void testUserGroupsAccessMatchesHasUserGroupIds() {
+    List<String> userGroupUids = List.of(userGroup.getUid(), "otherUidAbc");
+    String groupUids = "{" + String.join(",", userGroupUids) + "}";
+
+    Set<String> expected =
+        queryUidsBySql(
+            String.format(
+                "jsonb_has_user_group_ids(sharing, '%1$s')"
+                    + " and jsonb_check_user_groups_access(sharing, '%2$s', '%1$s')",
+                groupUids, AclService.LIKE_READ_METADATA));
+
+    Set<String> actual =
+        queryUids(
+            JpaQueryUtils.checkUserGroupsAccess(
+                entityManager.getCriteriaBuilder(),
+                userGroupUids,
+                AclService.LIKE_READ_METADATA));
+
+    assertEquals(Set.of(dataElementUid('C'), dataElementUid('D')), expected);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testSharingPredicatesMatchSqlSharingCheck() {
+    UserDetails userDetails = UserDetails.fromUser(user);
+
+    Set<String> expected =
+        queryUidsBySql(
+            JpaQueryUtils.generateSQlQueryForSharingCheck(
+                "sharing", userDetails, AclService.LIKE_READ_METADATA));
+
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    List<Function<Root<DataElement>, Predicate>> predicates =
+        ((InternalHibernateGenericStore<DataElement>) dataElementStore)
+            .getSharingPredicates(builder, userDetails);
+
+    Set<String> actual =
+        queryUids(
+            root ->
+                builder.and(
+                    predicates.stream().map(p -> p.apply(root)).toArray(Predicate[]::new)));
+
+    assertEquals(
+        Set.of(dataElementUid('A'), dataElementUid('C'), dataElementUid('E'), dataElementUid('G')),
+        expected);
+    assertEquals(expected, actual);
+  }
+
+  private static Sharing.SharingBuilder sharing(String publicAccess) {
+    return Sharing.builder().external(false).publicAccess(publicAccess).owner("testOwner");
+  }
+
+  private static UserAccess userAccess(String uid) {
+    return new UserAccess(READ, uid);
+  }
+
+  private static String dataElementUid(char uniqueCharacter) {
+    return "deSharing0" + uniqueCharacter;
+  }
+
+  private void saveDataElement(char uniqueCharacter, Sharing.SharingBuilder sharing) {
+    DataElement dataElement = createDataElement(uniqueCharacter);
+    dataElement.setUid(dataElementUid(uniqueCharacter));
+    dataElement.setSharing(sharing.build());
+    dataElementStore.save(dataElement, false);
+  }
+
+  private Set<String> queryUids(Function<Root<DataElement>, Predicate> predicate) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<String> query = builder.createQuery(String.class);
+    Root<DataElement> root = query.from(DataElement.class);
+    query.select(root.get("uid")).where(predicate.apply(root));
+
+    return new HashSet<>(entityManager.createQuery(query).getResultList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Set<String> queryUidsBySql(String condition) {
+    return new HashSet<>(
+        entityManager
+            .createNativeQuery("select uid from dataelement where " + condition)
+            .getResultList());
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.bundle;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_IMPORT_JDBC_BATCH_SIZE;
+import static org.hisp.dhis.tracker.Assertions.assertNoErrors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.tracker.TrackerTest;
+import org.hisp.dhis.tracker.TrackerType;
+import org.hisp.dhis.tracker.imports.FlushMode;
+import org.hisp.dhis.tracker.imports.TrackerImportParams;
+import org.hisp.dhis.tracker.imports.TrackerImportService;
+import org.hisp.dhis.tracker.imports.domain.TrackerDto;
+import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
+import org.hisp.dhis.tracker.imports.report.Entity;
+import org.hisp.dhis.tracker.imports.report.ImportReport;
+import org.hisp.dhis.tracker.imports.report.PersistenceReport;
+import org.hisp.dhis.tracker.imports.report.TrackerTypeReport;
+import org.hisp.dhis.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests that the persistence report of a tracker import with {@link FlushMode#AUTO} does not
+ * depend on the JDBC batch size used to write the bundle.
+ */
+class TrackerBundleJdbcBatchSizeTest extends TrackerTest {
+  @Autowired private TrackerImportService trackerImportService;
+
+  @Autowired private TrackerBundleService trackerBundleService;
+
+  @Autowired private DhisConfigurationProvider config;
+
+  @Autowired protected UserService _userService;
+
+  @Override
+  protected void initTest() throws IOException {
+    userService = _userService;
+    setUpMetadata("tracker/tracker_basic_metadata.json");
+    injectAdminUser();
+  }
+
+  @AfterEach
+  void resetConfig() {
+    ReflectionTestUtils.setField(trackerBundleService, "config", config);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "1", "100"})
+  void shouldReportSameObjectsForAnyJdbcBatchSize(String batchSize) throws IOException {
+    DhisConfigurationProvider batchConfig = mock(DhisConfigurationProvider.class);
+    when(batchConfig.getProperty(TRACKER_IMPORT_JDBC_BATCH_SIZE)).thenReturn(batchSize);
+    ReflectionTestUtils.setField(trackerBundleService, "config", batchConfig);
+
+    TrackerObjects trackerObjects = fromJson("tracker/tracker_basic_data_before_deletion.json");
+    TrackerImportParams params = TrackerImportParams.builder().flushMode(FlushMode.AUTO).build();
+
+    ImportReport importReport = trackerImportService.importTracker(params, trackerObjects);
+
+    assertNoErrors(importReport);
+    PersistenceReport persistenceReport = importReport.getPersistenceReport();
+    assertCreated(
+        trackerObjects.getTrackedEntities(), persistenceReport, TrackerType.TRACKED_ENTITY);
+    assertCreated(trackerObjects.getEnrollments(), persistenceReport, TrackerType.ENROLLMENT);
+    assertCreated(trackerObjects.getEvents(), persistenceReport, TrackerType.EVENT);
+  }
+
+  private void assertCreated(
+      List<? extends TrackerDto> expected,
+      PersistenceReport persistenceReport,
+      TrackerType trackerType) {
+    TrackerTypeReport typeReport = persistenceReport.getTypeReportMap().get(trackerType);
+
+    assertEquals(expected.size(), typeReport.getStats().getCreated());
+    assertEquals(0, typeReport.getStats().getUpdated());
+    assertEquals(0, typeReport.getStats().getIgnored());
+    assertEquals(
+        expected.stream().map(TrackerDto::getUid).collect(Collectors.toSet()),
+        typeReport.getEntityReport().stream().map(Entity::getUid).collect(Collectors.toSet()));
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.preheat;
+
+import static org.hisp.dhis.tracker.Assertions.assertNoErrors;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.hisp.dhis.trackedentity.TrackedEntityType;
+import org.hisp.dhis.tracker.imports.TrackerImportParams;
+import org.hisp.dhis.tracker.imports.TrackerImportService;
+import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
+import org.hisp.dhis.tracker.imports.domain.MetadataIdentifier;
+import org.hisp.dhis.tracker.imports.domain.TrackedEntity;
+import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
+import org.hisp.dhis.tracker.imports.preheat.cache.PreheatCacheService;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Imports with the preheat cache enabled, which it is not by default in tests. The data is
+ * committed, so that metadata changes are published to the cache like they are on a server.
+ */
+class PreheatCacheIntegrationTest extends IntegrationTestBase {
+  private static final String TET_CACHE = TrackedEntityType.class.getSimpleName();
+
+  private static final String ORG_UNIT_CACHE = OrganisationUnit.class.getSimpleName();
+
+  @Autowired private TrackerImportService trackerImportService;
+
+  @Autowired private PreheatCacheService preheatCacheService;
+
+  @Autowired private IdentifiableObjectManager manager;
+
+  @Autowired private UserService _userService;
+
+  private OrganisationUnit orgUnit;
+
+  private TrackedEntityType trackedEntityType;
+
+  private User userA;
+
+  private User userB;
+
+  @Override
+  protected void setUpTest() throws Exception {
+    userService = _userService;
+
+    orgUnit = createOrganisationUnit('A');
+    manager.save(orgUnit, false);
+
+    trackedEntityType = createTrackedEntityType('A');
+    manager.save(trackedEntityType, false);
+
+    userA = createAndAddUser(false, "userA", Set.of(orgUnit), Set.of(orgUnit), "ALL");
+    userB = createAndAddUser(false, "userB", Set.of(orgUnit), Set.of(orgUnit), "ALL");
+
+    setCacheEnabled(true);
+  }
+
+  @Override
+  protected void tearDownTest() {
+    preheatCacheService.invalidateCache();
+    setCacheEnabled(false);
+  }
+
+  @Test
+  void shouldCacheMetadataPerUserAndEvictChangedTypes() {
+    importTrackedEntity(userA);
+
+    assertCached(TET_CACHE, userA, trackedEntityType.getUid());
+    assertNotCached(TET_CACHE, userB, trackedEntityType.getUid());
+
+    importTrackedEntity(userB);
+
+    assertCached(TET_CACHE, userA, trackedEntityType.getUid());
+    assertCached(TET_CACHE, userB, trackedEntityType.getUid());
+    assertCached(ORG_UNIT_CACHE, userB, orgUnit.getUid());
+
+    TrackedEntityType changed = manager.get(TrackedEntityType.class, trackedEntityType.getUid());
+    changed.setDescription("changed");
+    manager.update(changed);
+
+    assertTrue(preheatCacheService.getAll(TET_CACHE).isEmpty());
+    assertCached(ORG_UNIT_CACHE, userA, orgUnit.getUid());
+    assertCached(ORG_UNIT_CACHE, userB, orgUnit.getUid());
+
+    importTrackedEntity(userA);
+
+    assertCached(TET_CACHE, userA, trackedEntityType.getUid());
+    assertNotCached(TET_CACHE, userB, trackedEntityType.getUid());
+  }
+
+  private void importTrackedEntity(User user) {
+    TrackedEntity trackedEntity =
+        TrackedEntity.builder()
+            .trackedEntity(CodeGenerator.generateUid())
+            .trackedEntityType(MetadataIdentifier.ofUid(trackedEntityType.getUid()))
+            .orgUnit(MetadataIdentifier.ofUid(orgUnit.getUid()))
+            .build();
+
+    assertNoErrors(
+        trackerImportService.importTracker(
+            TrackerImportParams.builder()
+                .userId(user.getUid())
+                .importStrategy(TrackerImportStrategy.CREATE)
+                .build(),
+            TrackerObjects.builder().trackedEntities(List.of(trackedEntity)).build()));
+  }
+
+  private void assertCached(String cacheKey, User user, String uid) {
+    assertTrue(
+        preheatCacheService.get(cacheKey, user.getUid() + ":" + uid).isPresent(),
+        () -> cacheKey + " " + uid + " is not cached for " + user.getUsername());
+  }
+
+  private void assertNotCached(String cacheKey, User user, String uid) {
+    assertFalse(
+        preheatCacheService.get(cacheKey, user.getUid() + ":" + uid).isPresent(),
+        () -> cacheKey + " " + uid + " is cached for " + user.getUsername());
+  }
+
+  private void setCacheEnabled(boolean enabled) {
+    ReflectionTestUtils.setField(
+        AopTestUtils.getTargetObject(preheatCacheService), "enabled", enabled);
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.validation;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_IMPORT_VALIDATION_THREADS;
+import static org.hisp.dhis.tracker.Assertions.assertNoErrors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.tracker.TrackerTest;
+import org.hisp.dhis.tracker.imports.TrackerImportParams;
+import org.hisp.dhis.tracker.imports.TrackerImportService;
+import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
+import org.hisp.dhis.tracker.imports.bundle.TrackerBundleService;
+import org.hisp.dhis.tracker.imports.domain.Enrollment;
+import org.hisp.dhis.tracker.imports.domain.Event;
+import org.hisp.dhis.tracker.imports.domain.MetadataIdentifier;
+import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
+import org.hisp.dhis.tracker.imports.preprocess.TrackerPreprocessService;
+import org.hisp.dhis.tracker.imports.validation.validator.ValidationExecutor;
+import org.hisp.dhis.tracker.imports.validation.validator.enrollment.AttributeValidator;
+import org.hisp.dhis.tracker.imports.validation.validator.enrollment.EnrollmentValidator;
+import org.hisp.dhis.tracker.imports.validation.validator.event.CategoryOptValidator;
+import org.hisp.dhis.tracker.imports.validation.validator.event.EventValidator;
+import org.hisp.dhis.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Validates more events and enrollments than fit into a single partition with the real validators
+ * and checks that validating them in partitions reports the same errors and warnings in the same
+ * order as validating them on the importing thread only.
+ */
+class ParallelValidationTest extends TrackerTest {
+  private static final int ENTITIES = 1000;
+
+  @Autowired private TrackerImportService trackerImportService;
+
+  @Autowired private TrackerBundleService trackerBundleService;
+
+  @Autowired private TrackerPreprocessService trackerPreprocessService;
+
+  @Autowired
+  private org.hisp.dhis.tracker.imports.validation.validator.event.SecurityOwnershipValidator
+      eventSecurityOwnershipValidator;
+
+  @Autowired private CategoryOptValidator categoryOptValidator;
+
+  @Autowired
+  private org.hisp.dhis.tracker.imports.validation.validator.enrollment.SecurityOwnershipValidator
+      enrollmentSecurityOwnershipValidator;
+
+  @Autowired private AttributeValidator attributeValidator;
+
+  @Autowired private UserService _userService;
+
+  @Override
+  protected void initTest() throws IOException {
+    userService = _userService;
+    setUpMetadata("tracker/tracker_basic_metadata.json");
+    injectAdminUser();
+    assertNoErrors(
+        trackerImportService.importTracker(
+            new TrackerImportParams(),
+            fromJson("tracker/validations/enrollments_te_te-data.json")));
+    assertNoErrors(
+        trackerImportService.importTracker(
+            new TrackerImportParams(),
+            fromJson("tracker/validations/enrollments_te_enrollments-data.json")));
+  }
+
+  @Test
+  void shouldReportSameResultWhenValidatingEventsInPartitions() throws IOException {
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < ENTITIES; i++) {
+      Event event =
+          fromJson("tracker/validations/events-with-registration.json").getEvents().get(0);
+      event.setEvent(i % 10 == 0 ? "invalid" + i : CodeGenerator.generateUid());
+      if (i % 7 == 0) {
+        event.setProgramStage(MetadataIdentifier.ofUid(CodeGenerator.generateUid()));
+      }
+      events.add(event);
+    }
+
+    assertSameResult(
+        TrackerObjects.builder().events(events).build(),
+        executor ->
+            new EventValidator(eventSecurityOwnershipValidator, categoryOptValidator, executor));
+  }
+
+  @Test
+  void shouldReportSameResultWhenValidatingEnrollmentsInPartitions() throws IOException {
+    List<Enrollment> enrollments = new ArrayList<>();
+    for (int i = 0; i < ENTITIES; i++) {
+      Enrollment enrollment =
+          fromJson("tracker/validations/enrollments_te_enrollments-data.json")
+              .getEnrollments()
+              .get(0);
+      enrollment.setEnrollment(i % 10 == 0 ? "invalid" + i : CodeGenerator.generateUid());
+      if (i % 7 == 0) {
+        enrollment.setProgram(MetadataIdentifier.ofUid(CodeGenerator.generateUid()));
+      }
+      enrollments.add(enrollment);
+    }
+
+    assertSameResult(
+        TrackerObjects.builder().enrollments(enrollments).build(),
+        executor ->
+            new EnrollmentValidator(
+                enrollmentSecurityOwnershipValidator, attributeValidator, executor));
+  }
+
+  private void assertSameResult(
+      TrackerObjects trackerObjects,
+      Function<ValidationExecutor, Validator<TrackerBundle>> validator) {
+    TrackerBundle bundle =
+        trackerBundleService.create(
+            new TrackerImportParams(), trackerObjects, userService.getUser(ADMIN_USER_UID));
+    trackerPreprocessService.preprocess(bundle);
+
+    Reporter sequential = validate(bundle, validator, 1);
+    Reporter partitioned = validate(bundle, validator, 4);
+
+    assertTrue(sequential.hasErrors());
+    assertEquals(sequential.getErrors(), partitioned.getErrors());
+    assertEquals(sequential.getWarnings(), partitioned.getWarnings());
+  }
+
+  private static Reporter validate(
+      TrackerBundle bundle,
+      Function<ValidationExecutor, Validator<TrackerBundle>> validator,
+      int threads) {
+    DhisConfigurationProvider config = mock(DhisConfigurationProvider.class);
+    when(config.getProperty(TRACKER_IMPORT_VALIDATION_THREADS))
+        .thenReturn(String.valueOf(threads));
+    ValidationExecutor executor = new ValidationExecutor(config, new SimpleMeterRegistry());
+    try {
+      Reporter reporter = new Reporter(bundle.getPreheat().getIdSchemes());
+      validator.apply(executor).validate(reporter, bundle, bundle);
+      return reporter;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
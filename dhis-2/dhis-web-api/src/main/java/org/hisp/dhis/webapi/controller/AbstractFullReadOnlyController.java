@@ -28,6 +28,9 @@
 package org.hisp.dhis.webapi.controller;
 
 import static java.util.stream.Collectors.toList;
+import static org.hisp.dhis.webapi.utils.ResponseEntityUtils.checkNotModified;
+import static org.hisp.dhis.webapi.utils.ResponseEntityUtils.notModified;
+import static org.hisp.dhis.webapi.utils.ResponseEntityUtils.okWithEtag;
 import static org.springframework.http.CacheControl.noCache;
 
 import com.fasterxml.jackson.databind.SequenceWriter;
@@ -40,6 +43,7 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -47,6 +51,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
@@ -102,6 +107,7 @@ import org.hisp.dhis.webapi.webdomain.WebOptions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -121,6 +127,16 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
   protected static final WebOptions NO_WEB_OPTIONS = new WebOptions(new HashMap<>());
 
+  /** Hooks that make the responses depend on more than the objects of the entity type. */
+  private static final Set<String> RESPONSE_HOOKS =
+      Set.of(
+          "getEntity",
+          "getEntityList",
+          "getEntityListPostProcess",
+          "forceFiltering",
+          "postProcessResponseEntities",
+          "postProcessResponseEntity");
+
   @Autowired protected IdentifiableObjectManager manager;
 
   @Autowired protected UserSettingService userSettingService;
@@ -165,6 +181,31 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
    */
   protected void forceFiltering(final WebOptions webOptions, final List<String> filters) {}
 
+  private Boolean deepEtags;
+
+  /**
+   * Responses are only tagged up front when the controller does not override any of the {@link
+   * #RESPONSE_HOOKS}, as these may load, filter or change the objects based on other state.
+   */
+  @Override
+  protected final boolean hasDeepEtags() {
+    if (deepEtags == null) {
+      deepEtags = !overridesResponseHooks(ClassUtils.getUserClass(getClass()));
+    }
+    return deepEtags;
+  }
+
+  private static boolean overridesResponseHooks(Class<?> type) {
+    for (Class<?> c = type; c != AbstractFullReadOnlyController.class; c = c.getSuperclass()) {
+      for (Method method : c.getDeclaredMethods()) {
+        if (RESPONSE_HOOKS.contains(method.getName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   // --------------------------------------------------------------------------
   // GET Full
   // --------------------------------------------------------------------------
@@ -219,6 +260,13 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
     forceFiltering(options, filters);
 
+    String etag = objects == null ? getDeepEtag(userDetails) : null;
+
+    if (checkNotModified(etag, ContextUtils.getRequest())) {
+      cachePrivate(response);
+      return notModified(etag).build();
+    }
+
     List<T> entities = getEntityList(metadata, options, filters, orders, objects);
 
     Pager pager = metadata.getPager();
@@ -245,9 +293,10 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
     cachePrivate(response);
 
-    return ResponseEntity.ok(
-        new StreamingJsonRoot<>(
-            pager, getSchema().getCollectionName(), FieldFilterParams.of(entities, fields)));
+    return okWithEtag(etag)
+        .body(
+            new StreamingJsonRoot<>(
+                pager, getSchema().getCollectionName(), FieldFilterParams.of(entities, fields)));
   }
 
   @OpenApi.Param(name = "fields", value = String[].class)
@@ -431,6 +480,12 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
     cachePrivate(response);
 
+    String etag = getDeepEtag(currentUser);
+
+    if (checkNotModified(etag, request)) {
+      return notModified(etag).build();
+    }
+
     WebOptions options = new WebOptions(rpParameters);
     T entity = getEntity(pvUid, options);
 
@@ -452,8 +507,8 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
     entities.forEach(e -> postProcessResponseEntity(e, options, rpParameters));
 
-    return ResponseEntity.ok(
-        new StreamingJsonRoot<>(null, null, FieldFilterParams.of(entities, fields)));
+    return okWithEtag(etag)
+        .body(new StreamingJsonRoot<>(null, null, FieldFilterParams.of(entities, fields)));
   }
 
   @OpenApi.Param(name = "fields", value = String[].class)
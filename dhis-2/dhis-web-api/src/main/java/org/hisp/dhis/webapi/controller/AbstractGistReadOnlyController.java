@@ -28,6 +28,9 @@
 package org.hisp.dhis.webapi.controller;
 
 import static java.util.Arrays.asList;
+import static org.hisp.dhis.webapi.utils.ResponseEntityUtils.checkNotModified;
+import static org.hisp.dhis.webapi.utils.ResponseEntityUtils.notModified;
+import static org.hisp.dhis.webapi.utils.ResponseEntityUtils.okWithEtag;
 import static org.springframework.http.CacheControl.noCache;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -40,6 +43,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Locale;
+import javax.annotation.CheckForNull;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.Value;
@@ -62,11 +66,13 @@ import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.user.CurrentUserUtil;
+import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.user.UserSettingKey;
 import org.hisp.dhis.webapi.CsvBuilder;
 import org.hisp.dhis.webapi.JsonBuilder;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.hisp.dhis.webapi.openapi.Api.PropertyNames;
+import org.hisp.dhis.webapi.service.EntityEtagService;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -90,6 +96,21 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
 
   @Autowired private GistService gistService;
 
+  @Autowired protected EntityEtagService entityEtagService;
+
+  // --------------------------------------------------------------------------
+  // Hooks
+  // --------------------------------------------------------------------------
+
+  /**
+   * @return true when the list and object responses only depend on the objects of the entity type,
+   *     the current user and the request, so that they can be tagged up front by {@link
+   *     EntityEtagService}
+   */
+  protected boolean hasDeepEtags() {
+    return true;
+  }
+
   // --------------------------------------------------------------------------
   // GET Gist
   // --------------------------------------------------------------------------
@@ -99,7 +120,14 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
   public @ResponseBody ResponseEntity<JsonNode> getObjectGist(
       @OpenApi.Param(UID.class) @PathVariable("uid") String uid, GistParams params)
       throws NotFoundException, BadRequestException {
+    String etag = getDeepEtag(CurrentUserUtil.getCurrentUserDetails());
+
+    if (checkNotModified(etag, ContextUtils.getRequest())) {
+      return notModified(etag).cacheControl(noCache().cachePrivate()).build();
+    }
+
     return gistToJsonObjectResponse(
+        etag,
         uid,
         createGistQuery(params, getEntityClass(), GistAutoType.L)
             .withFilter(new Filter("id", Comparison.EQ, uid)));
@@ -136,8 +164,18 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
   @GetMapping(value = "/gist", produces = APPLICATION_JSON_VALUE)
   public @ResponseBody ResponseEntity<JsonNode> getObjectListGist(
       GistParams params, HttpServletRequest request) throws BadRequestException {
+    String etag = getDeepEtag(CurrentUserUtil.getCurrentUserDetails());
+
+    if (checkNotModified(etag, request)) {
+      return notModified(etag).cacheControl(noCache().cachePrivate()).build();
+    }
+
     return gistToJsonArrayResponse(
-        request, params, createGistQuery(params, getEntityClass(), GistAutoType.S), getSchema());
+        etag,
+        request,
+        params,
+        createGistQuery(params, getEntityClass(), GistAutoType.S),
+        getSchema());
   }
 
   @OpenApi.Response(value = String.class)
@@ -169,6 +207,7 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
     if (!objProperty.isCollection()
         || !PrimaryKeyObject.class.isAssignableFrom(objProperty.getItemKlass())) {
       return gistToJsonObjectResponse(
+          null,
           uid,
           createGistQuery(params, getEntityClass(), GistAutoType.L)
               .withFilter(new Filter("id", Comparison.EQ, uid))
@@ -176,6 +215,7 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
     }
 
     return gistToJsonArrayResponse(
+        null,
         request,
         params,
         createPropertyQuery(uid, property, params, objProperty),
@@ -233,8 +273,8 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
         .with(params);
   }
 
-  private ResponseEntity<JsonNode> gistToJsonObjectResponse(String uid, GistQuery query)
-      throws NotFoundException {
+  private ResponseEntity<JsonNode> gistToJsonObjectResponse(
+      @CheckForNull String etag, String uid, GistQuery query) throws NotFoundException {
     if (query.isDescribe()) {
       return gistDescribeToJsonObjectResponse(query);
     }
@@ -245,11 +285,15 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
     if (body.isEmpty()) {
       throw new NotFoundException(getEntityClass(), uid);
     }
-    return ResponseEntity.ok().cacheControl(noCache().cachePrivate()).body(body.get(0));
+    return okWithEtag(etag).cacheControl(noCache().cachePrivate()).body(body.get(0));
   }
 
   private ResponseEntity<JsonNode> gistToJsonArrayResponse(
-      HttpServletRequest request, GistParams params, GistQuery query, Schema schema) {
+      @CheckForNull String etag,
+      HttpServletRequest request,
+      GistParams params,
+      GistQuery query,
+      Schema schema) {
     if (query.isDescribe()) {
       return gistDescribeToJsonObjectResponse(query);
     }
@@ -266,7 +310,7 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
               gistService.pager(query, elements, request.getParameterMap()),
               body);
     }
-    return ResponseEntity.ok().cacheControl(noCache().cachePrivate()).body(body);
+    return okWithEtag(etag).cacheControl(noCache().cachePrivate()).body(body);
   }
 
   private ResponseEntity<JsonNode> gistDescribeToJsonObjectResponse(GistQuery query) {
@@ -275,6 +319,13 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
         .body(new JsonBuilder(jsonMapper).skipNullMembers().toObject(gistService.describe(query)));
   }
 
+  @CheckForNull
+  protected final String getDeepEtag(UserDetails currentUser) {
+    return hasDeepEtags()
+        ? entityEtagService.getEtag(getEntityClass(), ContextUtils.getRequest(), currentUser)
+        : null;
+  }
+
   private void gistToCsvResponse(HttpServletResponse response, GistQuery query) throws IOException {
     query = gistService.plan(query).toBuilder().references(false).build();
     response.addHeader(HttpHeaders.CONTENT_TYPE, "text/csv");
@@ -34,6 +34,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.TEXT_HTML_VALUE;
 import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
 
+import java.io.IOException;
 import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
@@ -52,7 +53,10 @@ import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.security.RequiresAuthority;
+import org.hisp.dhis.system.grid.GridRowWriter;
+import org.hisp.dhis.system.grid.GridRowWriters;
 import org.hisp.dhis.system.grid.GridUtils;
+import org.hisp.dhis.system.grid.StreamingGrid;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.springframework.stereotype.Controller;
@@ -165,6 +169,18 @@ public class AnalyticsController {
         response.getOutputStream());
   }
 
+  @GetMapping(value = RESOURCE_PATH + ".xlsx")
+  public void getXlsx(
+      AggregateAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws Exception {
+    GridUtils.toXlsx(
+        getGridWithAttachment(
+            criteria, apiVersion, ContextUtils.CONTENT_TYPE_EXCEL_XLSX, "data.xlsx", response),
+        response.getOutputStream());
+  }
+
   @GetMapping(value = RESOURCE_PATH + ".jrxml")
   public void getJrxml(
       AggregateAnalyticsQueryCriteria criteria,
@@ -261,6 +277,45 @@ public class AnalyticsController {
     GridUtils.toCsv(grid, response.getWriter());
   }
 
+  @GetMapping(
+      value = RESOURCE_PATH + RAW_DATA_PATH + ".json",
+      params = "stream=true",
+      produces = APPLICATION_JSON_VALUE)
+  public void getRawDataJsonStream(
+      AggregateAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws IOException {
+    DataQueryParams params =
+        getRawDataQueryParams(criteria, apiVersion, ContextUtils.CONTENT_TYPE_JSON, response);
+
+    streamRawData(params, GridRowWriters.json(response.getOutputStream()));
+  }
+
+  @GetMapping(value = RESOURCE_PATH + RAW_DATA_PATH + ".csv", params = "stream=true")
+  public void getRawDataCsvStream(
+      AggregateAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws IOException {
+    DataQueryParams params =
+        getRawDataQueryParams(criteria, apiVersion, ContextUtils.CONTENT_TYPE_CSV, response);
+
+    streamRawData(params, GridRowWriters.csv(response.getWriter()));
+  }
+
+  @GetMapping(value = RESOURCE_PATH + RAW_DATA_PATH + ".ndjson")
+  public void getRawDataNdjson(
+      AggregateAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws IOException {
+    DataQueryParams params =
+        getRawDataQueryParams(criteria, apiVersion, ContextUtils.CONTENT_TYPE_NDJSON, response);
+
+    streamRawData(params, GridRowWriters.ndjson(response.getOutputStream()));
+  }
+
   // -------------------------------------------------------------------------
   // Data value set
   // -------------------------------------------------------------------------
@@ -398,4 +453,35 @@ public class AnalyticsController {
       AggregateAnalyticsQueryCriteria criteria, DhisApiVersion apiVersion) {
     return DataQueryRequest.newBuilder().fromCriteria(criteria).apiVersion(apiVersion).build();
   }
+
+  private DataQueryParams getRawDataQueryParams(
+      AggregateAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      String contentType,
+      HttpServletResponse response) {
+    DataQueryParams params = dataQueryService.getFromRequest(fromCriteria(criteria, apiVersion));
+
+    contextUtils.configureAnalyticsResponse(
+        response,
+        contentType,
+        CacheStrategy.RESPECT_SYSTEM_SETTING,
+        null,
+        false,
+        params.getLatestEndDate());
+
+    return params;
+  }
+
+  /**
+   * Writes the raw data of the given query to the given writer as it is read from the database.
+   * The grid is not closed if the query fails, so that an incomplete response is not terminated as
+   * a valid document.
+   */
+  private void streamRawData(DataQueryParams params, GridRowWriter writer) throws IOException {
+    StreamingGrid grid = new StreamingGrid(writer);
+
+    analyticsService.streamRawDataValues(params, grid);
+
+    grid.close();
+  }
 }
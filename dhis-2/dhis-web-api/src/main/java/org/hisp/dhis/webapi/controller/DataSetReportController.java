@@ -147,6 +147,27 @@ public class DataSetReportController {
     GridUtils.toXls(grids, response.getOutputStream());
   }
 
+  @GetMapping(RESOURCE_PATH + ".xlsx")
+  public void getDataSetReportAsXlsx(
+      HttpServletResponse response,
+      @RequestParam String ou,
+      @RequestParam String ds,
+      @RequestParam List<String> pe,
+      @RequestParam(required = false) Set<String> filter,
+      @RequestParam(required = false) boolean selectedUnitOnly)
+      throws Exception {
+    OrganisationUnit orgUnit = getAndValidateOrgUnit(ou);
+    DataSet dataSet = getAndValidateDataSet(ds);
+    List<Period> periods = getAndValidatePeriods(pe);
+
+    contextUtils.configureResponse(
+        response, ContextUtils.CONTENT_TYPE_EXCEL_XLSX, CacheStrategy.RESPECT_SYSTEM_SETTING);
+    List<Grid> grids =
+        dataSetReportService.getDataSetReportAsGrid(
+            dataSet, periods, orgUnit, filter, selectedUnitOnly);
+    GridUtils.toXlsx(grids, response.getOutputStream());
+  }
+
   @GetMapping(RESOURCE_PATH + ".pdf")
   public void getDataSetReportAsPdf(
       HttpServletResponse response,
@@ -32,6 +32,7 @@ import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.importSummary;
 import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.jobConfigurationReport;
 import static org.hisp.dhis.scheduling.JobType.DATAVALUE_IMPORT;
 import static org.hisp.dhis.security.Authorities.F_DATAVALUE_ADD;
+import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_ARROW;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_CSV;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_JSON;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_PDF;
@@ -122,6 +123,7 @@ public class DataValueSetController {
       case "xml" -> getDataValueSetXml(params, attachment, compression, response);
       case "adx+xml" -> getDataValueSetXmlAdx(params, attachment, compression, response);
       case "csv" -> getDataValueSetCsv(params, attachment, compression, response);
+      case "arrow" -> getDataValueSetArrow(params, attachment, compression, response);
       default -> getDataValueSetJson(params, attachment, compression, response);
     }
   }
@@ -202,6 +204,23 @@ public class DataValueSetController {
             dataValueSetService.exportDataValueSetCsv(exportParams, new PrintWriter(out)));
   }
 
+  @OpenApi.Response(String.class)
+  @GetMapping(produces = CONTENT_TYPE_ARROW)
+  public void getDataValueSetArrow(
+      DataValueSetQueryParams params,
+      @RequestParam(required = false) String attachment,
+      @RequestParam(required = false) String compression,
+      HttpServletResponse response) {
+    getDataValueSet(
+        attachment,
+        compression,
+        "arrows",
+        response,
+        CONTENT_TYPE_ARROW,
+        () -> dataValueSetService.getFromUrl(params),
+        dataValueSetService::exportDataValueSetArrow);
+  }
+
   private void getDataValueSet(
       String attachment,
       String compression,
@@ -289,6 +308,21 @@ public class DataValueSetController {
     return importSummary(summary).withPlainResponseBefore(V38);
   }
 
+  @PostMapping(consumes = CONTENT_TYPE_ARROW)
+  @RequiresAuthority(anyOf = F_DATAVALUE_ADD)
+  @ResponseBody
+  public WebMessage postArrowDataValueSet(ImportOptions importOptions, HttpServletRequest request)
+      throws IOException, ConflictException, @OpenApi.Ignore NotFoundException {
+    if (importOptions.isAsync()) {
+      return startAsyncImport(importOptions, MimeType.valueOf(CONTENT_TYPE_ARROW), request);
+    }
+    ImportSummary summary =
+        dataValueSetService.importDataValueSetArrow(request.getInputStream(), importOptions, null);
+    summary.setImportOptions(importOptions);
+
+    return importSummary(summary).withPlainResponseBefore(V38);
+  }
+
   @PostMapping(consumes = CONTENT_TYPE_PDF)
   @RequiresAuthority(anyOf = F_DATAVALUE_ADD)
   @ResponseBody
@@ -330,7 +364,7 @@ public class DataValueSetController {
    * @param response the {@link HttpServletResponse}.
    * @param attachment the file download attachment name
    * @param compression the Compression {@link Compression}
-   * @param format the file format, can be json, xml or csv.
+   * @param format the file format, can be json, xml, csv or arrows.
    * @return Compressed OutputStream if given compression is given, otherwise just return
    *     uncompressed outputStream
    */
@@ -35,6 +35,7 @@ import static org.hisp.dhis.security.Authorities.F_PERFORM_ANALYTICS_EXPLAIN;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
@@ -65,7 +66,10 @@ import org.hisp.dhis.period.RelativePeriodEnum;
 import org.hisp.dhis.security.RequiresAuthority;
 import org.hisp.dhis.setting.SettingKey;
 import org.hisp.dhis.setting.SystemSettingManager;
+import org.hisp.dhis.system.grid.GridRowWriter;
+import org.hisp.dhis.system.grid.GridRowWriters;
 import org.hisp.dhis.system.grid.GridUtils;
+import org.hisp.dhis.system.grid.StreamingGrid;
 import org.hisp.dhis.util.PeriodCriteriaUtils;
 import org.hisp.dhis.webapi.dimension.DimensionFilteringAndPagingService;
 import org.hisp.dhis.webapi.dimension.DimensionMapperService;
@@ -332,6 +336,38 @@ public class EventAnalyticsController {
     return analyticsService.getEvents(params);
   }
 
+  @GetMapping(
+      value = "/query/{program}",
+      params = "stream=true",
+      produces = APPLICATION_JSON_VALUE)
+  public void getQueryJsonStream(
+      @PathVariable String program,
+      EventsAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws IOException {
+    EventQueryParams params = getEventQueryParams(program, criteria, apiVersion, false, QUERY);
+
+    configResponseForJson(response);
+
+    streamEvents(params, GridRowWriters.json(response.getOutputStream()));
+  }
+
+  @GetMapping(value = "/query/{program}.ndjson")
+  public void getQueryNdjson(
+      @PathVariable String program,
+      EventsAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws IOException {
+    EventQueryParams params = getEventQueryParams(program, criteria, apiVersion, false, QUERY);
+
+    contextUtils.configureResponse(
+        response, ContextUtils.CONTENT_TYPE_NDJSON, CacheStrategy.RESPECT_SYSTEM_SETTING);
+
+    streamEvents(params, GridRowWriters.ndjson(response.getOutputStream()));
+  }
+
   @GetMapping(value = "/query/{program}.xml")
   public void getQueryXml(
       @PathVariable String program,
@@ -370,6 +406,25 @@ public class EventAnalyticsController {
         response.getOutputStream());
   }
 
+  @GetMapping(value = "/query/{program}.xlsx")
+  public void getQueryXlsx(
+      @PathVariable String program,
+      EventsAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws Exception {
+    GridUtils.toXlsx(
+        getListGridWithAttachment(
+            criteria,
+            program,
+            apiVersion,
+            ContextUtils.CONTENT_TYPE_EXCEL_XLSX,
+            "events.xlsx",
+            true,
+            response),
+        response.getOutputStream());
+  }
+
   @GetMapping(value = "/query/{program}.csv")
   public void getQueryCsv(
       @PathVariable String program,
@@ -389,6 +444,25 @@ public class EventAnalyticsController {
         response.getWriter());
   }
 
+  @GetMapping(value = "/query/{program}.csv", params = "stream=true")
+  public void getQueryCsvStream(
+      @PathVariable String program,
+      EventsAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws IOException {
+    EventQueryParams params = getEventQueryParams(program, criteria, apiVersion, false, QUERY);
+
+    contextUtils.configureResponse(
+        response,
+        ContextUtils.CONTENT_TYPE_CSV,
+        CacheStrategy.RESPECT_SYSTEM_SETTING,
+        "events.csv",
+        true);
+
+    streamEvents(params, GridRowWriters.csv(response.getWriter()));
+  }
+
   @GetMapping(value = "/query/{program}.html")
   public void getQueryHtml(
       @PathVariable String program,
@@ -492,6 +566,19 @@ public class EventAnalyticsController {
     return analyticsService.getEvents(params);
   }
 
+  /**
+   * Writes the events of the given query to the given writer as they are read from the database.
+   * The grid is not closed if the query fails, so that an incomplete response is not terminated as
+   * a valid document.
+   */
+  private void streamEvents(EventQueryParams params, GridRowWriter writer) throws IOException {
+    StreamingGrid grid = new StreamingGrid(writer);
+
+    analyticsService.streamEvents(params, grid);
+
+    grid.close();
+  }
+
   private EventQueryParams getEventQueryParams(
       String program,
       EventsAnalyticsQueryCriteria criteria,
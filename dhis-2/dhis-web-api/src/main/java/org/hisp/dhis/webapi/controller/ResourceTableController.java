@@ -98,6 +98,7 @@ public class ResourceTableController {
       @RequestParam(defaultValue = "false") Boolean skipTrackedEntities,
       @RequestParam(defaultValue = "false") Boolean skipOrgUnitOwnership,
       @RequestParam(required = false) Integer lastYears,
+      @RequestParam(defaultValue = "false") Boolean changedPartitionsOnly,
       @RequestParam(defaultValue = "false") Boolean skipOutliers)
       throws ConflictException, @OpenApi.Ignore NotFoundException {
     Set<AnalyticsTableType> skipTableTypes = new HashSet<>();
@@ -129,9 +130,12 @@ public class ResourceTableController {
 
     JobConfiguration config = new JobConfiguration(ANALYTICS_TABLE);
     config.setExecutedBy(CurrentUserUtil.getCurrentUserDetails().getUid());
-    config.setJobParameters(
+    AnalyticsJobParameters parameters =
         new AnalyticsJobParameters(
-            lastYears, skipTableTypes, skipPrograms, skipResourceTables, skipOutliers));
+            lastYears, skipTableTypes, skipPrograms, skipResourceTables, skipOutliers);
+    parameters.setChangedPartitionsOnly(isTrue(changedPartitionsOnly));
+
+    config.setJobParameters(parameters);
 
     return execute(config);
   }
@@ -134,6 +134,19 @@ public class SqlViewController extends AbstractCrudController<SqlView> {
     GridUtils.toXls(grid, response.getOutputStream());
   }
 
+  @GetMapping("/{uid}/data.xlsx")
+  public void getViewXlsx(
+      @PathVariable("uid") String uid,
+      @RequestParam(required = false) Set<String> criteria,
+      @RequestParam(name = "var", required = false) Set<String> vars,
+      HttpServletResponse response)
+      throws NotFoundException, IOException {
+    Grid grid =
+        querySQLView(uid, criteria, vars, response, ContextUtils.CONTENT_TYPE_EXCEL_XLSX, ".xlsx");
+
+    GridUtils.toXlsx(grid, response.getOutputStream());
+  }
+
   @GetMapping("/{uid}/data.html")
   public void getViewHtml(
       @PathVariable("uid") String uid,
@@ -39,6 +39,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
 import javax.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -84,6 +85,7 @@ import org.hisp.dhis.user.UserSettingKey;
 import org.hisp.dhis.user.UserSettingService;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.hisp.dhis.webapi.service.ContextService;
+import org.hisp.dhis.webapi.utils.ResponseEntityUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.MimeType;
@@ -194,16 +196,27 @@ public class MetadataImportExportController {
   public ResponseEntity<MetadataExportParams> getMetadata(
       @RequestParam(required = false, defaultValue = "false") boolean translate,
       @RequestParam(required = false) String locale,
-      @RequestParam(defaultValue = "false") boolean download) {
+      @RequestParam(defaultValue = "false") boolean download,
+      HttpServletRequest request) {
     if (translate) {
       setTranslationParams(new TranslateParams(true, locale));
     }
 
-    MetadataExportParams params =
-        metadataExportService.getParamsFromMap(contextService.getParameterValuesMap());
+    Map<String, List<String>> parameters = contextService.getParameterValuesMap();
+    Map<String, List<String>> snapshotParameters = new TreeMap<>(parameters);
+
+    MetadataExportParams params = metadataExportService.getParamsFromMap(parameters);
     metadataExportService.validate(params);
 
-    return ResponseEntity.ok(params);
+    if (translate) {
+      return ResponseEntity.ok(params);
+    }
+
+    // untranslated exports are served from snapshots which are tagged by the metadata they contain
+    params.setSnapshotParameters(snapshotParameters);
+    String etag = metadataExportService.getMetadataSnapshotTag(params);
+
+    return ResponseEntityUtils.withEtagCaching(etag, request, () -> params);
   }
 
   @ResponseBody
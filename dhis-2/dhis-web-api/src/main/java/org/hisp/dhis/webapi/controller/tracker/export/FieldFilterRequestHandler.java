@@ -60,7 +60,8 @@ public class FieldFilterRequestHandler {
     return Page.withPager(jsonKey, page.withItems(objectNodes), requestURL);
   }
 
-  private static String getRequestURL(HttpServletRequest request) {
+  /** Returns the URL of given request relative to the servlet context including its query. */
+  public static String getRequestURL(HttpServletRequest request) {
     StringBuilder requestURL = new StringBuilder(getServletPath(request));
     requestURL.append(request.getPathInfo());
     String queryString = request.getQueryString();
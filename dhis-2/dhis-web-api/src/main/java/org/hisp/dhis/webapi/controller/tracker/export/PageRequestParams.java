@@ -39,6 +39,10 @@ import org.hisp.dhis.common.OpenApi.Shared.Pattern;
  * value from a default value.
  *
  * <p>{@code totalPages=true} is only supported on paginated responses.
+ *
+ * <p>Some endpoints also support walking over all items by {@code cursor}. A walk starts with
+ * {@code cursor=*} and continues with the {@code nextCursor} of each page. Paging by cursor cannot
+ * be combined with {@code page} or {@code totalPages=true}.
  */
 @OpenApi.Shared(pattern = Pattern.TRACKER)
 public interface PageRequestParams {
@@ -85,6 +89,21 @@ public interface PageRequestParams {
     return true;
   }
 
+  /**
+   * Returns the cursor after which to return items. Only endpoints supporting paging by cursor
+   * override this.
+   */
+  @OpenApi.Ignore
+  default String getCursor() {
+    return null;
+  }
+
+  /** Indicates whether to return the page of items after {@link #getCursor()}. */
+  @OpenApi.Ignore
+  default boolean isCursorPaging() {
+    return getCursor() != null;
+  }
+
   /** Indicates whether to include the total number of items and pages in the paginated response. */
   @OpenApi.Ignore
   default boolean isPageTotal() {
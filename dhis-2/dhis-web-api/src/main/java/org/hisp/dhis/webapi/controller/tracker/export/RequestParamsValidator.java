@@ -56,6 +56,7 @@ import org.hisp.dhis.common.UID;
 import org.hisp.dhis.commons.collection.CollectionUtils;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.tracker.export.PageCursor;
 import org.hisp.dhis.util.ObjectUtils;
 import org.hisp.dhis.webapi.controller.event.webrequest.OrderCriteria;
 
@@ -419,9 +420,41 @@ public class RequestParamsValidator {
           "Paging cannot be skipped with isSkipPaging=true while also requesting a paginated response with page, pageSize and/or totalPages=true");
     }
 
+    if (params.isCursorPaging()) {
+      if (!params.isPaged() || params.getPage() != null || params.isPageTotal()) {
+        throw new BadRequestException(
+            "Paging by cursor cannot be combined with page, totalPages=true or paging=false");
+      }
+
+      validateCursor(params.getCursor());
+    }
+
     validatePaginationBounds(params.getPage(), params.getPageSize());
   }
 
+  /**
+   * Items are always ordered by last updated and id when paging by cursor, as that is the order of
+   * the cursor itself.
+   */
+  public static void validateCursorPagingOrder(PageRequestParams params, List<OrderCriteria> order)
+      throws BadRequestException {
+    if (params.isCursorPaging() && !CollectionUtils.isEmpty(order)) {
+      throw new BadRequestException(
+          "Paging by cursor cannot be combined with order as items are ordered by lastUpdated");
+    }
+  }
+
+  private static void validateCursor(String cursor) throws BadRequestException {
+    try {
+      PageCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(
+          String.format(
+              "cursor '%s' is invalid. Start with cursor=* and use the nextCursor of the previous page",
+              cursor));
+    }
+  }
+
   public static void validatePaginationBounds(Integer page, Integer pageSize)
       throws BadRequestException {
     if (lessThan(page, 1)) {
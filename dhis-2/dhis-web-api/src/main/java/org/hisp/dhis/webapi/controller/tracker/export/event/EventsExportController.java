@@ -31,6 +31,8 @@ import static org.hisp.dhis.common.OpenApi.Response.Status;
 import static org.hisp.dhis.webapi.controller.tracker.ControllerSupport.assertUserOrderableFieldsAreSupported;
 import static org.hisp.dhis.webapi.controller.tracker.export.CompressionUtil.writeGzip;
 import static org.hisp.dhis.webapi.controller.tracker.export.CompressionUtil.writeZip;
+import static org.hisp.dhis.webapi.controller.tracker.export.FieldFilterRequestHandler.getRequestURL;
+import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validateCursorPagingOrder;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validatePaginationParameters;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validateUnsupportedParameter;
 import static org.hisp.dhis.webapi.controller.tracker.export.event.EventRequestParams.DEFAULT_FIELDS_PARAM;
@@ -60,6 +62,7 @@ import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.fieldfiltering.FieldPath;
 import org.hisp.dhis.fileresource.ImageFileDimension;
 import org.hisp.dhis.program.Event;
+import org.hisp.dhis.tracker.export.PageCursor;
 import org.hisp.dhis.tracker.export.PageParams;
 import org.hisp.dhis.tracker.export.event.EventChangeLog;
 import org.hisp.dhis.tracker.export.event.EventChangeLogOperationParams;
@@ -150,11 +153,31 @@ class EventsExportController {
       // use the text/html Accept header to default to a Json response when a generic request comes
       // from a browser
       )
-  ResponseEntity<Page<ObjectNode>> getEvents(EventRequestParams requestParams)
+  ResponseEntity<Page<ObjectNode>> getEvents(
+      EventRequestParams requestParams, HttpServletRequest request)
       throws BadRequestException, ForbiddenException {
     validatePaginationParameters(requestParams);
+    validateCursorPagingOrder(requestParams, requestParams.getOrder());
     EventOperationParams eventOperationParams = eventParamsMapper.map(requestParams);
 
+    if (requestParams.isCursorPaging()) {
+      PageParams pageParams =
+          new PageParams(
+              PageCursor.decode(requestParams.getCursor()), requestParams.getPageSize());
+
+      org.hisp.dhis.tracker.export.Page<Event> eventsPage =
+          eventService.getEvents(eventOperationParams, pageParams);
+      List<ObjectNode> objectNodes =
+          fieldFilterService.toObjectNodes(
+              EVENTS_MAPPER.fromCollection(eventsPage.getItems()), requestParams.getFields());
+
+      return ResponseEntity.ok()
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(
+              Page.withCursor(
+                  EVENTS, eventsPage.withItems(objectNodes), getRequestURL(request)));
+    }
+
     if (requestParams.isPaged()) {
       PageParams pageParams =
           new PageParams(
@@ -29,6 +29,8 @@ package org.hisp.dhis.webapi.controller.tracker.export.trackedentity;
 
 import static org.hisp.dhis.common.OpenApi.Response.Status;
 import static org.hisp.dhis.webapi.controller.tracker.ControllerSupport.assertUserOrderableFieldsAreSupported;
+import static org.hisp.dhis.webapi.controller.tracker.export.FieldFilterRequestHandler.getRequestURL;
+import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validateCursorPagingOrder;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validatePaginationParameters;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validateUnsupportedParameter;
 import static org.hisp.dhis.webapi.controller.tracker.export.trackedentity.TrackedEntityRequestParams.DEFAULT_FIELDS_PARAM;
@@ -57,6 +59,7 @@ import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.fieldfiltering.FieldPath;
 import org.hisp.dhis.fileresource.ImageFileDimension;
 import org.hisp.dhis.program.Program;
+import org.hisp.dhis.tracker.export.PageCursor;
 import org.hisp.dhis.tracker.export.PageParams;
 import org.hisp.dhis.tracker.export.trackedentity.TrackedEntityChangeLog;
 import org.hisp.dhis.tracker.export.trackedentity.TrackedEntityChangeLogOperationParams;
@@ -160,11 +163,36 @@ class TrackedEntitiesExportController {
       // from a browser
       )
   ResponseEntity<Page<ObjectNode>> getTrackedEntities(
-      TrackedEntityRequestParams requestParams, @CurrentUser User currentUser)
+      TrackedEntityRequestParams requestParams,
+      @CurrentUser User currentUser,
+      HttpServletRequest request)
       throws BadRequestException, ForbiddenException, NotFoundException {
     validatePaginationParameters(requestParams);
+    validateCursorPagingOrder(requestParams, requestParams.getOrder());
     TrackedEntityOperationParams operationParams = paramsMapper.map(requestParams, currentUser);
 
+    if (requestParams.isCursorPaging()) {
+      PageParams pageParams =
+          new PageParams(
+              PageCursor.decode(requestParams.getCursor()), requestParams.getPageSize());
+
+      org.hisp.dhis.tracker.export.Page<org.hisp.dhis.trackedentity.TrackedEntity>
+          trackedEntitiesPage =
+              trackedEntityService.getTrackedEntities(operationParams, pageParams);
+      List<ObjectNode> objectNodes =
+          fieldFilterService.toObjectNodes(
+              TRACKED_ENTITY_MAPPER.fromCollection(trackedEntitiesPage.getItems()),
+              requestParams.getFields());
+
+      return ResponseEntity.ok()
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(
+              Page.withCursor(
+                  TRACKED_ENTITIES,
+                  trackedEntitiesPage.withItems(objectNodes),
+                  getRequestURL(request)));
+    }
+
     if (requestParams.isPaged()) {
       PageParams pageParams =
           new PageParams(
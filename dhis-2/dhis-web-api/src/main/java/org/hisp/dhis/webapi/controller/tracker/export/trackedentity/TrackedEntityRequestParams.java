@@ -88,6 +88,12 @@ public class TrackedEntityRequestParams implements PageRequestParams {
   @OpenApi.Property(defaultValue = "true")
   private Boolean paging;
 
+  /**
+   * Cursor after which to return a page ordered by last updated. Start with {@code *} and pass the
+   * {@code nextCursor} of the previous page to continue.
+   */
+  private String cursor;
+
   private List<OrderCriteria> order = new ArrayList<>();
 
   @Deprecated(forRemoval = true, since = "2.41")
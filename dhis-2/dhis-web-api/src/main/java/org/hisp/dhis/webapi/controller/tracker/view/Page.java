@@ -92,13 +92,19 @@ public class Page<T> {
    * of the deprecated flat pagination fields.
    */
   private Page(
-      String key, List<T> values, int page, int pageSize, String prevPage, String nextPage) {
+      String key,
+      List<T> values,
+      Integer page,
+      int pageSize,
+      String prevPage,
+      String nextPage,
+      String nextCursor) {
     this.items.put(key, values);
     this.page = null;
     this.pageSize = null;
     this.total = null;
     this.pageCount = null;
-    this.pager = new Pager(page, pageSize, null, null, prevPage, nextPage);
+    this.pager = new Pager(page, pageSize, null, null, prevPage, nextPage, nextCursor);
   }
 
   /**
@@ -127,7 +133,7 @@ public class Page<T> {
     this.pageSize = pageSize;
     this.total = null;
     this.pageCount = null;
-    this.pager = new Pager(page, pageSize, null, null, null, null);
+    this.pager = new Pager(page, pageSize, null, null, null, null, null);
   }
 
   /**
@@ -143,7 +149,7 @@ public class Page<T> {
     this.pageSize = pageSize;
     this.total = total;
     this.pageCount = (int) Math.ceil(total / (double) pageSize);
-    this.pager = new Pager(page, pageSize, total, this.pageCount, null, null);
+    this.pager = new Pager(page, pageSize, total, this.pageCount, null, null, null);
   }
 
   /**
@@ -175,7 +181,21 @@ public class Page<T> {
     String nextPage = getPageLink(requestURL, pager.getNextPage());
 
     return new Page<>(
-        key, pager.getItems(), pager.getPage(), pager.getPageSize(), prevPage, nextPage);
+        key, pager.getItems(), pager.getPage(), pager.getPageSize(), prevPage, nextPage, null);
+  }
+
+  /**
+   * Returns a page of a walk by cursor which will serialize the items into {@link #items} under
+   * given {@code key}. The cursor and link of the next page will be generated based on the request
+   * if {@link org.hisp.dhis.tracker.export.Page#getNextCursor()} is not null. Pages of a walk have
+   * no page number.
+   */
+  public static <T> Page<T> withCursor(
+      String key, org.hisp.dhis.tracker.export.Page<T> pager, String requestURL) {
+    String nextPage = getCursorLink(requestURL, pager.getNextCursor());
+
+    return new Page<>(
+        key, pager.getItems(), null, pager.getPageSize(), null, nextPage, pager.getNextCursor());
   }
 
   /**
@@ -198,6 +218,7 @@ public class Page<T> {
     @JsonProperty private Integer pageCount;
     @JsonProperty private String prevPage;
     @JsonProperty private String nextPage;
+    @JsonProperty private String nextCursor;
   }
 
   private static String getPageLink(String url, Integer page) {
@@ -209,4 +230,14 @@ public class Page<T> {
     urlBuilder.replaceQueryParam("page", page);
     return urlBuilder.build().toUriString();
   }
+
+  private static String getCursorLink(String url, String cursor) {
+    if (cursor == null) {
+      return null;
+    }
+
+    UriComponentsBuilder urlBuilder = UriComponentsBuilder.fromUriString(url);
+    urlBuilder.replaceQueryParam("cursor", cursor);
+    return urlBuilder.build().toUriString();
+  }
 }
@@ -32,8 +32,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.security.oidc.DhisOidcUser;
 import org.hisp.dhis.security.spring2fa.TwoFactorWebAuthenticationDetails;
-import org.hisp.dhis.user.SystemUser;
-import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
@@ -118,14 +116,11 @@ public class AuthenticationListener {
   }
 
   private void registerSuccessfulLogin(String username) {
-    User user = userService.getUserByUsername(username);
-
     boolean readOnly = config.isReadOnlyMode();
 
-    if (Objects.nonNull(user) && !readOnly) {
-      user.updateLastLogin();
+    if (Objects.nonNull(username) && !readOnly) {
       try {
-        userService.updateUser(user, new SystemUser());
+        userService.updateLastLogin(username);
       } catch (Exception e) {
         log.warn("Failed to update the user!", e);
       }
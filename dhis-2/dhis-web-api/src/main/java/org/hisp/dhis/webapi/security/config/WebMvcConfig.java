@@ -312,7 +312,9 @@ public class WebMvcConfig extends DelegatingWebMvcConfiguration {
           .put("png", MediaType.IMAGE_PNG)
           .put("pdf", MediaType.APPLICATION_PDF)
           .put("xls", parseMediaType("application/vnd.ms-excel"))
-          .put("xlsx", parseMediaType("application/vnd.ms-excel"))
+          .put(
+              "xlsx",
+              parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
           .put("csv", parseMediaType("text/csv"))
           .put("csv.gz", parseMediaType("application/csv+gzip"))
           .put("csv.zip", parseMediaType("application/csv+zip"))
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
+import javax.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.schema.Property;
+import org.hisp.dhis.schema.Schema;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.system.util.CodecUtils;
+import org.hisp.dhis.user.UserDetails;
+import org.hisp.dhis.util.DateUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes ETags for responses listing or showing objects of a type before the objects are loaded.
+ * The tag is a fingerprint of the latest last updated and the number of objects of the type, the
+ * current user's access (groups, authorities and settings) and the request, so a matching {@code
+ * If-None-Match} header can be answered with {@code 304 Not Modified} without querying or
+ * serializing any objects.
+ *
+ * <p>Only the rows of the type itself are covered. Requests are only tagged when they explicitly
+ * select, filter and order by persisted simple properties owned by the type. Collections and
+ * references, even those held by the type, can change without updating its rows, so requests
+ * using the default fields, presets, wildcards or nested paths are not tagged.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityEtagService {
+  private final IdentifiableObjectManager manager;
+
+  private final SchemaService schemaService;
+
+  /**
+   * Returns the ETag for a response of objects of given type for given request and user.
+   *
+   * @param type the type of the listed or shown objects.
+   * @param request the {@link HttpServletRequest}.
+   * @param user the current user.
+   * @return the ETag, or null if the response cannot be tagged up front.
+   */
+  @CheckForNull
+  @SuppressWarnings("unchecked")
+  public String getEtag(Class<?> type, HttpServletRequest request, UserDetails user) {
+    if (request == null
+        || user == null
+        || !IdentifiableObject.class.isAssignableFrom(type)
+        || !selectsOwnedProperties(schemaService.getDynamicSchema(type), request)) {
+      return null;
+    }
+
+    Class<? extends IdentifiableObject> klass = (Class<? extends IdentifiableObject>) type;
+
+    String value =
+        String.join(
+            "-",
+            klass.getName(),
+            DateUtils.toLongDateWithMillis(manager.getLastUpdated(klass)),
+            String.valueOf(manager.getCount(klass)),
+            user.getUid(),
+            String.valueOf(new TreeSet<>(user.getUserGroupIds())),
+            String.valueOf(new TreeSet<>(user.getAllAuthorities())),
+            String.valueOf(new TreeMap<>(user.getUserSettings())),
+            request.getRequestURL(),
+            request.getHeader(HttpHeaders.ACCEPT),
+            getParameters(request));
+
+    return CodecUtils.md5Hex(value);
+  }
+
+  private static boolean selectsOwnedProperties(Schema schema, HttpServletRequest request) {
+    String[] fields = request.getParameterValues("fields");
+    if (fields == null) {
+      return false;
+    }
+
+    return Stream.of(fields)
+            .flatMap(value -> Stream.of(value.split(",")))
+            .allMatch(field -> isOwnedProperty(schema, field))
+        && getPropertyNames(request, "filter").allMatch(name -> isOwnedProperty(schema, name))
+        && getPropertyNames(request, "order").allMatch(name -> isOwnedProperty(schema, name));
+  }
+
+  /**
+   * @return the names of the properties used by the {@code name:...} values of given parameter
+   */
+  private static Stream<String> getPropertyNames(HttpServletRequest request, String parameter) {
+    String[] values = request.getParameterValues(parameter);
+    if (values == null) {
+      return Stream.empty();
+    }
+
+    return Stream.of(values)
+        .flatMap(value -> Stream.of(value.split(",")))
+        .map(value -> value.contains(":") ? value.substring(0, value.indexOf(':')) : value);
+  }
+
+  private static boolean isOwnedProperty(Schema schema, String name) {
+    Property property = schema.getProperty(name.trim());
+    return property != null && property.isSimple() && property.isPersisted() && property.isOwner();
+  }
+
+  private static String getParameters(HttpServletRequest request) {
+    Map<String, String> parameters = new TreeMap<>();
+    request
+        .getParameterMap()
+        .forEach((name, values) -> parameters.put(name, Arrays.toString(values)));
+    return parameters.toString();
+  }
+}
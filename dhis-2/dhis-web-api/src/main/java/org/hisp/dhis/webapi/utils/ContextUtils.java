@@ -67,6 +67,8 @@ public class ContextUtils {
 
   public static final String CONTENT_TYPE_JSON = "application/json; charset=UTF-8";
 
+  public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson; charset=UTF-8";
+
   public static final String CONTENT_TYPE_HTML = "text/html; charset=UTF-8";
 
   public static final String CONTENT_TYPE_TEXT = "text/plain; charset=UTF-8";
@@ -85,10 +87,15 @@ public class ContextUtils {
 
   public static final String CONTENT_TYPE_CSV_ZIP = "application/csv+zip";
 
+  public static final String CONTENT_TYPE_ARROW = "application/vnd.apache.arrow.stream";
+
   public static final String CONTENT_TYPE_PNG = "image/png";
 
   public static final String CONTENT_TYPE_EXCEL = "application/vnd.ms-excel";
 
+  public static final String CONTENT_TYPE_EXCEL_XLSX =
+      "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
   public static final String CONTENT_TYPE_JAVASCRIPT = "application/javascript; charset=UTF-8";
 
   public static final String CONTENT_TYPE_FORM_ENCODED = "application/x-www-form-urlencoded";
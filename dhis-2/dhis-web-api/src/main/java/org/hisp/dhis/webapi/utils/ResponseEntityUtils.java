@@ -35,6 +35,7 @@ import static org.apache.commons.lang3.StringUtils.trim;
 import com.google.common.net.HttpHeaders;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import javax.annotation.CheckForNull;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
@@ -76,6 +77,27 @@ public class ResponseEntityUtils {
         .body(bodySupplier.get());
   }
 
+  /**
+   * Returns a builder for a {@code 200 OK} response which has the given ETag header, if any.
+   *
+   * @param etag the ETag value, may be null.
+   * @return a {@link ResponseEntity.BodyBuilder}.
+   */
+  public static ResponseEntity.BodyBuilder okWithEtag(@CheckForNull String etag) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+    return etag == null ? builder : builder.eTag(etag);
+  }
+
+  /**
+   * Returns a builder for a {@code 304 Not Modified} response which has the given ETag header.
+   *
+   * @param etag the ETag value.
+   * @return a {@link ResponseEntity.BodyBuilder}.
+   */
+  public static ResponseEntity.BodyBuilder notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag);
+  }
+
   /**
    * Checks whether the given ETag matches the {@code If-None-Match} header value, indicating that
    * the requested resource has not been modified.
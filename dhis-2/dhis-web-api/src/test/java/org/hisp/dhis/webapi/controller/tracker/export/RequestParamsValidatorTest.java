@@ -32,6 +32,7 @@ import static org.hisp.dhis.utils.Assertions.assertContains;
 import static org.hisp.dhis.utils.Assertions.assertStartsWith;
 import static org.hisp.dhis.webapi.controller.event.webrequest.OrderCriteria.fromOrderString;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.parseFilters;
+import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validateCursorPagingOrder;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validateOrderParams;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validateOrgUnitModeForEnrollmentsAndEvents;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamsValidator.validateOrgUnitModeForTrackedEntities;
@@ -44,6 +45,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,6 +58,7 @@ import org.hisp.dhis.common.QueryOperator;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.tracker.export.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -376,6 +379,7 @@ class RequestParamsValidatorTest {
     private Boolean totalPages;
     private Boolean skipPaging;
     private Boolean paging;
+    private String cursor;
   }
 
   private static Stream<Arguments> mutuallyExclusivePaginationParameters() {
@@ -501,4 +505,73 @@ class RequestParamsValidatorTest {
 
     validatePaginationParameters(paginationParameters);
   }
+
+  @Test
+  void shouldPassWhenGivenCursorToStartWalk() throws BadRequestException {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setCursor("*");
+    paginationParameters.setPageSize(10);
+
+    validatePaginationParameters(paginationParameters);
+  }
+
+  @Test
+  void shouldPassWhenGivenEncodedCursor() throws BadRequestException {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setCursor(PageCursor.after(new Date(), 7).encode());
+
+    validatePaginationParameters(paginationParameters);
+  }
+
+  @Test
+  void shouldFailWhenGivenCursorAndPage() {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setCursor("*");
+    paginationParameters.setPage(2);
+
+    Exception exception =
+        assertThrows(
+            BadRequestException.class, () -> validatePaginationParameters(paginationParameters));
+
+    assertStartsWith("Paging by cursor cannot be combined", exception.getMessage());
+  }
+
+  @Test
+  void shouldFailWhenGivenCursorAndTotalPages() {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setCursor("*");
+    paginationParameters.setTotalPages(true);
+
+    Exception exception =
+        assertThrows(
+            BadRequestException.class, () -> validatePaginationParameters(paginationParameters));
+
+    assertStartsWith("Paging by cursor cannot be combined", exception.getMessage());
+  }
+
+  @Test
+  void shouldFailWhenGivenInvalidCursor() {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setCursor("not a cursor");
+
+    Exception exception =
+        assertThrows(
+            BadRequestException.class, () -> validatePaginationParameters(paginationParameters));
+
+    assertStartsWith("cursor 'not a cursor' is invalid", exception.getMessage());
+  }
+
+  @Test
+  void shouldFailWhenGivenCursorAndOrder() {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setCursor("*");
+
+    Exception exception =
+        assertThrows(
+            BadRequestException.class,
+            () ->
+                validateCursorPagingOrder(paginationParameters, fromOrderString("createdAt:desc")));
+
+    assertStartsWith("Paging by cursor cannot be combined with order", exception.getMessage());
+  }
 }
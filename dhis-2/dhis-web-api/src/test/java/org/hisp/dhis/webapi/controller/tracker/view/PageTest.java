@@ -34,7 +34,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.util.Date;
 import java.util.List;
+import org.hisp.dhis.tracker.export.PageCursor;
 import org.junit.jupiter.api.Test;
 
 class PageTest {
@@ -198,6 +200,44 @@ class PageTest {
         "fields=displayName");
   }
 
+  @Test
+  void shouldSetNextCursorAndReplaceCursorInNextPageLink() {
+    List<String> fruits = List.of("apple", "banana", "cherry");
+    PageCursor nextCursor = PageCursor.after(new Date(), 42);
+    org.hisp.dhis.tracker.export.Page<String> exportPage =
+        org.hisp.dhis.tracker.export.Page.withNextCursor(fruits, 3, nextCursor);
+
+    Page<String> page =
+        Page.withCursor(
+            "fruits",
+            exportPage,
+            "http://localhost/tracker/events?cursor=*&pageSize=3&fields=displayName");
+
+    assertNull(page.getPager().getPage());
+    assertEquals(3, page.getPager().getPageSize());
+    assertNull(page.getPager().getTotal());
+    assertNull(page.getPager().getPrevPage());
+    assertEquals(nextCursor.encode(), page.getPager().getNextCursor());
+    assertAll(
+        () -> assertStartsWith("http://localhost/tracker/events", page.getPager().getNextPage()),
+        () -> assertContains("cursor=" + nextCursor.encode(), page.getPager().getNextPage()),
+        () -> assertContains("pageSize=3", page.getPager().getNextPage()),
+        () -> assertContains("fields=displayName", page.getPager().getNextPage()));
+  }
+
+  @Test
+  void shouldNotSetNextCursorOnLastPageOfWalk() {
+    List<String> fruits = List.of("apple");
+    org.hisp.dhis.tracker.export.Page<String> exportPage =
+        org.hisp.dhis.tracker.export.Page.withNextCursor(fruits, 3, null);
+
+    Page<String> page =
+        Page.withCursor("fruits", exportPage, "http://localhost/tracker/events?cursor=abc");
+
+    assertNull(page.getPager().getNextCursor());
+    assertNull(page.getPager().getNextPage());
+  }
+
   private static void assertPagerLink(
       String actual, int page, int pageSize, String start, String additionalParam) {
     assertNotNull(actual);
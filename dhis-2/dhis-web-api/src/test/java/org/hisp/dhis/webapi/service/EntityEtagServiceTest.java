@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.schema.Property;
+import org.hisp.dhis.schema.Schema;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+@ExtendWith(MockitoExtension.class)
+class EntityEtagServiceTest {
+
+  @Mock private IdentifiableObjectManager manager;
+
+  @Mock private SchemaService schemaService;
+
+  private EntityEtagService service;
+
+  private UserDetails user;
+
+  @BeforeEach
+  public void setUp() {
+    service = new EntityEtagService(manager, schemaService);
+
+    User u = new User();
+    u.setUid("kWQX5J2YHVs");
+    u.setUsername("admin");
+    user = UserDetails.fromUser(u);
+  }
+
+  @Test
+  void testGetEtagChangesWithObjects() {
+    givenDataElementSchema();
+    when(manager.getLastUpdated(DataElement.class))
+        .thenReturn(new Date(1000), new Date(1000), new Date(2000), new Date(2000));
+    when(manager.getCount(DataElement.class)).thenReturn(10, 10, 10, 9);
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dataElements");
+    request.setParameter("fields", "id,name");
+
+    String etag = service.getEtag(DataElement.class, request, user);
+    assertNotNull(etag);
+    assertEquals(etag, service.getEtag(DataElement.class, request, user));
+
+    String updatedEtag = service.getEtag(DataElement.class, request, user);
+    assertNotEquals(etag, updatedEtag);
+    assertNotEquals(updatedEtag, service.getEtag(DataElement.class, request, user));
+  }
+
+  @Test
+  void testGetEtagChangesWithRequest() {
+    givenDataElementSchema();
+    when(manager.getLastUpdated(DataElement.class)).thenReturn(new Date(1000));
+    when(manager.getCount(DataElement.class)).thenReturn(10);
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dataElements");
+    request.setParameter("fields", "id,name");
+    request.setParameter("filter", "name:like:ANC");
+    request.setParameter("order", "name:asc");
+    request.setParameter("page", "1");
+    String etag = service.getEtag(DataElement.class, request, user);
+
+    request.setParameter("page", "2");
+    assertNotEquals(etag, service.getEtag(DataElement.class, request, user));
+  }
+
+  @Test
+  void testGetEtagWithReferencedObjectFields() {
+    givenDataElementSchema();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dataElements");
+    request.setParameter("fields", "id,categoryCombo[id,name]");
+
+    assertNull(service.getEtag(DataElement.class, request, user));
+
+    request.setParameter("fields", "id");
+    request.setParameter("filter", "categoryCombo.name:eq:default");
+
+    assertNull(service.getEtag(DataElement.class, request, user));
+    verifyNoInteractions(manager);
+  }
+
+  @Test
+  void testGetEtagWithoutOwnedFields() {
+    givenDataElementSchema();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dataElements");
+
+    assertNull(service.getEtag(DataElement.class, request, user));
+
+    for (String fields : List.of("*", ":all", ":simple", "id,dataElementGroups", "displayName")) {
+      request.setParameter("fields", fields);
+      assertNull(service.getEtag(DataElement.class, request, user), fields);
+    }
+
+    request.setParameter("fields", "id,name");
+    request.setParameter("filter", "dataElementGroups:empty");
+    assertNull(service.getEtag(DataElement.class, request, user));
+
+    request.removeParameter("filter");
+    request.setParameter("order", "displayName:asc");
+    assertNull(service.getEtag(DataElement.class, request, user));
+    verifyNoInteractions(manager);
+  }
+
+  @Test
+  void testGetEtagForNonIdentifiableType() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/things");
+
+    assertNull(service.getEtag(String.class, request, user));
+    verifyNoInteractions(manager);
+  }
+
+  private void givenDataElementSchema() {
+    Schema schema = new Schema(DataElement.class, "dataElement", "dataElements");
+    schema.addProperty(property("id", true, true, true));
+    schema.addProperty(property("name", true, true, true));
+    schema.addProperty(property("displayName", true, false, false));
+    schema.addProperty(property("categoryCombo", false, true, true));
+    schema.addProperty(property("dataElementGroups", false, true, false));
+    when(schemaService.getDynamicSchema(DataElement.class)).thenReturn(schema);
+  }
+
+  private static Property property(String name, boolean simple, boolean persisted, boolean owner) {
+    Property property = new Property(DataElement.class);
+    property.setName(name);
+    property.setSimple(simple);
+    property.setPersisted(persisted);
+    property.setOwner(owner);
+    return property;
+  }
+}